@@ -14,6 +14,7 @@ public class Constants {
         public static final String ACTION_ID = "actionId";
         public static final String LOG_ID = "logId";
         public static final String SPACE_GUID = "spaceGuid";
+        public static final String UPLOAD_ID = "uploadId";
 
     }
 
@@ -32,6 +33,11 @@ public class Constants {
 
         public static final String LAST = "last";
         public static final String STATE = "state";
+        public static final String OFFSET = "offset";
+        public static final String NAME = "name";
+        public static final String NAMESPACE = "namespace";
+        public static final String SIZE = "size";
+        public static final String DIGEST = "digest";
     }
 
     public static class Resources {
@@ -59,7 +65,12 @@ public class Constants {
         public static final String OPERATION = "/{" + PathVariables.OPERATION_ID + "}";
         public static final String OPERATION_LOGS = OPERATION + "/logs";
         public static final String OPERATION_LOG_CONTENT = OPERATION_LOGS + "/{" + PathVariables.LOG_ID + "}/content";
+        public static final String OPERATION_LOG_STREAM = OPERATION_LOGS + "/{" + PathVariables.LOG_ID + "}/stream";
         public static final String OPERATION_ACTIONS = OPERATION + "/actions";
+        public static final String UPLOADS = "/uploads";
+        public static final String UPLOAD = UPLOADS + "/{" + PathVariables.UPLOAD_ID + "}";
+        public static final String UPLOAD_CHUNKS = UPLOAD + "/chunks";
+        public static final String UPLOAD_FINALIZATION = UPLOAD + "/finalize";
 
     }
 
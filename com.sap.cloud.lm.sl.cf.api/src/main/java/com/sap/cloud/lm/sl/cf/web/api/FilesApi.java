@@ -7,18 +7,25 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.sap.cloud.lm.sl.cf.web.api.Constants.Endpoints;
 import com.sap.cloud.lm.sl.cf.web.api.Constants.PathVariables;
+import com.sap.cloud.lm.sl.cf.web.api.Constants.QueryVariables;
 import com.sap.cloud.lm.sl.cf.web.api.Constants.Resources;
 import com.sap.cloud.lm.sl.cf.web.api.model.FileMetadata;
+import com.sap.cloud.lm.sl.cf.web.api.model.UploadSessionMetadata;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import io.swagger.annotations.Authorization;
@@ -52,4 +59,67 @@ public class FilesApi {
         return delegate.uploadFile(request, spaceGuid);
     }
 
+    @PostMapping(path = Endpoints.UPLOADS, produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_JSON_UTF8_VALUE })
+    @ApiOperation(value = "", notes = "Starts a resumable upload of a Multi Target Application file, which is uploaded in chunks ", response = UploadSessionMetadata.class, authorizations = {
+        @Authorization(value = "oauth2", scopes = {
+
+        }) }, tags = {})
+    @ApiResponses(value = { @ApiResponse(code = 201, message = "Created", response = UploadSessionMetadata.class) })
+    public ResponseEntity<UploadSessionMetadata>
+           createUploadSession(@PathVariable(PathVariables.SPACE_GUID) String spaceGuid,
+                               @ApiParam(value = "The name of the uploaded file ") @RequestParam(QueryVariables.NAME) String name,
+                               @ApiParam(value = "The size of the uploaded file in bytes ") @RequestParam(QueryVariables.SIZE) long size,
+                               @ApiParam(value = "The namespace of the uploaded file ") @RequestParam(name = QueryVariables.NAMESPACE, required = false) String namespace) {
+        return delegate.createUploadSession(spaceGuid, name, size, namespace);
+    }
+
+    @GetMapping(path = Endpoints.UPLOAD, produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_JSON_UTF8_VALUE })
+    @ApiOperation(value = "", notes = "Retrieves a resumable upload and the ranges of the file, which are still missing ", response = UploadSessionMetadata.class, authorizations = {
+        @Authorization(value = "oauth2", scopes = {
+
+        }) }, tags = {})
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK", response = UploadSessionMetadata.class) })
+    public ResponseEntity<UploadSessionMetadata> getUploadSession(@PathVariable(PathVariables.SPACE_GUID) String spaceGuid,
+                                                                  @PathVariable(PathVariables.UPLOAD_ID) String uploadId) {
+        return delegate.getUploadSession(spaceGuid, uploadId);
+    }
+
+    @PutMapping(path = Endpoints.UPLOAD_CHUNKS, consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE, produces = {
+        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_JSON_UTF8_VALUE })
+    @ApiOperation(value = "", notes = "Uploads a chunk of a resumable upload. Chunks can be uploaded in any order and uploading a chunk again replaces it ", response = UploadSessionMetadata.class, authorizations = {
+        @Authorization(value = "oauth2", scopes = {
+
+        }) }, tags = {})
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK", response = UploadSessionMetadata.class) })
+    public ResponseEntity<UploadSessionMetadata>
+           uploadChunk(HttpServletRequest request, @PathVariable(PathVariables.SPACE_GUID) String spaceGuid,
+                       @PathVariable(PathVariables.UPLOAD_ID) String uploadId,
+                       @ApiParam(value = "The offset of the chunk in the uploaded file ") @RequestParam(QueryVariables.OFFSET) long offset) {
+        return delegate.uploadChunk(request, spaceGuid, uploadId, offset);
+    }
+
+    @PostMapping(path = Endpoints.UPLOAD_FINALIZATION, produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_JSON_UTF8_VALUE })
+    @ApiOperation(value = "", notes = "Assembles the chunks of a resumable upload into a Multi Target Application file ", response = FileMetadata.class, authorizations = {
+        @Authorization(value = "oauth2", scopes = {
+
+        }) }, tags = {})
+    @ApiResponses(value = { @ApiResponse(code = 201, message = "Created", response = FileMetadata.class) })
+    public ResponseEntity<FileMetadata>
+           finalizeUploadSession(@PathVariable(PathVariables.SPACE_GUID) String spaceGuid,
+                                 @PathVariable(PathVariables.UPLOAD_ID) String uploadId,
+                                 @ApiParam(value = "The expected digest of the assembled file ") @RequestParam(name = QueryVariables.DIGEST, required = false) String digest) {
+        return delegate.finalizeUploadSession(spaceGuid, uploadId, digest);
+    }
+
+    @DeleteMapping(path = Endpoints.UPLOAD)
+    @ApiOperation(value = "", notes = "Cancels a resumable upload and deletes its chunks ", authorizations = {
+        @Authorization(value = "oauth2", scopes = {
+
+        }) }, tags = {})
+    @ApiResponses(value = { @ApiResponse(code = 204, message = "No Content") })
+    public ResponseEntity<Void> deleteUploadSession(@PathVariable(PathVariables.SPACE_GUID) String spaceGuid,
+                                                    @PathVariable(PathVariables.UPLOAD_ID) String uploadId) {
+        return delegate.deleteUploadSession(spaceGuid, uploadId);
+    }
+
 }
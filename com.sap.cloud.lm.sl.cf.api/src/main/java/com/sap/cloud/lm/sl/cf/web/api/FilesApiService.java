@@ -7,6 +7,7 @@ import javax.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 
 import com.sap.cloud.lm.sl.cf.web.api.model.FileMetadata;
+import com.sap.cloud.lm.sl.cf.web.api.model.UploadSessionMetadata;
 
 public interface FilesApiService {
 
@@ -14,4 +15,14 @@ public interface FilesApiService {
 
     ResponseEntity<FileMetadata> uploadFile(HttpServletRequest request, String spaceGuid);
 
+    ResponseEntity<UploadSessionMetadata> createUploadSession(String spaceGuid, String name, long size, String namespace);
+
+    ResponseEntity<UploadSessionMetadata> getUploadSession(String spaceGuid, String uploadId);
+
+    ResponseEntity<UploadSessionMetadata> uploadChunk(HttpServletRequest request, String spaceGuid, String uploadId, long offset);
+
+    ResponseEntity<FileMetadata> finalizeUploadSession(String spaceGuid, String uploadId, String digest);
+
+    ResponseEntity<Void> deleteUploadSession(String spaceGuid, String uploadId);
+
 }
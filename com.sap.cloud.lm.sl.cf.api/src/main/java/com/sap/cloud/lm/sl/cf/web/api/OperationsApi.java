@@ -4,13 +4,16 @@ import java.util.List;
 
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -86,6 +89,21 @@ public class OperationsApi {
         return delegate.getOperationLogContent(spaceGuid, operationId, logId);
     }
 
+    @GetMapping(path = Endpoints.OPERATION_LOG_STREAM, produces = MediaType.TEXT_PLAIN_VALUE)
+    @ApiOperation(value = "", notes = "Streams the log content for Multi-Target Application operation. Supports single byte ranges ", authorizations = {
+        @Authorization(value = "oauth2", scopes = {
+
+        }) }, tags = {})
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"), @ApiResponse(code = 206, message = "Partial Content"),
+        @ApiResponse(code = 416, message = "Requested Range Not Satisfiable") })
+    public void streamOperationLogContent(HttpServletResponse response, @PathVariable(PathVariables.SPACE_GUID) String spaceGuid,
+                                          @PathVariable(PathVariables.OPERATION_ID) String operationId,
+                                          @PathVariable(PathVariables.LOG_ID) String logId,
+                                          @ApiParam(value = "A single byte range of the log content ") @RequestHeader(name = HttpHeaders.RANGE, required = false) String range,
+                                          @ApiParam(value = "Skips the specified number of bytes from the beginning of the log content. Ignored, if a range is specified ") @RequestParam(name = QueryVariables.OFFSET, required = false) Long offset) {
+        delegate.streamOperationLogContent(response, spaceGuid, operationId, logId, range, offset);
+    }
+
     @GetMapping(produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_JSON_UTF8_VALUE })
     @ApiOperation(value = "", notes = "Retrieves Multi-Target Application operations ", response = Operation.class, responseContainer = "List", authorizations = {
         @Authorization(value = "oauth2", scopes = {
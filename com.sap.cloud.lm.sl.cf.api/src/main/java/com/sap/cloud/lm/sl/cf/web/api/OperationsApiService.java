@@ -3,6 +3,7 @@ package com.sap.cloud.lm.sl.cf.web.api;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.http.ResponseEntity;
 
@@ -23,6 +24,9 @@ public interface OperationsApiService {
 
     ResponseEntity<String> getOperationLogContent(String spaceGuid, String operationId, String logId);
 
+    void streamOperationLogContent(HttpServletResponse response, String spaceGuid, String operationId, String logId, String range,
+                                   Long offset);
+
     ResponseEntity<Operation> startOperation(HttpServletRequest request, String spaceGuid, Operation operation);
 
 }
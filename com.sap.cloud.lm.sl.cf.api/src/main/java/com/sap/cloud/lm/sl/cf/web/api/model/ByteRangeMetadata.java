@@ -0,0 +1,24 @@
+package com.sap.cloud.lm.sl.cf.web.api.model;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.swagger.annotations.ApiModelProperty;
+
+@Value.Immutable
+@JsonSerialize(as = ImmutableByteRangeMetadata.class)
+@JsonDeserialize(as = ImmutableByteRangeMetadata.class)
+public interface ByteRangeMetadata {
+
+    @ApiModelProperty
+    @JsonProperty("offset")
+    long getOffset();
+
+    @ApiModelProperty
+    @JsonProperty("length")
+    long getLength();
+
+}
@@ -0,0 +1,40 @@
+package com.sap.cloud.lm.sl.cf.web.api.model;
+
+import java.util.List;
+
+import org.immutables.value.Value;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sap.cloud.lm.sl.common.Nullable;
+
+import io.swagger.annotations.ApiModelProperty;
+
+@Value.Immutable
+@JsonSerialize(as = ImmutableUploadSessionMetadata.class)
+@JsonDeserialize(as = ImmutableUploadSessionMetadata.class)
+public interface UploadSessionMetadata {
+
+    @ApiModelProperty
+    @JsonProperty("id")
+    String getId();
+
+    @ApiModelProperty
+    @JsonProperty("name")
+    String getName();
+
+    @Nullable
+    @ApiModelProperty
+    @JsonProperty("namespace")
+    String getNamespace();
+
+    @ApiModelProperty
+    @JsonProperty("size")
+    long getSize();
+
+    @ApiModelProperty
+    @JsonProperty("missingRanges")
+    List<ByteRangeMetadata> getMissingRanges();
+
+}
@@ -0,0 +1,84 @@
+package com.sap.cloud.lm.sl.cf.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sap.cloud.lm.sl.cf.process.util.ApplicationArchiveContext;
+import com.sap.cloud.lm.sl.cf.process.util.ApplicationArchiveReader;
+import com.sap.cloud.lm.sl.cf.process.util.ApplicationZipBuilder;
+
+/**
+ * Measures the digest calculation and the extraction of the last module of a synthetic MTA archive, which requires scanning the whole
+ * archive.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ApplicationArchiveBenchmark {
+
+    @Param({ "10", "100", "500" })
+    private int modulesCount;
+
+    private final ApplicationArchiveReader applicationArchiveReader = new ApplicationArchiveReader();
+    private final ApplicationZipBuilder applicationZipBuilder = new ApplicationZipBuilder(applicationArchiveReader);
+    private Path directory;
+    private Path mtar;
+    private String moduleFileName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory(getClass().getSimpleName());
+        mtar = SyntheticMtar.create(directory, modulesCount);
+        moduleFileName = SyntheticMtar.getModuleFileName(modulesCount - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Benchmark
+    public String calculateApplicationDigest() throws IOException {
+        try (InputStream mtarInputStream = Files.newInputStream(mtar)) {
+            return applicationArchiveReader.calculateApplicationDigest(createApplicationArchiveContext(mtarInputStream));
+        }
+    }
+
+    @Benchmark
+    public long extractApplicationInNewArchive() throws IOException {
+        try (InputStream mtarInputStream = Files.newInputStream(mtar)) {
+            Path application = applicationZipBuilder.extractApplicationInNewArchive(createApplicationArchiveContext(mtarInputStream));
+            try {
+                return Files.size(application);
+            } finally {
+                Files.delete(application);
+            }
+        }
+    }
+
+    private ApplicationArchiveContext createApplicationArchiveContext(InputStream mtarInputStream) {
+        return new ApplicationArchiveContext(mtarInputStream, moduleFileName, Long.MAX_VALUE);
+    }
+
+}
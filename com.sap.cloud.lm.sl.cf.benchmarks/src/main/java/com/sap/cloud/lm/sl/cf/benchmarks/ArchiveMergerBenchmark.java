@@ -0,0 +1,134 @@
+package com.sap.cloud.lm.sl.cf.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.apache.commons.io.FileUtils;
+import org.flowable.engine.delegate.DelegateExecution;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sap.cloud.lm.sl.cf.persistence.DataSourceWithDialect;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileService;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileSystemFileStorage;
+import com.sap.cloud.lm.sl.cf.process.util.ArchiveMerger;
+import com.sap.cloud.lm.sl.cf.process.util.StepLogger;
+import com.sap.cloud.lm.sl.cf.process.variables.Variables;
+
+/**
+ * Measures the merging of an archive uploaded in 50 parts of 20 MB each, which are read from a file system storage and verified against
+ * their digests, with different numbers of parts merged concurrently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ArchiveMergerBenchmark {
+
+    private static final int PARTS_COUNT = 50;
+    private static final int PART_SIZE = 20 * 1024 * 1024;
+    private static final String SPACE = "space";
+
+    @Param({ "1", "4", "8" })
+    private int parallelParts;
+
+    private Path storagePath;
+    private FileService fileService;
+    private StepLogger stepLogger;
+    private DelegateExecution execution;
+    private List<FileEntry> archiveParts;
+    private Path mergedArchive;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, FileStorageException, NoSuchAlgorithmException {
+        storagePath = Files.createTempDirectory(getClass().getSimpleName());
+        FileSystemFileStorage fileStorage = new FileSystemFileStorage(storagePath.toString());
+        // Only the content of the parts is read, so the file service does not need a database:
+        fileService = new FileService(new DataSourceWithDialect(null), fileStorage);
+        stepLogger = new StepLogger(null, null, null, null) {
+            @Override
+            public void debug(String message) {
+            }
+
+            @Override
+            public void info(String message) {
+            }
+        };
+        execution = createExecution();
+        archiveParts = new ArrayList<>();
+        Random random = new Random(PARTS_COUNT);
+        byte[] content = new byte[PART_SIZE];
+        for (int i = 0; i < PARTS_COUNT; i++) {
+            random.nextBytes(content);
+            FileEntry archivePart = ImmutableFileEntry.builder()
+                                                      .id("part-" + i)
+                                                      .space(SPACE)
+                                                      .name("archive.mtar.part." + i)
+                                                      .size(BigInteger.valueOf(PART_SIZE))
+                                                      .digest(DatatypeConverter.printHexBinary(MessageDigest.getInstance("MD5")
+                                                                                                            .digest(content)))
+                                                      .digestAlgorithm("MD5")
+                                                      .build();
+            fileStorage.addFile(archivePart, new ByteArrayInputStream(content));
+            archiveParts.add(archivePart);
+        }
+    }
+
+    private DelegateExecution createExecution() {
+        return (DelegateExecution) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DelegateExecution.class },
+                                                          (proxy, method, arguments) -> {
+                                                              if ("getVariable".equals(method.getName())
+                                                                  && Variables.SPACE_GUID.getName()
+                                                                                         .equals(arguments[0])) {
+                                                                  return SPACE;
+                                                              }
+                                                              return null;
+                                                          });
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteMergedArchive() throws IOException {
+        FileUtils.deleteDirectory(mergedArchive.getParent()
+                                               .toFile());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(storagePath.toFile());
+    }
+
+    @Benchmark
+    public Path merge() {
+        mergedArchive = new ArchiveMerger(fileService, stepLogger, execution, parallelParts).createArchiveFromParts(archiveParts);
+        return mergedArchive;
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.sap.cloud.lm.sl.cf.benchmarks;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sap.cloud.lm.sl.cf.core.filters.ContentFilter;
+import com.sap.cloud.lm.sl.common.util.JsonUtil;
+
+/**
+ * Measures the filtering of configuration entries by their content, which {@code ConfigurationEntryQueryImpl} performs in memory for every
+ * entry returned by the database. Every tenth entry satisfies the required properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ContentFilterBenchmark {
+
+    private static final BiPredicate<String, Map<String, Object>> CONTENT_FILTER = new ContentFilter();
+
+    @Param({ "100", "1000", "10000" })
+    private int entriesCount;
+
+    private List<String> contents;
+    private Map<String, Object> requiredProperties;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contents = IntStream.range(0, entriesCount)
+                            .mapToObj(ContentFilterBenchmark::createContent)
+                            .collect(Collectors.toList());
+        requiredProperties = Collections.singletonMap("type", "type-0");
+    }
+
+    private static String createContent(int index) {
+        Map<String, Object> content = new HashMap<>();
+        content.put("name", "entry-" + index);
+        content.put("type", "type-" + index % 10);
+        content.put("url", "https://entry-" + index + ".example.com");
+        content.put("port", 8080 + index);
+        content.put("tags", Collections.singletonList("tag-" + index));
+        return JsonUtil.toJson(content);
+    }
+
+    @Benchmark
+    public List<String> filter() {
+        return contents.stream()
+                       .filter(content -> CONTENT_FILTER.test(content, requiredProperties))
+                       .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.sap.cloud.lm.sl.cf.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sap.cloud.lm.sl.cf.persistence.util.DigestAlgorithm;
+import com.sap.cloud.lm.sl.cf.persistence.util.DigestCalculator;
+
+/**
+ * Measures the calculation of the digest of 64MB of data with each of the supported algorithms, fed to the calculator in chunks of
+ * different sizes from an array on the heap and from a direct buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DigestCalculatorBenchmark {
+
+    private static final int DATA_SIZE = 64 * 1024 * 1024; // 64MB
+
+    @Param({ "MD5", "SHA_1", "SHA_256", "MURMUR3_128" })
+    private DigestAlgorithm algorithm;
+
+    @Param({ "4096", "65536" })
+    private int chunkSize;
+
+    private byte[] data;
+    private ByteBuffer directData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new byte[DATA_SIZE];
+        new Random(42).nextBytes(data);
+        directData = ByteBuffer.allocateDirect(DATA_SIZE);
+        directData.put(data);
+    }
+
+    @Benchmark
+    public String calculateDigest() {
+        DigestCalculator digestCalculator = DigestCalculator.create(algorithm);
+        for (int offset = 0; offset < data.length; offset += chunkSize) {
+            digestCalculator.updateDigest(data, offset, Math.min(chunkSize, data.length - offset));
+        }
+        return digestCalculator.getDigest();
+    }
+
+    @Benchmark
+    public String calculateDigestFromDirectBuffer() {
+        DigestCalculator digestCalculator = DigestCalculator.create(algorithm);
+        for (int offset = 0; offset < DATA_SIZE; offset += chunkSize) {
+            directData.limit(Math.min(offset + chunkSize, DATA_SIZE));
+            directData.position(offset);
+            digestCalculator.updateDigest(directData);
+        }
+        directData.clear();
+        return digestCalculator.getDigest();
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.sap.cloud.lm.sl.cf.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileSystemFileStorage;
+
+/**
+ * Measures a cleanup of the file system storage, which deletes the files of the oldest hour out of 100000 files stored during the last 100
+ * hours, with and without an index of the stored files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class FileSystemFileStorageCleanupBenchmark {
+
+    private static final int FILES_COUNT = 100_000;
+    private static final int HOURS = 100;
+    private static final int SPACES = 10;
+    private static final byte[] CONTENT = "content".getBytes(StandardCharsets.UTF_8);
+
+    @Param({ "false", "true" })
+    private boolean indexed;
+
+    private Path storagePath;
+    private FileSystemFileStorage fileStorage;
+    private long now;
+    private int expectedDeletedFiles;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, FileStorageException {
+        storagePath = Files.createTempDirectory("fileStorageBenchmark");
+        fileStorage = new FileSystemFileStorage(storagePath.toString(), indexed);
+        now = System.currentTimeMillis();
+        for (int i = 0; i < FILES_COUNT; i++) {
+            int hour = i % HOURS;
+            if (hour != HOURS - 1) {
+                addFile(i, hour);
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void addExpiredFiles() throws IOException, FileStorageException {
+        expectedDeletedFiles = 0;
+        for (int i = HOURS - 1; i < FILES_COUNT; i += HOURS) {
+            addFile(i, HOURS - 1);
+            expectedDeletedFiles++;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(storagePath.toFile());
+    }
+
+    @Benchmark
+    public int deleteFilesModifiedBefore() throws FileStorageException {
+        int deletedFiles = fileStorage.deleteFilesModifiedBefore(hoursAgo(HOURS - 2));
+        if (deletedFiles != expectedDeletedFiles) {
+            throw new IllegalStateException("Deleted " + deletedFiles + " files instead of " + expectedDeletedFiles);
+        }
+        return deletedFiles;
+    }
+
+    private void addFile(int index, int hour) throws IOException, FileStorageException {
+        Date modified = hoursAgo(hour);
+        FileEntry fileEntry = ImmutableFileEntry.builder()
+                                                .id(UUID.randomUUID()
+                                                        .toString())
+                                                .name("file" + index)
+                                                .space("space" + index % SPACES)
+                                                .namespace("namespace")
+                                                .modified(modified)
+                                                .build();
+        fileStorage.addFile(fileEntry, new ByteArrayInputStream(CONTENT));
+        Path filePath = Paths.get(storagePath.toString(), fileEntry.getSpace(), "files", fileEntry.getId());
+        Files.setLastModifiedTime(filePath, FileTime.fromMillis(modified.getTime()));
+    }
+
+    private Date hoursAgo(int hours) {
+        return new Date(now - TimeUnit.HOURS.toMillis(hours));
+    }
+
+}
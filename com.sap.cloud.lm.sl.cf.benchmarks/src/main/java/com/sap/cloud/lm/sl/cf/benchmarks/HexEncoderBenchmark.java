@@ -0,0 +1,56 @@
+package com.sap.cloud.lm.sl.cf.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sap.cloud.lm.sl.cf.persistence.util.HexEncoder;
+
+/**
+ * Measures the encoding of digests of the sizes of MD5, SHA-1 and SHA-256 as hexadecimal digits with the lookup table of
+ * {@link HexEncoder} and with {@link DatatypeConverter}, which was used before. Run with {@code -prof gc} to compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class HexEncoderBenchmark {
+
+    @Param({ "16", "20", "32" })
+    private int digestSize;
+
+    private byte[] digest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        digest = new byte[digestSize];
+        new Random(42).nextBytes(digest);
+    }
+
+    @Benchmark
+    public String encodeWithLookupTable() {
+        return HexEncoder.encode(digest);
+    }
+
+    @Benchmark
+    public String encodeWithDatatypeConverter() {
+        return DatatypeConverter.printHexBinary(digest);
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.sap.cloud.lm.sl.cf.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sap.cloud.lm.sl.cf.process.util.JarSignatureVerifier;
+
+/**
+ * Measures the verification of synthetic MTA archives, which are signed with a self-signed certificate, by reading their entries on the
+ * specified number of threads. The validation of the certificate chain is remembered after the first verification, so the measurements
+ * show the cost of reading and checking the entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JarSignatureVerifierBenchmark {
+
+    @Param({ "10", "100", "500" })
+    private int modulesCount;
+
+    @Param({ "1", "4" })
+    private int parallelism;
+
+    private JarSignatureVerifier jarSignatureVerifier;
+    private Path directory;
+    private URL mtarUrl;
+    private List<X509Certificate> targetCertificates;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException, CertificateException {
+        jarSignatureVerifier = new JarSignatureVerifier(parallelism);
+        directory = Files.createTempDirectory(getClass().getSimpleName());
+        Path mtar = SyntheticMtar.create(directory, modulesCount);
+        Path certificate = SyntheticMtar.sign(mtar, directory);
+        mtarUrl = mtar.toUri()
+                      .toURL();
+        try (InputStream certificateInputStream = Files.newInputStream(certificate)) {
+            targetCertificates = (List<X509Certificate>) CertificateFactory.getInstance("X.509")
+                                                                           .generateCertificates(certificateInputStream);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Benchmark
+    public URL verify() {
+        jarSignatureVerifier.verify(mtarUrl, targetCertificates, null);
+        return mtarUrl;
+    }
+
+}
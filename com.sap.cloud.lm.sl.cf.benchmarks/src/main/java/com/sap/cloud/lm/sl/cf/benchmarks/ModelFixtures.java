@@ -0,0 +1,142 @@
+package com.sap.cloud.lm.sl.cf.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.sap.cloud.lm.sl.cf.core.cf.metadata.ImmutableMtaMetadata;
+import com.sap.cloud.lm.sl.cf.core.model.DeployedMta;
+import com.sap.cloud.lm.sl.cf.core.model.DeployedMtaApplication;
+import com.sap.cloud.lm.sl.cf.core.model.DeployedMtaService;
+import com.sap.cloud.lm.sl.cf.core.model.ImmutableDeployedMta;
+import com.sap.cloud.lm.sl.cf.core.model.ImmutableDeployedMtaApplication;
+import com.sap.cloud.lm.sl.cf.core.model.ImmutableDeployedMtaService;
+import com.sap.cloud.lm.sl.mta.model.DeploymentDescriptor;
+import com.sap.cloud.lm.sl.mta.model.Module;
+import com.sap.cloud.lm.sl.mta.model.ProvidedDependency;
+import com.sap.cloud.lm.sl.mta.model.RequiredDependency;
+import com.sap.cloud.lm.sl.mta.model.Resource;
+import com.sap.cloud.lm.sl.mta.model.Version;
+
+/**
+ * Generates deployment descriptors and deployed MTAs of a configurable size. Every module provides a dependency, requires a service and
+ * contains a password-like property, so that the generated models exercise the same code paths as real ones.
+ */
+public final class ModelFixtures {
+
+    private static final String MTA_ID = "synthetic-mta";
+    private static final String MTA_VERSION = "1.0.0";
+
+    private ModelFixtures() {
+    }
+
+    public static DeploymentDescriptor createDeploymentDescriptor(int modulesCount) {
+        List<Module> modules = IntStream.range(0, modulesCount)
+                                        .mapToObj(ModelFixtures::createModule)
+                                        .collect(Collectors.toList());
+        List<Resource> resources = IntStream.range(0, modulesCount)
+                                            .mapToObj(ModelFixtures::createResource)
+                                            .collect(Collectors.toList());
+        return DeploymentDescriptor.createV3()
+                                   .setSchemaVersion("3.3")
+                                   .setId(MTA_ID)
+                                   .setVersion(MTA_VERSION)
+                                   .setModules(modules)
+                                   .setResources(resources)
+                                   .setParameters(Collections.singletonMap("enable-parallel-deployments", true));
+    }
+
+    private static Module createModule(int index) {
+        String moduleName = SyntheticMtar.getModuleName(index);
+        return Module.createV3()
+                     .setName(moduleName)
+                     .setType("javascript.nodejs")
+                     .setPath(SyntheticMtar.getModuleFileName(index))
+                     .setParameters(createParameters(index))
+                     .setProperties(createProperties(index))
+                     .setProvidedDependencies(Collections.singletonList(ProvidedDependency.createV3()
+                                                                                          .setName(moduleName + "-api")
+                                                                                          .setProperties(Collections.singletonMap("url",
+                                                                                                                                  "${default-url}"))))
+                     .setRequiredDependencies(Collections.singletonList(RequiredDependency.createV3()
+                                                                                          .setName(getServiceName(index))));
+    }
+
+    private static Map<String, Object> createParameters(int index) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("memory", "256M");
+        parameters.put("disk-quota", "512M");
+        parameters.put("instances", 1);
+        parameters.put("routes", Collections.singletonList(Collections.singletonMap("route", "module-" + index + ".example.com")));
+        return parameters;
+    }
+
+    private static Map<String, Object> createProperties(int index) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("LOG_LEVEL", "info");
+        properties.put("MODULE_INDEX", index);
+        properties.put("DB_PASSWORD", "secret-" + index);
+        return properties;
+    }
+
+    private static Resource createResource(int index) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("service", "postgresql");
+        parameters.put("service-plan", "small");
+        parameters.put("config", Collections.singletonMap("password", "secret-" + index));
+        return Resource.createV3()
+                       .setName(getServiceName(index))
+                       .setType("org.cloudfoundry.managed-service")
+                       .setParameters(parameters);
+    }
+
+    public static DeployedMta createDeployedMta(int applicationsCount) {
+        List<DeployedMtaApplication> applications = IntStream.range(0, applicationsCount)
+                                                             .mapToObj(ModelFixtures::createDeployedMtaApplication)
+                                                             .collect(Collectors.toList());
+        List<DeployedMtaService> services = IntStream.range(0, applicationsCount)
+                                                     .mapToObj(ModelFixtures::createDeployedMtaService)
+                                                     .collect(Collectors.toList());
+        return ImmutableDeployedMta.builder()
+                                   .metadata(ImmutableMtaMetadata.builder()
+                                                                 .id(MTA_ID)
+                                                                 .version(Version.parseVersion(MTA_VERSION))
+                                                                 .build())
+                                   .applications(applications)
+                                   .services(services)
+                                   .build();
+    }
+
+    private static DeployedMtaApplication createDeployedMtaApplication(int index) {
+        String moduleName = SyntheticMtar.getModuleName(index);
+        return ImmutableDeployedMtaApplication.builder()
+                                              .name(moduleName)
+                                              .moduleName(moduleName)
+                                              .memory(256)
+                                              .diskQuota(512)
+                                              .instances(1)
+                                              .uris(Arrays.asList(moduleName + ".example.com", moduleName + "-idle.example.com"))
+                                              .env(Collections.singletonMap("MODULE_INDEX", Integer.toString(index)))
+                                              .boundMtaServices(Collections.singletonList(getServiceName(index)))
+                                              .providedDependencyNames(Collections.singletonList(moduleName + "-api"))
+                                              .build();
+    }
+
+    private static DeployedMtaService createDeployedMtaService(int index) {
+        return ImmutableDeployedMtaService.builder()
+                                          .name(getServiceName(index))
+                                          .resourceName(getServiceName(index))
+                                          .label("postgresql")
+                                          .plan("small")
+                                          .build();
+    }
+
+    private static String getServiceName(int index) {
+        return "service-" + index;
+    }
+
+}
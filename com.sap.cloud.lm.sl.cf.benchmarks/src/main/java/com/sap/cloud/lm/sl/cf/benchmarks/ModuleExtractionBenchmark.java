@@ -0,0 +1,154 @@
+package com.sap.cloud.lm.sl.cf.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sap.cloud.lm.sl.cf.process.util.ApplicationArchiveContext;
+import com.sap.cloud.lm.sl.cf.process.util.ApplicationArchiveReader;
+import com.sap.cloud.lm.sl.cf.process.util.ApplicationZipBuilder;
+import com.sap.cloud.lm.sl.cf.process.util.ArchiveEntryExtractor;
+
+/**
+ * Measures the extraction of a module, which is a single STORED or DEFLATED entry of 500 MB placed after another large module, by scanning
+ * the archive stream, by extracting the entry directly from an archive on the local disk and by streaming the entry from such an archive.
+ * Both extractions write the module once into the file, which is uploaded, and return the number of written bytes. Streaming the entry
+ * writes nothing to the local disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class ModuleExtractionBenchmark {
+
+    private static final String DESCRIPTOR_ENTRY_NAME = "META-INF/mtad.yaml";
+    private static final String PRECEDING_MODULE_FILE_NAME = "preceding/app.jar";
+    private static final String MODULE_FILE_NAME = "module/app.jar";
+    private static final int CHUNK_SIZE = 1024 * 1024;
+    private static final long SEED = 42;
+    private static final byte[] CONTENT_ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789 \n".getBytes(StandardCharsets.US_ASCII);
+
+    @Param({ "500" })
+    private int moduleSizeInMegabytes;
+
+    @Param({ "STORED", "DEFLATED" })
+    private String compressionMethod;
+
+    private final ApplicationZipBuilder applicationZipBuilder = new ApplicationZipBuilder(new ApplicationArchiveReader());
+    private Path directory;
+    private Path mtar;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory(getClass().getSimpleName());
+        mtar = directory.resolve("module-extraction.mtar");
+        int method = "STORED".equals(compressionMethod) ? ZipEntry.STORED : ZipEntry.DEFLATED;
+        try (OutputStream fileOutputStream = Files.newOutputStream(mtar);
+            ZipOutputStream zipOutputStream = new ZipOutputStream(fileOutputStream)) {
+            zipOutputStream.putNextEntry(new ZipEntry(DESCRIPTOR_ENTRY_NAME));
+            zipOutputStream.write("_schema-version: 3\nID: module-extraction\nversion: 1.0.0\n".getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+            writeModule(zipOutputStream, PRECEDING_MODULE_FILE_NAME, method);
+            writeModule(zipOutputStream, MODULE_FILE_NAME, method);
+        }
+    }
+
+    private void writeModule(ZipOutputStream zipOutputStream, String name, int method) throws IOException {
+        ZipEntry zipEntry = new ZipEntry(name);
+        zipEntry.setMethod(method);
+        if (method == ZipEntry.STORED) {
+            long size = (long) moduleSizeInMegabytes * CHUNK_SIZE;
+            zipEntry.setSize(size);
+            zipEntry.setCompressedSize(size);
+            zipEntry.setCrc(computeModuleCrc());
+        }
+        zipOutputStream.putNextEntry(zipEntry);
+        Random random = new Random(SEED);
+        byte[] chunk = new byte[CHUNK_SIZE];
+        for (int i = 0; i < moduleSizeInMegabytes; i++) {
+            zipOutputStream.write(fillChunk(chunk, random));
+        }
+        zipOutputStream.closeEntry();
+    }
+
+    private long computeModuleCrc() {
+        CRC32 crc = new CRC32();
+        Random random = new Random(SEED);
+        byte[] chunk = new byte[CHUNK_SIZE];
+        for (int i = 0; i < moduleSizeInMegabytes; i++) {
+            crc.update(fillChunk(chunk, random));
+        }
+        return crc.getValue();
+    }
+
+    private static byte[] fillChunk(byte[] chunk, Random random) {
+        // Random text compresses roughly as well as typical application binaries, unlike random bytes:
+        for (int i = 0; i < chunk.length; i++) {
+            chunk[i] = CONTENT_ALPHABET[random.nextInt(CONTENT_ALPHABET.length)];
+        }
+        return chunk;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Benchmark
+    public long extractFromArchiveStream() throws IOException {
+        try (InputStream mtarInputStream = Files.newInputStream(mtar)) {
+            ApplicationArchiveContext applicationArchiveContext = new ApplicationArchiveContext(mtarInputStream, MODULE_FILE_NAME,
+                                                                                                Long.MAX_VALUE);
+            return getSizeAndDelete(applicationZipBuilder.extractApplicationInNewArchive(applicationArchiveContext));
+        }
+    }
+
+    @Benchmark
+    public long extractFromLocalArchive() throws IOException {
+        return getSizeAndDelete(applicationZipBuilder.extractApplicationFromLocalArchive(mtar, MODULE_FILE_NAME, Long.MAX_VALUE));
+    }
+
+    @Benchmark
+    public long streamFromLocalArchive() throws IOException {
+        try (ArchiveEntryExtractor archiveEntryExtractor = new ArchiveEntryExtractor(mtar);
+            InputStream entryStream = archiveEntryExtractor.openEntry(MODULE_FILE_NAME, Long.MAX_VALUE)) {
+            return IOUtils.copyLarge(entryStream, NullOutputStream.NULL_OUTPUT_STREAM);
+        }
+    }
+
+    private long getSizeAndDelete(Path file) throws IOException {
+        try {
+            return Files.size(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
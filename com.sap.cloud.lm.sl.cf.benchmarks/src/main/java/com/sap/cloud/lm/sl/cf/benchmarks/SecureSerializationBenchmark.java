@@ -0,0 +1,55 @@
+package com.sap.cloud.lm.sl.cf.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sap.cloud.lm.sl.cf.core.model.DeployedMta;
+import com.sap.cloud.lm.sl.cf.core.security.serialization.SecureSerialization;
+import com.sap.cloud.lm.sl.mta.model.DeploymentDescriptor;
+
+/**
+ * Measures the serialization of deployment descriptors and deployed MTAs with their sensitive values masked, as done before logging them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SecureSerializationBenchmark {
+
+    @Param({ "10", "100", "500" })
+    private int modulesCount;
+
+    private DeploymentDescriptor deploymentDescriptor;
+    private DeployedMta deployedMta;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        deploymentDescriptor = ModelFixtures.createDeploymentDescriptor(modulesCount);
+        deployedMta = ModelFixtures.createDeployedMta(modulesCount);
+    }
+
+    @Benchmark
+    public String deploymentDescriptor() {
+        return SecureSerialization.toJson(deploymentDescriptor);
+    }
+
+    @Benchmark
+    public String deployedMta() {
+        return SecureSerialization.toJson(deployedMta);
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.sap.cloud.lm.sl.cf.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import com.sap.cloud.lm.sl.cf.process.util.ArchiveSigner;
+
+/**
+ * Generates MTA archives with a configurable number of directory modules. The content of the generated archives depends only on the number
+ * of modules, so results obtained on different builds are comparable.
+ */
+public final class SyntheticMtar {
+
+    public static final int FILES_PER_MODULE = 8;
+    public static final int FILE_SIZE = 16 * 1024; // 16KB
+
+    private static final String MTA_MODULE_ATTRIBUTE = "MTA-Module";
+    private static final String DESCRIPTOR_ENTRY_NAME = "META-INF/mtad.yaml";
+    private static final long SEED = 42;
+    private static final char[] CONTENT_ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789 \n".toCharArray();
+    private static final String SIGNER_DNAME = "CN=Synthetic Signer, OU=Benchmarks, O=Benchmarks, C=TS";
+
+    private SyntheticMtar() {
+    }
+
+    public static Path create(Path directory, int modulesCount) throws IOException {
+        Path mtar = directory.resolve("synthetic-" + modulesCount + ".mtar");
+        Random random = new Random(SEED);
+        try (OutputStream fileOutputStream = Files.newOutputStream(mtar);
+            JarOutputStream jarOutputStream = new JarOutputStream(fileOutputStream, createManifest(modulesCount))) {
+            writeEntry(jarOutputStream, DESCRIPTOR_ENTRY_NAME, createDescriptor(modulesCount).getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < modulesCount; i++) {
+                writeModule(jarOutputStream, getModuleFileName(i), random);
+            }
+        }
+        return mtar;
+    }
+
+    /**
+     * Signs the archive in place with a self-signed certificate and returns the file with the certificate in PEM format.
+     */
+    public static Path sign(Path mtar, Path directory) throws IOException, InterruptedException {
+        return ArchiveSigner.sign(mtar, directory, SIGNER_DNAME);
+    }
+
+    public static String getModuleName(int index) {
+        return "module-" + index;
+    }
+
+    public static String getModuleFileName(int index) {
+        return getModuleName(index) + "/";
+    }
+
+    private static Manifest createManifest(int modulesCount) {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes()
+                .put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        for (int i = 0; i < modulesCount; i++) {
+            Attributes attributes = new Attributes();
+            attributes.putValue(MTA_MODULE_ATTRIBUTE, getModuleName(i));
+            manifest.getEntries()
+                    .put(getModuleFileName(i), attributes);
+        }
+        return manifest;
+    }
+
+    private static String createDescriptor(int modulesCount) {
+        StringBuilder descriptor = new StringBuilder();
+        descriptor.append("_schema-version: 3\n")
+                  .append("ID: synthetic-mta\n")
+                  .append("version: 1.0.0\n")
+                  .append("modules:\n");
+        for (int i = 0; i < modulesCount; i++) {
+            descriptor.append("  - name: ")
+                      .append(getModuleName(i))
+                      .append("\n    type: javascript.nodejs\n");
+        }
+        return descriptor.toString();
+    }
+
+    private static void writeModule(JarOutputStream jarOutputStream, String moduleFileName, Random random) throws IOException {
+        jarOutputStream.putNextEntry(new JarEntry(moduleFileName));
+        jarOutputStream.closeEntry();
+        for (int i = 0; i < FILES_PER_MODULE; i++) {
+            writeEntry(jarOutputStream, moduleFileName + "file-" + i + ".txt", createContent(random));
+        }
+    }
+
+    private static void writeEntry(JarOutputStream jarOutputStream, String name, byte[] content) throws IOException {
+        jarOutputStream.putNextEntry(new JarEntry(name));
+        jarOutputStream.write(content);
+        jarOutputStream.closeEntry();
+    }
+
+    private static byte[] createContent(Random random) {
+        // Random text compresses roughly as well as typical application sources, unlike random bytes:
+        byte[] content = new byte[FILE_SIZE];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) CONTENT_ALPHABET[random.nextInt(CONTENT_ALPHABET.length)];
+        }
+        return content;
+    }
+
+}
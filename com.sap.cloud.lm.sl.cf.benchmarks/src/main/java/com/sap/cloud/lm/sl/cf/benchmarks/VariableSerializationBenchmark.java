@@ -0,0 +1,72 @@
+package com.sap.cloud.lm.sl.cf.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sap.cloud.lm.sl.cf.core.model.DeployedMta;
+import com.sap.cloud.lm.sl.cf.process.variables.ImmutableJsonBinaryVariable;
+import com.sap.cloud.lm.sl.cf.process.variables.Serializer;
+import com.sap.cloud.lm.sl.cf.process.variables.Variable;
+import com.sap.cloud.lm.sl.cf.process.variables.Variables;
+import com.sap.cloud.lm.sl.mta.model.DeploymentDescriptor;
+
+/**
+ * Measures the round-trips of deployment descriptors and deployed MTAs through the serializers used to store them as process variables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class VariableSerializationBenchmark {
+
+    private static final Variable<DeploymentDescriptor> BINARY_DEPLOYMENT_DESCRIPTOR = ImmutableJsonBinaryVariable.<DeploymentDescriptor> builder()
+                                                                                                                  .name("binaryMtaDeploymentDescriptor")
+                                                                                                                  .type(Variable.typeReference(DeploymentDescriptor.class))
+                                                                                                                  .build();
+
+    @Param({ "10", "100", "500" })
+    private int modulesCount;
+
+    private DeploymentDescriptor deploymentDescriptor;
+    private DeployedMta deployedMta;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        deploymentDescriptor = ModelFixtures.createDeploymentDescriptor(modulesCount);
+        deployedMta = ModelFixtures.createDeployedMta(modulesCount);
+    }
+
+    @Benchmark
+    public DeploymentDescriptor deploymentDescriptorAsJsonString() {
+        return roundTrip(Variables.DEPLOYMENT_DESCRIPTOR.getSerializer(), deploymentDescriptor);
+    }
+
+    @Benchmark
+    public DeploymentDescriptor deploymentDescriptorAsJsonBinary() {
+        return roundTrip(BINARY_DEPLOYMENT_DESCRIPTOR.getSerializer(), deploymentDescriptor);
+    }
+
+    @Benchmark
+    public DeployedMta deployedMtaAsJsonBinary() {
+        return roundTrip(Variables.DEPLOYED_MTA.getSerializer(), deployedMta);
+    }
+
+    private static <T> T roundTrip(Serializer<T> serializer, T value) {
+        return serializer.deserialize(serializer.serialize(value));
+    }
+
+}
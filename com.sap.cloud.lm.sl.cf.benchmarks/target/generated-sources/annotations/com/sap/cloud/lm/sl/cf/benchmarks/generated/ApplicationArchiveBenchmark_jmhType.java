@@ -0,0 +1,4 @@
+package com.sap.cloud.lm.sl.cf.benchmarks.generated;
+public class ApplicationArchiveBenchmark_jmhType extends ApplicationArchiveBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.sap.cloud.lm.sl.cf.benchmarks.generated;
+public class ArchiveMergerBenchmark_jmhType extends ArchiveMergerBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.sap.cloud.lm.sl.cf.benchmarks.generated;
+public class ContentFilterBenchmark_jmhType extends ContentFilterBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.sap.cloud.lm.sl.cf.benchmarks.generated;
+public class DigestCalculatorBenchmark_jmhType extends DigestCalculatorBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.sap.cloud.lm.sl.cf.benchmarks.generated;
+public class FileSystemFileStorageCleanupBenchmark_jmhType extends FileSystemFileStorageCleanupBenchmark_jmhType_B3 {
+}
+
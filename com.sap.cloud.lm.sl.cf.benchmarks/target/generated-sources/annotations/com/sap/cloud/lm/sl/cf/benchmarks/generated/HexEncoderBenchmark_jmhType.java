@@ -0,0 +1,4 @@
+package com.sap.cloud.lm.sl.cf.benchmarks.generated;
+public class HexEncoderBenchmark_jmhType extends HexEncoderBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.sap.cloud.lm.sl.cf.benchmarks.generated;
+public class JarSignatureVerifierBenchmark_jmhType extends JarSignatureVerifierBenchmark_jmhType_B3 {
+}
+
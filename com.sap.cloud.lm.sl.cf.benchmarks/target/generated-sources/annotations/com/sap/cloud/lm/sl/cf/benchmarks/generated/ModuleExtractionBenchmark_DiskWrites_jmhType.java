@@ -0,0 +1,4 @@
+package com.sap.cloud.lm.sl.cf.benchmarks.generated;
+public class ModuleExtractionBenchmark_DiskWrites_jmhType extends ModuleExtractionBenchmark_DiskWrites_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.sap.cloud.lm.sl.cf.benchmarks.generated;
+public class SecureSerializationBenchmark_jmhType extends SecureSerializationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.sap.cloud.lm.sl.cf.benchmarks.generated;
+public class VariableSerializationBenchmark_jmhType extends VariableSerializationBenchmark_jmhType_B3 {
+}
+
@@ -109,6 +109,7 @@ public final class Messages {
     public static final String ALTERED_DATA_TYPES_FOR_OPERATION_TABLE = "Altered data types for 'started_at' and 'ended_at' columns in 'operation' table to 'timestamp'.";
     public static final String SPLIT_TARGET_SPACE_COLUMN = "Split target space column in configuration registry";
     public static final String TRANSFORMED_FILTER_COLUMN = "Transformed filter column in configuration subscription table";
+    public static final String SPLIT_FILTER_COLUMN = "Split filter column in configuration subscription table";
 
     public static final String CONTROLLER_URL = "Controller URL: {0}";
     public static final String PLATFORM = "Platform: {0}";
@@ -124,7 +125,7 @@ public final class Messages {
     public static final String GLOBAL_AUDITOR_USERNAME = "Global Auditor username: {0}";
     public static final String USE_XS_AUDIT_LOGGING = "Use XSA audit logging: {0}";
     public static final String DB_CONNECTION_THREADS = "Database connection thread pool size: {0}";
-    public static final String STEP_POLLING_INTERVAL_IN_SECONDS = "Step polling interval in seconds: {0}";
+    public static final String STEP_POLLING_INTERVAL_IN_SECONDS = "Max step polling interval in seconds: {0}";
     public static final String SKIP_SSL_VALIDATION = "Skip SSL validation: {0}";
     public static final String DS_VERSION = "Deploy service version: {0}";
     public static final String CHANGE_LOG_LOCK_POLL_RATE = "Change log lock poll rate: {0}";
@@ -169,6 +170,29 @@ public final class Messages {
     public static final String CONTROLLER_CLIENT_THREAD_POOL_SIZE = "Controller client thread pool size: {0}";
     public static final String MICROMETER_STEP_IN_SECONDS = "Micrometer step in seconds: {0}";
     public static final String MICROMETER_BATCH_SIZE = "Micrometer batch size: {0}";
+    public static final String CONTROLLER_CLIENT_CACHE_MAX_SIZE = "Controller client cache max size: {0}";
+    public static final String CONTROLLER_CLIENT_CACHE_EXPIRATION_IN_SECONDS = "Controller client cache expiration in seconds: {0}";
+    public static final String PROGRESS_MESSAGES_BATCH_SIZE = "Progress messages batch size: {0}";
+    public static final String PROGRESS_MESSAGES_FLUSH_INTERVAL_IN_MILLIS = "Progress messages flush interval in milliseconds: {0}";
+    public static final String OBJECT_STORE_RANGED_DOWNLOAD_THRESHOLD = "Object store ranged download threshold: {0}";
+    public static final String OBJECT_STORE_DOWNLOAD_RANGE_SIZE = "Object store download range size: {0}";
+    public static final String OBJECT_STORE_PARALLEL_RANGE_DOWNLOADS = "Object store parallel range downloads: {0}";
+    public static final String STEP_POLLING_INITIAL_INTERVAL_IN_SECONDS = "Initial step polling interval in seconds: {0}";
+    public static final String FILE_DEDUPLICATION_ENABLED = "Deduplicate files: {0}";
+    public static final String FILE_SYSTEM_STORAGE_INDEX_ENABLED = "Index file system storage: {0}";
+    public static final String OBJECT_STORE_DATABASE_INDEX_ENABLED = "Object store database index enabled: {0}";
+    public static final String OBJECT_STORE_PARALLEL_DELETES = "Object store parallel deletes: {0}";
+    public static final String OBJECT_STORE_RECONCILIATION_ENABLED = "Object store reconciliation enabled: {0}";
+    public static final String OBJECT_STORE_PARALLEL_UPLOAD_PARTS = "Object store parallel upload parts: {0}";
+    public static final String ARCHIVE_MERGE_PARALLEL_PARTS = "Archive merge parallel parts: {0}";
+    public static final String FILE_LARGE_OBJECTS_ENABLED = "Store files as large objects: {0}";
+    public static final String FILE_CONTENT_CACHE_MAX_SIZE = "File content cache max size: {0}";
+    public static final String FILES_SWEEP_TIME_BUDGET_IN_SECONDS = "Files sweep time budget in seconds: {0}";
+    public static final String APPLICATION_DIGEST_PARALLELISM = "Application digest parallelism: {0}";
+    public static final String APPLICATION_DIGEST_BUFFER_SIZE = "Application digest buffer size: {0}";
+    public static final String ARCHIVE_SIGNATURE_VERIFICATION_PARALLELISM = "Archive signature verification parallelism: {0}";
+    public static final String INCREMENTAL_APP_UPLOAD_ENABLED = "Upload applications incrementally: {0}";
+    public static final String RESOURCE_MATCH_BATCH_SIZE = "Resource match batch size: {0}";
 
     // Debug messages
     public static final String DEPLOYMENT_DESCRIPTOR = "Deployment descriptor: {0}";
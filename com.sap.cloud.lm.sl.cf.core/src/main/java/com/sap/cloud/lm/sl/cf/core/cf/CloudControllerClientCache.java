@@ -0,0 +1,120 @@
+package com.sap.cloud.lm.sl.cf.core.cf;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.cloudfoundry.client.lib.CloudControllerClient;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Size and time bounded cache of the clients, which are not targeted to any organization or space. The clients are stored per user along
+ * with the token they were created with, so that a client is replaced as soon as the token of its user changes. The underlying cache is
+ * segmented, which means that concurrent requests for different users do not contend for the same lock.
+ */
+@Named
+public class CloudControllerClientCache {
+
+    public static final String METRICS_PREFIX = "cloudfoundry-client.cache.";
+    static final String HITS_METRIC = METRICS_PREFIX + "hits";
+    static final String MISSES_METRIC = METRICS_PREFIX + "misses";
+    static final String EVICTIONS_METRIC = METRICS_PREFIX + "evictions";
+    static final String CAUSE_TAG = "cause";
+
+    private static final int CONCURRENCY_LEVEL = 16;
+
+    private final Cache<String, CachedClient> clients;
+    private final MeterRegistry meterRegistry;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Inject
+    public CloudControllerClientCache(ApplicationConfiguration configuration) {
+        this(configuration, Metrics.globalRegistry, Ticker.systemTicker());
+    }
+
+    CloudControllerClientCache(ApplicationConfiguration configuration, MeterRegistry meterRegistry, Ticker ticker) {
+        this.meterRegistry = meterRegistry;
+        this.hits = meterRegistry.counter(HITS_METRIC);
+        this.misses = meterRegistry.counter(MISSES_METRIC);
+        this.clients = CacheBuilder.newBuilder()
+                                   .concurrencyLevel(CONCURRENCY_LEVEL)
+                                   .maximumSize(configuration.getControllerClientCacheMaxSize())
+                                   .expireAfterWrite(configuration.getControllerClientCacheExpirationInSeconds(), TimeUnit.SECONDS)
+                                   .ticker(ticker)
+                                   .removalListener(this::onRemoval)
+                                   .build();
+    }
+
+    /**
+     * Returns the cached client of the specified user, if it was created with the same token. Otherwise, creates a new client and
+     * replaces the cached one with it. The replacement is atomic, so concurrent requests of the same user create only one client.
+     *
+     * @param userName the user name associated with the client
+     * @param token the current token of the user
+     * @param clientCreator creates a new client for the specified token
+     * @return a CF client for the specified user and token
+     */
+    public CloudControllerClient getClient(String userName, OAuth2AccessToken token,
+                                           Function<OAuth2AccessToken, CloudControllerClient> clientCreator) {
+        CachedClient cachedClient = clients.getIfPresent(userName);
+        if (cachedClient != null && cachedClient.wasCreatedWith(token)) {
+            hits.increment();
+            return cachedClient.getClient();
+        }
+        return clients.asMap()
+                      .compute(userName, (key, currentClient) -> getOrCreateClient(currentClient, token, clientCreator))
+                      .getClient();
+    }
+
+    private CachedClient getOrCreateClient(CachedClient currentClient, OAuth2AccessToken token,
+                                           Function<OAuth2AccessToken, CloudControllerClient> clientCreator) {
+        // Another request of the same user may have created the client in the meantime:
+        if (currentClient != null && currentClient.wasCreatedWith(token)) {
+            hits.increment();
+            return currentClient;
+        }
+        misses.increment();
+        return new CachedClient(token.getValue(), clientCreator.apply(token));
+    }
+
+    private void onRemoval(RemovalNotification<String, CachedClient> notification) {
+        meterRegistry.counter(EVICTIONS_METRIC, CAUSE_TAG, notification.getCause()
+                                                                        .name())
+                     .increment();
+    }
+
+    private static class CachedClient {
+
+        private final String tokenValue;
+        private final CloudControllerClient client;
+
+        CachedClient(String tokenValue, CloudControllerClient client) {
+            this.tokenValue = tokenValue;
+            this.client = client;
+        }
+
+        boolean wasCreatedWith(OAuth2AccessToken token) {
+            return Objects.equals(tokenValue, token.getValue());
+        }
+
+        CloudControllerClient getClient() {
+            return client;
+        }
+
+    }
+
+}
@@ -1,17 +1,15 @@
 package com.sap.cloud.lm.sl.cf.core.cf;
 
-import java.util.Collections;
 import java.util.Map;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import org.apache.commons.collections4.map.AbstractReferenceMap.ReferenceStrength;
-import org.apache.commons.collections4.map.ReferenceMap;
 import org.cloudfoundry.client.lib.CloudControllerClient;
 import org.cloudfoundry.client.lib.CloudOperationException;
 import org.springframework.security.oauth2.common.OAuth2AccessToken;
 
+import com.google.common.cache.CacheBuilder;
 import com.sap.cloud.lm.sl.cf.core.Messages;
 import com.sap.cloud.lm.sl.cf.core.security.token.TokenService;
 import com.sap.cloud.lm.sl.common.SLException;
@@ -25,10 +23,16 @@ public class CloudControllerClientProvider {
     @Inject
     private TokenService tokenService;
 
+    @Inject
+    private CloudControllerClientCache clientCache;
+
     // Cached clients. These are stored in memory-sensitive cache, i.e. no OutOfMemory error would
-    // occur before GC tries to release the not-used clients.
-    private final Map<String, CloudControllerClient> clients = Collections.synchronizedMap(new ReferenceMap<>(ReferenceStrength.HARD,
-                                                                                                              ReferenceStrength.SOFT));
+    // occur before GC tries to release the not-used clients. The cache is segmented, so that lookups
+    // for different users do not serialize on a single monitor.
+    private final Map<String, CloudControllerClient> clients = CacheBuilder.newBuilder()
+                                                                           .softValues()
+                                                                           .<String, CloudControllerClient> build()
+                                                                           .asMap();
 
     /**
      * Returns a client for the specified user name, organization, space and process id by either getting it from the clients cache or
@@ -81,14 +85,15 @@ public class CloudControllerClientProvider {
     }
 
     /**
-     * Returns a client for the specified user name by either getting it from the clients cache or creating a new one.
+     * Returns a client for the specified user name by either getting it from the clients cache or creating a new one. A cached client is
+     * reused only as long as the token of the user has not changed.
      *
      * @param userName the user name associated with the client
      * @return a CF client for the specified access token, organization, and space
      */
     public CloudControllerClient getControllerClient(String userName) {
         try {
-            return clientFactory.createClient(getValidToken(userName));
+            return clientCache.getClient(userName, getValidToken(userName), clientFactory::createClient);
         } catch (CloudOperationException e) {
             throw new SLException(e, Messages.CANT_CREATE_CLIENT);
         }
@@ -136,14 +141,11 @@ public class CloudControllerClientProvider {
     private CloudControllerClient getClientFromCache(String userName, String org, String space, String processId) {
         // Get a client from the cache or create a new one if needed
         String key = getKey(userName, org, space);
-        CloudControllerClient client = clients.get(key);
-        if (client == null) {
-            client = clientFactory.createClient(getValidToken(userName), org, space);
-            if (processId != null) {
-                clients.put(key, client);
-            }
+        if (processId == null) {
+            CloudControllerClient client = clients.get(key);
+            return client != null ? client : clientFactory.createClient(getValidToken(userName), org, space);
         }
-        return client;
+        return clients.computeIfAbsent(key, k -> clientFactory.createClient(getValidToken(userName), org, space));
     }
 
     private CloudControllerClient getClientFromCache(String userName, String spaceId) {
@@ -0,0 +1,191 @@
+package com.sap.cloud.lm.sl.cf.core.cf.clients;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.cloudfoundry.client.lib.CloudControllerClient;
+import org.cloudfoundry.client.lib.domain.ImmutableUploadToken;
+import org.cloudfoundry.client.lib.domain.UploadToken;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.Lists;
+import com.sap.cloud.lm.sl.cf.core.model.ApplicationResource;
+import com.sap.cloud.lm.sl.common.util.JsonUtil;
+import com.sap.cloud.lm.sl.common.util.MapUtil;
+
+/**
+ * Uploads application packages, whose files are partially known to the resource pool of the Cloud Controller. The known files are found
+ * through the resource match endpoint and are listed in the upload request instead of being sent again.
+ */
+@Named
+public class ApplicationPackageUploader extends CustomControllerClient {
+
+    private static final String RESOURCE_MATCH_URL = "/v2/resource_match";
+    private static final String PACKAGES_URL = "/v3/packages";
+    private static final String PACKAGE_URL = "/v3/packages/{guid}";
+    private static final String PACKAGE_UPLOAD_URL = "/v3/packages/{guid}/upload";
+    private static final String BITS_PACKAGE_TYPE = "bits";
+
+    @Inject
+    public ApplicationPackageUploader(RestTemplateFactory restTemplateFactory) {
+        super(restTemplateFactory);
+    }
+
+    /**
+     * Returns the resources, which are present in the resource pool. Each distinct fingerprint is sent only once and the fingerprints are
+     * sent in batches of at most {@code batchSize} elements.
+     */
+    public List<ApplicationResource> matchResources(CloudControllerClient client, Collection<ApplicationResource> resources,
+                                                    int batchSize) {
+        RestTemplate restTemplate = getRestTemplate(client);
+        String resourceMatchUrl = getUrl(getCloudControllerUrl(client), RESOURCE_MATCH_URL);
+        Set<Map<String, Object>> matchedFingerprints = new HashSet<>();
+        for (List<Map<String, Object>> batch : Lists.partition(getDistinctFingerprints(resources), batchSize)) {
+            matchedFingerprints.addAll(new CustomControllerClientErrorHandler().handleErrorsOrReturnResult(() -> match(restTemplate,
+                                                                                                                     resourceMatchUrl,
+                                                                                                                     batch)));
+        }
+        return resources.stream()
+                        .filter(resource -> matchedFingerprints.contains(getFingerprint(resource)))
+                        .collect(Collectors.toList());
+    }
+
+    private List<Map<String, Object>> getDistinctFingerprints(Collection<ApplicationResource> resources) {
+        return new ArrayList<>(resources.stream()
+                                        .map(this::getFingerprint)
+                                        .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    private Map<String, Object> getFingerprint(ApplicationResource resource) {
+        Map<String, Object> fingerprint = new LinkedHashMap<>();
+        fingerprint.put("sha1", resource.getSha1());
+        fingerprint.put("size", resource.getSize());
+        return fingerprint;
+    }
+
+    private List<Map<String, Object>> match(RestTemplate restTemplate, String resourceMatchUrl, List<Map<String, Object>> fingerprints) {
+        String response = restTemplate.exchange(resourceMatchUrl, HttpMethod.PUT, createJsonEntity(fingerprints), String.class)
+                                      .getBody();
+        return JsonUtil.convertJsonToList(response, new TypeReference<List<Map<String, Object>>>() {
+        })
+                       .stream()
+                       .map(this::toFingerprint)
+                       .collect(Collectors.toList());
+    }
+
+    private Map<String, Object> toFingerprint(Map<String, Object> matchedResource) {
+        Map<String, Object> fingerprint = new LinkedHashMap<>();
+        fingerprint.put("sha1", matchedResource.get("sha1"));
+        fingerprint.put("size", ((Number) matchedResource.get("size")).longValue());
+        return fingerprint;
+    }
+
+    /**
+     * Creates a new package for the application and uploads the bits, which are not in the resource pool, together with the list of
+     * matched resources. The bits may be {@code null}, if all files of the application are matched. The bits are streamed, so that they
+     * are not held in memory as a whole. If the upload fails, the package is deleted, so that it does not remain as an empty package of
+     * the application.
+     */
+    public UploadToken uploadPackage(CloudControllerClient client, UUID applicationGuid, List<ApplicationResource> matchedResources,
+                                     Path bits) {
+        RestTemplate restTemplate = getRestTemplate(client);
+        String controllerUrl = getCloudControllerUrl(client);
+        UUID packageGuid = new CustomControllerClientErrorHandler().handleErrorsOrReturnResult(() -> createPackage(restTemplate,
+                                                                                                                   controllerUrl,
+                                                                                                                   applicationGuid));
+        try {
+            new CustomControllerClientErrorHandler().handleErrors(() -> upload(getStreamingRestTemplate(client), controllerUrl,
+                                                                               packageGuid, matchedResources, bits));
+        } catch (RuntimeException e) {
+            deletePackage(restTemplate, controllerUrl, packageGuid, e);
+            throw e;
+        }
+        return ImmutableUploadToken.builder()
+                                   .packageGuid(packageGuid)
+                                   .build();
+    }
+
+    private UUID createPackage(RestTemplate restTemplate, String controllerUrl, UUID applicationGuid) {
+        Map<String, Object> application = MapUtil.asMap("data", MapUtil.asMap("guid", applicationGuid.toString()));
+        Map<String, Object> packageRequest = new LinkedHashMap<>();
+        packageRequest.put("type", BITS_PACKAGE_TYPE);
+        packageRequest.put("relationships", MapUtil.asMap("app", application));
+        String response = restTemplate.postForObject(getUrl(controllerUrl, PACKAGES_URL), createJsonEntity(packageRequest),
+                                                     String.class);
+        return UUID.fromString((String) JsonUtil.convertJsonToMap(response)
+                                                .get("guid"));
+    }
+
+    private void deletePackage(RestTemplate restTemplate, String controllerUrl, UUID packageGuid, Exception uploadFailure) {
+        try {
+            new CustomControllerClientErrorHandler().handleErrors(() -> restTemplate.delete(getUrl(controllerUrl, PACKAGE_URL),
+                                                                                            packageGuid));
+        } catch (RuntimeException e) {
+            uploadFailure.addSuppressed(e);
+        }
+    }
+
+    private void upload(RestTemplate restTemplate, String controllerUrl, UUID packageGuid, List<ApplicationResource> matchedResources,
+                        Path bits) {
+        // The parts of the multipart request are written by the form converter, which is not registered by default:
+        restTemplate.getMessageConverters()
+                    .add(new FormHttpMessageConverter());
+        MultiValueMap<String, Object> parts = new LinkedMultiValueMap<>();
+        parts.add("resources", createJsonEntity(getResourcesManifest(matchedResources)));
+        if (bits != null) {
+            parts.add("bits", new FileSystemResource(bits.toFile()));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        restTemplate.postForObject(getUrl(controllerUrl, PACKAGE_UPLOAD_URL), new HttpEntity<>(parts, headers), String.class,
+                                   packageGuid);
+    }
+
+    private List<Map<String, Object>> getResourcesManifest(List<ApplicationResource> matchedResources) {
+        return matchedResources.stream()
+                               .map(this::toManifestEntry)
+                               .collect(Collectors.toList());
+    }
+
+    private Map<String, Object> toManifestEntry(ApplicationResource resource) {
+        Map<String, Object> manifestEntry = new LinkedHashMap<>();
+        manifestEntry.put("path", resource.getPath());
+        manifestEntry.put("size_in_bytes", resource.getSize());
+        manifestEntry.put("checksum", MapUtil.asMap("value", resource.getSha1()));
+        manifestEntry.put("mode", resource.getMode());
+        return manifestEntry;
+    }
+
+    private HttpEntity<String> createJsonEntity(Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(JsonUtil.toJson(body), headers);
+    }
+
+    private String getCloudControllerUrl(CloudControllerClient client) {
+        return client.getCloudControllerUrl()
+                     .toString();
+    }
+
+}
@@ -26,6 +26,10 @@ public abstract class CustomControllerClient {
         return restTemplateFactory.getRestTemplate(client);
     }
 
+    protected RestTemplate getStreamingRestTemplate(CloudControllerClient client) {
+        return restTemplateFactory.getStreamingRestTemplate(client);
+    }
+
     protected List<Map<String, Object>> getAllResources(RestTemplate restTemplate, String controllerUrl, String urlPath) {
         return getAllResources(restTemplate, controllerUrl, urlPath, Collections.emptyMap());
     }
@@ -11,6 +11,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Named
@@ -22,6 +23,20 @@ public class RestTemplateFactory {
         return restTemplate;
     }
 
+    /**
+     * Returns a rest template, which writes request bodies directly to the connection instead of buffering them in memory first. Meant for
+     * requests with large bodies, like file uploads.
+     */
+    public RestTemplate getStreamingRestTemplate(CloudControllerClient client) {
+        RestTemplate restTemplate = new RestUtil().createRestTemplate(null, false);
+        ClientHttpRequestFactory requestFactory = restTemplate.getRequestFactory();
+        if (requestFactory instanceof HttpComponentsClientHttpRequestFactory) {
+            ((HttpComponentsClientHttpRequestFactory) requestFactory).setBufferRequestBody(false);
+        }
+        restTemplate.setRequestFactory(new HttpRequestFactory(requestFactory, client));
+        return restTemplate;
+    }
+
     private static class HttpRequestFactory implements ClientHttpRequestFactory {
 
         private final ClientHttpRequestFactory requestFactory;
@@ -0,0 +1,79 @@
+package com.sap.cloud.lm.sl.cf.core.liquibase;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.sap.cloud.lm.sl.cf.core.Messages;
+import com.sap.cloud.lm.sl.cf.core.model.CloudTarget;
+import com.sap.cloud.lm.sl.cf.core.model.ConfigurationFilter;
+import com.sap.cloud.lm.sl.cf.persistence.changes.liquibase.AbstractDataTransformationChange;
+import com.sap.cloud.lm.sl.common.util.JsonUtil;
+
+public class SplitFilterColumn extends AbstractDataTransformationChange<Map<Long, String>, Map<Long, ConfigurationFilter>> {
+
+    private static final String SELECT_STATEMENT = "SELECT ID, FILTER FROM CONFIGURATION_SUBSCRIPTION";
+    private static final String UPDATE_STATEMENT = "UPDATE CONFIGURATION_SUBSCRIPTION SET FILTER_PROVIDER_NID=?, FILTER_PROVIDER_ID=?, FILTER_TARGET_ORG=?, FILTER_TARGET_SPACE=? WHERE ID=?";
+
+    @Override
+    public Map<Long, String> extractData(ResultSet resultSet) throws SQLException {
+        Map<Long, String> result = new HashMap<>();
+        while (resultSet.next()) {
+            long id = resultSet.getLong("ID");
+            String filter = resultSet.getString("FILTER");
+            result.put(id, filter);
+            logger.debug(String.format("Retrieve data from row ID: '%s' and FILTER: '%s'", id, filter));
+        }
+        return result;
+    }
+
+    @Override
+    public Map<Long, ConfigurationFilter> transformData(Map<Long, String> retrievedData) {
+        Map<Long, ConfigurationFilter> result = new HashMap<>();
+        for (Map.Entry<Long, String> originalEntry : retrievedData.entrySet()) {
+            if (StringUtils.isEmpty(originalEntry.getValue())) {
+                continue;
+            }
+            result.put(originalEntry.getKey(), JsonUtil.fromJson(originalEntry.getValue(), ConfigurationFilter.class));
+        }
+        return result;
+    }
+
+    @Override
+    public void setUpdateStatementParameters(PreparedStatement preparedStatement, Map<Long, ConfigurationFilter> transformedData)
+        throws SQLException {
+        for (Map.Entry<Long, ConfigurationFilter> entry : transformedData.entrySet()) {
+            ConfigurationFilter filter = entry.getValue();
+            CloudTarget targetSpace = filter.getTargetSpace() != null ? filter.getTargetSpace() : new CloudTarget();
+            preparedStatement.setString(1, filter.getProviderNid());
+            preparedStatement.setString(2, filter.getProviderId());
+            preparedStatement.setString(3, targetSpace.getOrganizationName());
+            preparedStatement.setString(4, targetSpace.getSpaceName());
+            preparedStatement.setLong(5, entry.getKey());
+            preparedStatement.addBatch();
+            logger.debug(String.format("Executed update for row ID: '%s' , FILTER_PROVIDER_NID: '%s' , FILTER_PROVIDER_ID: '%s' , FILTER_TARGET_ORG: '%s' , FILTER_TARGET_SPACE: '%s'",
+                                       entry.getKey(), filter.getProviderNid(), filter.getProviderId(), targetSpace.getOrganizationName(),
+                                       targetSpace.getSpaceName()));
+        }
+    }
+
+    @Override
+    public String getSelectStatement() {
+        return SELECT_STATEMENT;
+    }
+
+    @Override
+    public String getUpdateStatement() {
+        return UPDATE_STATEMENT;
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return Messages.SPLIT_FILTER_COLUMN;
+    }
+
+}
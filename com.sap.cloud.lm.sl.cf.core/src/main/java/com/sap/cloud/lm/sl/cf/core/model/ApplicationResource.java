@@ -0,0 +1,24 @@
+package com.sap.cloud.lm.sl.cf.core.model;
+
+import org.immutables.value.Value;
+
+/**
+ * A file of an application package, identified by the Cloud Controller resource pool through its SHA-1 and size.
+ */
+@Value.Immutable
+public interface ApplicationResource {
+
+    String DEFAULT_MODE = "644";
+
+    String getPath();
+
+    String getSha1();
+
+    long getSize();
+
+    @Value.Default
+    default String getMode() {
+        return DEFAULT_MODE;
+    }
+
+}
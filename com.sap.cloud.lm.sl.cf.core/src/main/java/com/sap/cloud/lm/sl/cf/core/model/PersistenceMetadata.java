@@ -55,6 +55,10 @@ public class PersistenceMetadata {
         public static final String CONFIGURATION_SUBSCRIPTION_RESOURCE_NAME = "resource_name";
         public static final String CONFIGURATION_SUBSCRIPTION_MODULE = "module";
         public static final String CONFIGURATION_SUBSCRIPTION_FILTER = "filter";
+        public static final String CONFIGURATION_SUBSCRIPTION_FILTER_PROVIDER_NID = "filter_provider_nid";
+        public static final String CONFIGURATION_SUBSCRIPTION_FILTER_PROVIDER_ID = "filter_provider_id";
+        public static final String CONFIGURATION_SUBSCRIPTION_FILTER_TARGET_ORG = "filter_target_org";
+        public static final String CONFIGURATION_SUBSCRIPTION_FILTER_TARGET_SPACE = "filter_target_space";
 
         public static final String ONGOING_OPERATION_SPACE_ID = "spaceId";
         public static final String ONGOING_OPERATION_STARTED_AT = "startedAt";
@@ -43,6 +43,10 @@ public class ConfigurationSubscriptionDto implements DtoWithPrimaryKey<Long> {
         public static final String MODULE = "module";
         public static final String RESOURCE_NAME = "resourceName";
         public static final String RESOURCE_PROP = "resourceProperties";
+        public static final String FILTER_PROVIDER_NID = "filterProviderNid";
+        public static final String FILTER_PROVIDER_ID = "filterProviderId";
+        public static final String FILTER_TARGET_ORG = "filterTargetOrg";
+        public static final String FILTER_TARGET_SPACE = "filterTargetSpace";
 
     }
 
@@ -64,6 +68,20 @@ public class ConfigurationSubscriptionDto implements DtoWithPrimaryKey<Long> {
     @Lob
     private String filter;
 
+    // The following columns duplicate parts of the filter, so that subscriptions can be matched against configuration entries in the
+    // database:
+    @Column(name = TableColumnNames.CONFIGURATION_SUBSCRIPTION_FILTER_PROVIDER_NID)
+    private String filterProviderNid;
+
+    @Column(name = TableColumnNames.CONFIGURATION_SUBSCRIPTION_FILTER_PROVIDER_ID)
+    private String filterProviderId;
+
+    @Column(name = TableColumnNames.CONFIGURATION_SUBSCRIPTION_FILTER_TARGET_ORG)
+    private String filterTargetOrg;
+
+    @Column(name = TableColumnNames.CONFIGURATION_SUBSCRIPTION_FILTER_TARGET_SPACE)
+    private String filterTargetSpace;
+
     @Column(name = TableColumnNames.CONFIGURATION_SUBSCRIPTION_RESOURCE_PROP, nullable = false)
     @Lob
     private String resourceProperties;
@@ -79,9 +97,14 @@ public class ConfigurationSubscriptionDto implements DtoWithPrimaryKey<Long> {
         // Required by JPA.
     }
 
-    private ConfigurationSubscriptionDto(long id, String mtaId, String spaceId, String appName, String filter, String moduleContent,
+    private ConfigurationSubscriptionDto(long id, String mtaId, String spaceId, String appName, String filter, String filterProviderNid,
+                                         String filterProviderId, String filterTargetOrg, String filterTargetSpace, String moduleContent,
                                          String resourceName, String resourceProperties) {
         this.id = id;
+        this.filterProviderNid = filterProviderNid;
+        this.filterProviderId = filterProviderId;
+        this.filterTargetOrg = filterTargetOrg;
+        this.filterTargetSpace = filterTargetSpace;
         this.resourceProperties = resourceProperties;
         this.resourceName = resourceName;
         this.module = moduleContent;
@@ -139,6 +162,22 @@ public class ConfigurationSubscriptionDto implements DtoWithPrimaryKey<Long> {
         return filter;
     }
 
+    public String getFilterProviderNid() {
+        return filterProviderNid;
+    }
+
+    public String getFilterProviderId() {
+        return filterProviderId;
+    }
+
+    public String getFilterTargetOrg() {
+        return filterTargetOrg;
+    }
+
+    public String getFilterTargetSpace() {
+        return filterTargetSpace;
+    }
+
     public String getModuleContent() {
         return module;
     }
@@ -162,6 +201,10 @@ public class ConfigurationSubscriptionDto implements DtoWithPrimaryKey<Long> {
         private String spaceId;
         private String appName;
         private String filter;
+        private String filterProviderNid;
+        private String filterProviderId;
+        private String filterTargetOrg;
+        private String filterTargetSpace;
         private String resourceProperties;
         private String resourceName;
         private String module;
@@ -191,6 +234,26 @@ public class ConfigurationSubscriptionDto implements DtoWithPrimaryKey<Long> {
             return this;
         }
 
+        public Builder filterProviderNid(String filterProviderNid) {
+            this.filterProviderNid = filterProviderNid;
+            return this;
+        }
+
+        public Builder filterProviderId(String filterProviderId) {
+            this.filterProviderId = filterProviderId;
+            return this;
+        }
+
+        public Builder filterTargetOrg(String filterTargetOrg) {
+            this.filterTargetOrg = filterTargetOrg;
+            return this;
+        }
+
+        public Builder filterTargetSpace(String filterTargetSpace) {
+            this.filterTargetSpace = filterTargetSpace;
+            return this;
+        }
+
         public Builder resourceProperties(String resourceProperties) {
             this.resourceProperties = resourceProperties;
             return this;
@@ -207,7 +270,18 @@ public class ConfigurationSubscriptionDto implements DtoWithPrimaryKey<Long> {
         }
 
         public ConfigurationSubscriptionDto build() {
-            return new ConfigurationSubscriptionDto(id, mtaId, spaceId, appName, filter, module, resourceName, resourceProperties);
+            return new ConfigurationSubscriptionDto(id,
+                                                    mtaId,
+                                                    spaceId,
+                                                    appName,
+                                                    filter,
+                                                    filterProviderNid,
+                                                    filterProviderId,
+                                                    filterTargetOrg,
+                                                    filterTargetSpace,
+                                                    module,
+                                                    resourceName,
+                                                    resourceProperties);
         }
     }
 }
@@ -1,6 +1,7 @@
 package com.sap.cloud.lm.sl.cf.core.persistence.query;
 
 import java.util.Date;
+import java.util.List;
 
 import com.sap.cloud.lm.sl.cf.core.model.HistoricOperationEvent;
 import com.sap.cloud.lm.sl.cf.core.model.HistoricOperationEvent.EventType;
@@ -11,6 +12,8 @@ public interface HistoricOperationEventQuery extends Query<HistoricOperationEven
 
     HistoricOperationEventQuery processId(String processId);
 
+    HistoricOperationEventQuery processIdAnyOf(List<String> processIds);
+
     HistoricOperationEventQuery type(EventType type);
 
     HistoricOperationEventQuery olderThan(Date time);
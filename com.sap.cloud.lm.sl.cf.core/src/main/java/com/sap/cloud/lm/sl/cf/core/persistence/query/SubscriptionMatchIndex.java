@@ -0,0 +1,78 @@
+package com.sap.cloud.lm.sl.cf.core.persistence.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import com.sap.cloud.lm.sl.cf.core.model.ConfigurationEntry;
+import com.sap.cloud.lm.sl.cf.core.model.ConfigurationFilter;
+import com.sap.cloud.lm.sl.cf.core.model.ConfigurationSubscription;
+
+/**
+ * An inverted index of configuration subscriptions keyed by the provider ID in their filters. Matching a configuration entry against the
+ * index only checks the subscriptions that require the provider ID of the entry and the ones that do not require a specific provider ID,
+ * instead of all subscriptions.
+ */
+public class SubscriptionMatchIndex {
+
+    private final List<ConfigurationSubscription> subscriptions;
+    private final Map<String, List<Integer>> subscriptionIndicesByProviderId = new HashMap<>();
+    private final List<Integer> indicesOfSubscriptionsWithoutProviderId = new ArrayList<>();
+
+    public SubscriptionMatchIndex(List<ConfigurationSubscription> subscriptions) {
+        this.subscriptions = subscriptions;
+        for (int i = 0; i < subscriptions.size(); i++) {
+            index(i, getProviderId(subscriptions.get(i)));
+        }
+    }
+
+    private String getProviderId(ConfigurationSubscription subscription) {
+        ConfigurationFilter filter = subscription.getFilter();
+        return filter == null ? null : filter.getProviderId();
+    }
+
+    private void index(int subscriptionIndex, String providerId) {
+        if (providerId == null) {
+            indicesOfSubscriptionsWithoutProviderId.add(subscriptionIndex);
+            return;
+        }
+        subscriptionIndicesByProviderId.computeIfAbsent(providerId, key -> new ArrayList<>())
+                                       .add(subscriptionIndex);
+    }
+
+    /**
+     * @return the subscriptions matching at least one of the entries, in the order in which they were passed to the index
+     */
+    public List<ConfigurationSubscription> getMatching(List<ConfigurationEntry> entries) {
+        SortedSet<Integer> matchingIndices = new TreeSet<>();
+        for (ConfigurationEntry entry : entries) {
+            addMatchingIndices(matchingIndices, getIndicesOfCandidates(entry.getProviderId()), entry);
+            addMatchingIndices(matchingIndices, indicesOfSubscriptionsWithoutProviderId, entry);
+        }
+        return matchingIndices.stream()
+                              .map(subscriptions::get)
+                              .collect(Collectors.toList());
+    }
+
+    private List<Integer> getIndicesOfCandidates(String providerId) {
+        if (providerId == null) {
+            return Collections.emptyList();
+        }
+        return subscriptionIndicesByProviderId.getOrDefault(providerId, Collections.emptyList());
+    }
+
+    private void addMatchingIndices(SortedSet<Integer> matchingIndices, List<Integer> candidateIndices, ConfigurationEntry entry) {
+        for (Integer candidateIndex : candidateIndices) {
+            if (!matchingIndices.contains(candidateIndex) && subscriptions.get(candidateIndex)
+                                                                          .matches(entry)) {
+                matchingIndices.add(candidateIndex);
+            }
+        }
+    }
+
+}
@@ -1,17 +1,25 @@
 package com.sap.cloud.lm.sl.cf.core.persistence.query.impl;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Predicate;
 
 import com.sap.cloud.lm.sl.cf.core.Messages;
+import com.sap.cloud.lm.sl.cf.core.model.CloudTarget;
 import com.sap.cloud.lm.sl.cf.core.model.ConfigurationEntry;
 import com.sap.cloud.lm.sl.cf.core.model.ConfigurationSubscription;
 import com.sap.cloud.lm.sl.cf.core.persistence.dto.ConfigurationSubscriptionDto;
 import com.sap.cloud.lm.sl.cf.core.persistence.dto.ConfigurationSubscriptionDto.AttributeNames;
 import com.sap.cloud.lm.sl.cf.core.persistence.query.ConfigurationSubscriptionQuery;
+import com.sap.cloud.lm.sl.cf.core.persistence.query.SubscriptionMatchIndex;
 import com.sap.cloud.lm.sl.cf.core.persistence.query.criteria.ImmutableQueryAttributeRestriction;
 import com.sap.cloud.lm.sl.cf.core.persistence.query.criteria.QueryCriteria;
 import com.sap.cloud.lm.sl.cf.core.persistence.service.ConfigurationSubscriptionService.ConfigurationSubscriptionMapper;
@@ -104,14 +112,58 @@ public class ConfigurationSubscriptionQueryImpl extends AbstractQueryImpl<Config
 
     @Override
     public List<ConfigurationSubscription> list() {
+        if (matchingEntries == null) {
+            return listSubscriptions();
+        }
+        if (matchingEntries.isEmpty()) {
+            return Collections.emptyList();
+        }
+        addMatchingEntriesRestrictions();
+        return new SubscriptionMatchIndex(listSubscriptions()).getMatching(matchingEntries);
+    }
+
+    private List<ConfigurationSubscription> listSubscriptions() {
         List<ConfigurationSubscriptionDto> dtos = executeInTransaction(manager -> createQuery(manager, queryCriteria,
                                                                                               ConfigurationSubscriptionDto.class).getResultList());
         return dtos.stream()
                    .map(subscriptionMapper::fromDto)
-                   .filter(this::matchesEntries)
                    .collect(Collectors.toList());
     }
 
+    // The restrictions select the subscriptions, whose filters could match at least one of the entries. The provider version and the
+    // required content of the filters are checked in memory.
+    private void addMatchingEntriesRestrictions() {
+        addMatchingEntriesRestriction(AttributeNames.FILTER_PROVIDER_NID, ConfigurationEntry::getProviderNid);
+        addMatchingEntriesRestriction(AttributeNames.FILTER_PROVIDER_ID, ConfigurationEntry::getProviderId);
+        addMatchingEntriesRestriction(AttributeNames.FILTER_TARGET_ORG, entry -> getTargetAttribute(entry,
+                                                                                                     CloudTarget::getOrganizationName));
+        addMatchingEntriesRestriction(AttributeNames.FILTER_TARGET_SPACE, entry -> getTargetAttribute(entry, CloudTarget::getSpaceName));
+    }
+
+    private String getTargetAttribute(ConfigurationEntry entry, Function<CloudTarget, String> targetAttributeGetter) {
+        CloudTarget target = entry.getTargetSpace();
+        return target == null ? null : targetAttributeGetter.apply(target);
+    }
+
+    private void addMatchingEntriesRestriction(String attribute, Function<ConfigurationEntry, String> entryAttributeGetter) {
+        Set<String> values = matchingEntries.stream()
+                                            .map(entryAttributeGetter)
+                                            .filter(Objects::nonNull)
+                                            .collect(Collectors.toSet());
+        queryCriteria.addRestriction(ImmutableQueryAttributeRestriction.<Set<String>> builder()
+                                                                       .attribute(attribute)
+                                                                       .condition(this::isNullOrIn)
+                                                                       .value(values)
+                                                                       .build());
+    }
+
+    private Predicate isNullOrIn(Expression<?> attribute, Set<String> values) {
+        if (values.isEmpty()) {
+            return getCriteriaBuilder().isNull(attribute);
+        }
+        return getCriteriaBuilder().or(getCriteriaBuilder().isNull(attribute), attribute.in(values));
+    }
+
     @Override
     public int delete() {
         return executeInTransaction(manager -> createDeleteQuery(manager, queryCriteria,
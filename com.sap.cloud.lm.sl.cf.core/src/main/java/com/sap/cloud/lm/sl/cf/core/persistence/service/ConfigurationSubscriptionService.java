@@ -11,6 +11,7 @@ import javax.persistence.EntityManagerFactory;
 import org.apache.commons.lang3.ObjectUtils;
 
 import com.sap.cloud.lm.sl.cf.core.Messages;
+import com.sap.cloud.lm.sl.cf.core.model.CloudTarget;
 import com.sap.cloud.lm.sl.cf.core.model.ConfigurationFilter;
 import com.sap.cloud.lm.sl.cf.core.model.ConfigurationSubscription;
 import com.sap.cloud.lm.sl.cf.core.model.ConfigurationSubscription.ModuleDto;
@@ -45,7 +46,7 @@ public class ConfigurationSubscriptionService extends PersistenceService<Configu
         String mtaId = ObjectUtils.firstNonNull(newSubscription.getMtaId(), existingSubscription.getMtaId());
         String appName = ObjectUtils.firstNonNull(newSubscription.getAppName(), existingSubscription.getAppName());
         String spaceId = ObjectUtils.firstNonNull(newSubscription.getSpaceId(), existingSubscription.getSpaceId());
-        String filter = ObjectUtils.firstNonNull(newSubscription.getFilter(), existingSubscription.getFilter());
+        ConfigurationSubscriptionDto subscriptionWithFilter = newSubscription.getFilter() != null ? newSubscription : existingSubscription;
         String moduleContent = ObjectUtils.firstNonNull(newSubscription.getModuleContent(), existingSubscription.getModuleContent());
         String resourceProperties = ObjectUtils.firstNonNull(newSubscription.getResourceProperties(),
                                                              existingSubscription.getResourceProperties());
@@ -55,7 +56,11 @@ public class ConfigurationSubscriptionService extends PersistenceService<Configu
                                            .mtaId(mtaId)
                                            .spaceId(spaceId)
                                            .appName(appName)
-                                           .filter(filter)
+                                           .filter(subscriptionWithFilter.getFilter())
+                                           .filterProviderNid(subscriptionWithFilter.getFilterProviderNid())
+                                           .filterProviderId(subscriptionWithFilter.getFilterProviderId())
+                                           .filterTargetOrg(subscriptionWithFilter.getFilterTargetOrg())
+                                           .filterTargetSpace(subscriptionWithFilter.getFilterTargetSpace())
                                            .module(moduleContent)
                                            .resourceName(resourceName)
                                            .resourceProperties(resourceProperties)
@@ -108,9 +113,21 @@ public class ConfigurationSubscriptionService extends PersistenceService<Configu
         @Override
         public ConfigurationSubscriptionDto toDto(ConfigurationSubscription subscription) {
             long id = subscription.getId();
+            ConfigurationFilter configurationFilter = subscription.getFilter();
             String filter = null;
-            if (subscription.getFilter() != null) {
-                filter = JsonUtil.toJson(subscription.getFilter(), false);
+            String filterProviderNid = null;
+            String filterProviderId = null;
+            String filterTargetOrg = null;
+            String filterTargetSpace = null;
+            if (configurationFilter != null) {
+                filter = JsonUtil.toJson(configurationFilter, false);
+                filterProviderNid = configurationFilter.getProviderNid();
+                filterProviderId = configurationFilter.getProviderId();
+                CloudTarget targetSpace = configurationFilter.getTargetSpace();
+                if (targetSpace != null) {
+                    filterTargetOrg = targetSpace.getOrganizationName();
+                    filterTargetSpace = targetSpace.getSpaceName();
+                }
             }
             ResourceDto resourceDto = subscription.getResourceDto();
             ModuleDto moduleDto = subscription.getModuleDto();
@@ -133,6 +150,10 @@ public class ConfigurationSubscriptionService extends PersistenceService<Configu
                                                .spaceId(spaceId)
                                                .appName(appName)
                                                .filter(filter)
+                                               .filterProviderNid(filterProviderNid)
+                                               .filterProviderId(filterProviderId)
+                                               .filterTargetOrg(filterTargetOrg)
+                                               .filterTargetSpace(filterTargetSpace)
                                                .module(module)
                                                .resourceName(resourceName)
                                                .resourceProperties(resourceProperties)
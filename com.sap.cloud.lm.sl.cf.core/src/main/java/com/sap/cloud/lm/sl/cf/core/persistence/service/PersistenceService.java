@@ -50,7 +50,7 @@ public abstract class PersistenceService<T, D extends DtoWithPrimaryKey<P>, P> {
         return null;
     }
 
-    private <R> R executeInTransaction(Function<EntityManager, R> function) {
+    protected <R> R executeInTransaction(Function<EntityManager, R> function) {
         return new TransactionalExecutor<R>(createEntityManager()).execute(function);
     }
 
@@ -1,15 +1,26 @@
 package com.sap.cloud.lm.sl.cf.core.persistence.service;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.text.MessageFormat;
 import java.util.Date;
+import java.util.List;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
 
 import org.apache.commons.lang3.ObjectUtils;
+import org.eclipse.persistence.sessions.Session;
 import org.springframework.context.annotation.Primary;
 
 import com.sap.cloud.lm.sl.cf.core.Messages;
+import com.sap.cloud.lm.sl.cf.core.model.PersistenceMetadata.TableColumnNames;
+import com.sap.cloud.lm.sl.cf.core.model.PersistenceMetadata.TableNames;
 import com.sap.cloud.lm.sl.cf.core.persistence.dto.ProgressMessageDto;
 import com.sap.cloud.lm.sl.cf.core.persistence.query.ProgressMessageQuery;
 import com.sap.cloud.lm.sl.cf.core.persistence.query.impl.ProgressMessageQueryImpl;
@@ -18,10 +29,21 @@ import com.sap.cloud.lm.sl.cf.persistence.model.ProgressMessage;
 import com.sap.cloud.lm.sl.cf.persistence.model.ProgressMessage.ProgressMessageType;
 import com.sap.cloud.lm.sl.common.ConflictException;
 import com.sap.cloud.lm.sl.common.NotFoundException;
+import com.sap.cloud.lm.sl.common.SLException;
 
 @Named
 public class ProgressMessageService extends PersistenceService<ProgressMessage, ProgressMessageDto, Long> {
 
+    private static final String INSERT_PROGRESS_MESSAGE_TEMPLATE = "INSERT INTO {0} ({1}, {2}, {3}, {4}, {5}, {6}) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PROGRESS_MESSAGE = MessageFormat.format(INSERT_PROGRESS_MESSAGE_TEMPLATE,
+                                                                               TableNames.PROGRESS_MESSAGE_TABLE,
+                                                                               TableColumnNames.PROGRESS_MESSAGE_ID,
+                                                                               TableColumnNames.PROGRESS_MESSAGE_PROCESS_ID,
+                                                                               TableColumnNames.PROGRESS_MESSAGE_TASK_ID,
+                                                                               TableColumnNames.PROGRESS_MESSAGE_TYPE,
+                                                                               TableColumnNames.PROGRESS_MESSAGE_TEXT,
+                                                                               TableColumnNames.PROGRESS_MESSAGE_TIMESTAMP);
+
     @Inject
     protected ProgressMessageMapper progressMessageMapper;
 
@@ -34,6 +56,47 @@ public class ProgressMessageService extends PersistenceService<ProgressMessage,
         return new ProgressMessageQueryImpl(createEntityManager(), progressMessageMapper);
     }
 
+    /**
+     * Inserts all of the specified progress messages with a single JDBC batch in one transaction. Either all of them are persisted, or none
+     * are.
+     */
+    public void addAll(List<ProgressMessage> progressMessages) {
+        try {
+            executeInTransaction(manager -> insertInBatch(manager, progressMessages));
+        } catch (PersistenceException e) {
+            throw new SLException(e, Messages.ERROR_WHILE_EXECUTING_TRANSACTION, e.getMessage());
+        }
+    }
+
+    private int[] insertInBatch(EntityManager manager, List<ProgressMessage> progressMessages) {
+        Session session = manager.unwrap(Session.class);
+        Connection connection = manager.unwrap(Connection.class);
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_PROGRESS_MESSAGE)) {
+            for (ProgressMessage progressMessage : progressMessages) {
+                ProgressMessageDto dto = progressMessageMapper.toDto(progressMessage);
+                statement.setLong(1, getIdOrNextSequenceValue(session, dto));
+                statement.setString(2, dto.getProcessId());
+                statement.setString(3, dto.getTaskId());
+                statement.setString(4, dto.getType());
+                statement.setString(5, dto.getText());
+                statement.setTimestamp(6, new Timestamp(dto.getTimestamp()
+                                                           .getTime()));
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        } catch (SQLException e) {
+            throw new SLException(e, Messages.ERROR_WHILE_EXECUTING_TRANSACTION, e.getMessage());
+        }
+    }
+
+    private long getIdOrNextSequenceValue(Session session, ProgressMessageDto dto) {
+        if (dto.getPrimaryKey() != 0) {
+            return dto.getPrimaryKey();
+        }
+        return session.getNextSequenceNumberValue(ProgressMessageDto.class)
+                      .longValue();
+    }
+
     @Override
     protected ProgressMessageDto merge(ProgressMessageDto existingProgressMessage, ProgressMessageDto newProgressMessage) {
         super.merge(existingProgressMessage, newProgressMessage);
@@ -90,6 +90,29 @@ public class ApplicationConfiguration {
     static final String CFG_CERTIFICATE_CN = "CERTIFICATE_CN";
     static final String CFG_MICROMETER_STEP_IN_SECONDS = "MICROMETER_STEP_IN_SECONDS";
     static final String CFG_MICROMETER_BATCH_SIZE = "MICROMETER_BATCH_SIZE";
+    static final String CFG_CONTROLLER_CLIENT_CACHE_MAX_SIZE = "CONTROLLER_CLIENT_CACHE_MAX_SIZE";
+    static final String CFG_CONTROLLER_CLIENT_CACHE_EXPIRATION_IN_SECONDS = "CONTROLLER_CLIENT_CACHE_EXPIRATION_IN_SECONDS";
+    static final String CFG_PROGRESS_MESSAGES_BATCH_SIZE = "PROGRESS_MESSAGES_BATCH_SIZE";
+    static final String CFG_PROGRESS_MESSAGES_FLUSH_INTERVAL_IN_MILLIS = "PROGRESS_MESSAGES_FLUSH_INTERVAL_IN_MILLIS";
+    static final String CFG_OBJECT_STORE_RANGED_DOWNLOAD_THRESHOLD = "OBJECT_STORE_RANGED_DOWNLOAD_THRESHOLD";
+    static final String CFG_OBJECT_STORE_DOWNLOAD_RANGE_SIZE = "OBJECT_STORE_DOWNLOAD_RANGE_SIZE";
+    static final String CFG_OBJECT_STORE_PARALLEL_RANGE_DOWNLOADS = "OBJECT_STORE_PARALLEL_RANGE_DOWNLOADS";
+    static final String CFG_STEP_POLLING_INITIAL_INTERVAL_IN_SECONDS = "STEP_POLLING_INITIAL_INTERVAL_IN_SECONDS";
+    static final String CFG_FILE_DEDUPLICATION_ENABLED = "FILE_DEDUPLICATION_ENABLED";
+    static final String CFG_FILE_SYSTEM_STORAGE_INDEX_ENABLED = "FILE_SYSTEM_STORAGE_INDEX_ENABLED";
+    static final String CFG_OBJECT_STORE_DATABASE_INDEX_ENABLED = "OBJECT_STORE_DATABASE_INDEX_ENABLED";
+    static final String CFG_OBJECT_STORE_PARALLEL_DELETES = "OBJECT_STORE_PARALLEL_DELETES";
+    static final String CFG_OBJECT_STORE_RECONCILIATION_ENABLED = "OBJECT_STORE_RECONCILIATION_ENABLED";
+    static final String CFG_OBJECT_STORE_PARALLEL_UPLOAD_PARTS = "OBJECT_STORE_PARALLEL_UPLOAD_PARTS";
+    static final String CFG_ARCHIVE_MERGE_PARALLEL_PARTS = "ARCHIVE_MERGE_PARALLEL_PARTS";
+    static final String CFG_FILE_LARGE_OBJECTS_ENABLED = "FILE_LARGE_OBJECTS_ENABLED";
+    static final String CFG_FILE_CONTENT_CACHE_MAX_SIZE = "FILE_CONTENT_CACHE_MAX_SIZE";
+    static final String CFG_FILES_SWEEP_TIME_BUDGET_IN_SECONDS = "FILES_SWEEP_TIME_BUDGET_IN_SECONDS";
+    static final String CFG_APPLICATION_DIGEST_PARALLELISM = "APPLICATION_DIGEST_PARALLELISM";
+    static final String CFG_APPLICATION_DIGEST_BUFFER_SIZE = "APPLICATION_DIGEST_BUFFER_SIZE";
+    static final String CFG_ARCHIVE_SIGNATURE_VERIFICATION_PARALLELISM = "ARCHIVE_SIGNATURE_VERIFICATION_PARALLELISM";
+    static final String CFG_INCREMENTAL_APP_UPLOAD_ENABLED = "INCREMENTAL_APP_UPLOAD_ENABLED";
+    static final String CFG_RESOURCE_MATCH_BATCH_SIZE = "RESOURCE_MATCH_BATCH_SIZE";
 
     private static final List<String> VCAP_APPLICATION_URIS_KEYS = Arrays.asList("full_application_uris", "application_uris", "uris");
 
@@ -107,7 +130,7 @@ public class ApplicationConfiguration {
     public static final Integer DEFAULT_DB_CONNECTION_THREADS = 30;
     public static final String DEFAULT_CRON_EXPRESSION_FOR_OLD_DATA = "0 0 0/6 * * ?"; // every 6 hours
     public static final long DEFAULT_MAX_TTL_FOR_OLD_DATA = TimeUnit.DAYS.toSeconds(5); // 5 days
-    public static final Integer DEFAULT_STEP_POLLING_INTERVAL_IN_SECONDS = 5;
+    public static final Integer DEFAULT_STEP_POLLING_INTERVAL_IN_SECONDS = 30;
     public static final Boolean DEFAULT_SKIP_SSL_VALIDATION = false;
     public static final String DEFAULT_VERSION = "N/A";
     public static final Integer DEFAULT_CHANGE_LOG_LOCK_POLL_RATE = 1; // 1 minute(s)
@@ -130,6 +153,29 @@ public class ApplicationConfiguration {
     public static final int DEFAULT_CONTROLLER_CLIENT_CONNECTION_POOL_SIZE = 192;
     public static final int DEFAULT_CONTROLLER_CLIENT_THREAD_POOL_SIZE = 64;
     public static final Boolean DEFAULT_SAP_INTERNAL_DELIVERY = false;
+    public static final Integer DEFAULT_CONTROLLER_CLIENT_CACHE_MAX_SIZE = 1000;
+    public static final Integer DEFAULT_CONTROLLER_CLIENT_CACHE_EXPIRATION_IN_SECONDS = (int) TimeUnit.MINUTES.toSeconds(5);
+    public static final Integer DEFAULT_PROGRESS_MESSAGES_BATCH_SIZE = 50;
+    public static final Integer DEFAULT_PROGRESS_MESSAGES_FLUSH_INTERVAL_IN_MILLIS = 500;
+    public static final long DEFAULT_OBJECT_STORE_RANGED_DOWNLOAD_THRESHOLD = 64 * 1024 * 1024L; // 64 MB
+    public static final long DEFAULT_OBJECT_STORE_DOWNLOAD_RANGE_SIZE = 16 * 1024 * 1024L; // 16 MB
+    public static final Integer DEFAULT_OBJECT_STORE_PARALLEL_RANGE_DOWNLOADS = 4;
+    public static final Integer DEFAULT_STEP_POLLING_INITIAL_INTERVAL_IN_SECONDS = 1;
+    public static final Boolean DEFAULT_FILE_DEDUPLICATION_ENABLED = false;
+    public static final Boolean DEFAULT_FILE_SYSTEM_STORAGE_INDEX_ENABLED = false;
+    public static final Boolean DEFAULT_OBJECT_STORE_DATABASE_INDEX_ENABLED = false;
+    public static final Integer DEFAULT_OBJECT_STORE_PARALLEL_DELETES = 8;
+    public static final Boolean DEFAULT_OBJECT_STORE_RECONCILIATION_ENABLED = false;
+    public static final Integer DEFAULT_OBJECT_STORE_PARALLEL_UPLOAD_PARTS = 4;
+    public static final Integer DEFAULT_ARCHIVE_MERGE_PARALLEL_PARTS = 4;
+    public static final Boolean DEFAULT_FILE_LARGE_OBJECTS_ENABLED = false;
+    public static final Long DEFAULT_FILE_CONTENT_CACHE_MAX_SIZE = 0L;
+    public static final Integer DEFAULT_FILES_SWEEP_TIME_BUDGET_IN_SECONDS = 60;
+    public static final Integer DEFAULT_APPLICATION_DIGEST_PARALLELISM = 1;
+    public static final Integer DEFAULT_APPLICATION_DIGEST_BUFFER_SIZE = 1024 * 1024; // 1 MB
+    public static final Integer DEFAULT_ARCHIVE_SIGNATURE_VERIFICATION_PARALLELISM = 1;
+    public static final Boolean DEFAULT_INCREMENTAL_APP_UPLOAD_ENABLED = false;
+    public static final Integer DEFAULT_RESOURCE_MATCH_BATCH_SIZE = 1000;
     protected final Environment environment;
 
     // Cached configuration settings:
@@ -177,6 +223,29 @@ public class ApplicationConfiguration {
     private String certificateCN;
     private Integer micrometerStepInSeconds;
     private Integer micrometerBatchSize;
+    private Integer controllerClientCacheMaxSize;
+    private Integer controllerClientCacheExpirationInSeconds;
+    private Integer progressMessagesBatchSize;
+    private Integer progressMessagesFlushIntervalInMillis;
+    private Long objectStoreRangedDownloadThreshold;
+    private Long objectStoreDownloadRangeSize;
+    private Integer objectStoreParallelRangeDownloads;
+    private Integer stepPollingInitialIntervalInSeconds;
+    private Boolean deduplicateFiles;
+    private Boolean indexFileSystemStorage;
+    private Boolean indexObjectStoreByDatabase;
+    private Integer objectStoreParallelDeletes;
+    private Boolean reconcileObjectStore;
+    private Integer objectStoreParallelUploadParts;
+    private Integer archiveMergeParallelParts;
+    private Boolean storeFilesAsLargeObjects;
+    private Long fileContentCacheMaxSize;
+    private Integer filesSweepTimeBudgetInSeconds;
+    private Integer applicationDigestParallelism;
+    private Integer applicationDigestBufferSize;
+    private Integer archiveSignatureVerificationParallelism;
+    private Boolean uploadApplicationsIncrementally;
+    private Integer resourceMatchBatchSize;
 
     public ApplicationConfiguration() {
         this(new Environment());
@@ -216,6 +285,21 @@ public class ApplicationConfiguration {
         getAuditLogClientQueueCapacity();
         getAuditLogClientKeepAlive();
         getFssCacheUpdateTimeoutMinutes();
+        shouldDeduplicateFiles();
+        shouldIndexFileSystemStorage();
+        shouldIndexObjectStoreByDatabase();
+        getObjectStoreParallelDeletes();
+        shouldReconcileObjectStore();
+        getObjectStoreParallelUploadParts();
+        getArchiveMergeParallelParts();
+        shouldStoreFilesAsLargeObjects();
+        getFileContentCacheMaxSize();
+        getFilesSweepTimeBudgetInSeconds();
+        getApplicationDigestParallelism();
+        getApplicationDigestBufferSize();
+        getArchiveSignatureVerificationParallelism();
+        shouldUploadApplicationsIncrementally();
+        getResourceMatchBatchSize();
     }
 
     protected AuditLoggingFacade getAuditLoggingFacade() {
@@ -245,7 +329,7 @@ public class ApplicationConfiguration {
     }
 
     public Configuration getFileConfiguration() {
-        return new Configuration(getMaxUploadSize());
+        return new Configuration(getMaxUploadSize(), shouldIndexObjectStoreByDatabase(), shouldReconcileObjectStore());
     }
 
     public URL getControllerUrl() {
@@ -549,6 +633,167 @@ public class ApplicationConfiguration {
         return micrometerBatchSize;
     }
 
+    public Integer getControllerClientCacheMaxSize() {
+        if (controllerClientCacheMaxSize == null) {
+            controllerClientCacheMaxSize = getControllerClientCacheMaxSizeFromEnvironment();
+        }
+        return controllerClientCacheMaxSize;
+    }
+
+    public Integer getControllerClientCacheExpirationInSeconds() {
+        if (controllerClientCacheExpirationInSeconds == null) {
+            controllerClientCacheExpirationInSeconds = getControllerClientCacheExpirationInSecondsFromEnvironment();
+        }
+        return controllerClientCacheExpirationInSeconds;
+    }
+
+    public Integer getProgressMessagesBatchSize() {
+        if (progressMessagesBatchSize == null) {
+            progressMessagesBatchSize = getProgressMessagesBatchSizeFromEnvironment();
+        }
+        return progressMessagesBatchSize;
+    }
+
+    public Integer getProgressMessagesFlushIntervalInMillis() {
+        if (progressMessagesFlushIntervalInMillis == null) {
+            progressMessagesFlushIntervalInMillis = getProgressMessagesFlushIntervalInMillisFromEnvironment();
+        }
+        return progressMessagesFlushIntervalInMillis;
+    }
+
+    public Long getObjectStoreRangedDownloadThreshold() {
+        if (objectStoreRangedDownloadThreshold == null) {
+            objectStoreRangedDownloadThreshold = getObjectStoreRangedDownloadThresholdFromEnvironment();
+        }
+        return objectStoreRangedDownloadThreshold;
+    }
+
+    public Long getObjectStoreDownloadRangeSize() {
+        if (objectStoreDownloadRangeSize == null) {
+            objectStoreDownloadRangeSize = getObjectStoreDownloadRangeSizeFromEnvironment();
+        }
+        return objectStoreDownloadRangeSize;
+    }
+
+    public Integer getObjectStoreParallelRangeDownloads() {
+        if (objectStoreParallelRangeDownloads == null) {
+            objectStoreParallelRangeDownloads = getObjectStoreParallelRangeDownloadsFromEnvironment();
+        }
+        return objectStoreParallelRangeDownloads;
+    }
+
+    public Integer getStepPollingInitialIntervalInSeconds() {
+        if (stepPollingInitialIntervalInSeconds == null) {
+            stepPollingInitialIntervalInSeconds = getStepPollingInitialIntervalInSecondsFromEnvironment();
+        }
+        return stepPollingInitialIntervalInSeconds;
+    }
+
+    public Boolean shouldDeduplicateFiles() {
+        if (deduplicateFiles == null) {
+            deduplicateFiles = getDeduplicateFilesFromEnvironment();
+        }
+        return deduplicateFiles;
+    }
+
+    public Boolean shouldIndexFileSystemStorage() {
+        if (indexFileSystemStorage == null) {
+            indexFileSystemStorage = getIndexFileSystemStorageFromEnvironment();
+        }
+        return indexFileSystemStorage;
+    }
+
+    public Boolean shouldIndexObjectStoreByDatabase() {
+        if (indexObjectStoreByDatabase == null) {
+            indexObjectStoreByDatabase = getIndexObjectStoreByDatabaseFromEnvironment();
+        }
+        return indexObjectStoreByDatabase;
+    }
+
+    public Integer getObjectStoreParallelDeletes() {
+        if (objectStoreParallelDeletes == null) {
+            objectStoreParallelDeletes = getObjectStoreParallelDeletesFromEnvironment();
+        }
+        return objectStoreParallelDeletes;
+    }
+
+    public Boolean shouldReconcileObjectStore() {
+        if (reconcileObjectStore == null) {
+            reconcileObjectStore = getReconcileObjectStoreFromEnvironment();
+        }
+        return reconcileObjectStore;
+    }
+
+    public Integer getObjectStoreParallelUploadParts() {
+        if (objectStoreParallelUploadParts == null) {
+            objectStoreParallelUploadParts = getObjectStoreParallelUploadPartsFromEnvironment();
+        }
+        return objectStoreParallelUploadParts;
+    }
+
+    public Integer getArchiveMergeParallelParts() {
+        if (archiveMergeParallelParts == null) {
+            archiveMergeParallelParts = getArchiveMergeParallelPartsFromEnvironment();
+        }
+        return archiveMergeParallelParts;
+    }
+
+    public Boolean shouldStoreFilesAsLargeObjects() {
+        if (storeFilesAsLargeObjects == null) {
+            storeFilesAsLargeObjects = getStoreFilesAsLargeObjectsFromEnvironment();
+        }
+        return storeFilesAsLargeObjects;
+    }
+
+    public Long getFileContentCacheMaxSize() {
+        if (fileContentCacheMaxSize == null) {
+            fileContentCacheMaxSize = getFileContentCacheMaxSizeFromEnvironment();
+        }
+        return fileContentCacheMaxSize;
+    }
+
+    public Integer getFilesSweepTimeBudgetInSeconds() {
+        if (filesSweepTimeBudgetInSeconds == null) {
+            filesSweepTimeBudgetInSeconds = getFilesSweepTimeBudgetInSecondsFromEnvironment();
+        }
+        return filesSweepTimeBudgetInSeconds;
+    }
+
+    public Integer getApplicationDigestParallelism() {
+        if (applicationDigestParallelism == null) {
+            applicationDigestParallelism = getApplicationDigestParallelismFromEnvironment();
+        }
+        return applicationDigestParallelism;
+    }
+
+    public Integer getApplicationDigestBufferSize() {
+        if (applicationDigestBufferSize == null) {
+            applicationDigestBufferSize = getApplicationDigestBufferSizeFromEnvironment();
+        }
+        return applicationDigestBufferSize;
+    }
+
+    public Integer getArchiveSignatureVerificationParallelism() {
+        if (archiveSignatureVerificationParallelism == null) {
+            archiveSignatureVerificationParallelism = getArchiveSignatureVerificationParallelismFromEnvironment();
+        }
+        return archiveSignatureVerificationParallelism;
+    }
+
+    public Boolean shouldUploadApplicationsIncrementally() {
+        if (uploadApplicationsIncrementally == null) {
+            uploadApplicationsIncrementally = getUploadApplicationsIncrementallyFromEnvironment();
+        }
+        return uploadApplicationsIncrementally;
+    }
+
+    public Integer getResourceMatchBatchSize() {
+        if (resourceMatchBatchSize == null) {
+            resourceMatchBatchSize = getResourceMatchBatchSizeFromEnvironment();
+        }
+        return resourceMatchBatchSize;
+    }
+
     private URL getControllerUrlFromEnvironment() {
         Map<String, Object> vcapApplicationMap = getVcapApplication();
         String controllerUrlString = getControllerUrl(vcapApplicationMap);
@@ -895,6 +1140,149 @@ public class ApplicationConfiguration {
         return micrometerBatchSize;
     }
 
+    private Integer getControllerClientCacheMaxSizeFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_CONTROLLER_CLIENT_CACHE_MAX_SIZE, DEFAULT_CONTROLLER_CLIENT_CACHE_MAX_SIZE);
+        LOGGER.info(format(Messages.CONTROLLER_CLIENT_CACHE_MAX_SIZE, value));
+        return value;
+    }
+
+    private Integer getControllerClientCacheExpirationInSecondsFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_CONTROLLER_CLIENT_CACHE_EXPIRATION_IN_SECONDS,
+                                                       DEFAULT_CONTROLLER_CLIENT_CACHE_EXPIRATION_IN_SECONDS);
+        LOGGER.info(format(Messages.CONTROLLER_CLIENT_CACHE_EXPIRATION_IN_SECONDS, value));
+        return value;
+    }
+
+    private Integer getProgressMessagesBatchSizeFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_PROGRESS_MESSAGES_BATCH_SIZE, DEFAULT_PROGRESS_MESSAGES_BATCH_SIZE);
+        LOGGER.info(format(Messages.PROGRESS_MESSAGES_BATCH_SIZE, value));
+        return value;
+    }
+
+    private Integer getProgressMessagesFlushIntervalInMillisFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_PROGRESS_MESSAGES_FLUSH_INTERVAL_IN_MILLIS,
+                                                       DEFAULT_PROGRESS_MESSAGES_FLUSH_INTERVAL_IN_MILLIS);
+        LOGGER.info(format(Messages.PROGRESS_MESSAGES_FLUSH_INTERVAL_IN_MILLIS, value));
+        return value;
+    }
+
+    private Long getObjectStoreRangedDownloadThresholdFromEnvironment() {
+        Long value = environment.getLong(CFG_OBJECT_STORE_RANGED_DOWNLOAD_THRESHOLD, DEFAULT_OBJECT_STORE_RANGED_DOWNLOAD_THRESHOLD);
+        LOGGER.info(format(Messages.OBJECT_STORE_RANGED_DOWNLOAD_THRESHOLD, value));
+        return value;
+    }
+
+    private Long getObjectStoreDownloadRangeSizeFromEnvironment() {
+        Long value = environment.getLong(CFG_OBJECT_STORE_DOWNLOAD_RANGE_SIZE, DEFAULT_OBJECT_STORE_DOWNLOAD_RANGE_SIZE);
+        LOGGER.info(format(Messages.OBJECT_STORE_DOWNLOAD_RANGE_SIZE, value));
+        return value;
+    }
+
+    private Integer getObjectStoreParallelRangeDownloadsFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_OBJECT_STORE_PARALLEL_RANGE_DOWNLOADS,
+                                                       DEFAULT_OBJECT_STORE_PARALLEL_RANGE_DOWNLOADS);
+        LOGGER.info(format(Messages.OBJECT_STORE_PARALLEL_RANGE_DOWNLOADS, value));
+        return value;
+    }
+
+    private Integer getStepPollingInitialIntervalInSecondsFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_STEP_POLLING_INITIAL_INTERVAL_IN_SECONDS,
+                                                       DEFAULT_STEP_POLLING_INITIAL_INTERVAL_IN_SECONDS);
+        LOGGER.info(format(Messages.STEP_POLLING_INITIAL_INTERVAL_IN_SECONDS, value));
+        return value;
+    }
+
+    private Boolean getDeduplicateFilesFromEnvironment() {
+        Boolean value = environment.getBoolean(CFG_FILE_DEDUPLICATION_ENABLED, DEFAULT_FILE_DEDUPLICATION_ENABLED);
+        LOGGER.info(format(Messages.FILE_DEDUPLICATION_ENABLED, value));
+        return value;
+    }
+
+    private Boolean getIndexFileSystemStorageFromEnvironment() {
+        Boolean value = environment.getBoolean(CFG_FILE_SYSTEM_STORAGE_INDEX_ENABLED, DEFAULT_FILE_SYSTEM_STORAGE_INDEX_ENABLED);
+        LOGGER.info(format(Messages.FILE_SYSTEM_STORAGE_INDEX_ENABLED, value));
+        return value;
+    }
+
+    private Boolean getIndexObjectStoreByDatabaseFromEnvironment() {
+        Boolean value = environment.getBoolean(CFG_OBJECT_STORE_DATABASE_INDEX_ENABLED, DEFAULT_OBJECT_STORE_DATABASE_INDEX_ENABLED);
+        LOGGER.info(format(Messages.OBJECT_STORE_DATABASE_INDEX_ENABLED, value));
+        return value;
+    }
+
+    private Integer getObjectStoreParallelDeletesFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_OBJECT_STORE_PARALLEL_DELETES, DEFAULT_OBJECT_STORE_PARALLEL_DELETES);
+        LOGGER.info(format(Messages.OBJECT_STORE_PARALLEL_DELETES, value));
+        return value;
+    }
+
+    private Boolean getReconcileObjectStoreFromEnvironment() {
+        Boolean value = environment.getBoolean(CFG_OBJECT_STORE_RECONCILIATION_ENABLED, DEFAULT_OBJECT_STORE_RECONCILIATION_ENABLED);
+        LOGGER.info(format(Messages.OBJECT_STORE_RECONCILIATION_ENABLED, value));
+        return value;
+    }
+
+    private Integer getObjectStoreParallelUploadPartsFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_OBJECT_STORE_PARALLEL_UPLOAD_PARTS, DEFAULT_OBJECT_STORE_PARALLEL_UPLOAD_PARTS);
+        LOGGER.info(format(Messages.OBJECT_STORE_PARALLEL_UPLOAD_PARTS, value));
+        return value;
+    }
+
+    private Integer getArchiveMergeParallelPartsFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_ARCHIVE_MERGE_PARALLEL_PARTS, DEFAULT_ARCHIVE_MERGE_PARALLEL_PARTS);
+        LOGGER.info(format(Messages.ARCHIVE_MERGE_PARALLEL_PARTS, value));
+        return value;
+    }
+
+    private Boolean getStoreFilesAsLargeObjectsFromEnvironment() {
+        Boolean value = environment.getBoolean(CFG_FILE_LARGE_OBJECTS_ENABLED, DEFAULT_FILE_LARGE_OBJECTS_ENABLED);
+        LOGGER.info(format(Messages.FILE_LARGE_OBJECTS_ENABLED, value));
+        return value;
+    }
+
+    private Long getFileContentCacheMaxSizeFromEnvironment() {
+        Long value = environment.getLong(CFG_FILE_CONTENT_CACHE_MAX_SIZE, DEFAULT_FILE_CONTENT_CACHE_MAX_SIZE);
+        LOGGER.info(format(Messages.FILE_CONTENT_CACHE_MAX_SIZE, value));
+        return value;
+    }
+
+    private Integer getFilesSweepTimeBudgetInSecondsFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_FILES_SWEEP_TIME_BUDGET_IN_SECONDS, DEFAULT_FILES_SWEEP_TIME_BUDGET_IN_SECONDS);
+        LOGGER.info(format(Messages.FILES_SWEEP_TIME_BUDGET_IN_SECONDS, value));
+        return value;
+    }
+
+    private Integer getApplicationDigestParallelismFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_APPLICATION_DIGEST_PARALLELISM, DEFAULT_APPLICATION_DIGEST_PARALLELISM);
+        LOGGER.info(format(Messages.APPLICATION_DIGEST_PARALLELISM, value));
+        return value;
+    }
+
+    private Integer getApplicationDigestBufferSizeFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_APPLICATION_DIGEST_BUFFER_SIZE, DEFAULT_APPLICATION_DIGEST_BUFFER_SIZE);
+        LOGGER.info(format(Messages.APPLICATION_DIGEST_BUFFER_SIZE, value));
+        return value;
+    }
+
+    private Integer getArchiveSignatureVerificationParallelismFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_ARCHIVE_SIGNATURE_VERIFICATION_PARALLELISM,
+                                                       DEFAULT_ARCHIVE_SIGNATURE_VERIFICATION_PARALLELISM);
+        LOGGER.info(format(Messages.ARCHIVE_SIGNATURE_VERIFICATION_PARALLELISM, value));
+        return value;
+    }
+
+    private Boolean getUploadApplicationsIncrementallyFromEnvironment() {
+        Boolean value = environment.getBoolean(CFG_INCREMENTAL_APP_UPLOAD_ENABLED, DEFAULT_INCREMENTAL_APP_UPLOAD_ENABLED);
+        LOGGER.info(format(Messages.INCREMENTAL_APP_UPLOAD_ENABLED, value));
+        return value;
+    }
+
+    private Integer getResourceMatchBatchSizeFromEnvironment() {
+        Integer value = environment.getPositiveInteger(CFG_RESOURCE_MATCH_BATCH_SIZE, DEFAULT_RESOURCE_MATCH_BATCH_SIZE);
+        LOGGER.info(format(Messages.RESOURCE_MATCH_BATCH_SIZE, value));
+        return value;
+    }
+
     public Boolean isInternalEnvironment() {
         return environment.getBoolean(SAP_INTERNAL_DELIVERY, DEFAULT_SAP_INTERNAL_DELIVERY);
     }
@@ -0,0 +1,161 @@
+package com.sap.cloud.lm.sl.cf.core.cf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.cloudfoundry.client.lib.CloudControllerClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.RemovalCause;
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class CloudControllerClientCacheTest {
+
+    private static final String USER = "user";
+    private static final String OTHER_USER = "other-user";
+    private static final int MAX_SIZE = 2;
+    private static final int EXPIRATION_IN_SECONDS = 60;
+    private static final int THREADS = 4;
+    private static final long CLIENT_CREATION_TIME_IN_MILLIS = 100;
+
+    @Mock
+    private ApplicationConfiguration configuration;
+
+    private final AtomicLong currentTimeInNanos = new AtomicLong();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CloudControllerClientCache clientCache;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(configuration.getControllerClientCacheMaxSize()).thenReturn(MAX_SIZE);
+        when(configuration.getControllerClientCacheExpirationInSeconds()).thenReturn(EXPIRATION_IN_SECONDS);
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return currentTimeInNanos.get();
+            }
+        };
+        clientCache = new CloudControllerClientCache(configuration, meterRegistry, ticker);
+    }
+
+    @Test
+    public void testClientIsReusedForSameToken() {
+        OAuth2AccessToken token = new DefaultOAuth2AccessToken("token");
+
+        CloudControllerClient client = clientCache.getClient(USER, token, t -> createClient());
+
+        assertSame(client, clientCache.getClient(USER, token, t -> createClient()));
+        assertEquals(1, getCount(CloudControllerClientCache.HITS_METRIC));
+        assertEquals(1, getCount(CloudControllerClientCache.MISSES_METRIC));
+    }
+
+    @Test
+    public void testClientIsReplacedWhenTokenChanges() {
+        CloudControllerClient client = clientCache.getClient(USER, new DefaultOAuth2AccessToken("token"), t -> createClient());
+
+        CloudControllerClient newClient = clientCache.getClient(USER, new DefaultOAuth2AccessToken("refreshed-token"), t -> createClient());
+
+        assertNotSame(client, newClient);
+        assertSame(newClient, clientCache.getClient(USER, new DefaultOAuth2AccessToken("refreshed-token"), t -> createClient()));
+        assertEquals(1, getEvictionCount(RemovalCause.REPLACED));
+    }
+
+    @Test
+    public void testConcurrentRequestsOfSameUserCreateOneClient() throws Exception {
+        OAuth2AccessToken token = new DefaultOAuth2AccessToken("token");
+        AtomicInteger createdClients = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<CloudControllerClient>> clients = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                clients.add(executor.submit(() -> {
+                    start.await();
+                    return clientCache.getClient(USER, token, t -> createClientSlowly(createdClients));
+                }));
+            }
+            start.countDown();
+
+            CloudControllerClient client = clients.get(0)
+                                                  .get();
+            for (Future<CloudControllerClient> otherClient : clients) {
+                assertSame(client, otherClient.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, createdClients.get());
+        assertEquals(THREADS - 1, getCount(CloudControllerClientCache.HITS_METRIC));
+        assertEquals(1, getCount(CloudControllerClientCache.MISSES_METRIC));
+    }
+
+    @Test
+    public void testClientExpires() {
+        OAuth2AccessToken token = new DefaultOAuth2AccessToken("token");
+        CloudControllerClient client = clientCache.getClient(USER, token, t -> createClient());
+        currentTimeInNanos.addAndGet(TimeUnit.SECONDS.toNanos(EXPIRATION_IN_SECONDS + 1));
+
+        assertNotSame(client, clientCache.getClient(USER, token, t -> createClient()));
+        assertEquals(2, getCount(CloudControllerClientCache.MISSES_METRIC));
+        assertEquals(1, getEvictionCount(RemovalCause.EXPIRED));
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        OAuth2AccessToken token = new DefaultOAuth2AccessToken("token");
+        clientCache.getClient(USER, token, t -> createClient());
+        clientCache.getClient(OTHER_USER, token, t -> createClient());
+        clientCache.getClient("third-user", token, t -> createClient());
+
+        assertEquals(1, getEvictionCount(RemovalCause.SIZE));
+    }
+
+    private CloudControllerClient createClient() {
+        return Mockito.mock(CloudControllerClient.class);
+    }
+
+    private CloudControllerClient createClientSlowly(AtomicInteger createdClients) {
+        createdClients.incrementAndGet();
+        try {
+            Thread.sleep(CLIENT_CREATION_TIME_IN_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+        }
+        return createClient();
+    }
+
+    private double getCount(String metric) {
+        return meterRegistry.counter(metric)
+                            .count();
+    }
+
+    private double getEvictionCount(RemovalCause cause) {
+        return meterRegistry.counter(CloudControllerClientCache.EVICTIONS_METRIC, CloudControllerClientCache.CAUSE_TAG, cause.name())
+                            .count();
+    }
+
+}
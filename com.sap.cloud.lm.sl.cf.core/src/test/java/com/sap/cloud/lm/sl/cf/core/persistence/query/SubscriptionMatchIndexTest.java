@@ -0,0 +1,71 @@
+package com.sap.cloud.lm.sl.cf.core.persistence.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sap.cloud.lm.sl.cf.core.model.CloudTarget;
+import com.sap.cloud.lm.sl.cf.core.model.ConfigurationEntry;
+import com.sap.cloud.lm.sl.cf.core.model.ConfigurationFilter;
+import com.sap.cloud.lm.sl.cf.core.model.ConfigurationSubscription;
+import com.sap.cloud.lm.sl.mta.model.Version;
+
+public class SubscriptionMatchIndexTest {
+
+    private static final CloudTarget TARGET = new CloudTarget("org", "space");
+
+    private static final ConfigurationSubscription SUBSCRIPTION_TO_FOO = createSubscription(1, "foo", null);
+    private static final ConfigurationSubscription SUBSCRIPTION_TO_FOO_IN_TARGET = createSubscription(2, "foo", TARGET);
+    private static final ConfigurationSubscription SUBSCRIPTION_TO_BAR = createSubscription(3, "bar", null);
+    private static final ConfigurationSubscription SUBSCRIPTION_TO_ANY_IN_TARGET = createSubscription(4, null, TARGET);
+
+    private static final List<ConfigurationSubscription> SUBSCRIPTIONS = Arrays.asList(SUBSCRIPTION_TO_FOO, SUBSCRIPTION_TO_FOO_IN_TARGET,
+                                                                                       SUBSCRIPTION_TO_BAR, SUBSCRIPTION_TO_ANY_IN_TARGET);
+
+    private final SubscriptionMatchIndex index = new SubscriptionMatchIndex(SUBSCRIPTIONS);
+
+    @Test
+    public void testGetMatchingWithEntryInOtherTarget() {
+        List<ConfigurationSubscription> matchingSubscriptions = index.getMatching(Collections.singletonList(createEntry("foo", null)));
+
+        assertEquals(Collections.singletonList(SUBSCRIPTION_TO_FOO), matchingSubscriptions);
+    }
+
+    @Test
+    public void testGetMatchingWithEntryInTarget() {
+        List<ConfigurationSubscription> matchingSubscriptions = index.getMatching(Collections.singletonList(createEntry("foo", TARGET)));
+
+        assertEquals(Arrays.asList(SUBSCRIPTION_TO_FOO, SUBSCRIPTION_TO_FOO_IN_TARGET, SUBSCRIPTION_TO_ANY_IN_TARGET),
+                     matchingSubscriptions);
+    }
+
+    @Test
+    public void testGetMatchingWithUnknownProviderId() {
+        List<ConfigurationSubscription> matchingSubscriptions = index.getMatching(Collections.singletonList(createEntry("baz", null)));
+
+        assertEquals(Collections.emptyList(), matchingSubscriptions);
+    }
+
+    @Test
+    public void testGetMatchingWithMultipleEntriesKeepsOrderAndRemovesDuplicates() {
+        List<ConfigurationSubscription> matchingSubscriptions = index.getMatching(Arrays.asList(createEntry("bar", TARGET),
+                                                                                                createEntry("foo", null),
+                                                                                                createEntry("foo", TARGET)));
+
+        assertEquals(SUBSCRIPTIONS, matchingSubscriptions);
+    }
+
+    private static ConfigurationSubscription createSubscription(long id, String providerId, CloudTarget targetSpace) {
+        ConfigurationFilter filter = new ConfigurationFilter(null, providerId, null, targetSpace, null);
+        return new ConfigurationSubscription(id, "mta", "space-id", "app-" + id, filter, null, null);
+    }
+
+    private static ConfigurationEntry createEntry(String providerId, CloudTarget targetSpace) {
+        return new ConfigurationEntry(null, providerId, Version.parseVersion("1.0.0"), targetSpace, null, null, null);
+    }
+
+}
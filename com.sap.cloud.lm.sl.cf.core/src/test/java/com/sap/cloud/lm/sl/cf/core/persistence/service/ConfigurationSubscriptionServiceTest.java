@@ -15,6 +15,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import com.sap.cloud.lm.sl.cf.core.Messages;
+import com.sap.cloud.lm.sl.cf.core.model.CloudTarget;
 import com.sap.cloud.lm.sl.cf.core.model.ConfigurationEntry;
 import com.sap.cloud.lm.sl.cf.core.model.ConfigurationFilter;
 import com.sap.cloud.lm.sl.cf.core.model.ConfigurationSubscription;
@@ -127,6 +128,43 @@ public class ConfigurationSubscriptionServiceTest {
         assertEquals(1, foundSubscriptions);
     }
 
+    @Test
+    public void testQueryByFilterMatchingWithProviderIdAndTarget() {
+        CloudTarget target = new CloudTarget("org", "space");
+        ConfigurationSubscription subscriptionToFoo = createConfigurationSubscription(3L, "mta", "space", "app",
+                                                                                      new ConfigurationFilter(null, "foo", null, null, null),
+                                                                                      createModuleDto("moduleName"),
+                                                                                      createResourceDto("foo"));
+        ConfigurationSubscription subscriptionToFooInTarget = createConfigurationSubscription(4L, "mta", "space", "app",
+                                                                                              new ConfigurationFilter(null,
+                                                                                                                      "foo",
+                                                                                                                      null,
+                                                                                                                      target,
+                                                                                                                      null),
+                                                                                              createModuleDto("moduleName"),
+                                                                                              createResourceDto("foo-in-target"));
+        ConfigurationSubscription subscriptionToBar = createConfigurationSubscription(5L, "mta", "space", "app",
+                                                                                      new ConfigurationFilter(null, "bar", null, null, null),
+                                                                                      createModuleDto("moduleName"),
+                                                                                      createResourceDto("bar"));
+        addConfigurationSubscriptions(Arrays.asList(subscriptionToFoo, subscriptionToFooInTarget, subscriptionToBar));
+
+        List<ConfigurationSubscription> foundSubscriptions = configurationSubscriptionService.createQuery()
+                                                                                             .onSelectMatching(Collections.singletonList(new ConfigurationEntry(null,
+                                                                                                                                                                "foo",
+                                                                                                                                                                Version.parseVersion("1.0.0"),
+                                                                                                                                                                new CloudTarget("org",
+                                                                                                                                                                                "other-space"),
+                                                                                                                                                                null,
+                                                                                                                                                                null,
+                                                                                                                                                                null)))
+                                                                                             .list();
+        assertEquals(1, foundSubscriptions.size());
+        assertEquals("foo", foundSubscriptions.get(0)
+                                              .getResourceDto()
+                                              .getName());
+    }
+
     private void testQueryByCriteria(ConfigurationSubscriptionQueryBuilder configurationSubscriptionQueryBuilder) {
         addConfigurationSubscriptions(Arrays.asList(CONFIGURATION_SUBSCRIPTION_1, CONFIGURATION_SUBSCRIPTION_2));
         assertEquals(1,
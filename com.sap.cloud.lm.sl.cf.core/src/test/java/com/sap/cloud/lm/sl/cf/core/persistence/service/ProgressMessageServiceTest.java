@@ -1,6 +1,7 @@
 package com.sap.cloud.lm.sl.cf.core.persistence.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.text.MessageFormat;
@@ -21,6 +22,7 @@ import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableProgressMessage;
 import com.sap.cloud.lm.sl.cf.persistence.model.ProgressMessage;
 import com.sap.cloud.lm.sl.cf.persistence.model.ProgressMessage.ProgressMessageType;
 import com.sap.cloud.lm.sl.common.ConflictException;
+import com.sap.cloud.lm.sl.common.SLException;
 
 public class ProgressMessageServiceTest {
 
@@ -62,6 +64,43 @@ public class ProgressMessageServiceTest {
                                               .size());
     }
 
+    @Test
+    public void testAddAll() {
+        progressMessageService.addAll(Arrays.asList(PROGRESS_MESSAGE_1, PROGRESS_MESSAGE_2));
+
+        assertProgressMessageExists(PROGRESS_MESSAGE_1.getId());
+        assertProgressMessageExists(PROGRESS_MESSAGE_2.getId());
+
+        assertEquals(2, progressMessageService.createQuery()
+                                              .list()
+                                              .size());
+    }
+
+    @Test
+    public void testAddAllGeneratesMissingIds() {
+        progressMessageService.addAll(Arrays.asList(createProgressMessage(0L, "1", "taskId", ProgressMessageType.INFO, "text", new Date()),
+                                                    createProgressMessage(0L, "1", "taskId", ProgressMessageType.INFO, "text", new Date())));
+
+        List<ProgressMessage> progressMessages = progressMessageService.createQuery()
+                                                                       .processId("1")
+                                                                       .list();
+        assertEquals(2, progressMessages.size());
+        assertNotEquals(progressMessages.get(0)
+                                        .getId(),
+                        progressMessages.get(1)
+                                        .getId());
+    }
+
+    @Test
+    public void testAddAllWithAlreadyExistingMessage() {
+        progressMessageService.add(PROGRESS_MESSAGE_1);
+
+        assertThrows(SLException.class, () -> progressMessageService.addAll(Arrays.asList(PROGRESS_MESSAGE_2, PROGRESS_MESSAGE_1)));
+        assertEquals(1, progressMessageService.createQuery()
+                                              .list()
+                                              .size());
+    }
+
     @Test
     public void testAddWithAlreadyExistingMessage() {
         progressMessageService.add(PROGRESS_MESSAGE_1);
@@ -257,6 +257,15 @@ public class ApplicationConfigurationTest {
                                 configuration.getStepPollingIntervalInSeconds());
     }
 
+    @Test
+    public void testGetStepPollingInitialIntervalInSeconds() {
+        Mockito.when(environment.getPositiveInteger(ApplicationConfiguration.CFG_STEP_POLLING_INITIAL_INTERVAL_IN_SECONDS,
+                                                    ApplicationConfiguration.DEFAULT_STEP_POLLING_INITIAL_INTERVAL_IN_SECONDS))
+               .thenReturn(ApplicationConfiguration.DEFAULT_STEP_POLLING_INITIAL_INTERVAL_IN_SECONDS);
+        Assertions.assertEquals(ApplicationConfiguration.DEFAULT_STEP_POLLING_INITIAL_INTERVAL_IN_SECONDS,
+                                configuration.getStepPollingInitialIntervalInSeconds());
+    }
+
     @Test
     public void testShouldSkipSslValidation() {
         Mockito.when(environment.getBoolean(ApplicationConfiguration.CFG_SKIP_SSL_VALIDATION,
@@ -1,6 +1,7 @@
 package com.sap.cloud.lm.sl.cf.database.migration;
 
 import java.sql.SQLException;
+import java.text.MessageFormat;
 import java.util.Arrays;
 
 import javax.sql.DataSource;
@@ -18,6 +19,10 @@ public class DatabaseMigration {
 
     private final static Logger LOGGER = Logger.getLogger(DatabaseMigration.class);
 
+    private static final String BATCH_SIZE_ENV = "MIGRATION_BATCH_SIZE";
+    private static final String FETCH_SIZE_ENV = "MIGRATION_FETCH_SIZE";
+    private static final String PARALLELISM_ENV = "MIGRATION_PARALLELISM";
+
     public static void main(String[] args) throws SQLException {
         configureLogger();
         LOGGER.info("Starting database migration...");
@@ -30,9 +35,15 @@ public class DatabaseMigration {
                                                                                                                 .targetDataSource(targetDataSource)
                                                                                                                 .build();
 
+        int batchSize = getIntegerFromEnvironment(BATCH_SIZE_ENV, DatabaseTableMigrationExecutor.DEFAULT_BATCH_SIZE);
+        int fetchSize = getIntegerFromEnvironment(FETCH_SIZE_ENV, DatabaseTableMigrationExecutor.DEFAULT_FETCH_SIZE);
+        int parallelism = getIntegerFromEnvironment(PARALLELISM_ENV, DatabaseTableMigrationExecutor.DEFAULT_PARALLELISM);
         DatabaseTableMigrationExecutor tableMigrationExecutor = ImmutableDatabaseTableMigrationExecutor.builder()
                                                                                                        .sourceDataSource(sourceDataSource)
                                                                                                        .targetDataSource(targetDataSource)
+                                                                                                       .batchSize(batchSize)
+                                                                                                       .fetchSize(fetchSize)
+                                                                                                       .parallelism(parallelism)
                                                                                                        .build();
         Arrays.asList("configuration_entry_sequence", "configuration_subscription_sequence")
               .stream()
@@ -45,6 +56,16 @@ public class DatabaseMigration {
         LOGGER.info("Database migration completed.");
     }
 
+    private static int getIntegerFromEnvironment(String name, int defaultValue) {
+        String value = System.getenv(name);
+        int result = value == null ? defaultValue : Integer.parseInt(value);
+        if (result <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format("Invalid value of \"{0}\": {1}", name, value));
+        }
+        LOGGER.info(MessageFormat.format("{0}: {1}", name, result));
+        return result;
+    }
+
     private static void configureLogger() {
         PropertyConfigurator.configure(DatabaseMigration.class.getClassLoader()
                                                               .getResourceAsStream("console-logger.properties"));
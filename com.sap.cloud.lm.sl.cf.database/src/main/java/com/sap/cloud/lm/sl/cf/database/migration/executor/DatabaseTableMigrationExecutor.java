@@ -5,8 +5,20 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
+import org.immutables.value.Value;
 import org.immutables.value.Value.Immutable;
 
 import com.sap.cloud.lm.sl.cf.database.migration.executor.type.DatabaseTypeSetter;
@@ -21,6 +33,38 @@ import com.sap.cloud.lm.sl.cf.persistence.util.JdbcUtil;
 @Immutable
 public abstract class DatabaseTableMigrationExecutor extends DatabaseMigrationExecutor {
 
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    private static final String ID_COLUMN = "id";
+
+    /**
+     * The number of rows inserted in the target database with a single round trip.
+     */
+    @Value.Default
+    public int getBatchSize() {
+        return DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * The number of rows fetched from the source database with a single round trip. The source table is streamed in chunks of this size
+     * instead of being read in memory as a whole.
+     */
+    @Value.Default
+    public int getFetchSize() {
+        return DEFAULT_FETCH_SIZE;
+    }
+
+    /**
+     * The number of disjoint id ranges, which are copied in parallel on separate connections. Tables without an id column are always
+     * copied sequentially.
+     */
+    @Value.Default
+    public int getParallelism() {
+        return DEFAULT_PARALLELISM;
+    }
+
     @Override
     public void executeMigrationInternal(String databaseTable) throws SQLException {
         logger.info("Migrating table \"{}\"...", databaseTable);
@@ -33,7 +77,7 @@ public abstract class DatabaseTableMigrationExecutor extends DatabaseMigrationEx
             PreparedStatement statement = null;
             ResultSet resultSet = null;
             try {
-                statement = connection.prepareStatement(String.format("SELECT * FROM %s", databaseTable));
+                statement = connection.prepareStatement(String.format("SELECT * FROM %s WHERE 1 = 0", databaseTable));
                 resultSet = statement.executeQuery();
                 return parseDatabaseTableMetadata(databaseTable, resultSet.getMetaData());
             } finally {
@@ -59,54 +103,285 @@ public abstract class DatabaseTableMigrationExecutor extends DatabaseMigrationEx
     private void transferData(String databaseTable, DatabaseTableMetadata sourceTableMetadata) throws SQLException {
         logger.info("Transfering data for table \"{}\"...", databaseTable);
         String insertQuery = new DatabaseTableInsertQueryGenerator().generate(sourceTableMetadata);
-        getSqlQueryExecutor(getSourceDataSource()).executeWithAutoCommit((sourceConnection) -> {
+        List<DatabaseTypeSetter> typeSetters = getTypeSetters(sourceTableMetadata.getTableColumnsMetadata());
+        TransferProgress progress = new TransferProgress(databaseTable);
+        if (getParallelism() > 1 && hasIdColumn(sourceTableMetadata)) {
+            transferDataInParallel(databaseTable, insertQuery, typeSetters, progress);
+        } else {
+            // A failure rolls back the whole transfer, because it is done in a single transaction:
+            transferRows(String.format("SELECT * FROM %s", databaseTable), insertQuery, typeSetters, progress);
+        }
+        progress.logCompletion();
+    }
+
+    private List<DatabaseTypeSetter> getTypeSetters(List<DatabaseTableColumnMetadata> columnsMetadata) {
+        DatabaseTypeSetterFactory typeSetterFactory = new DatabaseTypeSetterFactory();
+        return columnsMetadata.stream()
+                              .map(DatabaseTableColumnMetadata::getColumnType)
+                              .map(typeSetterFactory::get)
+                              .collect(Collectors.toList());
+    }
+
+    private boolean hasIdColumn(DatabaseTableMetadata tableMetadata) {
+        return tableMetadata.getTableColumnsMetadata()
+                            .stream()
+                            .anyMatch(columnMetadata -> ID_COLUMN.equalsIgnoreCase(columnMetadata.getColumnName()));
+    }
+
+    private void transferDataInParallel(String databaseTable, String insertQuery, List<DatabaseTypeSetter> typeSetters,
+                                        TransferProgress progress)
+        throws SQLException {
+        long[] idBounds = getIdBounds(databaseTable);
+        if (idBounds == null) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(getParallelism());
+        try {
+            Map<IdRange, Future<Void>> futures = new LinkedHashMap<>();
+            for (IdRange idRange : createIdRanges(idBounds[0], idBounds[1])) {
+                futures.put(idRange, executor.submit(createRangeTransfer(databaseTable, idRange, insertQuery, typeSetters, progress)));
+            }
+            List<IdRange> transferredIdRanges = new ArrayList<>();
+            Exception transferFailure = null;
+            // All range transfers are waited for, so that none of them commits after the clean up of a failed migration:
+            for (Map.Entry<IdRange, Future<Void>> future : futures.entrySet()) {
+                try {
+                    waitForRangeTransfer(future.getValue());
+                    transferredIdRanges.add(future.getKey());
+                } catch (SQLException | RuntimeException e) {
+                    if (transferFailure == null) {
+                        transferFailure = e;
+                    } else {
+                        transferFailure.addSuppressed(e);
+                    }
+                }
+            }
+            if (transferFailure != null) {
+                deleteTransferredRanges(databaseTable, transferredIdRanges, transferFailure);
+                throwTransferFailure(transferFailure);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The id ranges are committed independently of each other, so the rows of the ranges, which were transferred before the failure, are
+     * deleted from the target table. Otherwise, the table would remain half-migrated and a retry of the migration would fail with
+     * duplicate keys. Only the ids read from the source table are deleted, so that rows, which were in the target table before the
+     * migration, are kept.
+     */
+    private void deleteTransferredRanges(String databaseTable, List<IdRange> transferredIdRanges, Exception transferFailure) {
+        logger.info("Deleting transferred data of table \"{}\"...", databaseTable);
+        for (IdRange idRange : transferredIdRanges) {
+            try {
+                deleteTransferredRange(databaseTable, idRange);
+            } catch (SQLException e) {
+                transferFailure.addSuppressed(e);
+            }
+        }
+    }
+
+    private void deleteTransferredRange(String databaseTable, IdRange idRange) throws SQLException {
+        getSqlQueryExecutor(getSourceDataSource()).execute((sourceConnection) -> {
             getSqlQueryExecutor(getTargetDataSource()).execute((targetConnection) -> {
-                PreparedStatement statement = null;
+                PreparedStatement selectStatement = null;
+                PreparedStatement deleteStatement = null;
                 ResultSet resultSet = null;
                 try {
-                    statement = sourceConnection.prepareStatement(String.format("SELECT * FROM %s", databaseTable));
-                    resultSet = statement.executeQuery();
-                    while (resultSet.next()) {
-                        transferDataToTargetDatasource(targetConnection, insertQuery, sourceTableMetadata, resultSet);
-                    }
+                    selectStatement = sourceConnection.prepareStatement(String.format("SELECT %s FROM %s WHERE %s BETWEEN %d AND %d",
+                                                                                      ID_COLUMN, databaseTable, ID_COLUMN,
+                                                                                      idRange.start, idRange.end));
+                    selectStatement.setFetchSize(getFetchSize());
+                    resultSet = selectStatement.executeQuery();
+                    deleteStatement = targetConnection.prepareStatement(String.format("DELETE FROM %s WHERE %s = ?", databaseTable,
+                                                                                      ID_COLUMN));
+                    deleteRows(resultSet, deleteStatement);
                     return null;
                 } finally {
                     JdbcUtil.closeQuietly(resultSet);
-                    JdbcUtil.closeQuietly(statement);
+                    JdbcUtil.closeQuietly(deleteStatement);
+                    JdbcUtil.closeQuietly(selectStatement);
                 }
             });
             return null;
         });
     }
 
-    private void transferDataToTargetDatasource(Connection connection, String insertQuery, DatabaseTableMetadata sourceTableMetadata,
-                                                ResultSet resultSet)
-        throws SQLException {
-        PreparedStatement insertStatement = null;
+    private void deleteRows(ResultSet resultSet, PreparedStatement deleteStatement) throws SQLException {
+        int rowsInBatch = 0;
+        while (resultSet.next()) {
+            deleteStatement.setLong(1, resultSet.getLong(1));
+            deleteStatement.addBatch();
+            if (++rowsInBatch == getBatchSize()) {
+                deleteStatement.executeBatch();
+                rowsInBatch = 0;
+            }
+        }
+        if (rowsInBatch > 0) {
+            deleteStatement.executeBatch();
+        }
+    }
+
+    private void throwTransferFailure(Exception transferFailure) throws SQLException {
+        if (transferFailure instanceof SQLException) {
+            throw (SQLException) transferFailure;
+        }
+        throw (RuntimeException) transferFailure;
+    }
+
+    private long[] getIdBounds(String databaseTable) throws SQLException {
+        return getSqlQueryExecutor(getSourceDataSource()).executeWithAutoCommit((connection) -> {
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                statement = connection.prepareStatement(String.format("SELECT MIN(%s), MAX(%s) FROM %s", ID_COLUMN, ID_COLUMN,
+                                                                      databaseTable));
+                resultSet = statement.executeQuery();
+                resultSet.next();
+                long minId = resultSet.getLong(1);
+                if (resultSet.wasNull()) {
+                    return null;
+                }
+                return new long[] { minId, resultSet.getLong(2) };
+            } finally {
+                JdbcUtil.closeQuietly(resultSet);
+                JdbcUtil.closeQuietly(statement);
+            }
+        });
+    }
+
+    private List<IdRange> createIdRanges(long minId, long maxId) {
+        List<IdRange> idRanges = new ArrayList<>();
+        long rangeSize = (maxId - minId) / getParallelism() + 1;
+        for (long rangeStart = minId; rangeStart <= maxId; rangeStart += rangeSize) {
+            idRanges.add(new IdRange(rangeStart, Math.min(rangeStart + rangeSize - 1, maxId)));
+        }
+        return idRanges;
+    }
+
+    private Callable<Void> createRangeTransfer(String databaseTable, IdRange idRange, String insertQuery,
+                                               List<DatabaseTypeSetter> typeSetters, TransferProgress progress) {
+        String selectQuery = String.format("SELECT * FROM %s WHERE %s BETWEEN %d AND %d", databaseTable, ID_COLUMN, idRange.start,
+                                           idRange.end);
+        return () -> {
+            transferRows(selectQuery, insertQuery, typeSetters, progress);
+            return null;
+        };
+    }
+
+    private void waitForRangeTransfer(Future<Void> future) throws SQLException {
         try {
-            insertStatement = connection.prepareStatement(insertQuery);
-            populateInsertStatementParameters(insertStatement, sourceTableMetadata.getTableColumnsMetadata(), resultSet);
-            insertStatement.executeUpdate();
-        } finally {
-            JdbcUtil.closeQuietly(insertStatement);
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new IllegalStateException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause()
+                                             .getMessage(),
+                                            e.getCause());
         }
+    }
 
+    private void transferRows(String selectQuery, String insertQuery, List<DatabaseTypeSetter> typeSetters, TransferProgress progress)
+        throws SQLException {
+        // The source connection is not in auto-commit mode, because otherwise the PostgreSQL driver ignores the fetch size and reads the
+        // whole result set in memory.
+        getSqlQueryExecutor(getSourceDataSource()).execute((sourceConnection) -> {
+            getSqlQueryExecutor(getTargetDataSource()).execute((targetConnection) -> {
+                PreparedStatement selectStatement = null;
+                PreparedStatement insertStatement = null;
+                ResultSet resultSet = null;
+                try {
+                    selectStatement = sourceConnection.prepareStatement(selectQuery);
+                    selectStatement.setFetchSize(getFetchSize());
+                    resultSet = selectStatement.executeQuery();
+                    insertStatement = targetConnection.prepareStatement(insertQuery);
+                    transferRows(resultSet, insertStatement, typeSetters, progress);
+                    return null;
+                } finally {
+                    JdbcUtil.closeQuietly(resultSet);
+                    JdbcUtil.closeQuietly(insertStatement);
+                    JdbcUtil.closeQuietly(selectStatement);
+                }
+            });
+            return null;
+        });
     }
 
-    private void populateInsertStatementParameters(PreparedStatement insertStatement, List<DatabaseTableColumnMetadata> columnsMetadata,
-                                                   ResultSet resultSet)
+    private void transferRows(ResultSet resultSet, PreparedStatement insertStatement, List<DatabaseTypeSetter> typeSetters,
+                              TransferProgress progress)
         throws SQLException {
-        for (int columnIndex = 0; columnIndex < columnsMetadata.size(); columnIndex++) {
-            setInsertStatementBasedOnType(columnsMetadata.get(columnIndex)
-                                                         .getColumnType(),
-                                          insertStatement, resultSet, columnIndex + 1);
+        int rowsInBatch = 0;
+        while (resultSet.next()) {
+            populateInsertStatementParameters(insertStatement, typeSetters, resultSet);
+            insertStatement.addBatch();
+            if (++rowsInBatch == getBatchSize()) {
+                insertStatement.executeBatch();
+                progress.addTransferredRows(rowsInBatch);
+                rowsInBatch = 0;
+            }
+        }
+        if (rowsInBatch > 0) {
+            insertStatement.executeBatch();
+            progress.addTransferredRows(rowsInBatch);
         }
     }
 
-    private void setInsertStatementBasedOnType(String databaseColumnType, PreparedStatement insertStatement, ResultSet resultSet,
-                                               int columnIndex)
+    private void populateInsertStatementParameters(PreparedStatement insertStatement, List<DatabaseTypeSetter> typeSetters,
+                                                   ResultSet resultSet)
         throws SQLException {
-        DatabaseTypeSetter databaseTypeSetter = new DatabaseTypeSetterFactory().get(databaseColumnType);
-        databaseTypeSetter.setType(columnIndex, insertStatement, resultSet);
+        for (int columnIndex = 0; columnIndex < typeSetters.size(); columnIndex++) {
+            typeSetters.get(columnIndex)
+                       .setType(columnIndex + 1, insertStatement, resultSet);
+        }
     }
+
+    private static class IdRange {
+
+        private final long start;
+        private final long end;
+
+        IdRange(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+    }
+
+    private class TransferProgress {
+
+        private final String databaseTable;
+        private final long startTime = System.nanoTime();
+        private final AtomicLong transferredRows = new AtomicLong();
+
+        TransferProgress(String databaseTable) {
+            this.databaseTable = databaseTable;
+        }
+
+        void addTransferredRows(int rows) {
+            long totalRows = transferredRows.addAndGet(rows);
+            logger.info("Transferred {} rows of table \"{}\" ({} rows/s)", totalRows, databaseTable, getRowsPerSecond(totalRows));
+        }
+
+        void logCompletion() {
+            long totalRows = transferredRows.get();
+            logger.info("Transferred {} rows of table \"{}\" in {} ms ({} rows/s)", totalRows, databaseTable,
+                        TimeUnit.NANOSECONDS.toMillis(getElapsedNanos()), getRowsPerSecond(totalRows));
+        }
+
+        private long getRowsPerSecond(long rows) {
+            return rows * TimeUnit.SECONDS.toNanos(1) / Math.max(getElapsedNanos(), 1);
+        }
+
+        private long getElapsedNanos() {
+            return System.nanoTime() - startTime;
+        }
+
+    }
+
 }
@@ -0,0 +1,112 @@
+package com.sap.cloud.lm.sl.cf.database.migration.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class DatabaseTableMigrationExecutorTest {
+
+    private static final String TABLE = "configuration_registry";
+    private static final int ROWS = 100_000;
+    private static final int EXISTING_ROW_ID = 10;
+    private static final String CREATE_TABLE = "CREATE TABLE " + TABLE
+        + " (id BIGINT PRIMARY KEY, provider_nid VARCHAR(255), provider_id VARCHAR(255), content VARCHAR(4000))";
+    private static final String INSERT_ROW = "INSERT INTO " + TABLE + " (id, provider_nid, provider_id, content) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_CHECKSUM = "SELECT COUNT(*), SUM(id), SUM(LENGTH(content)) FROM " + TABLE;
+
+    private JdbcDataSource sourceDataSource;
+    private JdbcDataSource targetDataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        sourceDataSource = createDataSource();
+        targetDataSource = createDataSource();
+        execute(sourceDataSource, CREATE_TABLE);
+        execute(targetDataSource, CREATE_TABLE);
+        insertRows(sourceDataSource);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 4 })
+    public void testMigrateTable(int parallelism) throws SQLException {
+        createExecutor(parallelism).executeMigration(TABLE);
+
+        assertEquals(getChecksum(sourceDataSource), getChecksum(targetDataSource));
+        assertEquals(String.valueOf(ROWS), getChecksum(targetDataSource).split(" ")[0]);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 4 })
+    public void testFailedMigrationKeepsOnlyExistingRowsOfTargetTable(int parallelism) throws SQLException {
+        // The row is in the id range of a transfer, which succeeds, but it is not in the source table:
+        execute(sourceDataSource, "DELETE FROM " + TABLE + " WHERE id = " + EXISTING_ROW_ID);
+        execute(targetDataSource, "INSERT INTO " + TABLE + " (id, content) VALUES (" + EXISTING_ROW_ID + ", 'existing')");
+        // Only the id range, which contains the last row, is rejected by the target database:
+        execute(targetDataSource, "ALTER TABLE " + TABLE + " ADD CONSTRAINT id_check CHECK (id < " + ROWS + ")");
+
+        assertThrows(RuntimeException.class, () -> createExecutor(parallelism).executeMigration(TABLE));
+
+        assertEquals("1 " + EXISTING_ROW_ID + " 8", getChecksum(targetDataSource));
+    }
+
+    private DatabaseTableMigrationExecutor createExecutor(int parallelism) {
+        return ImmutableDatabaseTableMigrationExecutor.builder()
+                                                      .sourceDataSource(sourceDataSource)
+                                                      .targetDataSource(targetDataSource)
+                                                      .batchSize(500)
+                                                      .fetchSize(500)
+                                                      .parallelism(parallelism)
+                                                      .build();
+    }
+
+    private JdbcDataSource createDataSource() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    private void execute(JdbcDataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private void insertRows(JdbcDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement(INSERT_ROW)) {
+            connection.setAutoCommit(false);
+            for (int id = 1; id <= ROWS; id++) {
+                statement.setLong(1, id);
+                statement.setString(2, "provider-" + id % 10);
+                statement.setString(3, "mta-" + id);
+                statement.setString(4, "{\"id\":" + id + "}");
+                statement.addBatch();
+                if (id % 1000 == 0) {
+                    statement.executeBatch();
+                }
+            }
+            connection.commit();
+        }
+    }
+
+    private String getChecksum(JdbcDataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery(SELECT_CHECKSUM)) {
+            resultSet.next();
+            return resultSet.getString(1) + " " + resultSet.getString(2) + " " + resultSet.getString(3);
+        }
+    }
+
+}
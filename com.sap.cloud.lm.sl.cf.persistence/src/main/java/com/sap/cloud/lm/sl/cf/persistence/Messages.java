@@ -20,6 +20,15 @@ public final class Messages {
     public static final String ERROR_DELETING_DIRECTORY = "Error deleting directory \"{0}\"";
     public static final String ERROR_STORING_LOG_FILE = "Error storing log file \"{0}\"";
     public static final String ERROR_LOG_FILE_NOT_FOUND = "Log file with name \"{0}\" for operation \"{1}\" in space \"{2}\" was not found";
+    public static final String UNEXPECTED_BLOB_RANGE_LENGTH = "Received {0} bytes for range {1}-{2}, but expected {3}";
+    public static final String MAX_UPLOAD_SIZE_EXCEEDED = "Cannot upload file, size is bigger than the configured maximum upload size \"{0}\" bytes";
+    public static final String INVALID_UPLOAD_SIZE = "Invalid upload size {0}";
+    public static final String UPLOAD_SESSION_0_NOT_FOUND = "Upload session \"{0}\" not found";
+    public static final String INVALID_CHUNK_OFFSET_0_FOR_UPLOAD_SESSION_1_WITH_SIZE_2 = "Invalid chunk offset {0} for upload session \"{1}\" with size {2}";
+    public static final String CHUNK_0_ENDED_AFTER_1_OF_2_BYTES = "Chunk \"{0}\" ended after {1} of {2} bytes";
+    public static final String INVALID_CHUNK_SIZE_0_AT_OFFSET_1_FOR_UPLOAD_SESSION_2_WITH_SIZE_3 = "Invalid chunk size {0} at offset {1} for upload session \"{2}\" with size {3}";
+    public static final String UPLOAD_SESSION_0_HAS_MISSING_RANGES_1 = "Upload session \"{0}\" has missing ranges: {1}";
+    public static final String DIGEST_0_OF_UPLOADED_FILE_1_DOES_NOT_MATCH_EXPECTED_DIGEST_2 = "Digest {0} of uploaded file \"{1}\" does not match the expected digest {2}";
     public static final String ERROR_CORRELATION_ID_OR_ACTIVITY_ID_NULL = "Unable to retrieve correlation id or activity id for process \"{0}\" at activity \"{1}\" and space \"{2}\"";
 
     // ERROR log messages:
@@ -32,7 +41,13 @@ public final class Messages {
     public static final String COULD_NOT_ROLLBACK_TRANSACTION = "Could not rollback transaction!";
     public static final String COULD_NOT_PERSIST_LOGS_FILE = "Could not persist logs file: {0}";
     public static final String ATTEMPT_TO_UPLOAD_BLOB_FAILED = "Attempt [{0}/{1}] to upload blob to ObjectStore failed with \"{2}\"";
+    public static final String ATTEMPT_TO_UPLOAD_BLOB_PART_FAILED = "Attempt [{0}/{1}] to upload part {2} of blob {3} to ObjectStore failed with \"{4}\"";
     public static final String ATTEMPT_TO_DOWNLOAD_MISSING_BLOB = "Attempt [{0}/{1}] to download missing blob {2} from ObjectStore";
+    public static final String ATTEMPT_TO_DOWNLOAD_BLOB_RANGE_FAILED = "Attempt [{0}/{1}] to download range {2}-{3} of blob {4} from ObjectStore failed with \"{5}\"";
+    public static final String COULD_NOT_DELETE_CONTENT = "Could not delete content \"{0}\": {1}";
+    public static final String COULD_NOT_DELETE_CACHED_FILE_0 = "Could not delete cached file \"{0}\"";
+    public static final String COULD_NOT_CHECK_WHETHER_FILE_0_IN_SPACE_1_IS_REFERENCED = "Could not check whether file \"{0}\" in space \"{1}\" is referenced: {2}";
+    public static final String COULD_NOT_DELETE_TEMPORARY_FILE_0 = "Could not delete temporary file \"{0}\"";
 
     // INFO log messages:
     public static final String FAILED_TO_DELETE_FILE = "Failed to delete file {0}";
@@ -50,7 +65,17 @@ public final class Messages {
     public static final String DELETED_0_FILES_MODIFIED_BEFORE_1 = "Deleted {0} files modified before \"{1}\".";
     public static final String DELETED_0_FILES_WITH_ID_1_AND_SPACE_2 = "Deleted {0} files with ID \"{1}\" and space \"{2}\".";
     public static final String DELETED_0_FILES_WITHOUT_CONTENT = "Deleted {0} files without content.";
+    public static final String CHECKED_0_FILES_AND_DELETED_1_FILES_WITHOUT_CONTENT = "Checked {0} files and deleted {1} files without content.";
     public static final String PROCESSING_FILE_0 = "Processing file \"{0}\"...";
+    public static final String REUSED_CONTENT_0_FOR_FILE_1 = "Reused content \"{0}\" for file \"{1}\"";
+    public static final String DELETED_0_BLOBS = "Deleted {0} blobs.";
+    public static final String CREATED_UPLOAD_SESSION_0_FOR_FILE_1 = "Created upload session \"{0}\" for file \"{1}\"";
+    public static final String FINALIZED_UPLOAD_SESSION_0_AS_FILE_1 = "Finalized upload session \"{0}\" as file \"{1}\"";
+    public static final String DELETED_0_UPLOAD_SESSIONS_MODIFIED_BEFORE_1 = "Deleted {0} upload sessions modified before \"{1}\".";
+    public static final String DELETED_0_UNREFERENCED_CONTENTS = "Deleted {0} unreferenced contents.";
+    public static final String DELETED_0_ORPHANED_FILES_MODIFIED_BEFORE_1 = "Deleted {0} orphaned files modified before \"{1}\".";
+    public static final String CACHED_CONTENT_OF_FILE_0_IN_1 = "Cached content of file \"{0}\" in \"{1}\"";
+    public static final String EVICTED_0_CACHED_FILES_WITH_1_BYTES = "Evicted {0} cached files with {1} bytes.";
 
     protected Messages() {
     }
@@ -0,0 +1,15 @@
+package com.sap.cloud.lm.sl.cf.persistence.changes;
+
+public class IndexModifiedAndIdOfLmSlPersistenceFileChange extends AbstractIndexSQLChange {
+
+    @Override
+    protected String getQuery() {
+        return "CREATE INDEX CONCURRENTLY IDX_LM_SL_PERSISTENCE_MODIFIED_ID ON LM_SL_PERSISTENCE_FILE(MODIFIED, FILE_ID)";
+    }
+
+    @Override
+    protected String getIndexName() {
+        return "IDX_LM_SL_PERSISTENCE_MODIFIED_ID";
+    }
+
+}
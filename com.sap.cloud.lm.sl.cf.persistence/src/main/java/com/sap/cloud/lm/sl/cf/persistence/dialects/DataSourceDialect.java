@@ -21,4 +21,12 @@ public interface DataSourceDialect {
     BigInteger getBigInteger(ResultSet rs, String columnName) throws SQLException;
 
     void setBigInteger(PreparedStatement ps, int index, BigInteger bi) throws SQLException;
+
+    /**
+     * @return a condition, which is true when the value of the column is contained in the array set as the single parameter of the
+     *         condition
+     */
+    String getArrayContainsSyntax(String columnName);
+
+    void setStringArray(PreparedStatement ps, int index, String[] values) throws SQLException;
 }
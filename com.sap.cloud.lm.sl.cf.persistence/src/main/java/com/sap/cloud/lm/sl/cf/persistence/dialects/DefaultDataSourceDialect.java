@@ -44,4 +44,15 @@ public class DefaultDataSourceDialect implements DataSourceDialect {
         ps.setBinaryStream(index, is);
     }
 
+    @Override
+    public String getArrayContainsSyntax(String columnName) {
+        return columnName + " = ANY(?)";
+    }
+
+    @Override
+    public void setStringArray(PreparedStatement ps, int index, String[] values) throws SQLException {
+        ps.setArray(index, ps.getConnection()
+                             .createArrayOf("varchar", values));
+    }
+
 }
@@ -0,0 +1,12 @@
+package com.sap.cloud.lm.sl.cf.persistence.model;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+public interface ByteRange {
+
+    long getOffset();
+
+    long getLength();
+
+}
@@ -0,0 +1,21 @@
+package com.sap.cloud.lm.sl.cf.persistence.model;
+
+import javax.annotation.Nullable;
+
+import org.immutables.value.Value;
+
+/**
+ * Points from a file to the content it shares with other files that have the same content. Files stored before content deduplication was
+ * enabled do not point to a shared content.
+ */
+@Value.Immutable
+public interface FileReference {
+
+    String getId();
+
+    String getSpace();
+
+    @Nullable
+    String getContentId();
+
+}
@@ -0,0 +1,18 @@
+package com.sap.cloud.lm.sl.cf.persistence.model;
+
+import java.util.Date;
+
+import org.immutables.value.Value;
+
+/**
+ * The position of a sweep over the files, which are ordered by their modification time and ID. A sweep resumed from a cursor continues
+ * with the first file after it.
+ */
+@Value.Immutable
+public interface FileSweepCursor {
+
+    Date getModified();
+
+    String getId();
+
+}
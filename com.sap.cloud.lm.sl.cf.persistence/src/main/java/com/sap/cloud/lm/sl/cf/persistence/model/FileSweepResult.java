@@ -0,0 +1,20 @@
+package com.sap.cloud.lm.sl.cf.persistence.model;
+
+import javax.annotation.Nullable;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+public interface FileSweepResult {
+
+    int getCheckedFiles();
+
+    int getDeletedFiles();
+
+    /**
+     * @return the cursor, from which the next pass should continue, or {@code null}, if all files were checked
+     */
+    @Nullable
+    FileSweepCursor getCursor();
+
+}
@@ -0,0 +1,28 @@
+package com.sap.cloud.lm.sl.cf.persistence.model;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+public interface UploadSession {
+
+    String getId();
+
+    String getSpace();
+
+    @Nullable
+    String getNamespace();
+
+    String getName();
+
+    long getSize();
+
+    /**
+     * @return the ranges of the file, which are not covered by any of the uploaded chunks, ordered by their offset
+     */
+    List<ByteRange> getMissingRanges();
+
+}
@@ -0,0 +1,384 @@
+package com.sap.cloud.lm.sl.cf.persistence.query.providers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.sap.cloud.lm.sl.cf.persistence.dialects.DataSourceDialect;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileReference;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileReference;
+import com.sap.cloud.lm.sl.cf.persistence.query.SqlQuery;
+import com.sap.cloud.lm.sl.cf.persistence.util.JdbcUtil;
+
+/**
+ * Provides the queries for storing the content of files once and sharing it between all files with the same content. A content is shared
+ * only while its reference count is positive, so a content that is about to be deleted is never referenced again. The digests of the
+ * contents are unique, so a content gives up its digest, when it is no longer referenced, and the same content can be stored again before
+ * the old one is deleted.
+ */
+public class ContentSqlQueryProvider {
+
+    private static final String SELECT_CONTENT_BY_DIGEST = "SELECT CONTENT_ID FROM %s WHERE DIGEST=? AND DIGEST_ALGORITHM=? AND FILE_SIZE=? AND REFERENCE_COUNT>0";
+    private static final String INCREMENT_REFERENCE_COUNT = "UPDATE %s SET REFERENCE_COUNT=REFERENCE_COUNT+1 WHERE CONTENT_ID=? AND REFERENCE_COUNT>0";
+    private static final String DECREMENT_REFERENCE_COUNT = "UPDATE %s SET REFERENCE_COUNT=REFERENCE_COUNT-? WHERE CONTENT_ID=?";
+    private static final String INSERT_CONTENT = "INSERT INTO %s (CONTENT_ID, DIGEST, DIGEST_ALGORITHM, FILE_SIZE, REFERENCE_COUNT, MODIFIED) VALUES (?, ?, ?, ?, 1, ?)";
+    private static final String RELEASE_DIGEST_OF_UNREFERENCED_CONTENT = "UPDATE %s SET DIGEST=CONTENT_ID WHERE CONTENT_ID=? AND REFERENCE_COUNT<=0";
+    private static final String SELECT_UNREFERENCED_CONTENT = "SELECT CONTENT_ID FROM %s WHERE REFERENCE_COUNT<=0";
+    private static final String DELETE_UNREFERENCED_CONTENT = "DELETE FROM %s WHERE CONTENT_ID=? AND REFERENCE_COUNT<=0";
+    private static final String INSERT_FILE_ATTRIBUTES_WITH_CONTENT_ID = "INSERT INTO %s (FILE_ID, SPACE, FILE_NAME, NAMESPACE, FILE_SIZE, DIGEST, DIGEST_ALGORITHM, MODIFIED, CONTENT_ID) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_CONTENT_BY_ID = "SELECT CONTENT_ID FROM %s WHERE CONTENT_ID=?";
+    private static final String SELECT_CONTENT_ID_BY_ID_AND_SPACE = "SELECT CONTENT_ID FROM %s WHERE FILE_ID=? AND SPACE=?";
+    private static final String SELECT_FILE_REFERENCES_BY_ID_AND_SPACE = "SELECT FILE_ID, SPACE, CONTENT_ID FROM %s WHERE FILE_ID=? AND SPACE=?";
+    private static final String SELECT_FILE_REFERENCES_BY_IDS_AND_SPACE = "SELECT FILE_ID, SPACE, CONTENT_ID FROM %s WHERE FILE_ID IN (%s) AND SPACE=?";
+    private static final String SELECT_FILE_REFERENCES_BY_SPACE = "SELECT FILE_ID, SPACE, CONTENT_ID FROM %s WHERE SPACE=?";
+    private static final String SELECT_FILE_REFERENCES_BY_NAMESPACE_AND_SPACE = "SELECT FILE_ID, SPACE, CONTENT_ID FROM %s WHERE NAMESPACE=? AND SPACE=?";
+    private static final String SELECT_FILE_REFERENCES_MODIFIED_BEFORE = "SELECT FILE_ID, SPACE, CONTENT_ID FROM %s WHERE MODIFIED<?";
+    private static final String DELETE_FILE_BY_ID_AND_SPACE = "DELETE FROM %s WHERE FILE_ID=? AND SPACE=?";
+
+    private static final int MAX_IDS_PER_QUERY = 500;
+
+    private static final String FILE_ID = "FILE_ID";
+    private static final String SPACE = "SPACE";
+    private static final String CONTENT_ID = "CONTENT_ID";
+
+    private final String fileTableName;
+    private final String contentTableName;
+    private final DataSourceDialect dataSourceDialect;
+
+    public ContentSqlQueryProvider(String fileTableName, String contentTableName, DataSourceDialect dataSourceDialect) {
+        this.fileTableName = fileTableName;
+        this.contentTableName = contentTableName;
+        this.dataSourceDialect = dataSourceDialect;
+    }
+
+    /**
+     * Stores the attributes of a file, which points to an already stored content with the same digest or to the passed content, if there
+     * is no such content yet.
+     *
+     * @return the ID of the content the file points to
+     */
+    public SqlQuery<String> getStoreFileAttributesWithContentQuery(FileEntry fileEntry, FileEntry content) {
+        return (Connection connection) -> {
+            String contentId = findContent(connection, content);
+            if (contentId == null || !incrementReferenceCount(connection, contentId)) {
+                insertContent(connection, content);
+                contentId = content.getId();
+            }
+            insertFileAttributes(connection, fileEntry, contentId);
+            return contentId;
+        };
+    }
+
+    /**
+     * Stores the attributes of a file, which points to an already stored content with the same digest, if there is such a content.
+     *
+     * @return the ID of the content the file points to or {@code null}, if there is no such content and nothing was stored
+     */
+    public SqlQuery<String> getStoreFileAttributesWithExistingContentQuery(FileEntry fileEntry, FileEntry content) {
+        return (Connection connection) -> {
+            String contentId = findContent(connection, content);
+            if (contentId == null || !incrementReferenceCount(connection, contentId)) {
+                return null;
+            }
+            insertFileAttributes(connection, fileEntry, contentId);
+            return contentId;
+        };
+    }
+
+    private String findContent(Connection connection, FileEntry content) throws SQLException {
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(getQuery(SELECT_CONTENT_BY_DIGEST, contentTableName));
+            statement.setString(1, content.getDigest());
+            statement.setString(2, content.getDigestAlgorithm());
+            dataSourceDialect.setBigInteger(statement, 3, content.getSize());
+            resultSet = statement.executeQuery();
+            return resultSet.next() ? resultSet.getString(CONTENT_ID) : null;
+        } finally {
+            JdbcUtil.closeQuietly(resultSet);
+            JdbcUtil.closeQuietly(statement);
+        }
+    }
+
+    private boolean incrementReferenceCount(Connection connection, String contentId) throws SQLException {
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(getQuery(INCREMENT_REFERENCE_COUNT, contentTableName));
+            statement.setString(1, contentId);
+            return statement.executeUpdate() > 0;
+        } finally {
+            JdbcUtil.closeQuietly(statement);
+        }
+    }
+
+    private void insertContent(Connection connection, FileEntry content) throws SQLException {
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(getQuery(INSERT_CONTENT, contentTableName));
+            statement.setString(1, content.getId());
+            statement.setString(2, content.getDigest());
+            statement.setString(3, content.getDigestAlgorithm());
+            dataSourceDialect.setBigInteger(statement, 4, content.getSize());
+            statement.setTimestamp(5, new Timestamp(content.getModified()
+                                                           .getTime()));
+            statement.executeUpdate();
+        } finally {
+            JdbcUtil.closeQuietly(statement);
+        }
+    }
+
+    private void insertFileAttributes(Connection connection, FileEntry fileEntry, String contentId) throws SQLException {
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(getQuery(INSERT_FILE_ATTRIBUTES_WITH_CONTENT_ID, fileTableName));
+            statement.setString(1, fileEntry.getId());
+            statement.setString(2, fileEntry.getSpace());
+            statement.setString(3, fileEntry.getName());
+            setOrNull(statement, 4, fileEntry.getNamespace());
+            dataSourceDialect.setBigInteger(statement, 5, fileEntry.getSize());
+            statement.setString(6, fileEntry.getDigest());
+            statement.setString(7, fileEntry.getDigestAlgorithm());
+            statement.setTimestamp(8, new Timestamp(fileEntry.getModified()
+                                                             .getTime()));
+            statement.setString(9, contentId);
+            statement.executeUpdate();
+        } finally {
+            JdbcUtil.closeQuietly(statement);
+        }
+    }
+
+    public SqlQuery<String> getContentIdQuery(String space, String id) {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                statement = connection.prepareStatement(getQuery(SELECT_CONTENT_ID_BY_ID_AND_SPACE, fileTableName));
+                statement.setString(1, id);
+                statement.setString(2, space);
+                resultSet = statement.executeQuery();
+                return resultSet.next() ? resultSet.getString(CONTENT_ID) : null;
+            } finally {
+                JdbcUtil.closeQuietly(resultSet);
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
+    public SqlQuery<Boolean> getContentExistsQuery(String contentId) {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                statement = connection.prepareStatement(getQuery(SELECT_CONTENT_BY_ID, contentTableName));
+                statement.setString(1, contentId);
+                resultSet = statement.executeQuery();
+                return resultSet.next();
+            } finally {
+                JdbcUtil.closeQuietly(resultSet);
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
+    public SqlQuery<List<FileReference>> getListFileReferencesQuery(String space, String id) {
+        return getListFileReferencesByQuery(SELECT_FILE_REFERENCES_BY_ID_AND_SPACE, id, space);
+    }
+
+    /**
+     * Lists the references of the files with the given IDs with a query per {@value #MAX_IDS_PER_QUERY} IDs.
+     */
+    public SqlQuery<List<FileReference>> getListFileReferencesQuery(String space, List<String> ids) {
+        return (Connection connection) -> {
+            List<FileReference> fileReferences = new ArrayList<>();
+            for (List<String> batch : Lists.partition(ids, MAX_IDS_PER_QUERY)) {
+                String query = String.format(SELECT_FILE_REFERENCES_BY_IDS_AND_SPACE, fileTableName,
+                                             String.join(", ", Collections.nCopies(batch.size(), "?")));
+                List<Object> parameters = new ArrayList<>(batch);
+                parameters.add(space);
+                fileReferences.addAll(listFileReferences(connection, query, parameters.toArray()));
+            }
+            return fileReferences;
+        };
+    }
+
+    public SqlQuery<List<FileReference>> getListFileReferencesBySpaceQuery(String space) {
+        return getListFileReferencesByQuery(SELECT_FILE_REFERENCES_BY_SPACE, space);
+    }
+
+    public SqlQuery<List<FileReference>> getListFileReferencesBySpaceAndNamespaceQuery(String space, String namespace) {
+        return getListFileReferencesByQuery(SELECT_FILE_REFERENCES_BY_NAMESPACE_AND_SPACE, namespace, space);
+    }
+
+    public SqlQuery<List<FileReference>> getListFileReferencesModifiedBeforeQuery(Date modificationTime) {
+        return getListFileReferencesByQuery(SELECT_FILE_REFERENCES_MODIFIED_BEFORE, new Timestamp(modificationTime.getTime()));
+    }
+
+    private SqlQuery<List<FileReference>> getListFileReferencesByQuery(String statementTemplate, Object... parameters) {
+        return (Connection connection) -> listFileReferences(connection, getQuery(statementTemplate, fileTableName), parameters);
+    }
+
+    private List<FileReference> listFileReferences(Connection connection, String query, Object... parameters) throws SQLException {
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(query);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            resultSet = statement.executeQuery();
+            List<FileReference> fileReferences = new ArrayList<>();
+            while (resultSet.next()) {
+                fileReferences.add(getFileReference(resultSet));
+            }
+            return fileReferences;
+        } finally {
+            JdbcUtil.closeQuietly(resultSet);
+            JdbcUtil.closeQuietly(statement);
+        }
+    }
+
+    private FileReference getFileReference(ResultSet resultSet) throws SQLException {
+        return ImmutableFileReference.builder()
+                                     .id(resultSet.getString(FILE_ID))
+                                     .space(resultSet.getString(SPACE))
+                                     .contentId(resultSet.getString(CONTENT_ID))
+                                     .build();
+    }
+
+    /**
+     * Deletes the attributes of the files and releases their references to shared contents.
+     *
+     * @return the files, which were deleted
+     */
+    public SqlQuery<List<FileReference>> getDeleteFilesQuery(List<FileReference> fileReferences) {
+        return (Connection connection) -> {
+            if (fileReferences.isEmpty()) {
+                return fileReferences;
+            }
+            List<FileReference> deletedFileReferences = deleteFiles(connection, fileReferences);
+            releaseContents(connection, deletedFileReferences);
+            return deletedFileReferences;
+        };
+    }
+
+    private List<FileReference> deleteFiles(Connection connection, List<FileReference> fileReferences) throws SQLException {
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(getQuery(DELETE_FILE_BY_ID_AND_SPACE, fileTableName));
+            for (FileReference fileReference : fileReferences) {
+                statement.setString(1, fileReference.getId());
+                statement.setString(2, fileReference.getSpace());
+                statement.addBatch();
+            }
+            int[] batchResults = statement.executeBatch();
+            List<FileReference> deletedFileReferences = new ArrayList<>();
+            for (int i = 0; i < batchResults.length; i++) {
+                if (batchResults[i] > 0 || batchResults[i] == Statement.SUCCESS_NO_INFO) {
+                    deletedFileReferences.add(fileReferences.get(i));
+                }
+            }
+            return deletedFileReferences;
+        } finally {
+            JdbcUtil.closeQuietly(statement);
+        }
+    }
+
+    private void releaseContents(Connection connection, List<FileReference> fileReferences) throws SQLException {
+        Map<String, Integer> releasedReferences = new LinkedHashMap<>();
+        for (FileReference fileReference : fileReferences) {
+            if (fileReference.getContentId() != null) {
+                releasedReferences.merge(fileReference.getContentId(), 1, Integer::sum);
+            }
+        }
+        if (releasedReferences.isEmpty()) {
+            return;
+        }
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(getQuery(DECREMENT_REFERENCE_COUNT, contentTableName));
+            for (Map.Entry<String, Integer> releasedReference : releasedReferences.entrySet()) {
+                statement.setLong(1, releasedReference.getValue());
+                statement.setString(2, releasedReference.getKey());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } finally {
+            JdbcUtil.closeQuietly(statement);
+        }
+        executeBatch(connection, RELEASE_DIGEST_OF_UNREFERENCED_CONTENT, releasedReferences.keySet());
+    }
+
+    /**
+     * Lists the contents, which are no longer referenced by any file. Their content should be deleted from the file storage before they
+     * are deleted with {@link #getDeleteUnreferencedContentsQuery(Collection)}, so a content, whose deletion failed, is found again.
+     */
+    public SqlQuery<List<String>> getListUnreferencedContentsQuery() {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                statement = connection.prepareStatement(getQuery(SELECT_UNREFERENCED_CONTENT, contentTableName));
+                resultSet = statement.executeQuery();
+                List<String> contentIds = new ArrayList<>();
+                while (resultSet.next()) {
+                    contentIds.add(resultSet.getString(CONTENT_ID));
+                }
+                return contentIds;
+            } finally {
+                JdbcUtil.closeQuietly(resultSet);
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
+    public SqlQuery<Void> getDeleteUnreferencedContentsQuery(Collection<String> contentIds) {
+        return (Connection connection) -> {
+            executeBatch(connection, DELETE_UNREFERENCED_CONTENT, contentIds);
+            return null;
+        };
+    }
+
+    private void executeBatch(Connection connection, String statementTemplate, Collection<String> contentIds) throws SQLException {
+        if (contentIds.isEmpty()) {
+            return;
+        }
+        PreparedStatement statement = null;
+        try {
+            statement = connection.prepareStatement(getQuery(statementTemplate, contentTableName));
+            for (String contentId : contentIds) {
+                statement.setString(1, contentId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } finally {
+            JdbcUtil.closeQuietly(statement);
+        }
+    }
+
+    private void setOrNull(PreparedStatement statement, int position, String value) throws SQLException {
+        if (value == null) {
+            statement.setNull(position, Types.NULL);
+        } else {
+            statement.setString(position, value);
+        }
+    }
+
+    private String getQuery(String statementTemplate, String tableName) {
+        return String.format(statementTemplate, tableName);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.sap.cloud.lm.sl.cf.persistence.query.providers;
+
+import java.sql.SQLException;
+
+/**
+ * An open large object, which is read and written at its current position.
+ */
+public interface LargeObjectChannel extends AutoCloseable {
+
+    /**
+     * @return the number of bytes read, which is less than 1 at the end of the large object
+     */
+    int read(byte[] buffer, int offset, int length) throws SQLException;
+
+    void write(byte[] buffer, int offset, int length) throws SQLException;
+
+    /**
+     * Moves the current position to the given offset from the start of the large object. The content before it is not transferred.
+     */
+    void seek(long position) throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+
+}
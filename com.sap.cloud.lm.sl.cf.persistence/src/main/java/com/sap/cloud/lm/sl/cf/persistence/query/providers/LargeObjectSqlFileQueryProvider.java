@@ -0,0 +1,140 @@
+package com.sap.cloud.lm.sl.cf.persistence.query.providers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.commons.io.IOUtils;
+
+import com.sap.cloud.lm.sl.cf.persistence.dialects.DataSourceDialect;
+
+/**
+ * Stores the content of files as large objects, which are written and read in chunks of a fixed size, so the content is never held in
+ * memory as a whole. The content column holds the ID of the large object. On PostgreSQL, this is already the type of the content column of
+ * the file table, so files stored by {@link BlobSqlFileQueryProvider} can be read without a migration. A range of the content is read by
+ * positioning the large object at the start of the range on the server, so the content before it is not transferred.
+ */
+public class LargeObjectSqlFileQueryProvider extends SqlFileQueryProvider {
+
+    static final int CHUNK_SIZE = 1024 * 1024;
+
+    private final LargeObjectStore largeObjectStore;
+
+    public LargeObjectSqlFileQueryProvider(String tableName, DataSourceDialect dataSourceDialect) {
+        this(tableName, dataSourceDialect, new PostgreSqlLargeObjectStore());
+    }
+
+    public LargeObjectSqlFileQueryProvider(String tableName, DataSourceDialect dataSourceDialect, LargeObjectStore largeObjectStore) {
+        super(tableName, dataSourceDialect);
+        this.largeObjectStore = largeObjectStore;
+    }
+
+    @Override
+    protected void setContentBinaryStream(PreparedStatement statement, int index, InputStream content) throws SQLException {
+        statement.setLong(index, writeLargeObject(statement.getConnection(), content));
+    }
+
+    @Override
+    protected InputStream getContentBinaryStream(ResultSet resultSet, String columnName) throws SQLException {
+        return openLargeObject(resultSet, columnName, 0);
+    }
+
+    @Override
+    protected InputStream getContentBinaryStream(ResultSet resultSet, String columnName, long position) throws SQLException {
+        return openLargeObject(resultSet, columnName, position);
+    }
+
+    private long writeLargeObject(Connection connection, InputStream content) throws SQLException {
+        long id = largeObjectStore.create(connection);
+        try (LargeObjectChannel largeObject = largeObjectStore.open(connection, id)) {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int chunkSize;
+            while ((chunkSize = IOUtils.read(content, chunk)) > 0) {
+                largeObject.write(chunk, 0, chunkSize);
+            }
+        } catch (IOException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+        return id;
+    }
+
+    private InputStream openLargeObject(ResultSet resultSet, String columnName, long position) throws SQLException {
+        long id = resultSet.getLong(columnName);
+        if (resultSet.wasNull()) {
+            return null;
+        }
+        LargeObjectChannel largeObject = largeObjectStore.open(resultSet.getStatement()
+                                                                        .getConnection(),
+                                                               id);
+        try {
+            if (position > 0) {
+                largeObject.seek(position);
+            }
+            return new LargeObjectInputStream(largeObject);
+        } catch (SQLException e) {
+            largeObject.close();
+            throw e;
+        }
+    }
+
+    private static class LargeObjectInputStream extends InputStream {
+
+        private final LargeObjectChannel largeObject;
+        private final byte[] chunk = new byte[CHUNK_SIZE];
+        private int chunkSize;
+        private int chunkPosition;
+
+        LargeObjectInputStream(LargeObjectChannel largeObject) {
+            this.largeObject = largeObject;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fillChunk()) {
+                return -1;
+            }
+            return chunk[chunkPosition++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fillChunk()) {
+                return -1;
+            }
+            int readBytes = Math.min(length, chunkSize - chunkPosition);
+            System.arraycopy(chunk, chunkPosition, buffer, offset, readBytes);
+            chunkPosition += readBytes;
+            return readBytes;
+        }
+
+        private boolean fillChunk() throws IOException {
+            if (chunkPosition < chunkSize) {
+                return true;
+            }
+            try {
+                chunkSize = Math.max(largeObject.read(chunk, 0, CHUNK_SIZE), 0);
+            } catch (SQLException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+            chunkPosition = 0;
+            return chunkSize > 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                largeObject.close();
+            } catch (SQLException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.sap.cloud.lm.sl.cf.persistence.query.providers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Stores content as large objects, which live outside of the tables and are referenced from them by their IDs. Large objects can only be
+ * used within a transaction.
+ */
+public interface LargeObjectStore {
+
+    /**
+     * @return the ID of the new, empty large object
+     */
+    long create(Connection connection) throws SQLException;
+
+    LargeObjectChannel open(Connection connection, long id) throws SQLException;
+
+}
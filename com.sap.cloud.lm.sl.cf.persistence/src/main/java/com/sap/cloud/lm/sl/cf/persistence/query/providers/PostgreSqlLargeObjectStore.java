@@ -0,0 +1,67 @@
+package com.sap.cloud.lm.sl.cf.persistence.query.providers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.postgresql.PGConnection;
+import org.postgresql.largeobject.LargeObject;
+import org.postgresql.largeobject.LargeObjectManager;
+
+public class PostgreSqlLargeObjectStore implements LargeObjectStore {
+
+    @Override
+    public long create(Connection connection) throws SQLException {
+        return getLargeObjectManager(connection).createLO(LargeObjectManager.READWRITE);
+    }
+
+    @Override
+    public LargeObjectChannel open(Connection connection, long id) throws SQLException {
+        return new PostgreSqlLargeObjectChannel(getLargeObjectManager(connection).open(id, LargeObjectManager.READWRITE));
+    }
+
+    private LargeObjectManager getLargeObjectManager(Connection connection) throws SQLException {
+        return connection.unwrap(PGConnection.class)
+                         .getLargeObjectAPI();
+    }
+
+    private static class PostgreSqlLargeObjectChannel implements LargeObjectChannel {
+
+        private final LargeObject largeObject;
+
+        PostgreSqlLargeObjectChannel(LargeObject largeObject) {
+            this.largeObject = largeObject;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws SQLException {
+            return largeObject.read(buffer, offset, length);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws SQLException {
+            largeObject.write(buffer, offset, length);
+        }
+
+        /**
+         * The driver seeks only by int offsets, so positions beyond 2 GB are reached in several relative steps.
+         */
+        @Override
+        public void seek(long position) throws SQLException {
+            long remaining = position;
+            int reference = LargeObject.SEEK_SET;
+            do {
+                int step = (int) Math.min(remaining, Integer.MAX_VALUE);
+                largeObject.seek(step, reference);
+                reference = LargeObject.SEEK_CUR;
+                remaining -= step;
+            } while (remaining > 0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            largeObject.close();
+        }
+
+    }
+
+}
@@ -12,13 +12,18 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.slf4j.Logger;
 
 import com.sap.cloud.lm.sl.cf.persistence.Constants;
 import com.sap.cloud.lm.sl.cf.persistence.Messages;
 import com.sap.cloud.lm.sl.cf.persistence.dialects.DataSourceDialect;
 import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileSweepCursor;
 import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
 import com.sap.cloud.lm.sl.cf.persistence.query.SqlQuery;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileContentProcessor;
@@ -28,10 +33,14 @@ public abstract class SqlFileQueryProvider {
 
     private static final String INSERT_FILE_ATTRIBUTES_AND_CONTENT = "INSERT INTO %s (FILE_ID, SPACE, FILE_NAME, NAMESPACE, FILE_SIZE, DIGEST, DIGEST_ALGORITHM, MODIFIED, %s) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
     private static final String INSERT_FILE_ATTRIBUTES = "INSERT INTO %s (FILE_ID, SPACE, FILE_NAME, NAMESPACE, FILE_SIZE, DIGEST, DIGEST_ALGORITHM, MODIFIED) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_FILE_SIZE_AND_DIGEST = "UPDATE %s SET FILE_SIZE=?, DIGEST=? WHERE FILE_ID=? AND SPACE=?";
     private static final String SELECT_ALL_FILES = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE FROM %s";
     private static final String SELECT_FILES_BY_NAMESPACE_AND_SPACE = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE FROM %s WHERE NAMESPACE=? AND SPACE=?";
     private static final String SELECT_FILES_BY_NAMESPACE_SPACE_AND_NAME = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE FROM %s WHERE NAMESPACE=? AND SPACE=? AND FILE_NAME=?";
     private static final String SELECT_FILES_BY_SPACE = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE FROM %s WHERE SPACE=?";
+    private static final String SELECT_FILES_MODIFIED_BEFORE = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE FROM %s WHERE MODIFIED<?";
+    private static final String SELECT_FILES_ORDERED_BY_MODIFIED_AND_ID = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE FROM %s ORDER BY MODIFIED, FILE_ID";
+    private static final String SELECT_FILES_AFTER_MODIFIED_AND_ID = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE FROM %s WHERE MODIFIED>? OR (MODIFIED=? AND FILE_ID>?) ORDER BY MODIFIED, FILE_ID";
     private static final String SELECT_FILE_BY_ID_AND_SPACE = "SELECT FILE_ID, SPACE, DIGEST, DIGEST_ALGORITHM, MODIFIED, FILE_NAME, NAMESPACE, FILE_SIZE FROM %s WHERE FILE_ID=? AND SPACE=?";
     private static final String SELECT_FILE_WITH_CONTENT_BY_ID_AND_SPACE = "SELECT FILE_ID, SPACE, %s FROM %s WHERE FILE_ID=? AND SPACE=?";
     private static final String DELETE_FILES_BY_NAMESPACE_AND_SPACE = "DELETE FROM %s WHERE NAMESPACE=? AND SPACE=?";
@@ -39,6 +48,7 @@ public abstract class SqlFileQueryProvider {
     private static final String DELETE_FILES_BY_SPACE = "DELETE FROM %s WHERE SPACE=?";
     private static final String DELETE_FILES_MODIFIED_BEFORE = "DELETE FROM %s WHERE MODIFIED<?";
     private static final String DELETE_FILE_BY_ID_AND_SPACE = "DELETE FROM %s WHERE FILE_ID=? AND SPACE=?";
+    private static final String DELETE_FILES_BY_SPACE_AND_IDS = "DELETE FROM %s WHERE SPACE=? AND %s";
     private static final String DELETE_FILES_WITHOUT_CONTENT = "DELETE FROM %s WHERE CONTENT IS NULL";
 
     private final String tableName;
@@ -95,6 +105,22 @@ public abstract class SqlFileQueryProvider {
         };
     }
 
+    public SqlQuery<Boolean> getUpdateFileSizeAndDigestQuery(FileEntry fileEntry) {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            try {
+                statement = connection.prepareStatement(getQuery(UPDATE_FILE_SIZE_AND_DIGEST));
+                getDataSourceDialect().setBigInteger(statement, 1, fileEntry.getSize());
+                statement.setString(2, fileEntry.getDigest());
+                statement.setString(3, fileEntry.getId());
+                statement.setString(4, fileEntry.getSpace());
+                return statement.executeUpdate() > 0;
+            } finally {
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
     public SqlQuery<List<FileEntry>> getListFilesQuery(String space, String namespace) {
         return (Connection connection) -> {
             PreparedStatement statement = null;
@@ -162,6 +188,61 @@ public abstract class SqlFileQueryProvider {
         };
     }
 
+    public SqlQuery<List<FileEntry>> getListFilesModifiedBeforeQuery(Date modificationTime) {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                List<FileEntry> files = new ArrayList<>();
+                statement = connection.prepareStatement(getQuery(SELECT_FILES_MODIFIED_BEFORE));
+                statement.setTimestamp(1, new java.sql.Timestamp(modificationTime.getTime()));
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    files.add(getFileEntry(resultSet));
+                }
+                return files;
+            } finally {
+                JdbcUtil.closeQuietly(resultSet);
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
+    /**
+     * Lists a page of the files ordered by their modification time and ID. The page starts after the given cursor, so the files before it
+     * are skipped by the index instead of being read and discarded.
+     *
+     * @param cursor the last file of the previous page or {@code null} for the first page
+     */
+    public SqlQuery<List<FileEntry>> getListFilesAfterQuery(FileSweepCursor cursor, int maxFiles) {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                List<FileEntry> files = new ArrayList<>();
+                if (cursor == null) {
+                    statement = connection.prepareStatement(getQuery(SELECT_FILES_ORDERED_BY_MODIFIED_AND_ID));
+                } else {
+                    statement = connection.prepareStatement(getQuery(SELECT_FILES_AFTER_MODIFIED_AND_ID));
+                    Timestamp modified = new Timestamp(cursor.getModified()
+                                                             .getTime());
+                    statement.setTimestamp(1, modified);
+                    statement.setTimestamp(2, modified);
+                    statement.setString(3, cursor.getId());
+                }
+                statement.setMaxRows(maxFiles);
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    files.add(getFileEntry(resultSet));
+                }
+                return files;
+            } finally {
+                JdbcUtil.closeQuietly(resultSet);
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
     public SqlQuery<FileEntry> getRetrieveFileQuery(String space, String id) {
         return (Connection connection) -> {
             PreparedStatement statement = null;
@@ -203,6 +284,32 @@ public abstract class SqlFileQueryProvider {
         };
     }
 
+    /**
+     * Processes only a range of the content of a file. The content before the range is skipped with
+     * {@link #getContentBinaryStream(ResultSet, String, long)}.
+     */
+    public <T> SqlQuery<T> getProcessFileContentRangeQuery(String space, String id, long offset, long length,
+                                                           FileContentProcessor<T> fileContentProcessor) {
+        return (Connection connection) -> {
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                statement = connection.prepareStatement(getSelectWithContentQuery());
+                statement.setString(1, id);
+                statement.setString(2, space);
+                resultSet = statement.executeQuery();
+                if (!resultSet.next()) {
+                    throw new SQLException(MessageFormat.format(Messages.FILE_NOT_FOUND, id));
+                }
+                InputStream content = getContentBinaryStream(resultSet, getContentColumnName(), offset);
+                return processFileContent(content == null ? null : new BoundedInputStream(content, length), fileContentProcessor);
+            } finally {
+                JdbcUtil.closeQuietly(resultSet);
+                JdbcUtil.closeQuietly(statement);
+            }
+        };
+    }
+
     public SqlQuery<Integer> getDeleteBySpaceAndNamespaceQuery(String space, String namespace) {
         return (Connection connection) -> {
             PreparedStatement statement = null;
@@ -279,18 +386,24 @@ public abstract class SqlFileQueryProvider {
         };
     }
 
+    /**
+     * Deletes the entries with a single statement per space, which is given the IDs of all entries in the space as an array.
+     */
     public SqlQuery<Integer> getDeleteFileEntriesQuery(List<FileEntry> fileEntries) {
         return (Connection connection) -> {
+            if (fileEntries.isEmpty()) {
+                return 0;
+            }
             PreparedStatement statement = null;
             try {
-                statement = connection.prepareStatement(getQuery(DELETE_FILE_BY_ID_AND_SPACE));
-                addFileEntriesAsBatches(statement, fileEntries);
+                statement = connection.prepareStatement(String.format(DELETE_FILES_BY_SPACE_AND_IDS, tableName,
+                                                                      getDataSourceDialect().getArrayContainsSyntax(Constants.FILE_ENTRY_ID)));
+                addFileIdsBySpaceAsBatches(statement, fileEntries);
                 int[] batchResults = statement.executeBatch();
                 int deletedEntries = 0;
                 for (int batchResult : batchResults) {
                     deletedEntries += batchResult;
                 }
-                logger.debug(MessageFormat.format(Messages.DELETED_0_FILES_WITHOUT_CONTENT, deletedEntries));
                 return deletedEntries;
             } finally {
                 JdbcUtil.closeQuietly(statement);
@@ -322,10 +435,14 @@ public abstract class SqlFileQueryProvider {
         return String.format(INSERT_FILE_ATTRIBUTES_AND_CONTENT, tableName, getContentColumnName());
     }
 
-    private String getSelectWithContentQuery() {
+    protected String getSelectWithContentQuery() {
         return String.format(SELECT_FILE_WITH_CONTENT_BY_ID_AND_SPACE, getContentColumnName(), tableName);
     }
 
+    protected String getTableName() {
+        return tableName;
+    }
+
     protected String getContentColumnName() {
         return Constants.FILE_ENTRY_CONTENT;
     }
@@ -343,7 +460,10 @@ public abstract class SqlFileQueryProvider {
     }
 
     private <T> T processFileContent(ResultSet resultSet, FileContentProcessor<T> fileContentProcessor) throws SQLException {
-        InputStream fileStream = getContentBinaryStream(resultSet, getContentColumnName());
+        return processFileContent(getContentBinaryStream(resultSet, getContentColumnName()), fileContentProcessor);
+    }
+
+    protected <T> T processFileContent(InputStream fileStream, FileContentProcessor<T> fileContentProcessor) throws SQLException {
         try {
             return fileContentProcessor.process(fileStream);
         } catch (Exception e) {
@@ -361,6 +481,24 @@ public abstract class SqlFileQueryProvider {
 
     protected abstract InputStream getContentBinaryStream(ResultSet resultSet, String columnName) throws SQLException;
 
+    /**
+     * Returns the content starting at the specified position. By default, the content before the position is read and discarded.
+     * Providers, which can position the content on the database server, should override this method.
+     */
+    protected InputStream getContentBinaryStream(ResultSet resultSet, String columnName, long position) throws SQLException {
+        InputStream content = getContentBinaryStream(resultSet, columnName);
+        if (content == null || position == 0) {
+            return content;
+        }
+        try {
+            IOUtils.skip(content, position);
+            return content;
+        } catch (IOException e) {
+            IOUtils.closeQuietly(content);
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
     private FileEntry getFileEntry(ResultSet resultSet) throws SQLException {
         Timestamp modifiedAsTimestamp = resultSet.getTimestamp(Constants.FILE_ENTRY_MODIFIED);
         return ImmutableFileEntry.builder()
@@ -375,10 +513,15 @@ public abstract class SqlFileQueryProvider {
                                  .build();
     }
 
-    private void addFileEntriesAsBatches(PreparedStatement statement, List<FileEntry> entries) throws SQLException {
-        for (FileEntry entry : entries) {
-            statement.setString(1, entry.getId());
-            statement.setString(2, entry.getSpace());
+    private void addFileIdsBySpaceAsBatches(PreparedStatement statement, List<FileEntry> entries) throws SQLException {
+        Map<String, List<String>> fileIdsBySpace = entries.stream()
+                                                          .collect(Collectors.groupingBy(FileEntry::getSpace,
+                                                                                         Collectors.mapping(FileEntry::getId,
+                                                                                                            Collectors.toList())));
+        for (Map.Entry<String, List<String>> spaceFileIds : fileIdsBySpace.entrySet()) {
+            statement.setString(1, spaceFileIds.getKey());
+            getDataSourceDialect().setStringArray(statement, 2, spaceFileIds.getValue()
+                                                                            .toArray(new String[0]));
             statement.addBatch();
         }
     }
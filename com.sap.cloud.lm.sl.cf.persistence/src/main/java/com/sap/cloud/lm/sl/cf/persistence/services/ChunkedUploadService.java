@@ -0,0 +1,343 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sap.cloud.lm.sl.cf.persistence.Messages;
+import com.sap.cloud.lm.sl.cf.persistence.model.ByteRange;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableByteRange;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableUploadSession;
+import com.sap.cloud.lm.sl.cf.persistence.model.UploadSession;
+import com.sap.cloud.lm.sl.cf.persistence.util.Configuration;
+import com.sap.cloud.lm.sl.common.ContentException;
+import com.sap.cloud.lm.sl.common.NotFoundException;
+
+/**
+ * Stores files, which are uploaded in chunks over several requests. Each upload session is a directory with the properties of the file and
+ * one file per uploaded chunk, named after the offset of the chunk. Chunks can be uploaded in any order and uploading a chunk again replaces
+ * it, so a client can retry a failed chunk or upload several chunks in parallel. When the session is finalized, its chunks are assembled into
+ * a single file, which is added to the {@link FileService}.
+ */
+public class ChunkedUploadService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final String SESSION_PROPERTIES_FILE = "session.properties";
+    private static final String CHUNK_FILE_SUFFIX = ".chunk";
+    private static final String SPACE_PROPERTY = "space";
+    private static final String NAMESPACE_PROPERTY = "namespace";
+    private static final String NAME_PROPERTY = "name";
+    private static final String SIZE_PROPERTY = "size";
+
+    private final Path uploadsPath;
+    private final FileService fileService;
+    private final Configuration configuration;
+
+    public ChunkedUploadService(String uploadsPath, FileService fileService, Configuration configuration) {
+        this.uploadsPath = Paths.get(uploadsPath);
+        this.fileService = fileService;
+        this.configuration = configuration;
+    }
+
+    public UploadSession createSession(String space, String namespace, String name, long size) throws FileStorageException {
+        if (size < 0) {
+            throw new ContentException(Messages.INVALID_UPLOAD_SIZE, size);
+        }
+        if (size > configuration.getMaxUploadSize()) {
+            throw new ContentException(Messages.MAX_UPLOAD_SIZE_EXCEEDED, configuration.getMaxUploadSize());
+        }
+        String id = UUID.randomUUID()
+                        .toString();
+        Properties properties = new Properties();
+        properties.setProperty(SPACE_PROPERTY, space);
+        if (namespace != null) {
+            properties.setProperty(NAMESPACE_PROPERTY, namespace);
+        }
+        properties.setProperty(NAME_PROPERTY, name);
+        properties.setProperty(SIZE_PROPERTY, Long.toString(size));
+        try {
+            Path sessionDirectory = Files.createDirectories(uploadsPath.resolve(id));
+            try (Writer writer = Files.newBufferedWriter(sessionDirectory.resolve(SESSION_PROPERTIES_FILE), StandardCharsets.UTF_8)) {
+                properties.store(writer, null);
+            }
+            LOGGER.debug(MessageFormat.format(Messages.CREATED_UPLOAD_SESSION_0_FOR_FILE_1, id, name));
+            return toUploadSession(id, properties, new ArrayList<>());
+        } catch (IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
+    public UploadSession getSession(String space, String id) throws FileStorageException {
+        Path sessionDirectory = getSessionDirectory(id);
+        try {
+            Properties properties = readSessionProperties(space, id, sessionDirectory);
+            return toUploadSession(id, properties, listChunks(sessionDirectory));
+        } catch (IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stores a chunk of the file, which starts at the given offset. A chunk, which was already uploaded at the same offset, is replaced
+     * atomically, so that a chunk is either missing or complete.
+     */
+    public UploadSession addChunk(String space, String id, long offset, InputStream content) throws FileStorageException {
+        Path sessionDirectory = getSessionDirectory(id);
+        try {
+            Properties properties = readSessionProperties(space, id, sessionDirectory);
+            long size = getSize(properties);
+            if (offset < 0 || offset >= size) {
+                throw new ContentException(Messages.INVALID_CHUNK_OFFSET_0_FOR_UPLOAD_SESSION_1_WITH_SIZE_2, offset, id, size);
+            }
+            Path chunkFile = Files.createTempFile(sessionDirectory, null, null);
+            try {
+                long chunkSize = Files.copy(new BoundedInputStream(content, size - offset + 1), chunkFile,
+                                            StandardCopyOption.REPLACE_EXISTING);
+                if (chunkSize == 0 || offset + chunkSize > size) {
+                    throw new ContentException(Messages.INVALID_CHUNK_SIZE_0_AT_OFFSET_1_FOR_UPLOAD_SESSION_2_WITH_SIZE_3, chunkSize, offset, id,
+                                               size);
+                }
+                Files.move(chunkFile, sessionDirectory.resolve(offset + CHUNK_FILE_SUFFIX), StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(chunkFile);
+            }
+            return toUploadSession(id, properties, listChunks(sessionDirectory));
+        } catch (IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Assembles the chunks of a complete upload session into a single file and deletes the session.
+     *
+     * @param expectedDigest the digest, which the assembled file is expected to have, or {@code null}, if it should not be verified
+     * @throws ContentException if there are missing ranges or the digest of the assembled file does not match the expected one. The session
+     *         is kept in both cases.
+     */
+    public FileEntry finalizeSession(String space, String id, String expectedDigest) throws FileStorageException {
+        Path sessionDirectory = getSessionDirectory(id);
+        Path contentFile = null;
+        try {
+            Properties properties = readSessionProperties(space, id, sessionDirectory);
+            List<Chunk> chunks = listChunks(sessionDirectory);
+            List<ByteRange> missingRanges = getMissingRanges(chunks, getSize(properties));
+            if (!missingRanges.isEmpty()) {
+                throw new ContentException(Messages.UPLOAD_SESSION_0_HAS_MISSING_RANGES_1, id, missingRanges);
+            }
+            contentFile = Files.createTempFile(sessionDirectory, null, null);
+            assembleChunks(chunks, contentFile);
+            FileEntry fileEntry = fileService.addFile(space, properties.getProperty(NAMESPACE_PROPERTY), properties.getProperty(NAME_PROPERTY),
+                                                      contentFile.toFile());
+            if (expectedDigest != null && !expectedDigest.equalsIgnoreCase(fileEntry.getDigest())) {
+                fileService.deleteFile(space, fileEntry.getId());
+                throw new ContentException(Messages.DIGEST_0_OF_UPLOADED_FILE_1_DOES_NOT_MATCH_EXPECTED_DIGEST_2, fileEntry.getDigest(),
+                                           fileEntry.getName(), expectedDigest);
+            }
+            FileUtils.deleteDirectory(sessionDirectory.toFile());
+            LOGGER.debug(MessageFormat.format(Messages.FINALIZED_UPLOAD_SESSION_0_AS_FILE_1, id, fileEntry.getId()));
+            return fileEntry;
+        } catch (IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        } finally {
+            deleteQuietly(contentFile);
+        }
+    }
+
+    public void deleteSession(String space, String id) throws FileStorageException {
+        Path sessionDirectory = getSessionDirectory(id);
+        try {
+            readSessionProperties(space, id, sessionDirectory);
+            FileUtils.deleteDirectory(sessionDirectory.toFile());
+        } catch (IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deletes the sessions, to which no chunk was uploaded after the given time.
+     *
+     * @return the number of deleted sessions
+     */
+    public int deleteSessionsModifiedBefore(Date modificationTime) throws FileStorageException {
+        if (!Files.isDirectory(uploadsPath)) {
+            return 0;
+        }
+        int deletedSessions = 0;
+        try (DirectoryStream<Path> sessionDirectories = Files.newDirectoryStream(uploadsPath, Files::isDirectory)) {
+            for (Path sessionDirectory : sessionDirectories) {
+                if (Files.getLastModifiedTime(sessionDirectory)
+                         .toMillis() < modificationTime.getTime()) {
+                    FileUtils.deleteDirectory(sessionDirectory.toFile());
+                    deletedSessions++;
+                }
+            }
+        } catch (IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+        LOGGER.debug(MessageFormat.format(Messages.DELETED_0_UPLOAD_SESSIONS_MODIFIED_BEFORE_1, deletedSessions, modificationTime));
+        return deletedSessions;
+    }
+
+    private Path getSessionDirectory(String id) {
+        if (!isValidSessionId(id)) {
+            throw new NotFoundException(Messages.UPLOAD_SESSION_0_NOT_FOUND, id);
+        }
+        Path sessionDirectory = uploadsPath.resolve(id);
+        if (!Files.isDirectory(sessionDirectory)) {
+            throw new NotFoundException(Messages.UPLOAD_SESSION_0_NOT_FOUND, id);
+        }
+        return sessionDirectory;
+    }
+
+    private boolean isValidSessionId(String id) {
+        try {
+            return UUID.fromString(id)
+                       .toString()
+                       .equals(id);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Properties readSessionProperties(String space, String id, Path sessionDirectory) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(sessionDirectory.resolve(SESSION_PROPERTIES_FILE), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        if (!space.equals(properties.getProperty(SPACE_PROPERTY))) {
+            throw new NotFoundException(Messages.UPLOAD_SESSION_0_NOT_FOUND, id);
+        }
+        return properties;
+    }
+
+    private long getSize(Properties properties) {
+        return Long.parseLong(properties.getProperty(SIZE_PROPERTY));
+    }
+
+    private List<Chunk> listChunks(Path sessionDirectory) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        try (DirectoryStream<Path> chunkFiles = Files.newDirectoryStream(sessionDirectory, "*" + CHUNK_FILE_SUFFIX)) {
+            for (Path chunkFile : chunkFiles) {
+                String fileName = chunkFile.getFileName()
+                                           .toString();
+                long offset = Long.parseLong(fileName.substring(0, fileName.length() - CHUNK_FILE_SUFFIX.length()));
+                chunks.add(new Chunk(chunkFile, offset, Files.size(chunkFile)));
+            }
+        }
+        chunks.sort(Comparator.comparingLong(chunk -> chunk.offset));
+        return chunks;
+    }
+
+    private UploadSession toUploadSession(String id, Properties properties, List<Chunk> chunks) {
+        return ImmutableUploadSession.builder()
+                                     .id(id)
+                                     .space(properties.getProperty(SPACE_PROPERTY))
+                                     .namespace(properties.getProperty(NAMESPACE_PROPERTY))
+                                     .name(properties.getProperty(NAME_PROPERTY))
+                                     .size(getSize(properties))
+                                     .missingRanges(getMissingRanges(chunks, getSize(properties)))
+                                     .build();
+    }
+
+    private List<ByteRange> getMissingRanges(List<Chunk> chunks, long size) {
+        List<ByteRange> missingRanges = new ArrayList<>();
+        long coveredUntil = 0;
+        for (Chunk chunk : chunks) {
+            if (chunk.offset > coveredUntil) {
+                missingRanges.add(createByteRange(coveredUntil, chunk.offset - coveredUntil));
+            }
+            coveredUntil = Math.max(coveredUntil, chunk.offset + chunk.size);
+        }
+        if (coveredUntil < size) {
+            missingRanges.add(createByteRange(coveredUntil, size - coveredUntil));
+        }
+        return missingRanges;
+    }
+
+    private ByteRange createByteRange(long offset, long length) {
+        return ImmutableByteRange.builder()
+                                 .offset(offset)
+                                 .length(length)
+                                 .build();
+    }
+
+    /**
+     * Copies the chunks into the content file with {@link FileChannel#transferTo}, so that the operating system can copy their content without
+     * passing it through the JVM. The chunks must be ordered by their offset and must cover the whole file. Parts of a chunk, which overlap
+     * with the previous chunks, are skipped.
+     */
+    private void assembleChunks(List<Chunk> chunks, Path contentFile) throws IOException {
+        try (FileChannel contentChannel = FileChannel.open(contentFile, StandardOpenOption.WRITE)) {
+            long position = 0;
+            for (Chunk chunk : chunks) {
+                if (chunk.offset + chunk.size <= position) {
+                    continue;
+                }
+                try (FileChannel chunkChannel = FileChannel.open(chunk.path, StandardOpenOption.READ)) {
+                    long chunkPosition = position - chunk.offset;
+                    while (chunkPosition < chunk.size) {
+                        long transferredBytes = chunkChannel.transferTo(chunkPosition, chunk.size - chunkPosition, contentChannel);
+                        if (transferredBytes == 0) {
+                            // The chunk file was truncated after it was listed:
+                            throw new EOFException(MessageFormat.format(Messages.CHUNK_0_ENDED_AFTER_1_OF_2_BYTES, chunk.path,
+                                                                        chunkPosition, chunk.size));
+                        }
+                        chunkPosition += transferredBytes;
+                    }
+                }
+                position = chunk.offset + chunk.size;
+            }
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn(MessageFormat.format(Messages.FAILED_TO_DELETE_FILE, file), e);
+        }
+    }
+
+    private static class Chunk {
+
+        private final Path path;
+        private final long offset;
+        private final long size;
+
+        Chunk(Path path, long offset, long size) {
+            this.path = path;
+            this.offset = offset;
+            this.size = size;
+        }
+
+    }
+
+}
@@ -0,0 +1,347 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import com.sap.cloud.lm.sl.cf.persistence.DataSourceWithDialect;
+import com.sap.cloud.lm.sl.cf.persistence.Messages;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileInfo;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileReference;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.query.SqlQuery;
+import com.sap.cloud.lm.sl.cf.persistence.query.providers.ContentSqlQueryProvider;
+import com.sap.cloud.lm.sl.cf.persistence.util.Configuration;
+import com.sap.cloud.lm.sl.cf.persistence.util.HexEncoder;
+import com.sap.cloud.lm.sl.common.util.DigestHelper;
+
+/**
+ * Stores the content of files with the same SHA-256 digest and size only once. The content is kept in the file storage under its own ID in
+ * {@link #CONTENT_SPACE} and is deleted when the last file referencing it is deleted. Files stored before the deduplication was enabled
+ * keep their content under their own ID and space.
+ */
+public class ContentAddressedFileService extends FileService {
+
+    public static final String CONTENT_SPACE = "__content";
+
+    protected static final String DEFAULT_CONTENT_TABLE_NAME = "LM_SL_PERSISTENCE_CONTENT";
+    private static final String CONTENT_DIGEST_METHOD = "SHA-256";
+    private static final String TEMPORARY_FILE_PREFIX = "content";
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION_SQL_STATE_CLASS = "23";
+
+    private final ContentSqlQueryProvider contentSqlQueryProvider;
+
+    public ContentAddressedFileService(DataSourceWithDialect dataSourceWithDialect, FileStorage fileStorage, Configuration configuration) {
+        super(dataSourceWithDialect, fileStorage, configuration);
+        this.contentSqlQueryProvider = new ContentSqlQueryProvider(DEFAULT_TABLE_NAME,
+                                                                   DEFAULT_CONTENT_TABLE_NAME,
+                                                                   dataSourceWithDialect.getDataSourceDialect());
+    }
+
+    @Override
+    protected <T> T processFileContentFromStorage(String space, String id, FileContentProcessor<T> fileContentProcessor)
+        throws FileStorageException {
+        String contentId = execute(contentSqlQueryProvider.getContentIdQuery(space, id));
+        if (contentId == null) {
+            return getFileStorage().processFileContent(space, id, fileContentProcessor);
+        }
+        return getFileStorage().processFileContent(CONTENT_SPACE, contentId, fileContentProcessor);
+    }
+
+    @Override
+    public int deleteBySpaceAndNamespace(String space, String namespace) throws FileStorageException {
+        return deleteFiles(execute(contentSqlQueryProvider.getListFileReferencesBySpaceAndNamespaceQuery(space, namespace)));
+    }
+
+    @Override
+    public int deleteBySpace(String space) throws FileStorageException {
+        return deleteFiles(execute(contentSqlQueryProvider.getListFileReferencesBySpaceQuery(space)));
+    }
+
+    /**
+     * The contents are shared by files of different age, so the file storage is not cleaned up by age only. If it is reconciled, the
+     * contents and the files stored before the deduplication was enabled are deleted only when nothing in the database references them.
+     * They are left behind, for example, by uploads, which failed after the content was stored.
+     */
+    @Override
+    public int deleteModifiedBefore(Date modificationTime) throws FileStorageException {
+        int deletedFiles = deleteFiles(execute(contentSqlQueryProvider.getListFileReferencesModifiedBeforeQuery(modificationTime)));
+        if (!isFileStorageReconciled()) {
+            return deletedFiles;
+        }
+        int deletedOrphanedFiles = getFileStorage().deleteFilesModifiedBefore(modificationTime, this::isOrphaned);
+        logger.debug(MessageFormat.format(Messages.DELETED_0_ORPHANED_FILES_MODIFIED_BEFORE_1, deletedOrphanedFiles, modificationTime));
+        return deletedFiles + deletedOrphanedFiles;
+    }
+
+    /**
+     * A file, whose space is unknown, or whose reference could not be checked, is kept.
+     */
+    private boolean isOrphaned(FileEntry fileEntry) {
+        if (fileEntry.getSpace() == null) {
+            return false;
+        }
+        try {
+            if (CONTENT_SPACE.equals(fileEntry.getSpace())) {
+                return !getSqlQueryExecutor().execute(contentSqlQueryProvider.getContentExistsQuery(fileEntry.getId()));
+            }
+            return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getRetrieveFileQuery(fileEntry.getSpace(),
+                                                                                                 fileEntry.getId())) == null;
+        } catch (SQLException e) {
+            logger.warn(MessageFormat.format(Messages.COULD_NOT_CHECK_WHETHER_FILE_0_IN_SPACE_1_IS_REFERENCED, fileEntry.getId(),
+                                             fileEntry.getSpace(), e.getMessage()),
+                        e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean deleteFile(String space, String id) throws FileStorageException {
+        return deleteFiles(execute(contentSqlQueryProvider.getListFileReferencesQuery(space, id))) > 0;
+    }
+
+    @Override
+    public int deleteFiles(String space, List<String> ids) throws FileStorageException {
+        return deleteFiles(execute(contentSqlQueryProvider.getListFileReferencesQuery(space, ids)));
+    }
+
+    /**
+     * The content of a file is looked up through the reference to it, so the references of the files in the page are listed first. The
+     * contents, which are no longer referenced after the files are deleted, are deleted as well.
+     */
+    @Override
+    protected int deleteFilesWithoutContent(List<FileEntry> fileEntries) throws FileStorageException {
+        List<FileReference> fileReferences = listFileReferences(fileEntries);
+        List<FileEntry> contentEntries = fileReferences.stream()
+                                                       .map(this::getContentEntry)
+                                                       .collect(Collectors.toList());
+        Set<FileEntry> missingContentEntries = new HashSet<>(getFileStorage().getFileEntriesWithoutContent(contentEntries));
+        List<FileReference> fileReferencesWithoutContent = new ArrayList<>();
+        for (int i = 0; i < fileReferences.size(); i++) {
+            if (missingContentEntries.contains(contentEntries.get(i))) {
+                fileReferencesWithoutContent.add(fileReferences.get(i));
+            }
+        }
+        int deletedFiles = execute(contentSqlQueryProvider.getDeleteFilesQuery(fileReferencesWithoutContent)).size();
+        deleteUnreferencedContents();
+        return deletedFiles;
+    }
+
+    private List<FileReference> listFileReferences(List<FileEntry> fileEntries) throws FileStorageException {
+        Map<String, List<String>> idsBySpace = fileEntries.stream()
+                                                          .collect(Collectors.groupingBy(FileEntry::getSpace,
+                                                                                         Collectors.mapping(FileEntry::getId,
+                                                                                                            Collectors.toList())));
+        List<FileReference> fileReferences = new ArrayList<>();
+        for (Map.Entry<String, List<String>> ids : idsBySpace.entrySet()) {
+            fileReferences.addAll(execute(contentSqlQueryProvider.getListFileReferencesQuery(ids.getKey(), ids.getValue())));
+        }
+        return fileReferences;
+    }
+
+    @Override
+    protected void storeFile(FileEntry fileEntry, FileInfo fileInfo) throws FileStorageException {
+        storeFile(fileEntry, fileInfo.getFile(), computeContentDigest(fileInfo));
+    }
+
+    /**
+     * The content of a streamed file is written to a temporary file first, so that its digest is known before it is stored, and a
+     * duplicate content is never uploaded to the file storage.
+     */
+    @Override
+    protected FileEntry storeFile(FileEntry fileEntry, DigestCountingInputStream contentStream) throws FileStorageException {
+        Path contentFile = createTemporaryFile();
+        try {
+            String contentDigest = copyContent(contentStream, contentFile);
+            FileEntry storedFileEntry = withSizeAndDigest(fileEntry, contentStream);
+            storeFile(storedFileEntry, contentFile.toFile(), contentDigest);
+            return storedFileEntry;
+        } finally {
+            deleteTemporaryFileQuietly(contentFile);
+        }
+    }
+
+    private void storeFile(FileEntry fileEntry, File contentFile, String contentDigest) throws FileStorageException {
+        FileEntry contentEntry = withContentDigest(createContentEntry(generateContentId()), fileEntry.getSize(), contentDigest);
+        String contentId = execute(contentSqlQueryProvider.getStoreFileAttributesWithExistingContentQuery(fileEntry, contentEntry));
+        if (contentId != null) {
+            logger.debug(MessageFormat.format(Messages.REUSED_CONTENT_0_FOR_FILE_1, contentId, fileEntry.getId()));
+            return;
+        }
+        getFileStorage().addFile(contentEntry, contentFile);
+        storeFileAttributes(fileEntry, contentEntry);
+    }
+
+    private Path createTemporaryFile() throws FileStorageException {
+        try {
+            return Files.createTempFile(TEMPORARY_FILE_PREFIX, null);
+        } catch (IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return the digest of the copied content
+     */
+    private String copyContent(InputStream contentStream, Path contentFile) throws FileStorageException {
+        DigestInputStream contentDigestStream = new DigestInputStream(contentStream, createContentDigest());
+        try {
+            Files.copy(contentDigestStream, contentFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+        return HexEncoder.encode(contentDigestStream.getMessageDigest()
+                                                    .digest());
+    }
+
+    private void deleteTemporaryFileQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn(MessageFormat.format(Messages.COULD_NOT_DELETE_TEMPORARY_FILE_0, file), e);
+        }
+    }
+
+    private void storeFileAttributes(FileEntry fileEntry, FileEntry contentEntry) throws FileStorageException {
+        String contentId;
+        try {
+            contentId = storeFileAttributesWithContent(fileEntry, contentEntry);
+        } catch (SQLException e) {
+            deleteContentQuietly(contentEntry.getId());
+            throw new FileStorageException(e.getMessage(), e);
+        }
+        if (!contentId.equals(contentEntry.getId())) {
+            logger.debug(MessageFormat.format(Messages.REUSED_CONTENT_0_FOR_FILE_1, contentId, fileEntry.getId()));
+            deleteContentQuietly(contentEntry.getId());
+        }
+    }
+
+    /**
+     * The digests of the contents are unique, so storing a content fails, if the same content was stored concurrently. The file then
+     * points to the content, which was stored first.
+     */
+    private String storeFileAttributesWithContent(FileEntry fileEntry, FileEntry contentEntry) throws SQLException {
+        try {
+            return getSqlQueryExecutor().execute(contentSqlQueryProvider.getStoreFileAttributesWithContentQuery(fileEntry, contentEntry));
+        } catch (SQLException e) {
+            if (!isIntegrityConstraintViolation(e)) {
+                throw e;
+            }
+            return getSqlQueryExecutor().execute(contentSqlQueryProvider.getStoreFileAttributesWithContentQuery(fileEntry, contentEntry));
+        }
+    }
+
+    private boolean isIntegrityConstraintViolation(SQLException e) {
+        return e.getSQLState() != null && e.getSQLState()
+                                           .startsWith(INTEGRITY_CONSTRAINT_VIOLATION_SQL_STATE_CLASS);
+    }
+
+    private int deleteFiles(List<FileReference> fileReferences) throws FileStorageException {
+        List<FileReference> deletedFileReferences = execute(contentSqlQueryProvider.getDeleteFilesQuery(fileReferences));
+        getFileStorage().deleteFiles(deletedFileReferences.stream()
+                                                          .filter(fileReference -> fileReference.getContentId() == null)
+                                                          .map(this::getContentEntry)
+                                                          .collect(Collectors.toList()));
+        deleteUnreferencedContents();
+        return deletedFileReferences.size();
+    }
+
+    /**
+     * The content is deleted from the file storage before its row, so a content, whose deletion failed, is deleted by the next call.
+     */
+    private void deleteUnreferencedContents() throws FileStorageException {
+        List<String> contentIds = execute(contentSqlQueryProvider.getListUnreferencedContentsQuery());
+        getFileStorage().deleteFiles(contentIds.stream()
+                                               .map(this::createContentEntry)
+                                               .collect(Collectors.toList()));
+        execute(contentSqlQueryProvider.getDeleteUnreferencedContentsQuery(contentIds));
+        logger.debug(MessageFormat.format(Messages.DELETED_0_UNREFERENCED_CONTENTS, contentIds.size()));
+    }
+
+    private void deleteContentQuietly(String contentId) {
+        try {
+            getFileStorage().deleteFile(contentId, CONTENT_SPACE);
+        } catch (FileStorageException e) {
+            logger.warn(MessageFormat.format(Messages.COULD_NOT_DELETE_CONTENT, contentId, e.getMessage()), e);
+        }
+    }
+
+    private FileEntry getContentEntry(FileReference fileReference) {
+        if (fileReference.getContentId() == null) {
+            return ImmutableFileEntry.builder()
+                                     .id(fileReference.getId())
+                                     .space(fileReference.getSpace())
+                                     .build();
+        }
+        return createContentEntry(fileReference.getContentId());
+    }
+
+    private FileEntry createContentEntry(String contentId) {
+        return ImmutableFileEntry.builder()
+                                 .id(contentId)
+                                 .space(CONTENT_SPACE)
+                                 .name(contentId)
+                                 .modified(new Timestamp(System.currentTimeMillis()))
+                                 .build();
+    }
+
+    private FileEntry withContentDigest(FileEntry contentEntry, BigInteger size, String digest) {
+        return ImmutableFileEntry.builder()
+                                 .from(contentEntry)
+                                 .size(size)
+                                 .digest(digest)
+                                 .digestAlgorithm(CONTENT_DIGEST_METHOD)
+                                 .build();
+    }
+
+    private String computeContentDigest(FileInfo fileInfo) throws FileStorageException {
+        try {
+            return DigestHelper.computeFileChecksum(fileInfo.getFile()
+                                                            .toPath(),
+                                                    CONTENT_DIGEST_METHOD);
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
+    private MessageDigest createContentDigest() throws FileStorageException {
+        try {
+            return MessageDigest.getInstance(CONTENT_DIGEST_METHOD);
+        } catch (NoSuchAlgorithmException e) {
+            throw new FileStorageException(e);
+        }
+    }
+
+    private String generateContentId() {
+        return UUID.randomUUID()
+                   .toString();
+    }
+
+    private <T> T execute(SqlQuery<T> sqlQuery) throws FileStorageException {
+        try {
+            return getSqlQueryExecutor().execute(sqlQuery);
+        } catch (SQLException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
+}
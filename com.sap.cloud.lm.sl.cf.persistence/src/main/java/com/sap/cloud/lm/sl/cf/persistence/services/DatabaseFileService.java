@@ -2,21 +2,36 @@ package com.sap.cloud.lm.sl.cf.persistence.services;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Date;
+import java.util.List;
 
 import com.sap.cloud.lm.sl.cf.persistence.DataSourceWithDialect;
 import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
 import com.sap.cloud.lm.sl.cf.persistence.model.FileInfo;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileSweepCursor;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileSweepResult;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileSweepResult;
 import com.sap.cloud.lm.sl.cf.persistence.query.providers.BlobSqlFileQueryProvider;
 import com.sap.cloud.lm.sl.cf.persistence.query.providers.SqlFileQueryProvider;
+import com.sap.cloud.lm.sl.cf.persistence.util.Configuration;
 
 public class DatabaseFileService extends FileService {
 
+    private static final String DIGEST_PLACEHOLDER = "";
+
     public DatabaseFileService(DataSourceWithDialect dataSourceWithDialect) {
         this(DEFAULT_TABLE_NAME, dataSourceWithDialect);
     }
 
+    public DatabaseFileService(DataSourceWithDialect dataSourceWithDialect, Configuration configuration) {
+        this(dataSourceWithDialect, new BlobSqlFileQueryProvider(DEFAULT_TABLE_NAME, dataSourceWithDialect.getDataSourceDialect()),
+             configuration);
+    }
+
     public DatabaseFileService(String tableName, DataSourceWithDialect dataSourceWithDialect) {
         this(dataSourceWithDialect, new BlobSqlFileQueryProvider(tableName, dataSourceWithDialect.getDataSourceDialect()));
     }
@@ -25,8 +40,14 @@ public class DatabaseFileService extends FileService {
         super(dataSourceWithDialect, sqlFileQueryProvider, null);
     }
 
+    public DatabaseFileService(DataSourceWithDialect dataSourceWithDialect, SqlFileQueryProvider sqlFileQueryProvider,
+                               Configuration configuration) {
+        super(dataSourceWithDialect, sqlFileQueryProvider, null, configuration);
+    }
+
     @Override
-    public <T> T processFileContent(String space, String id, FileContentProcessor<T> fileContentProcessor) throws FileStorageException {
+    protected <T> T processFileContentFromStorage(String space, String id, FileContentProcessor<T> fileContentProcessor)
+        throws FileStorageException {
         try {
             return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getProcessFileWithContentQuery(space, id, fileContentProcessor));
         } catch (SQLException e) {
@@ -34,6 +55,19 @@ public class DatabaseFileService extends FileService {
         }
     }
 
+    /**
+     * Processes only a range of the content of a file. The content is read directly from the database and is not cached.
+     */
+    public <T> T processFileContent(String space, String id, long offset, long length, FileContentProcessor<T> fileContentProcessor)
+        throws FileStorageException {
+        try {
+            return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getProcessFileContentRangeQuery(space, id, offset, length,
+                                                                                                           fileContentProcessor));
+        } catch (SQLException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public int deleteBySpaceAndNamespace(String space, String namespace) throws FileStorageException {
         return deleteFileAttributesBySpaceAndNamespace(space, namespace);
@@ -54,6 +88,11 @@ public class DatabaseFileService extends FileService {
         return deleteFileAttribute(space, id);
     }
 
+    @Override
+    public int deleteFiles(String space, List<String> ids) throws FileStorageException {
+        return deleteFileEntries(toFileEntries(space, ids));
+    }
+
     @Override
     public int deleteFilesEntriesWithoutContent() throws FileStorageException {
         try {
@@ -63,6 +102,19 @@ public class DatabaseFileService extends FileService {
         }
     }
 
+    /**
+     * The content is stored in the same table, so the files without content are found and deleted by a single statement, which visits
+     * only them.
+     */
+    @Override
+    public FileSweepResult sweepFilesWithoutContent(FileSweepCursor cursor, Duration timeBudget) throws FileStorageException {
+        int deletedFiles = deleteFilesEntriesWithoutContent();
+        return ImmutableFileSweepResult.builder()
+                                       .checkedFiles(deletedFiles)
+                                       .deletedFiles(deletedFiles)
+                                       .build();
+    }
+
     @Override
     protected void storeFile(FileEntry fileEntry, FileInfo fileinfo) throws FileStorageException {
         try (InputStream fileStream = fileinfo.getInputStream()) {
@@ -72,6 +124,33 @@ public class DatabaseFileService extends FileService {
         }
     }
 
+    /**
+     * The attributes are inserted together with the content, but with placeholders for the size and the digest, because they are known
+     * only after the content stream is fully read. They are updated in the same transaction, so the placeholders are never visible. On
+     * PostgreSQL, the update relies on the unlink triggers firing only on updates of the content column, as otherwise they would unlink
+     * the large object, which was just stored.
+     */
+    @Override
+    protected FileEntry storeFile(FileEntry fileEntry, DigestCountingInputStream contentStream) throws FileStorageException {
+        FileEntry fileEntryWithPlaceholders = ImmutableFileEntry.builder()
+                                                                .from(fileEntry)
+                                                                .size(BigInteger.ZERO)
+                                                                .digest(DIGEST_PLACEHOLDER)
+                                                                .build();
+        try {
+            return getSqlQueryExecutor().execute(connection -> {
+                getSqlFileQueryProvider().getStoreFileQuery(fileEntryWithPlaceholders, contentStream)
+                                         .execute(connection);
+                FileEntry storedFileEntry = withSizeAndDigest(fileEntry, contentStream);
+                getSqlFileQueryProvider().getUpdateFileSizeAndDigestQuery(storedFileEntry)
+                                         .execute(connection);
+                return storedFileEntry;
+            });
+        } catch (SQLException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
     private boolean storeFileWithContent(FileEntry fileEntry, InputStream fileStream) throws FileStorageException {
         try {
             return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getStoreFileQuery(fileEntry, fileStream));
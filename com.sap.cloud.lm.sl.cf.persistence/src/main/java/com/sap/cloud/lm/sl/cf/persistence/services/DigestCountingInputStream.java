@@ -0,0 +1,60 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.text.MessageFormat;
+
+import com.sap.cloud.lm.sl.cf.persistence.Messages;
+import com.sap.cloud.lm.sl.cf.persistence.util.HexEncoder;
+
+/**
+ * Calculates the digest and the size of the content read through it, so that a file can be stored directly from the uploaded stream
+ * instead of through a temporary file. Reading more than the max upload size fails with an {@link IOException}.
+ */
+public class DigestCountingInputStream extends DigestInputStream {
+
+    private final long maxSize;
+    private long size;
+
+    public DigestCountingInputStream(InputStream stream, MessageDigest digest, long maxSize) {
+        super(stream, digest);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int result = super.read();
+        if (result != -1) {
+            count(1);
+        }
+        return result;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int result = super.read(buffer, offset, length);
+        if (result > 0) {
+            count(result);
+        }
+        return result;
+    }
+
+    private void count(int bytes) throws IOException {
+        size += bytes;
+        if (size > maxSize) {
+            throw new IOException(MessageFormat.format(Messages.MAX_UPLOAD_SIZE_EXCEEDED, maxSize));
+        }
+    }
+
+    public BigInteger getSize() {
+        return BigInteger.valueOf(size);
+    }
+
+    public String getDigest() {
+        return HexEncoder.encode(getMessageDigest().digest());
+    }
+
+}
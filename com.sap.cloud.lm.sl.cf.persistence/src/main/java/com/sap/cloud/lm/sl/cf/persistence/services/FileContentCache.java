@@ -0,0 +1,265 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sap.cloud.lm.sl.cf.persistence.Messages;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.common.SLException;
+
+/**
+ * Caches the content of files on the local disk, so that a file, which is read several times, is fetched from its storage only once. Files
+ * are identified by their space, ID and digest. When the cached content exceeds the maximum size, the least recently used files are evicted
+ * asynchronously. A file is never evicted while it is read, and a file, which is read by several threads at the same time, is fetched by
+ * only one of them.
+ */
+public class FileContentCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileContentCache.class);
+
+    private final Path cacheDirectory;
+    private final long maxSize;
+    private final Executor evictionExecutor;
+    private final AtomicBoolean evictionScheduled = new AtomicBoolean();
+    private final FileContentCacheMetrics metrics = new FileContentCacheMetrics();
+    private final Map<String, CachedFile> cachedFiles = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedSize;
+
+    public FileContentCache(Path cacheDirectory, long maxSize) {
+        this(cacheDirectory, maxSize, Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("file-content-cache-%d")
+                                                                                                 .setDaemon(true)
+                                                                                                 .build()));
+    }
+
+    /**
+     * The content left in the cache directory by a previous instance of the cache is deleted, as it is not known which files it belongs
+     * to.
+     */
+    FileContentCache(Path cacheDirectory, long maxSize, Executor evictionExecutor) {
+        this.cacheDirectory = cacheDirectory;
+        this.maxSize = maxSize;
+        this.evictionExecutor = evictionExecutor;
+        try {
+            FileUtils.deleteDirectory(cacheDirectory.toFile());
+            Files.createDirectories(cacheDirectory);
+        } catch (IOException e) {
+            throw new SLException(e, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the cached content of a file and fetches it from its source first, if it is not cached yet. The content cannot be evicted
+     * until it is closed.
+     *
+     * @return the cached content or {@code null}, if the file cannot be cached and has to be read from its source directly
+     */
+    public CachedFileContent get(FileEntry fileEntry, FileContentSource fileContentSource) throws FileStorageException {
+        if (!isCacheable(fileEntry)) {
+            metrics.recordMiss();
+            return null;
+        }
+        String key = getKey(fileEntry);
+        CachedFile cachedFile;
+        boolean isCached;
+        synchronized (this) {
+            cachedFile = cachedFiles.get(key);
+            isCached = cachedFile != null;
+            if (!isCached) {
+                cachedFile = new CachedFile(cacheDirectory.resolve(UUID.randomUUID()
+                                                                       .toString()));
+                cachedFiles.put(key, cachedFile);
+            }
+            cachedFile.pins++;
+        }
+        if (!isCached) {
+            metrics.recordMiss();
+            load(key, cachedFile, fileContentSource);
+            return new CachedFileContent(cachedFile);
+        }
+        if (!cachedFile.awaitLoaded()) {
+            release(cachedFile);
+            return null;
+        }
+        metrics.recordHit();
+        return new CachedFileContent(cachedFile);
+    }
+
+    private boolean isCacheable(FileEntry fileEntry) {
+        return fileEntry.getDigest() != null && fileEntry.getSize() != null && fileEntry.getSize()
+                                                                                         .longValue() <= maxSize;
+    }
+
+    private String getKey(FileEntry fileEntry) {
+        return fileEntry.getSpace() + "/" + fileEntry.getId() + "/" + fileEntry.getDigest();
+    }
+
+    private void load(String key, CachedFile cachedFile, FileContentSource fileContentSource) throws FileStorageException {
+        try {
+            fileContentSource.consumeFileContent(content -> Files.copy(content, cachedFile.path));
+            long size = getSize(cachedFile.path);
+            synchronized (this) {
+                cachedFile.size = size;
+                cachedSize += size;
+            }
+            cachedFile.loaded.complete(true);
+            LOGGER.debug(MessageFormat.format(Messages.CACHED_CONTENT_OF_FILE_0_IN_1, key, cachedFile.path));
+        } catch (FileStorageException | RuntimeException e) {
+            synchronized (this) {
+                cachedFiles.remove(key, cachedFile);
+            }
+            cachedFile.loaded.complete(false);
+            release(cachedFile);
+            deleteQuietly(cachedFile.path);
+            throw e;
+        }
+        scheduleEviction();
+    }
+
+    private long getSize(Path path) throws FileStorageException {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
+    private void release(CachedFile cachedFile) {
+        boolean isFull;
+        synchronized (this) {
+            cachedFile.pins--;
+            isFull = cachedSize > maxSize;
+        }
+        if (isFull) {
+            scheduleEviction();
+        }
+    }
+
+    private void scheduleEviction() {
+        if (evictionScheduled.compareAndSet(false, true)) {
+            evictionExecutor.execute(() -> {
+                evictionScheduled.set(false);
+                evict();
+            });
+        }
+    }
+
+    private void evict() {
+        List<CachedFile> evictedFiles = new ArrayList<>();
+        synchronized (this) {
+            Iterator<CachedFile> leastRecentlyUsedFiles = cachedFiles.values()
+                                                                     .iterator();
+            while (cachedSize > maxSize && leastRecentlyUsedFiles.hasNext()) {
+                CachedFile cachedFile = leastRecentlyUsedFiles.next();
+                if (cachedFile.pins == 0) {
+                    leastRecentlyUsedFiles.remove();
+                    cachedSize -= cachedFile.size;
+                    evictedFiles.add(cachedFile);
+                }
+            }
+        }
+        long evictedBytes = 0;
+        for (CachedFile evictedFile : evictedFiles) {
+            deleteQuietly(evictedFile.path);
+            evictedBytes += evictedFile.size;
+        }
+        if (!evictedFiles.isEmpty()) {
+            metrics.recordEviction(evictedBytes);
+            LOGGER.debug(MessageFormat.format(Messages.EVICTED_0_CACHED_FILES_WITH_1_BYTES, evictedFiles.size(), evictedBytes));
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn(MessageFormat.format(Messages.COULD_NOT_DELETE_CACHED_FILE_0, path), e);
+        }
+    }
+
+    public synchronized long getCachedSize() {
+        return cachedSize;
+    }
+
+    public FileContentCacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    @FunctionalInterface
+    public interface FileContentSource {
+
+        void consumeFileContent(FileContentConsumer fileContentConsumer) throws FileStorageException;
+
+    }
+
+    public class CachedFileContent implements AutoCloseable {
+
+        private final CachedFile cachedFile;
+        private boolean closed;
+
+        private CachedFileContent(CachedFile cachedFile) {
+            this.cachedFile = cachedFile;
+        }
+
+        public <T> T process(FileContentProcessor<T> fileContentProcessor) throws FileStorageException {
+            try (InputStream content = new LocalFileInputStream(cachedFile.path)) {
+                return fileContentProcessor.process(content);
+            } catch (Exception e) {
+                throw new FileStorageException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(cachedFile);
+            }
+        }
+
+    }
+
+    private static class CachedFile {
+
+        private final Path path;
+        private final CompletableFuture<Boolean> loaded = new CompletableFuture<>();
+        private long size;
+        private int pins;
+
+        CachedFile(Path path) {
+            this.path = path;
+        }
+
+        boolean awaitLoaded() {
+            try {
+                return loaded.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                return false;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the hits, misses and evicted bytes of a {@link FileContentCache} since it was created.
+ */
+public class FileContentCacheMetrics {
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictedBytes = new AtomicLong();
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    void recordEviction(long bytes) {
+        evictedBytes.addAndGet(bytes);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictedBytes() {
+        return evictedBytes.get();
+    }
+
+}
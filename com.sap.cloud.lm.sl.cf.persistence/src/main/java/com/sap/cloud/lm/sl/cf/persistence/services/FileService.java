@@ -5,13 +5,16 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,36 +23,58 @@ import com.sap.cloud.lm.sl.cf.persistence.DataSourceWithDialect;
 import com.sap.cloud.lm.sl.cf.persistence.Messages;
 import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
 import com.sap.cloud.lm.sl.cf.persistence.model.FileInfo;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileSweepCursor;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileSweepResult;
 import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
 import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileInfo;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileSweepCursor;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileSweepResult;
 import com.sap.cloud.lm.sl.cf.persistence.query.providers.ExternalSqlFileQueryProvider;
 import com.sap.cloud.lm.sl.cf.persistence.query.providers.SqlFileQueryProvider;
+import com.sap.cloud.lm.sl.cf.persistence.util.Configuration;
 import com.sap.cloud.lm.sl.cf.persistence.util.SqlQueryExecutor;
 import com.sap.cloud.lm.sl.common.SLException;
 import com.sap.cloud.lm.sl.common.util.DigestHelper;
 
 public class FileService {
 
-    protected static final String DEFAULT_TABLE_NAME = "LM_SL_PERSISTENCE_FILE";
+    public static final String DEFAULT_TABLE_NAME = "LM_SL_PERSISTENCE_FILE";
+    private static final int SWEEP_PAGE_SIZE = 1000;
+    private static final Duration NO_TIME_BUDGET = Duration.ofNanos(Long.MAX_VALUE);
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final FileStorage fileStorage;
     private final SqlQueryExecutor sqlQueryExecutor;
     private final SqlFileQueryProvider sqlFileQueryProvider;
+    private final Configuration configuration;
+    private FileContentCache fileContentCache;
 
     public FileService(DataSourceWithDialect dataSourceWithDialect, FileStorage fileStorage) {
         this(DEFAULT_TABLE_NAME, dataSourceWithDialect, fileStorage);
     }
 
+    public FileService(DataSourceWithDialect dataSourceWithDialect, FileStorage fileStorage, Configuration configuration) {
+        this(dataSourceWithDialect,
+             new ExternalSqlFileQueryProvider(DEFAULT_TABLE_NAME, dataSourceWithDialect.getDataSourceDialect()),
+             fileStorage,
+             configuration);
+    }
+
     public FileService(String tableName, DataSourceWithDialect dataSourceWithDialect, FileStorage fileStorage) {
         this(dataSourceWithDialect, new ExternalSqlFileQueryProvider(tableName, dataSourceWithDialect.getDataSourceDialect()), fileStorage);
     }
 
     protected FileService(DataSourceWithDialect dataSourceWithDialect, SqlFileQueryProvider sqlFileQueryProvider, FileStorage fileStorage) {
+        this(dataSourceWithDialect, sqlFileQueryProvider, fileStorage, new Configuration());
+    }
+
+    protected FileService(DataSourceWithDialect dataSourceWithDialect, SqlFileQueryProvider sqlFileQueryProvider, FileStorage fileStorage,
+                          Configuration configuration) {
         this.sqlQueryExecutor = new SqlQueryExecutor(dataSourceWithDialect.getDataSource());
         this.sqlFileQueryProvider = sqlFileQueryProvider.withLogger(logger);
         this.fileStorage = fileStorage;
+        this.configuration = configuration;
     }
 
     public FileEntry addFile(String space, String name, InputStream inputStream) throws FileStorageException {
@@ -57,34 +82,25 @@ public class FileService {
     }
 
     /**
-     * Uploads a new file.
+     * Uploads a new file. The content is streamed directly to the file storage, while its size and digest are calculated on the fly.
      *
      * @param space
      * @param namespace namespace where the file will be uploaded
      * @param name name of the uploaded file
-     * @param fileUploadProcessor file processor
      * @param inputStream input stream to read the content from
      * @return an object representing the file upload
-     * @throws FileStorageException
+     * @throws FileStorageException if the content could not be stored or is bigger than the max upload size
      */
     public FileEntry addFile(String space, String namespace, String name, InputStream inputStream) throws FileStorageException {
-        // Stream the file to a temp location and get the size and MD5 digest
-        // as an alternative we can pass the original stream to the database,
-        // and decorate the blob stream to calculate digest and size, but this will still require
-        // two roundtrips to the database (insert of the content and then update with the digest and
-        // size), which is probably inefficient
-        FileInfo fileInfo = null;
-        FileEntry fileEntry = null;
-        try (InputStream autoClosedInputStream = inputStream) {
-            fileInfo = FileUploader.uploadFile(inputStream);
-            fileEntry = addFile(space, namespace, name, fileInfo);
+        FileEntry fileEntry = createFileEntry(space, namespace, name);
+        MessageDigest digest = createDigest();
+        try (DigestCountingInputStream contentStream = new DigestCountingInputStream(inputStream, digest,
+                                                                                     configuration.getMaxUploadSize())) {
+            fileEntry = storeFile(fileEntry, contentStream);
         } catch (IOException e) {
-            logger.debug(e.getMessage(), e);
-        } finally {
-            if (fileInfo != null) {
-                FileUploader.removeFile(fileInfo);
-            }
+            throw new FileStorageException(e.getMessage(), e);
         }
+        logger.debug(MessageFormat.format(Messages.STORED_FILE_0, fileEntry));
         return fileEntry;
     }
 
@@ -126,22 +142,71 @@ public class FileService {
         });
     }
 
+    /**
+     * Reads the content through the {@link FileContentCache file content cache}, if one is set, so that only the first read of a file
+     * fetches it from the storage.
+     */
     public <T> T processFileContent(String space, String id, FileContentProcessor<T> fileContentProcessor) throws FileStorageException {
+        FileEntry fileEntry = fileContentCache != null ? getFile(space, id) : null;
+        if (fileEntry == null) {
+            return processFileContentFromStorage(space, id, fileContentProcessor);
+        }
+        FileContentCache.FileContentSource fileContentSource = fileContentConsumer -> consumeFileContentFromStorage(space, id,
+                                                                                                                    fileContentConsumer);
+        try (FileContentCache.CachedFileContent cachedContent = fileContentCache.get(fileEntry, fileContentSource)) {
+            if (cachedContent == null) {
+                return processFileContentFromStorage(space, id, fileContentProcessor);
+            }
+            return cachedContent.process(fileContentProcessor);
+        }
+    }
+
+    private void consumeFileContentFromStorage(String space, String id, FileContentConsumer fileContentConsumer)
+        throws FileStorageException {
+        processFileContentFromStorage(space, id, fileContentStream -> {
+            fileContentConsumer.consume(fileContentStream);
+            return null;
+        });
+    }
+
+    protected <T> T processFileContentFromStorage(String space, String id, FileContentProcessor<T> fileContentProcessor)
+        throws FileStorageException {
         return fileStorage.processFileContent(space, id, fileContentProcessor);
     }
 
     public int deleteBySpaceAndNamespace(String space, String namespace) throws FileStorageException {
-        fileStorage.deleteFilesBySpaceAndNamespace(space, namespace);
+        if (configuration.isFileStorageIndexedByDatabase()) {
+            fileStorage.deleteFiles(listFiles(space, namespace));
+        } else {
+            fileStorage.deleteFilesBySpaceAndNamespace(space, namespace, listFiles(space, namespace));
+        }
         return deleteFileAttributesBySpaceAndNamespace(space, namespace);
     }
 
     public int deleteBySpace(String space) throws FileStorageException {
-        fileStorage.deleteFilesBySpace(space);
+        if (configuration.isFileStorageIndexedByDatabase()) {
+            fileStorage.deleteFiles(listFiles(space, null));
+        } else {
+            fileStorage.deleteFilesBySpace(space);
+        }
         return deleteFileAttributesBySpace(space);
     }
 
+    /**
+     * When the file storage is indexed by the database, only the content of files with attributes in the database is deleted. Content left
+     * without attributes, for example by a failed upload, is found by listing the whole storage only if the reconciliation is enabled.
+     */
     public int deleteModifiedBefore(Date modificationTime) throws FileStorageException {
-        int deletedItems = fileStorage.deleteFilesModifiedBefore(modificationTime);
+        if (!configuration.isFileStorageIndexedByDatabase()) {
+            int deletedItems = fileStorage.deleteFilesModifiedBefore(modificationTime);
+            return deleteFileAttributesModifiedBefore(modificationTime) + deletedItems;
+        }
+        List<FileEntry> fileEntries = listFilesModifiedBefore(modificationTime);
+        fileStorage.deleteFiles(fileEntries);
+        int deletedItems = fileEntries.size();
+        if (configuration.isFileStorageReconciliationEnabled()) {
+            deletedItems += fileStorage.deleteFilesModifiedBefore(modificationTime);
+        }
         return deleteFileAttributesModifiedBefore(modificationTime) + deletedItems;
     }
 
@@ -150,14 +215,73 @@ public class FileService {
         return deleteFileAttribute(space, id);
     }
 
+    /**
+     * Deletes the files with the given IDs from the file storage and then deletes their entries, both in bulk.
+     *
+     * @return the number of deleted entries
+     */
+    public int deleteFiles(String space, List<String> ids) throws FileStorageException {
+        List<FileEntry> fileEntries = toFileEntries(space, ids);
+        fileStorage.deleteFiles(fileEntries);
+        return deleteFileEntries(fileEntries);
+    }
+
+    /**
+     * @return whether the file storage is checked for files without content, which is not the case, when it is indexed by the database and
+     *         the reconciliation is disabled
+     */
+    public boolean isFileStorageReconciled() {
+        return !configuration.isFileStorageIndexedByDatabase() || configuration.isFileStorageReconciliationEnabled();
+    }
+
     public int deleteFilesEntriesWithoutContent() throws FileStorageException {
-        try {
-            List<FileEntry> entries = getSqlQueryExecutor().execute(getSqlFileQueryProvider().getListAllFilesQuery());
-            List<FileEntry> missing = fileStorage.getFileEntriesWithoutContent(entries);
-            return deleteFileEntries(missing);
-        } catch (SQLException e) {
-            throw new FileStorageException(Messages.ERROR_GETTING_ALL_FILES, e);
-        }
+        int deletedFiles = 0;
+        FileSweepCursor cursor = null;
+        do {
+            FileSweepResult sweepResult = sweepFilesWithoutContent(cursor, NO_TIME_BUDGET);
+            deletedFiles += sweepResult.getDeletedFiles();
+            cursor = sweepResult.getCursor();
+        } while (cursor != null);
+        return deletedFiles;
+    }
+
+    /**
+     * Deletes the entries of files, whose content is missing in the file storage. The files are checked in pages ordered by their
+     * modification time and ID, and each page is listed and deleted in its own short transaction. The pass stops after the first page,
+     * which exceeds the time budget, so a large number of files can be checked in several passes, each resumed from the cursor of the
+     * previous one.
+     *
+     * @param cursor the cursor returned by the previous pass or {@code null} to start with the oldest file
+     */
+    public FileSweepResult sweepFilesWithoutContent(FileSweepCursor cursor, Duration timeBudget) throws FileStorageException {
+        return sweepFilesWithoutContent(cursor, timeBudget, SWEEP_PAGE_SIZE);
+    }
+
+    FileSweepResult sweepFilesWithoutContent(FileSweepCursor cursor, Duration timeBudget, int pageSize) throws FileStorageException {
+        long startTime = System.nanoTime();
+        long timeBudgetInNanos = timeBudget.toNanos();
+        FileSweepCursor nextCursor = cursor;
+        int checkedFiles = 0;
+        int deletedFiles = 0;
+        do {
+            List<FileEntry> fileEntries = listFilesAfter(nextCursor, pageSize);
+            deletedFiles += deleteFilesWithoutContent(fileEntries);
+            checkedFiles += fileEntries.size();
+            nextCursor = fileEntries.size() < pageSize ? null : toCursor(fileEntries.get(fileEntries.size() - 1));
+        } while (nextCursor != null && System.nanoTime() - startTime < timeBudgetInNanos);
+        logger.debug(MessageFormat.format(Messages.CHECKED_0_FILES_AND_DELETED_1_FILES_WITHOUT_CONTENT, checkedFiles, deletedFiles));
+        return ImmutableFileSweepResult.builder()
+                                       .checkedFiles(checkedFiles)
+                                       .deletedFiles(deletedFiles)
+                                       .cursor(nextCursor)
+                                       .build();
+    }
+
+    /**
+     * @return the number of deleted files, whose content is missing in the file storage
+     */
+    protected int deleteFilesWithoutContent(List<FileEntry> fileEntries) throws FileStorageException {
+        return deleteFileEntries(fileStorage.getFileEntriesWithoutContent(fileEntries));
     }
 
     protected void storeFile(FileEntry fileEntry, FileInfo fileInfo) throws FileStorageException {
@@ -165,6 +289,18 @@ public class FileService {
         storeFileAttributes(fileEntry);
     }
 
+    /**
+     * Stores the content first, as the size and the digest of the file are known only after the content stream is fully read.
+     *
+     * @return the file entry with its size and digest
+     */
+    protected FileEntry storeFile(FileEntry fileEntry, DigestCountingInputStream contentStream) throws FileStorageException {
+        fileStorage.addFile(fileEntry, contentStream);
+        FileEntry storedFileEntry = withSizeAndDigest(fileEntry, contentStream);
+        storeFileAttributes(storedFileEntry);
+        return storedFileEntry;
+    }
+
     protected boolean deleteFileAttribute(String space, String id) throws FileStorageException {
         try {
             return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getDeleteFileEntryQuery(space, id));
@@ -210,6 +346,65 @@ public class FileService {
                                  .build();
     }
 
+    protected FileEntry createFileEntry(String space, String namespace, String name) {
+        return ImmutableFileEntry.builder()
+                                 .id(generateRandomId())
+                                 .space(space)
+                                 .name(name)
+                                 .namespace(namespace)
+                                 .digestAlgorithm(FileUploader.DIGEST_METHOD)
+                                 .modified(new Timestamp(System.currentTimeMillis()))
+                                 .build();
+    }
+
+    protected FileEntry withSizeAndDigest(FileEntry fileEntry, DigestCountingInputStream contentStream) {
+        return ImmutableFileEntry.builder()
+                                 .from(fileEntry)
+                                 .size(contentStream.getSize())
+                                 .digest(contentStream.getDigest())
+                                 .build();
+    }
+
+    private List<FileEntry> listFilesAfter(FileSweepCursor cursor, int pageSize) throws FileStorageException {
+        try {
+            return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getListFilesAfterQuery(cursor, pageSize));
+        } catch (SQLException e) {
+            throw new FileStorageException(Messages.ERROR_GETTING_ALL_FILES, e);
+        }
+    }
+
+    private FileSweepCursor toCursor(FileEntry fileEntry) {
+        return ImmutableFileSweepCursor.builder()
+                                       .modified(fileEntry.getModified())
+                                       .id(fileEntry.getId())
+                                       .build();
+    }
+
+    protected List<FileEntry> toFileEntries(String space, List<String> ids) {
+        return ids.stream()
+                  .map(id -> ImmutableFileEntry.builder()
+                                               .space(space)
+                                               .id(id)
+                                               .build())
+                  .collect(Collectors.toList());
+    }
+
+    protected List<FileEntry> listFilesModifiedBefore(Date modificationTime) throws FileStorageException {
+        try {
+            return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getListFilesModifiedBeforeQuery(modificationTime));
+        } catch (SQLException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
+    public void setFileContentCache(FileContentCache fileContentCache) {
+        this.fileContentCache = fileContentCache;
+    }
+
+    protected FileStorage getFileStorage() {
+        return fileStorage;
+    }
+
     protected SqlQueryExecutor getSqlQueryExecutor() {
         return sqlQueryExecutor;
     }
@@ -218,6 +413,14 @@ public class FileService {
         return sqlFileQueryProvider;
     }
 
+    private MessageDigest createDigest() throws FileStorageException {
+        try {
+            return MessageDigest.getInstance(FileUploader.DIGEST_METHOD);
+        } catch (NoSuchAlgorithmException e) {
+            throw new FileStorageException(e);
+        }
+    }
+
     private FileInfo createFileInfo(File existingFile) throws NoSuchAlgorithmException, IOException {
         return ImmutableFileInfo.builder()
                                 .file(existingFile)
@@ -240,7 +443,7 @@ public class FileService {
                    .toString();
     }
 
-    private boolean storeFileAttributes(FileEntry fileEntry) throws FileStorageException {
+    protected boolean storeFileAttributes(FileEntry fileEntry) throws FileStorageException {
         try {
             return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getStoreFileAttributesQuery(fileEntry));
         } catch (SQLException e) {
@@ -248,7 +451,7 @@ public class FileService {
         }
     }
 
-    private int deleteFileEntries(List<FileEntry> fileEntries) throws FileStorageException {
+    protected int deleteFileEntries(List<FileEntry> fileEntries) throws FileStorageException {
         try {
             return getSqlQueryExecutor().execute(getSqlFileQueryProvider().getDeleteFileEntriesQuery(fileEntries));
         } catch (SQLException e) {
@@ -1,8 +1,10 @@
 package com.sap.cloud.lm.sl.cf.persistence.services;
 
 import java.io.File;
+import java.io.InputStream;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Predicate;
 
 import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
 
@@ -10,15 +12,41 @@ public interface FileStorage {
 
     void addFile(FileEntry fileEntry, File file) throws FileStorageException;
 
+    /**
+     * Stores the content of the stream, which is read until its end. The size and the digest of the file entry are not known at this point.
+     */
+    void addFile(FileEntry fileEntry, InputStream content) throws FileStorageException;
+
     List<FileEntry> getFileEntriesWithoutContent(List<FileEntry> fileEntries) throws FileStorageException;
 
     void deleteFile(String id, String space) throws FileStorageException;
 
-    void deleteFilesBySpace(String space) throws FileStorageException;
+    /**
+     * Deletes the content of the given file entries, which are usually looked up in the database, without listing the storage.
+     */
+    default void deleteFiles(List<FileEntry> fileEntries) throws FileStorageException {
+        for (FileEntry fileEntry : fileEntries) {
+            deleteFile(fileEntry.getId(), fileEntry.getSpace());
+        }
+    }
 
-    void deleteFilesBySpaceAndNamespace(String space, String namespace);
+    void deleteFilesBySpace(String space) throws FileStorageException;
 
-    int deleteFilesModifiedBefore(Date modificationTime) throws FileStorageException;
+    /**
+     * Deletes the content of the files in the given space and namespace. The file entries of the space and namespace, which are looked up
+     * in the database, are used by storages, which do not keep the namespaces of the stored files.
+     */
+    void deleteFilesBySpaceAndNamespace(String space, String namespace, List<FileEntry> fileEntries) throws FileStorageException;
+
+    default int deleteFilesModifiedBefore(Date modificationTime) throws FileStorageException {
+        return deleteFilesModifiedBefore(modificationTime, fileEntry -> true);
+    }
+
+    /**
+     * Deletes the content of the files modified before the given time, which match the filter. The file entries passed to the filter have
+     * only their ID and space, which is {@code null}, if the storage does not know it.
+     */
+    int deleteFilesModifiedBefore(Date modificationTime, Predicate<FileEntry> filter) throws FileStorageException;
 
     <T> T processFileContent(String space, String id, FileContentProcessor<T> fileContentProcessor) throws FileStorageException;
 
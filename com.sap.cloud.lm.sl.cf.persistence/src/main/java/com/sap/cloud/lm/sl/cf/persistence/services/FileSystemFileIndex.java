@@ -0,0 +1,350 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * An on-disk index of the files in a {@link FileSystemFileStorage}, which saves the storage from walking its whole directory tree. The index
+ * is split into time-bucketed directories, named after the start of the period they cover. Each bucket has an append-only log per space
+ * with one line (ID, namespace, modification time) for every file stored in that space and period.
+ * <p>
+ * Deleting files by age drops whole buckets and reads only the bucket containing the modification time. Deleting files by space or by
+ * space and namespace reads only the logs of that space. These deletes also compact the logs they read. Logs of the bucket which is still
+ * open for new files are only appended to, so that concurrent writers never lose entries. Entries of files that were deleted one by one
+ * stay in the logs until their bucket is compacted or dropped.
+ * <p>
+ * The storage may be shared by several instances, so the index is guarded by a lock file in addition to a monitor per index directory.
+ * Files are added under a shared lock and removed under an exclusive one, so that no entry is appended to a log while it is being
+ * compacted.
+ */
+class FileSystemFileIndex {
+
+    static final String INDEX_DIRECTORY = ".index";
+    static final long DEFAULT_BUCKET_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final String BUILT_MARKER = ".built";
+    private static final String LOCK_FILE = ".lock";
+    private static final String LOG_EXTENSION = ".log";
+    private static final String COMPACTED_LOG_EXTENSION = ".compacted";
+    private static final String FIELD_SEPARATOR = "\t";
+    // File locks are held by the whole JVM, so the indexes of the same directory in one JVM must not try to acquire them concurrently:
+    private static final Map<Path, Object> MONITORS = new ConcurrentHashMap<>();
+
+    private final Path storagePath;
+    private final Path indexPath;
+    private final long bucketMillis;
+    private final Object monitor;
+    private volatile boolean built;
+
+    FileSystemFileIndex(Path storagePath, long bucketMillis) {
+        this.storagePath = storagePath;
+        this.indexPath = storagePath.resolve(INDEX_DIRECTORY);
+        this.bucketMillis = bucketMillis;
+        this.monitor = MONITORS.computeIfAbsent(indexPath.toAbsolutePath()
+                                                         .normalize(),
+                                                path -> new Object());
+    }
+
+    void add(IndexEntry entry) throws IOException {
+        executeWithLock(true, () -> {
+            append(entry);
+            return null;
+        });
+    }
+
+    /**
+     * @return the number of entries for which the remover returned {@code true}
+     */
+    int removeModifiedBefore(long modificationTime, Predicate<IndexEntry> filter, EntryRemover remover) throws IOException {
+        return executeWithLock(false, () -> removeEntriesModifiedBefore(modificationTime, filter, remover));
+    }
+
+    private int removeEntriesModifiedBefore(long modificationTime, Predicate<IndexEntry> filter, EntryRemover remover) throws IOException {
+        int removedEntries = 0;
+        for (Path bucket : listBuckets()) {
+            long bucketStart = getBucketStart(bucket);
+            if (bucketStart >= modificationTime) {
+                continue;
+            }
+            boolean expired = bucketStart + bucketMillis <= modificationTime;
+            for (Path log : listLogs(bucket)) {
+                removedEntries += removeEntries(log, entry -> (expired || entry.getModified() < modificationTime) && filter.test(entry),
+                                                remover);
+            }
+        }
+        return removedEntries;
+    }
+
+    int removeBySpace(String space, EntryRemover remover) throws IOException {
+        return executeWithLock(false, () -> removeBySpace(space, entry -> true, remover));
+    }
+
+    /**
+     * The files with the given IDs are removed as well, as the files, which were indexed before the index was enabled, have no namespace.
+     */
+    int removeBySpaceAndNamespace(String space, String namespace, Set<String> ids, EntryRemover remover) throws IOException {
+        return executeWithLock(false, () -> removeBySpace(space, entry -> namespace.equals(entry.getNamespace())
+            || ids.contains(entry.getId()), remover));
+    }
+
+    private int removeBySpace(String space, Predicate<IndexEntry> filter, EntryRemover remover) throws IOException {
+        int removedEntries = 0;
+        for (Path bucket : listBuckets()) {
+            Path log = bucket.resolve(space + LOG_EXTENSION);
+            if (Files.exists(log)) {
+                removedEntries += removeEntries(log, filter, remover);
+            }
+        }
+        return removedEntries;
+    }
+
+    private int removeEntries(Path log, Predicate<IndexEntry> filter, EntryRemover remover) throws IOException {
+        List<IndexEntry> remainingEntries = new ArrayList<>();
+        int removedEntries = 0;
+        for (IndexEntry entry : read(log, getSpace(log))) {
+            if (!filter.test(entry)) {
+                remainingEntries.add(entry);
+            } else if (remover.remove(entry)) {
+                removedEntries++;
+            }
+        }
+        compact(log, remainingEntries);
+        return removedEntries;
+    }
+
+    private void compact(Path log, List<IndexEntry> remainingEntries) throws IOException {
+        if (isOpen(getBucketStart(log.getParent()))) {
+            return;
+        }
+        if (remainingEntries.isEmpty()) {
+            Files.deleteIfExists(log);
+            deleteBucketIfEmpty(log.getParent());
+            return;
+        }
+        Path compactedLog = log.resolveSibling(log.getFileName() + COMPACTED_LOG_EXTENSION);
+        try (BufferedWriter writer = Files.newBufferedWriter(compactedLog, StandardCharsets.UTF_8)) {
+            for (IndexEntry entry : remainingEntries) {
+                writer.write(toLine(entry));
+            }
+        }
+        Files.move(compactedLog, log, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteBucketIfEmpty(Path bucket) throws IOException {
+        if (list(bucket, path -> true).isEmpty()) {
+            Files.deleteIfExists(bucket);
+        }
+    }
+
+    private <T> T executeWithLock(boolean shared, IndexOperation<T> operation) throws IOException {
+        synchronized (monitor) {
+            if (!built) {
+                executeWithFileLock(false, () -> {
+                    ensureBuilt();
+                    return null;
+                });
+            }
+            return executeWithFileLock(shared, operation);
+        }
+    }
+
+    private <T> T executeWithFileLock(boolean shared, IndexOperation<T> operation) throws IOException {
+        Files.createDirectories(indexPath);
+        try (FileChannel lockChannel = FileChannel.open(indexPath.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                        StandardOpenOption.WRITE);
+            FileLock lock = lockChannel.lock(0, Long.MAX_VALUE, shared)) {
+            return operation.execute();
+        }
+    }
+
+    /**
+     * Another instance may have built the index in the meantime, so the marker is checked again while the exclusive lock is held.
+     */
+    private void ensureBuilt() throws IOException {
+        Path builtMarker = indexPath.resolve(BUILT_MARKER);
+        if (!Files.exists(builtMarker)) {
+            indexExistingFiles();
+            try {
+                Files.createFile(builtMarker);
+            } catch (FileAlreadyExistsException e) {
+                // The index was built by an instance, which does not share the lock file, e.g. on a file system without locking support.
+            }
+        }
+        built = true;
+    }
+
+    /**
+     * Files stored before the index was enabled are indexed with their last modification time on disk and without a namespace.
+     */
+    private void indexExistingFiles() throws IOException {
+        Files.walkFileTree(storagePath, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+                return directory.equals(indexPath) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Path filesDirectory = file.getParent();
+                if (isFilesDirectory(filesDirectory)) {
+                    String space = filesDirectory.getParent()
+                                                 .getFileName()
+                                                 .toString();
+                    append(new IndexEntry(file.getFileName()
+                                              .toString(),
+                                          space,
+                                          null,
+                                          attributes.lastModifiedTime()
+                                                    .toMillis()));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private boolean isFilesDirectory(Path directory) {
+        Path spaceDirectory = directory.getParent();
+        if (spaceDirectory == null || !storagePath.equals(spaceDirectory.getParent())) {
+            return false;
+        }
+        return FileSystemFileStorage.DEFAULT_FILES_STORAGE_PATH.equals(directory.getFileName()
+                                                                                .toString());
+    }
+
+    private void append(IndexEntry entry) throws IOException {
+        Path bucket = indexPath.resolve(Long.toString(getBucketStart(entry.getModified())));
+        Files.createDirectories(bucket);
+        Files.write(bucket.resolve(entry.getSpace() + LOG_EXTENSION), toLine(entry).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private List<IndexEntry> read(Path log, String space) throws IOException {
+        List<IndexEntry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(log, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(FIELD_SEPARATOR, -1);
+                if (fields.length == 3) {
+                    String namespace = fields[1].isEmpty() ? null : fields[1];
+                    entries.add(new IndexEntry(fields[0], space, namespace, Long.parseLong(fields[2])));
+                }
+            }
+        }
+        return entries;
+    }
+
+    private String toLine(IndexEntry entry) {
+        String namespace = entry.getNamespace() == null ? "" : entry.getNamespace();
+        return entry.getId() + FIELD_SEPARATOR + namespace + FIELD_SEPARATOR + entry.getModified() + System.lineSeparator();
+    }
+
+    private List<Path> listBuckets() throws IOException {
+        return list(indexPath, Files::isDirectory);
+    }
+
+    private List<Path> listLogs(Path bucket) throws IOException {
+        return list(bucket, path -> path.getFileName()
+                                        .toString()
+                                        .endsWith(LOG_EXTENSION));
+    }
+
+    private List<Path> list(Path directory, DirectoryStream.Filter<Path> filter) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return paths;
+        }
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory, filter)) {
+            directoryStream.forEach(paths::add);
+        }
+        return paths;
+    }
+
+    private String getSpace(Path log) {
+        String fileName = log.getFileName()
+                             .toString();
+        return fileName.substring(0, fileName.length() - LOG_EXTENSION.length());
+    }
+
+    private long getBucketStart(Path bucket) {
+        return Long.parseLong(bucket.getFileName()
+                                    .toString());
+    }
+
+    private long getBucketStart(long modificationTime) {
+        return modificationTime - Math.floorMod(modificationTime, bucketMillis);
+    }
+
+    private boolean isOpen(long bucketStart) {
+        return bucketStart + bucketMillis > System.currentTimeMillis();
+    }
+
+    @FunctionalInterface
+    private interface IndexOperation<T> {
+
+        T execute() throws IOException;
+
+    }
+
+    interface EntryRemover {
+
+        /**
+         * @return whether the file of the entry was removed
+         */
+        boolean remove(IndexEntry entry) throws IOException;
+
+    }
+
+    static class IndexEntry {
+
+        private final String id;
+        private final String space;
+        private final String namespace;
+        private final long modified;
+
+        IndexEntry(String id, String space, String namespace, long modified) {
+            this.id = id;
+            this.space = space;
+            this.namespace = namespace;
+            this.modified = modified;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        String getSpace() {
+            return space;
+        }
+
+        String getNamespace() {
+            return namespace;
+        }
+
+        long getModified() {
+            return modified;
+        }
+
+    }
+
+}
@@ -15,7 +15,10 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
@@ -27,9 +30,10 @@ import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
 
 public class FileSystemFileStorage implements FileStorage {
 
-    private static final String DEFAULT_FILES_STORAGE_PATH = "files";
+    static final String DEFAULT_FILES_STORAGE_PATH = "files";
 
     private final String storagePath;
+    private final FileSystemFileIndex index;
 
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
@@ -38,27 +42,74 @@ public class FileSystemFileStorage implements FileStorage {
     }
 
     public FileSystemFileStorage(String storagePath) {
+        this(storagePath, false);
+    }
+
+    /**
+     * @param indexed whether to keep an index of the stored files, which lets deletes by age, space and namespace skip walking the whole
+     *        storage. Without an index, files are deleted by space and namespace by walking the directory of the space.
+     */
+    public FileSystemFileStorage(String storagePath, boolean indexed) {
         this.storagePath = storagePath;
+        this.index = indexed ? new FileSystemFileIndex(Paths.get(storagePath), FileSystemFileIndex.DEFAULT_BUCKET_MILLIS) : null;
     }
 
     @Override
     public void addFile(FileEntry fileEntry, File file) throws FileStorageException {
         try (InputStream fileInputStream = Files.newInputStream(file.toPath())) {
-            Path filesDirectory = getFilesDirectory(fileEntry.getSpace());
-            Path newFilePath = Paths.get(filesDirectory.toString(), fileEntry.getId());
-            logger.trace(MessageFormat.format(Messages.STORING_FILE_TO_PATH_0, newFilePath));
-            Files.copy(fileInputStream, newFilePath, StandardCopyOption.REPLACE_EXISTING);
-            File newFile = newFilePath.toFile();
-            if (!newFile.exists()) {
-                throw new FileStorageException(MessageFormat.format(Messages.FILE_UPLOAD_FAILED, fileEntry.getName(),
-                                                                    fileEntry.getNamespace()));
-            }
-            logger.debug(MessageFormat.format(Messages.STORED_FILE_0_WITH_SIZE_1_SUCCESSFULLY_2, newFile, newFile.length()));
+            storeFile(fileEntry, fileInputStream);
         } catch (IOException e) {
             throw new FileStorageException(e.getMessage(), e);
         }
     }
 
+    @Override
+    public void addFile(FileEntry fileEntry, InputStream content) throws FileStorageException {
+        Path newFilePath = null;
+        try {
+            newFilePath = getFilePath(fileEntry);
+            storeFile(fileEntry, content);
+        } catch (IOException e) {
+            deletePartiallyStoredFile(newFilePath);
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
+    private void storeFile(FileEntry fileEntry, InputStream content) throws IOException, FileStorageException {
+        Path newFilePath = getFilePath(fileEntry);
+        logger.trace(MessageFormat.format(Messages.STORING_FILE_TO_PATH_0, newFilePath));
+        Files.copy(content, newFilePath, StandardCopyOption.REPLACE_EXISTING);
+        File newFile = newFilePath.toFile();
+        if (!newFile.exists()) {
+            throw new FileStorageException(MessageFormat.format(Messages.FILE_UPLOAD_FAILED, fileEntry.getName(),
+                                                                fileEntry.getNamespace()));
+        }
+        logger.debug(MessageFormat.format(Messages.STORED_FILE_0_WITH_SIZE_1_SUCCESSFULLY_2, newFile, newFile.length()));
+        if (index != null) {
+            index.add(createIndexEntry(fileEntry));
+        }
+    }
+
+    private FileSystemFileIndex.IndexEntry createIndexEntry(FileEntry fileEntry) {
+        long modified = System.currentTimeMillis();
+        if (fileEntry.getModified() != null) {
+            modified = fileEntry.getModified()
+                                .getTime();
+        }
+        return new FileSystemFileIndex.IndexEntry(fileEntry.getId(), fileEntry.getSpace(), fileEntry.getNamespace(), modified);
+    }
+
+    private void deletePartiallyStoredFile(Path filePath) {
+        if (filePath == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(filePath);
+        } catch (IOException e) {
+            logger.warn(MessageFormat.format(Messages.FAILED_TO_DELETE_FILE, filePath), e);
+        }
+    }
+
     @Override
     public List<FileEntry> getFileEntriesWithoutContent(List<FileEntry> fileEntries) throws FileStorageException {
         List<FileEntry> entriesWithoutContent = new ArrayList<>();
@@ -89,28 +140,94 @@ public class FileSystemFileStorage implements FileStorage {
             if (spaceDirectory.exists()) {
                 FileUtils.deleteDirectory(spaceDirectory);
             }
+            if (index != null) {
+                index.removeBySpace(space, entry -> true);
+            }
         } catch (IOException e) {
             throw new FileStorageException(MessageFormat.format(Messages.ERROR_DELETING_DIRECTORY, spaceDirectory), e);
         }
     }
 
     @Override
-    public void deleteFilesBySpaceAndNamespace(String space, String namespace) {
-        throw new UnsupportedOperationException();
+    public void deleteFilesBySpaceAndNamespace(String space, String namespace, List<FileEntry> fileEntries) throws FileStorageException {
+        try {
+            int deletedFiles;
+            if (index != null) {
+                deletedFiles = index.removeBySpaceAndNamespace(space, namespace, getIds(fileEntries), this::deleteIndexedFile);
+            } else {
+                deletedFiles = deleteFilesInSpaceDirectory(space, getIds(fileEntries));
+            }
+            logger.debug(MessageFormat.format(Messages.DELETED_0_FILES_WITH_SPACE_1_AND_NAMESPACE_2, deletedFiles, space, namespace));
+        } catch (IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
+    }
+
+    private Set<String> getIds(List<FileEntry> fileEntries) {
+        return fileEntries.stream()
+                          .map(FileEntry::getId)
+                          .collect(Collectors.toSet());
+    }
+
+    /**
+     * The namespace of a file is not kept in the storage, so the files of a namespace are found by their IDs in a single walk over the
+     * directory of the space.
+     */
+    private int deleteFilesInSpaceDirectory(String space, Set<String> ids) throws IOException {
+        Path filesDirectory = getFilesPerSpaceDirectory(space);
+        if (ids.isEmpty() || !Files.isDirectory(filesDirectory)) {
+            return 0;
+        }
+        AtomicInteger deletedFiles = new AtomicInteger();
+        Files.walkFileTree(filesDirectory, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (ids.contains(file.getFileName()
+                                     .toString())) {
+                    logger.trace(MessageFormat.format(Messages.DELETING_FILE_WITH_PATH_0, file.toString()));
+                    boolean deleted = Files.deleteIfExists(file);
+                    logger.debug(MessageFormat.format(Messages.DELETED_FILE_0_SUCCESSFULLY_1, file.toString(), deleted));
+                    if (deleted) {
+                        deletedFiles.incrementAndGet();
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return deletedFiles.intValue();
     }
 
     @Override
-    public int deleteFilesModifiedBefore(Date modificationTime) throws FileStorageException {
+    public int deleteFilesModifiedBefore(Date modificationTime, Predicate<FileEntry> filter) throws FileStorageException {
+        if (index != null) {
+            try {
+                return index.removeModifiedBefore(modificationTime.getTime(),
+                                                  entry -> filter.test(createFileEntry(entry.getSpace(), entry.getId())),
+                                                  this::deleteIndexedFile);
+            } catch (IOException e) {
+                throw new FileStorageException(e.getMessage(), e);
+            }
+        }
         AtomicInteger deletedFiles = new AtomicInteger();
         final FileTime modificationTimeUpperBound = FileTime.fromMillis(modificationTime.getTime());
+        final Path storageRoot = Paths.get(storagePath);
         try {
 
-            Files.walkFileTree(Paths.get(storagePath), new SimpleFileVisitor<Path>() {
+            Files.walkFileTree(storageRoot, new SimpleFileVisitor<Path>() {
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (isInternalDirectory(storageRoot, dir)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return super.preVisitDirectory(dir, attrs);
+                }
 
                 @Override
                 public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
                     if (attrs.lastModifiedTime()
-                             .compareTo(modificationTimeUpperBound) < 0) {
+                             .compareTo(modificationTimeUpperBound) < 0 && filter.test(createFileEntry(storageRoot, file))) {
                         logger.trace(MessageFormat.format(Messages.DELETING_FILE_WITH_PATH_0, file.toString()));
                         boolean deleted = Files.deleteIfExists(file);
                         logger.debug(MessageFormat.format(Messages.DELETED_FILE_0_SUCCESSFULLY_1, file.toString(), deleted));
@@ -128,6 +245,37 @@ public class FileSystemFileStorage implements FileStorage {
         return deletedFiles.intValue();
     }
 
+    /**
+     * The directories in the root of the storage, whose names start with a dot, are not spaces. They hold data like the index of the files
+     * or the sessions of chunked uploads, which are not cleaned up together with the stored files.
+     */
+    private static boolean isInternalDirectory(Path storageRoot, Path directory) {
+        return storageRoot.equals(directory.getParent()) && directory.getFileName()
+                                                                     .toString()
+                                                                     .startsWith(".");
+    }
+
+    /**
+     * The files are stored in the files directory of their space, so the space is the name of the grandparent directory of the file.
+     */
+    private FileEntry createFileEntry(Path storageRoot, Path file) {
+        Path spaceDirectory = file.getParent()
+                                  .getParent();
+        String space = storageRoot.equals(spaceDirectory.getParent()) ? spaceDirectory.getFileName()
+                                                                                      .toString()
+            : null;
+        return createFileEntry(space, file.getFileName()
+                                          .toString());
+    }
+
+    private boolean deleteIndexedFile(FileSystemFileIndex.IndexEntry entry) throws IOException {
+        Path filePath = getFilesPerSpaceDirectory(entry.getSpace()).resolve(entry.getId());
+        logger.trace(MessageFormat.format(Messages.DELETING_FILE_WITH_PATH_0, filePath.toString()));
+        boolean deleted = Files.deleteIfExists(filePath);
+        logger.debug(MessageFormat.format(Messages.DELETED_FILE_0_SUCCESSFULLY_1, filePath.toString(), deleted));
+        return deleted;
+    }
+
     @Override
     public <T> T processFileContent(String space, String id, FileContentProcessor<T> fileContentProcessor) throws FileStorageException {
         FileEntry fileEntry = createFileEntry(space, id);
@@ -152,7 +300,7 @@ public class FileSystemFileStorage implements FileStorage {
     private InputStream getFileContentStream(FileEntry fileEntry) throws IOException {
         Path fileLocation = getFilePath(fileEntry);
         logger.trace(MessageFormat.format(Messages.PROCESSING_FILE_0, fileLocation));
-        return Files.newInputStream(fileLocation);
+        return new LocalFileInputStream(fileLocation);
     }
 
     public String getStoragePath() {
@@ -0,0 +1,25 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The content of a file, which is stored on the local disk. A {@link FileContentProcessor}, which needs random access to the content, can
+ * read the file directly instead of consuming the stream. The file must not be used after the stream is closed.
+ */
+public class LocalFileInputStream extends FilterInputStream {
+
+    private final Path path;
+
+    public LocalFileInputStream(Path path) throws IOException {
+        super(Files.newInputStream(path));
+        this.path = path;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+}
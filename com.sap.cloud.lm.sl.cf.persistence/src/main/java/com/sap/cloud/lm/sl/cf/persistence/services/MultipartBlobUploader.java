@@ -0,0 +1,215 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.io.IOUtils;
+import org.jclouds.blobstore.BlobStore;
+import org.jclouds.blobstore.domain.BlobMetadata;
+import org.jclouds.blobstore.domain.MultipartPart;
+import org.jclouds.blobstore.domain.MultipartUpload;
+import org.jclouds.blobstore.options.PutOptions;
+import org.jclouds.http.HttpResponseException;
+import org.jclouds.io.Payload;
+import org.jclouds.io.Payloads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.io.ByteSource;
+import com.google.common.io.Files;
+import com.sap.cloud.lm.sl.cf.persistence.Messages;
+import com.sap.cloud.lm.sl.common.util.MiscUtil;
+
+/**
+ * Uploads blobs through the multipart API of a blob store. The parts of a blob are uploaded concurrently and each of them is retried on its
+ * own with an exponential backoff, so that a transient error does not restart the whole upload. At most {@code parallelParts} parts of a
+ * blob are uploaded or buffered at any given time.
+ */
+class MultipartBlobUploader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultipartBlobUploader.class);
+
+    private final BlobStore blobStore;
+    private final String container;
+    private final int parallelParts;
+    private final int retries;
+    private final LongSupplier retryBaseWaitTime;
+    private final ExecutorService executor;
+    private final ObjectStoreUploadMetrics metrics;
+
+    MultipartBlobUploader(BlobStore blobStore, String container, int parallelParts, int retries, LongSupplier retryBaseWaitTime,
+                          ExecutorService executor, ObjectStoreUploadMetrics metrics) {
+        this.blobStore = blobStore;
+        this.container = container;
+        this.parallelParts = parallelParts;
+        this.retries = retries;
+        this.retryBaseWaitTime = retryBaseWaitTime;
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return the number of uploaded bytes
+     */
+    long upload(BlobMetadata blobMetadata, File file, long partSize) throws IOException {
+        ByteSource content = Files.asByteSource(file);
+        long fileSize = file.length();
+        long[] nextPartStart = { 0 };
+        return upload(blobMetadata, () -> {
+            if (nextPartStart[0] >= fileSize) {
+                return null;
+            }
+            long start = nextPartStart[0];
+            long length = Math.min(partSize, fileSize - start);
+            nextPartStart[0] += length;
+            Payload part = Payloads.newByteSourcePayload(content.slice(start, length));
+            part.getContentMetadata()
+                .setContentLength(length);
+            return part;
+        });
+    }
+
+    /**
+     * The size of the content is not known in advance, so it is read part by part.
+     *
+     * @return the number of uploaded bytes
+     */
+    long upload(BlobMetadata blobMetadata, byte[] firstPart, InputStream content, int partSize) throws IOException {
+        byte[][] nextPart = { firstPart };
+        return upload(blobMetadata, () -> {
+            byte[] part = nextPart[0];
+            if (part.length == 0) {
+                return null;
+            }
+            nextPart[0] = part.length < partSize ? new byte[0] : readPart(content, partSize);
+            return Payloads.newByteArrayPayload(part);
+        });
+    }
+
+    static byte[] readPart(InputStream content, int partSize) throws IOException {
+        byte[] part = new byte[partSize];
+        int bytesRead = IOUtils.read(content, part);
+        return bytesRead == part.length ? part : Arrays.copyOf(part, bytesRead);
+    }
+
+    private long upload(BlobMetadata blobMetadata, PartSource partSource) throws IOException {
+        long startTime = System.nanoTime();
+        MultipartUpload multipartUpload = blobStore.initiateMultipartUpload(container, blobMetadata, new PutOptions());
+        Deque<Future<MultipartPart>> pendingParts = new ArrayDeque<>();
+        AtomicBoolean aborted = new AtomicBoolean();
+        try {
+            List<MultipartPart> parts = new ArrayList<>();
+            long size = 0;
+            for (Payload part = partSource.nextPart(); part != null; part = partSource.nextPart()) {
+                if (pendingParts.size() == parallelParts) {
+                    parts.add(getPart(pendingParts.poll()));
+                }
+                int partNumber = parts.size() + pendingParts.size() + 1;
+                Payload partPayload = part;
+                pendingParts.add(executor.submit(() -> uploadPartWithRetries(multipartUpload, partNumber, partPayload, aborted)));
+                size += part.getContentMetadata()
+                            .getContentLength();
+            }
+            while (!pendingParts.isEmpty()) {
+                parts.add(getPart(pendingParts.poll()));
+            }
+            blobStore.completeMultipartUpload(multipartUpload, parts);
+            metrics.recordUpload(size, System.nanoTime() - startTime);
+            return size;
+        } catch (IOException | RuntimeException e) {
+            aborted.set(true);
+            waitForPendingParts(pendingParts, e);
+            blobStore.abortMultipartUpload(multipartUpload);
+            throw e;
+        }
+    }
+
+    /**
+     * The parts, which are still being uploaded, are waited for before the multipart upload is aborted. Otherwise, they could be stored
+     * after the abort and remain in the blob store as parts of an unknown upload. The parts, which have not been started yet, are skipped.
+     */
+    private void waitForPendingParts(Deque<Future<MultipartPart>> pendingParts, Exception uploadFailure) {
+        for (Future<MultipartPart> pendingPart : pendingParts) {
+            try {
+                getPart(pendingPart);
+            } catch (InterruptedIOException e) {
+                uploadFailure.addSuppressed(e);
+                return;
+            } catch (IOException | RuntimeException e) {
+                uploadFailure.addSuppressed(e);
+            }
+        }
+    }
+
+    private MultipartPart uploadPartWithRetries(MultipartUpload multipartUpload, int partNumber, Payload part, AtomicBoolean aborted) {
+        for (int i = 1;; i++) {
+            if (aborted.get()) {
+                return null;
+            }
+            try {
+                MultipartPart uploadedPart = blobStore.uploadMultipartPart(multipartUpload, partNumber, part);
+                metrics.recordUploadedPart();
+                return uploadedPart;
+            } catch (HttpResponseException e) {
+                LOGGER.warn(MessageFormat.format(Messages.ATTEMPT_TO_UPLOAD_BLOB_PART_FAILED, i, retries, partNumber,
+                                                 multipartUpload.blobName(), e.getMessage()),
+                            e);
+                if (i == retries) {
+                    throw e;
+                }
+                metrics.recordRetriedPart();
+            }
+            MiscUtil.sleep(getRetryWaitTime(i));
+        }
+    }
+
+    /**
+     * Doubles the wait time with every attempt and randomizes its second half, so that parts which failed together are not retried at the
+     * same time.
+     */
+    private long getRetryWaitTime(int attempt) {
+        long waitTime = retryBaseWaitTime.getAsLong() << (attempt - 1);
+        return waitTime / 2 + ThreadLocalRandom.current()
+                                               .nextLong(waitTime / 2 + 1);
+    }
+
+    private MultipartPart getPart(Future<MultipartPart> part) throws IOException {
+        try {
+            return part.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface PartSource {
+
+        /**
+         * @return the next part of the content or {@code null}, if the whole content was read
+         */
+        Payload nextPart() throws IOException;
+
+    }
+
+}
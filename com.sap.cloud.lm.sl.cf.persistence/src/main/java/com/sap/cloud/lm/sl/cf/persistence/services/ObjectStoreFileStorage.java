@@ -1,6 +1,7 @@
 package com.sap.cloud.lm.sl.cf.persistence.services;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.text.MessageFormat;
 import java.util.Date;
@@ -9,15 +10,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.IOUtils;
 import org.jclouds.blobstore.BlobStore;
 import org.jclouds.blobstore.ContainerNotFoundException;
 import org.jclouds.blobstore.domain.Blob;
+import org.jclouds.blobstore.domain.BlobMetadata;
 import org.jclouds.blobstore.domain.StorageMetadata;
+import org.jclouds.blobstore.options.GetOptions;
 import org.jclouds.blobstore.options.ListContainerOptions;
-import org.jclouds.blobstore.options.PutOptions;
 import org.jclouds.http.HttpResponseException;
 import org.jclouds.io.Payload;
 import org.slf4j.Logger;
@@ -25,6 +33,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.CollectionUtils;
 
 import com.google.common.net.MediaType;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.sap.cloud.lm.sl.cf.persistence.Constants;
 import com.sap.cloud.lm.sl.cf.persistence.Messages;
 import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
@@ -36,20 +45,72 @@ public class ObjectStoreFileStorage implements FileStorage {
     private static final Logger LOGGER = LoggerFactory.getLogger(ObjectStoreFileStorage.class);
 
     private static final long RETRY_BASE_WAIT_TIME_IN_MILLIS = 5000L;
+    private static final int RETRIES = 3;
+    private static final long RANGED_DOWNLOAD_DISABLED = Long.MAX_VALUE;
+    private static final int UPLOAD_PART_SIZE = 5 * 1024 * 1024; // 5 MB, the minimum part size of most providers
+    private static final int MAX_UPLOAD_PARTS = 1000;
+    static final int MAX_CONCURRENT_RANGED_DOWNLOADS = 4;
+    static final int MAX_CONCURRENT_MULTIPART_UPLOADS = 4;
 
     private final BlobStore blobStore;
     private final String container;
+    private final long rangedDownloadThreshold;
+    private final long rangeSize;
+    private final int parallelRanges;
+    private final ExecutorService rangeDownloadExecutor;
+    private final ExecutorService deleteExecutor;
+    private final ObjectStoreUploadMetrics uploadMetrics = new ObjectStoreUploadMetrics();
+    private final MultipartBlobUploader multipartBlobUploader;
 
     public ObjectStoreFileStorage(BlobStore blobStore, String container) {
+        this(blobStore, container, ImmutableObjectStoreFileStorageConfiguration.builder()
+                                                                               .build());
+    }
+
+    /**
+     * The ranges and the parts of all blobs are downloaded and uploaded by at most {@value #MAX_CONCURRENT_RANGED_DOWNLOADS} and
+     * {@value #MAX_CONCURRENT_MULTIPART_UPLOADS} times as many threads as configured for a single blob.
+     */
+    public ObjectStoreFileStorage(BlobStore blobStore, String container, ObjectStoreFileStorageConfiguration configuration) {
         this.blobStore = blobStore;
         this.container = container;
+        this.rangedDownloadThreshold = configuration.getRangedDownloadThreshold();
+        this.rangeSize = configuration.getRangeSize();
+        this.parallelRanges = configuration.getParallelRanges();
+        this.rangeDownloadExecutor = isRangedDownloadEnabled() ? createRangeDownloadExecutor(parallelRanges) : null;
+        this.deleteExecutor = configuration.getParallelDeletes() > 1 ? createDeleteExecutor(configuration.getParallelDeletes()) : null;
+        int parallelUploadParts = configuration.getParallelUploadParts();
+        this.multipartBlobUploader = new MultipartBlobUploader(blobStore, container, parallelUploadParts, RETRIES, this::getRetryWaitTime,
+                                                               createUploadExecutor(parallelUploadParts), uploadMetrics);
+    }
+
+    private static ExecutorService createRangeDownloadExecutor(int parallelRanges) {
+        return Executors.newFixedThreadPool(parallelRanges * MAX_CONCURRENT_RANGED_DOWNLOADS,
+                                            new ThreadFactoryBuilder().setNameFormat("object-store-range-download-%d")
+                                                                      .setDaemon(true)
+                                                                      .build());
+    }
+
+    private static ExecutorService createUploadExecutor(int parallelUploadParts) {
+        return Executors.newFixedThreadPool(parallelUploadParts * MAX_CONCURRENT_MULTIPART_UPLOADS,
+                                            new ThreadFactoryBuilder().setNameFormat("object-store-upload-%d")
+                                                                      .setDaemon(true)
+                                                                      .build());
+    }
+
+    private static ExecutorService createDeleteExecutor(int parallelDeletes) {
+        return Executors.newFixedThreadPool(parallelDeletes, new ThreadFactoryBuilder().setNameFormat("object-store-delete-%d")
+                                                                                       .setDaemon(true)
+                                                                                       .build());
     }
 
+    /**
+     * Files bigger than a single part are uploaded in parts, whose size grows with the size of the file.
+     */
     @Override
     public void addFile(FileEntry fileEntry, File file) throws FileStorageException {
         String entryName = fileEntry.getId();
-        long fileSize = fileEntry.getSize()
-                                 .longValue();
+        long fileSize = file.length();
         Blob blob = blobStore.blobBuilder(entryName)
                              .payload(file)
                              .contentDisposition(fileEntry.getName())
@@ -57,14 +118,68 @@ public class ObjectStoreFileStorage implements FileStorage {
                              .userMetadata(createFileEntryMetadata(fileEntry))
                              .build();
         try {
-            putBlobWithRetries(blob, 3);
+            long partSize = getPartSize(fileSize);
+            if (fileSize <= partSize) {
+                putBlobWithRetries(blob, fileSize, RETRIES);
+            } else {
+                multipartBlobUploader.upload(blob.getMetadata(), file, partSize);
+            }
             LOGGER.debug(MessageFormat.format(Messages.STORED_FILE_0_WITH_SIZE_1_SUCCESSFULLY_2, fileEntry.getId(), fileSize));
+        } catch (IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
         } catch (ContainerNotFoundException e) {
             throw new FileStorageException(MessageFormat.format(Messages.FILE_UPLOAD_FAILED, fileEntry.getName(),
                                                                 fileEntry.getNamespace()));
         }
     }
 
+    @Override
+    public void addFile(FileEntry fileEntry, InputStream content) throws FileStorageException {
+        try {
+            byte[] firstPart = readPart(content);
+            long fileSize;
+            if (firstPart.length < UPLOAD_PART_SIZE) {
+                putBlobWithRetries(createBlob(fileEntry, firstPart), firstPart.length, RETRIES);
+                fileSize = firstPart.length;
+            } else {
+                fileSize = multipartBlobUploader.upload(createBlob(fileEntry, firstPart).getMetadata(), firstPart, content,
+                                                        UPLOAD_PART_SIZE);
+            }
+            LOGGER.debug(MessageFormat.format(Messages.STORED_FILE_0_WITH_SIZE_1_SUCCESSFULLY_2, fileEntry.getId(), fileSize));
+        } catch (IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        } catch (ContainerNotFoundException e) {
+            throw new FileStorageException(MessageFormat.format(Messages.FILE_UPLOAD_FAILED, fileEntry.getName(),
+                                                                fileEntry.getNamespace()));
+        }
+    }
+
+    private Blob createBlob(FileEntry fileEntry, byte[] content) {
+        return blobStore.blobBuilder(fileEntry.getId())
+                        .payload(content)
+                        .contentDisposition(fileEntry.getName())
+                        .contentType(MediaType.OCTET_STREAM.toString())
+                        .userMetadata(createFileEntryMetadata(fileEntry))
+                        .build();
+    }
+
+    private byte[] readPart(InputStream content) throws IOException {
+        return MultipartBlobUploader.readPart(content, UPLOAD_PART_SIZE);
+    }
+
+    /**
+     * Keeps the number of parts of a file below {@link #MAX_UPLOAD_PARTS} and within the part size limits of the provider.
+     */
+    private long getPartSize(long fileSize) {
+        int maxParts = Math.min(MAX_UPLOAD_PARTS, blobStore.getMaximumNumberOfParts());
+        long partSize = Math.max(Math.max(UPLOAD_PART_SIZE, blobStore.getMinimumMultipartPartSize()), (fileSize + maxParts - 1) / maxParts);
+        return Math.min(partSize, blobStore.getMaximumMultipartPartSize());
+    }
+
+    public ObjectStoreUploadMetrics getUploadMetrics() {
+        return uploadMetrics;
+    }
+
     @Override
     public List<FileEntry> getFileEntriesWithoutContent(List<FileEntry> fileEntries) {
         Set<String> existingFiles = blobStore.list(container)
@@ -85,29 +200,76 @@ public class ObjectStoreFileStorage implements FileStorage {
         blobStore.removeBlob(container, id);
     }
 
+    /**
+     * Removes the blobs of the file entries one by one, without listing the container. Up to the configured number of parallel deletes are
+     * removed concurrently. All blobs are attempted, even if some of them could not be removed.
+     */
+    @Override
+    public void deleteFiles(List<FileEntry> fileEntries) throws FileStorageException {
+        if (deleteExecutor == null) {
+            fileEntries.forEach(fileEntry -> blobStore.removeBlob(container, fileEntry.getId()));
+        } else {
+            removeBlobsConcurrently(fileEntries);
+        }
+        LOGGER.debug(MessageFormat.format(Messages.DELETED_0_BLOBS, fileEntries.size()));
+    }
+
+    private void removeBlobsConcurrently(List<FileEntry> fileEntries) throws FileStorageException {
+        List<Future<?>> deletions = fileEntries.stream()
+                                               .map(fileEntry -> deleteExecutor.submit(() -> blobStore.removeBlob(container,
+                                                                                                                  fileEntry.getId())))
+                                               .collect(Collectors.toList());
+        FileStorageException exception = null;
+        for (int i = 0; i < deletions.size(); i++) {
+            try {
+                deletions.get(i)
+                         .get();
+            } catch (ExecutionException e) {
+                String id = fileEntries.get(i)
+                                       .getId();
+                LOGGER.warn(MessageFormat.format(Messages.ERROR_DELETING_FILE_WITH_ID, id), e.getCause());
+                if (exception == null) {
+                    exception = new FileStorageException(MessageFormat.format(Messages.ERROR_DELETING_FILE_WITH_ID, id), e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                throw new FileStorageException(e);
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
     @Override
     public void deleteFilesBySpace(String space) {
         removeBlobsByFilter(blob -> filterBySpace(blob, space));
     }
 
     @Override
-    public void deleteFilesBySpaceAndNamespace(String space, String namespace) {
+    public void deleteFilesBySpaceAndNamespace(String space, String namespace, List<FileEntry> fileEntries) {
         removeBlobsByFilter(blob -> filterBySpaceAndNamespace(blob, space, namespace));
     }
 
     @Override
-    public int deleteFilesModifiedBefore(Date modificationTime) {
-        return removeBlobsByFilter(blob -> filterByModificationTime(blob, modificationTime));
+    public int deleteFilesModifiedBefore(Date modificationTime, Predicate<FileEntry> filter) {
+        return removeBlobsByFilter(blob -> filterByModificationTime(blob, modificationTime) && filter.test(createFileEntry(blob)));
     }
 
     @Override
     public <T> T processFileContent(String space, String id, FileContentProcessor<T> fileContentProcessor) throws FileStorageException {
         FileEntry fileEntry = createFileEntry(space, id);
         try {
-            Blob blob = getBlobWithRetries(fileEntry, 3);
+            if (isRangedDownloadEnabled()) {
+                long blobSize = getBlobSize(fileEntry);
+                if (blobSize > rangedDownloadThreshold) {
+                    return processRangedContent(fileContentProcessor, fileEntry, blobSize);
+                }
+            }
+            Blob blob = getBlobWithRetries(fileEntry, RETRIES);
             if (blob == null) {
-                throw new FileStorageException(MessageFormat.format(Messages.FILE_WITH_ID_AND_SPACE_DOES_NOT_EXIST, fileEntry.getId(),
-                                                                    fileEntry.getSpace()));
+                throw createFileDoesNotExistException(fileEntry);
             }
             Payload payload = blob.getPayload();
             return processContent(fileContentProcessor, payload);
@@ -116,6 +278,25 @@ public class ObjectStoreFileStorage implements FileStorage {
         }
     }
 
+    private boolean isRangedDownloadEnabled() {
+        return rangedDownloadThreshold != RANGED_DOWNLOAD_DISABLED;
+    }
+
+    private long getBlobSize(FileEntry fileEntry) throws FileStorageException {
+        BlobMetadata blobMetadata = getWithRetries(fileEntry, RETRIES, () -> blobStore.blobMetadata(container, fileEntry.getId()));
+        if (blobMetadata == null) {
+            throw createFileDoesNotExistException(fileEntry);
+        }
+        Long blobSize = blobMetadata.getContentMetadata()
+                                    .getContentLength();
+        return blobSize == null ? 0 : blobSize;
+    }
+
+    private FileStorageException createFileDoesNotExistException(FileEntry fileEntry) {
+        return new FileStorageException(MessageFormat.format(Messages.FILE_WITH_ID_AND_SPACE_DOES_NOT_EXIST, fileEntry.getId(),
+                                                             fileEntry.getSpace()));
+    }
+
     private FileEntry createFileEntry(String space, String id) {
         return ImmutableFileEntry.builder()
                                  .space(space)
@@ -123,6 +304,12 @@ public class ObjectStoreFileStorage implements FileStorage {
                                  .build();
     }
 
+    private FileEntry createFileEntry(StorageMetadata blobMetadata) {
+        Map<String, String> userMetadata = blobMetadata.getUserMetadata();
+        String space = CollectionUtils.isEmpty(userMetadata) ? null : userMetadata.get(Constants.FILE_ENTRY_SPACE.toLowerCase());
+        return createFileEntry(space, blobMetadata.getName());
+    }
+
     private <T> T processContent(FileContentProcessor<T> fileContentProcessor, Payload payload) throws FileStorageException {
         try (InputStream fileContentStream = payload.openStream()) {
             return fileContentProcessor.process(fileContentStream);
@@ -131,11 +318,60 @@ public class ObjectStoreFileStorage implements FileStorage {
         }
     }
 
-    private void putBlobWithRetries(Blob blob, int retries) {
-        for (int i = 1; i <= retries; i++) {
+    private <T> T processRangedContent(FileContentProcessor<T> fileContentProcessor, FileEntry fileEntry, long blobSize)
+        throws FileStorageException {
+        try (InputStream fileContentStream = new RangedBlobInputStream((start, end) -> downloadRangeWithRetries(fileEntry, start, end),
+                                                                       blobSize, rangeSize, parallelRanges, rangeDownloadExecutor)) {
+            return fileContentProcessor.process(fileContentStream);
+        } catch (Exception e) {
+            throw new FileStorageException(e);
+        }
+    }
+
+    private byte[] downloadRangeWithRetries(FileEntry fileEntry, long start, long end) throws IOException {
+        for (int i = 1;; i++) {
+            try {
+                return downloadRange(fileEntry, start, end);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn(MessageFormat.format(Messages.ATTEMPT_TO_DOWNLOAD_BLOB_RANGE_FAILED, i, RETRIES, start, end, fileEntry.getId(),
+                                                 e.getMessage()),
+                            e);
+                if (i == RETRIES) {
+                    throw e;
+                }
+            }
+            MiscUtil.sleep(i * getRetryWaitTime());
+        }
+    }
+
+    private byte[] downloadRange(FileEntry fileEntry, long start, long end) throws IOException {
+        Blob blob = blobStore.getBlob(container, fileEntry.getId(), GetOptions.Builder.range(start, end));
+        if (blob == null) {
+            throw new IOException(MessageFormat.format(Messages.FILE_WITH_ID_AND_SPACE_DOES_NOT_EXIST, fileEntry.getId(),
+                                                       fileEntry.getSpace()));
+        }
+        try (InputStream rangeContentStream = blob.getPayload()
+                                                  .openStream()) {
+            byte[] rangeContent = IOUtils.toByteArray(rangeContentStream);
+            long expectedLength = end - start + 1;
+            if (rangeContent.length != expectedLength) {
+                throw new IOException(MessageFormat.format(Messages.UNEXPECTED_BLOB_RANGE_LENGTH, rangeContent.length, start, end,
+                                                           expectedLength));
+            }
+            return rangeContent;
+        }
+    }
+
+    private void putBlobWithRetries(Blob blob, long size, int retries) {
+        long startTime = System.nanoTime();
+        uploadWithRetries(() -> blobStore.putBlob(container, blob), retries);
+        uploadMetrics.recordUpload(size, System.nanoTime() - startTime);
+    }
+
+    private <T> T uploadWithRetries(Supplier<T> upload, int retries) {
+        for (int i = 1;; i++) {
             try {
-                blobStore.putBlob(container, blob, PutOptions.Builder.multipart());
-                return;
+                return upload.get();
             } catch (HttpResponseException e) {
                 LOGGER.warn(MessageFormat.format(Messages.ATTEMPT_TO_UPLOAD_BLOB_FAILED, i, retries, e.getMessage()), e);
                 if (i == retries) {
@@ -147,10 +383,14 @@ public class ObjectStoreFileStorage implements FileStorage {
     }
 
     private Blob getBlobWithRetries(FileEntry fileEntry, int retries) {
+        return getWithRetries(fileEntry, retries, () -> blobStore.getBlob(container, fileEntry.getId()));
+    }
+
+    private <T> T getWithRetries(FileEntry fileEntry, int retries, Supplier<T> getter) {
         for (int i = 1; i <= retries; i++) {
-            Blob blob = blobStore.getBlob(container, fileEntry.getId());
-            if (blob != null) {
-                return blob;
+            T result = getter.get();
+            if (result != null) {
+                return result;
             }
             LOGGER.warn(MessageFormat.format(Messages.ATTEMPT_TO_DOWNLOAD_MISSING_BLOB, i, retries, fileEntry.getId()));
             if (i == retries) {
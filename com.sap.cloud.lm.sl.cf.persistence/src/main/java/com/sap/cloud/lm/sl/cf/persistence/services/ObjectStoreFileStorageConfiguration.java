@@ -0,0 +1,50 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+public interface ObjectStoreFileStorageConfiguration {
+
+    /**
+     * @return the size in bytes, above which blobs are downloaded in ranges. By default, no blobs are downloaded in ranges.
+     */
+    @Value.Default
+    default long getRangedDownloadThreshold() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * @return the size of the ranges in bytes
+     */
+    @Value.Default
+    default long getRangeSize() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * @return the number of ranges of a single blob, which are downloaded concurrently. The ranges of all blobs are downloaded by a limited
+     *         multiple of this number of threads, so the ranges of further blobs wait for a free thread.
+     */
+    @Value.Default
+    default int getParallelRanges() {
+        return 1;
+    }
+
+    /**
+     * @return the number of blobs, which are removed concurrently when deleting a list of file entries
+     */
+    @Value.Default
+    default int getParallelDeletes() {
+        return 1;
+    }
+
+    /**
+     * @return the number of parts of a single blob, which are uploaded concurrently. The parts of all blobs are uploaded by a limited
+     *         multiple of this number of threads, so the parts of further blobs wait for a free thread.
+     */
+    @Value.Default
+    default int getParallelUploadParts() {
+        return 1;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the blobs, bytes and parts uploaded by an {@link ObjectStoreFileStorage} since it was created.
+ */
+public class ObjectStoreUploadMetrics {
+
+    private final AtomicLong uploadedBlobs = new AtomicLong();
+    private final AtomicLong uploadedBytes = new AtomicLong();
+    private final AtomicLong uploadTimeInNanos = new AtomicLong();
+    private final AtomicLong uploadedParts = new AtomicLong();
+    private final AtomicLong retriedParts = new AtomicLong();
+
+    void recordUpload(long bytes, long timeInNanos) {
+        uploadedBlobs.incrementAndGet();
+        uploadedBytes.addAndGet(bytes);
+        uploadTimeInNanos.addAndGet(timeInNanos);
+    }
+
+    void recordUploadedPart() {
+        uploadedParts.incrementAndGet();
+    }
+
+    void recordRetriedPart() {
+        retriedParts.incrementAndGet();
+    }
+
+    public long getUploadedBlobs() {
+        return uploadedBlobs.get();
+    }
+
+    public long getUploadedBytes() {
+        return uploadedBytes.get();
+    }
+
+    public long getUploadTimeInMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(uploadTimeInNanos.get());
+    }
+
+    /**
+     * @return the average number of bytes uploaded per second of a single upload
+     */
+    public long getUploadThroughput() {
+        long timeInNanos = uploadTimeInNanos.get();
+        if (timeInNanos == 0) {
+            return 0;
+        }
+        // Computed in floating point, as the product of the uploaded bytes and the nanoseconds in a second overflows a long after ~9GB:
+        return (long) ((double) uploadedBytes.get() * TimeUnit.SECONDS.toNanos(1) / timeInNanos);
+    }
+
+    public long getUploadedParts() {
+        return uploadedParts.get();
+    }
+
+    public long getRetriedParts() {
+        return retriedParts.get();
+    }
+
+}
@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigInteger;
 import java.nio.charset.Charset;
 import java.security.NoSuchAlgorithmException;
@@ -59,11 +60,68 @@ public class ProcessLogsPersistenceService extends DatabaseFileService {
         return builder.toString();
     }
 
+    /**
+     * Returns the persisted chunks of a log in the order in which they should be concatenated.
+     *
+     * @throws NotFoundException if the log does not exist
+     */
+    public List<FileEntry> getLogChunks(String space, String namespace, String logName) throws FileStorageException {
+        List<FileEntry> logChunks = getSortedByTimestampFiles(space, namespace, logName);
+        if (logChunks.isEmpty()) {
+            throw new NotFoundException(MessageFormat.format(Messages.ERROR_LOG_FILE_NOT_FOUND, logName, namespace, space));
+        }
+        return logChunks;
+    }
+
+    public static long getLogSize(List<FileEntry> logChunks) {
+        return logChunks.stream()
+                        .mapToLong(ProcessLogsPersistenceService::getSize)
+                        .sum();
+    }
+
+    /**
+     * Writes a range of the content of a log to the specified output stream, without loading the whole log in memory. The chunks, which
+     * are entirely outside of the range, are not read from the database at all.
+     *
+     * @param space the space of the log
+     * @param logChunks the chunks of the log, as returned by {@link #getLogChunks(String, String, String)}
+     * @param offset the offset of the first byte that should be written
+     * @param length the number of bytes that should be written
+     * @param outputStream the stream to which the content should be written
+     */
+    public void writeLogContent(String space, List<FileEntry> logChunks, long offset, long length, OutputStream outputStream)
+        throws FileStorageException {
+        long chunkStart = 0;
+        long end = offset + length;
+        for (FileEntry logChunk : logChunks) {
+            long chunkEnd = chunkStart + getSize(logChunk);
+            long startInChunk = Math.max(chunkStart, offset);
+            long endInChunk = Math.min(chunkEnd, end);
+            if (startInChunk < endInChunk) {
+                long offsetInChunk = startInChunk - chunkStart;
+                long lengthInChunk = endInChunk - startInChunk;
+                processFileContent(space, logChunk.getId(), offsetInChunk, lengthInChunk,
+                                   inputStream -> IOUtils.copyLarge(inputStream, outputStream));
+            }
+            chunkStart = chunkEnd;
+        }
+    }
+
+    private static long getSize(FileEntry fileEntry) {
+        BigInteger size = fileEntry.getSize();
+        return size == null ? 0 : size.longValue();
+    }
+
     private List<String> getSortedByTimestampFileIds(String space, String namespace, String fileName) throws FileStorageException {
+        return getSortedByTimestampFiles(space, namespace, fileName).stream()
+                                                                    .map(FileEntry::getId)
+                                                                    .collect(Collectors.toList());
+    }
+
+    private List<FileEntry> getSortedByTimestampFiles(String space, String namespace, String fileName) throws FileStorageException {
         List<FileEntry> listFiles = listFiles(space, namespace, fileName);
         return listFiles.stream()
                         .sorted(Comparator.comparing(FileEntry::getModified))
-                        .map(FileEntry::getId)
                         .collect(Collectors.toList());
     }
 
@@ -0,0 +1,115 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Reads the content of a blob by downloading consecutive byte ranges of it concurrently and returning them in order. At most
+ * {@code parallelRanges} ranges are downloaded or buffered at any given time, so the memory used by the stream does not depend on the size
+ * of the blob.
+ */
+class RangedBlobInputStream extends InputStream {
+
+    private final RangeDownloader rangeDownloader;
+    private final long blobSize;
+    private final long rangeSize;
+    private final int parallelRanges;
+    private final ExecutorService executor;
+    private final Deque<Future<byte[]>> pendingRanges = new ArrayDeque<>();
+    private long nextRangeStart;
+    private InputStream currentRange = new ByteArrayInputStream(new byte[0]);
+
+    RangedBlobInputStream(RangeDownloader rangeDownloader, long blobSize, long rangeSize, int parallelRanges, ExecutorService executor) {
+        this.rangeDownloader = rangeDownloader;
+        this.blobSize = blobSize;
+        this.rangeSize = rangeSize;
+        this.parallelRanges = parallelRanges;
+        this.executor = executor;
+        scheduleRangeDownloads();
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] buffer = new byte[1];
+        int bytesRead = read(buffer, 0, 1);
+        return bytesRead == -1 ? -1 : buffer[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        int bytesRead = currentRange.read(buffer, offset, length);
+        while (bytesRead == -1) {
+            if (!moveToNextRange()) {
+                return -1;
+            }
+            bytesRead = currentRange.read(buffer, offset, length);
+        }
+        return bytesRead;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return currentRange.available();
+    }
+
+    @Override
+    public void close() {
+        pendingRanges.forEach(range -> range.cancel(true));
+        pendingRanges.clear();
+        nextRangeStart = blobSize;
+    }
+
+    private boolean moveToNextRange() throws IOException {
+        Future<byte[]> nextRange = pendingRanges.poll();
+        if (nextRange == null) {
+            return false;
+        }
+        currentRange = new ByteArrayInputStream(getContent(nextRange));
+        scheduleRangeDownloads();
+        return true;
+    }
+
+    private void scheduleRangeDownloads() {
+        while (pendingRanges.size() < parallelRanges && nextRangeStart < blobSize) {
+            long start = nextRangeStart;
+            long end = Math.min(start + rangeSize, blobSize) - 1;
+            pendingRanges.add(executor.submit(() -> rangeDownloader.download(start, end)));
+            nextRangeStart = end + 1;
+        }
+    }
+
+    private byte[] getContent(Future<byte[]> range) throws IOException {
+        try {
+            return range.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            close();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            close();
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    interface RangeDownloader {
+
+        /**
+         * Downloads the bytes of the blob between {@code start} and {@code end}, inclusive.
+         */
+        byte[] download(long start, long end) throws IOException;
+
+    }
+
+}
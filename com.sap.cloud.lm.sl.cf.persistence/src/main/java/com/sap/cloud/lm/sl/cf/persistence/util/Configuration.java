@@ -5,17 +5,39 @@ public class Configuration {
     private static final long DEFAULT_MAX_UPLOAD_SIZE = 4 * 1024 * 1024 * 1024L; // 4GB
 
     private final long maxUploadSize;
+    private final boolean fileStorageIndexedByDatabase;
+    private final boolean fileStorageReconciliationEnabled;
 
     public Configuration() {
         this(DEFAULT_MAX_UPLOAD_SIZE);
     }
 
     public Configuration(long maxUploadSize) {
+        this(maxUploadSize, false, false);
+    }
+
+    /**
+     * @param fileStorageIndexedByDatabase whether the files to delete from the file storage are looked up in the database instead of being
+     *        listed from the file storage itself
+     * @param fileStorageReconciliationEnabled whether the whole file storage is still listed to find content without attributes in the
+     *        database, when it is indexed by the database
+     */
+    public Configuration(long maxUploadSize, boolean fileStorageIndexedByDatabase, boolean fileStorageReconciliationEnabled) {
         this.maxUploadSize = maxUploadSize;
+        this.fileStorageIndexedByDatabase = fileStorageIndexedByDatabase;
+        this.fileStorageReconciliationEnabled = fileStorageReconciliationEnabled;
     }
 
     public long getMaxUploadSize() {
         return maxUploadSize;
     }
 
+    public boolean isFileStorageIndexedByDatabase() {
+        return fileStorageIndexedByDatabase;
+    }
+
+    public boolean isFileStorageReconciliationEnabled() {
+        return fileStorageReconciliationEnabled;
+    }
+
 }
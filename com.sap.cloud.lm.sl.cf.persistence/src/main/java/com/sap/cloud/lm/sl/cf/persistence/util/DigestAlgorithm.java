@@ -0,0 +1,70 @@
+package com.sap.cloud.lm.sl.cf.persistence.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The algorithms supported by {@link DigestCalculator}. The {@link MessageDigest} instances of the cryptographic algorithms are reused by
+ * the calculators created on the same thread, since looking up a provider and allocating a new instance for every digest costs more than
+ * digesting a small file.
+ */
+public enum DigestAlgorithm {
+
+    MD5("MD5"), SHA_1("SHA-1"), SHA_256("SHA-256"),
+    /**
+     * A fast non-cryptographic hash, which is meant only for detecting changes of content. It must not be used for content, which could be
+     * crafted to collide with another one.
+     */
+    MURMUR3_128("MURMUR3-128");
+
+    private final String name;
+    private final ThreadLocal<MessageDigest> idleMessageDigests = new ThreadLocal<>();
+
+    DigestAlgorithm(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isCryptographic() {
+        return this != MURMUR3_128;
+    }
+
+    /**
+     * @return the algorithm with the specified name, or null if it is not one of the supported algorithms
+     */
+    public static DigestAlgorithm fromName(String name) {
+        for (DigestAlgorithm algorithm : values()) {
+            if (algorithm.name.equalsIgnoreCase(name)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes the idle instance of the current thread, if there is one, so that an instance is never used by two calculators at the same
+     * time.
+     */
+    MessageDigest acquireMessageDigest() {
+        MessageDigest messageDigest = idleMessageDigests.get();
+        if (messageDigest != null) {
+            idleMessageDigests.remove();
+            return messageDigest;
+        }
+        try {
+            return MessageDigest.getInstance(name);
+        } catch (NoSuchAlgorithmException e) {
+            // Every implementation of the Java platform is required to support MD5, SHA-1 and SHA-256:
+            throw new IllegalStateException(e);
+        }
+    }
+
+    void releaseMessageDigest(MessageDigest messageDigest) {
+        messageDigest.reset();
+        idleMessageDigests.set(messageDigest);
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.sap.cloud.lm.sl.cf.persistence.util;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Calculates the digest of content, which is fed to it in parts, and returns it as upper-case hexadecimal digits. A calculator created for
+ * a {@link DigestAlgorithm} reuses an idle {@link MessageDigest} of the current thread and gives it back once the digest is returned, so a
+ * calculator must not be used after {@link #getDigest()} unless it is fed the whole content again.
+ */
+public class DigestCalculator {
+
+    private final DigestAlgorithm algorithm;
+    private MessageDigest messageDigest;
+    private Hasher hasher;
+
+    public DigestCalculator(MessageDigest messageDigest) {
+        this.algorithm = null;
+        this.messageDigest = messageDigest;
+    }
+
+    private DigestCalculator(DigestAlgorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public static DigestCalculator create(DigestAlgorithm algorithm) {
+        return new DigestCalculator(algorithm);
+    }
+
+    /**
+     * @param algorithmName the name of one of the {@link DigestAlgorithm}s or of any other algorithm supported by {@link MessageDigest}
+     */
+    public static DigestCalculator create(String algorithmName) throws NoSuchAlgorithmException {
+        DigestAlgorithm algorithm = DigestAlgorithm.fromName(algorithmName);
+        if (algorithm != null) {
+            return create(algorithm);
+        }
+        return new DigestCalculator(MessageDigest.getInstance(algorithmName));
+    }
+
+    public void updateDigest(byte[] bytes, int offset, int len) {
+        if (isCryptographic()) {
+            getMessageDigest().update(bytes, offset, len);
+        } else {
+            getHasher().putBytes(bytes, offset, len);
+        }
+    }
+
+    /**
+     * Consumes the remaining bytes of the buffer. The content of a direct buffer is not copied into a new array on the heap.
+     */
+    public void updateDigest(ByteBuffer buffer) {
+        if (isCryptographic()) {
+            getMessageDigest().update(buffer);
+        } else {
+            getHasher().putBytes(buffer);
+        }
+    }
+
+    public String getDigest() {
+        return HexEncoder.encode(getDigestBytes());
+    }
+
+    public byte[] getDigestBytes() {
+        if (!isCryptographic()) {
+            byte[] digest = getHasher().hash()
+                                       .asBytes();
+            hasher = null;
+            return digest;
+        }
+        byte[] digest = getMessageDigest().digest();
+        if (algorithm != null) {
+            algorithm.releaseMessageDigest(messageDigest);
+            messageDigest = null;
+        }
+        return digest;
+    }
+
+    private boolean isCryptographic() {
+        return algorithm == null || algorithm.isCryptographic();
+    }
+
+    private MessageDigest getMessageDigest() {
+        if (messageDigest == null) {
+            messageDigest = algorithm.acquireMessageDigest();
+        }
+        return messageDigest;
+    }
+
+    private Hasher getHasher() {
+        if (hasher == null) {
+            hasher = Hashing.murmur3_128()
+                            .newHasher();
+        }
+        return hasher;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.sap.cloud.lm.sl.cf.persistence.util;
+
+/**
+ * Encodes bytes as upper-case hexadecimal digits, like {@code DatatypeConverter.printHexBinary}, by looking up both digits of a byte in a
+ * table. The digits of a digest are written into a reusable buffer of the current thread, so the returned string is the only allocation.
+ */
+public final class HexEncoder {
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final char[] BYTE_TO_HEX_DIGITS = createLookupTable();
+    private static final int MAX_BUFFERED_BYTES = 64;
+    private static final ThreadLocal<char[]> BUFFERS = ThreadLocal.withInitial(() -> new char[MAX_BUFFERED_BYTES * 2]);
+
+    private HexEncoder() {
+    }
+
+    private static char[] createLookupTable() {
+        char[] table = new char[256 * 2];
+        for (int i = 0; i < 256; i++) {
+            table[i * 2] = HEX_DIGITS[i >>> 4];
+            table[i * 2 + 1] = HEX_DIGITS[i & 0x0F];
+        }
+        return table;
+    }
+
+    public static String encode(byte[] bytes) {
+        char[] digits = bytes.length <= MAX_BUFFERED_BYTES ? BUFFERS.get() : new char[bytes.length * 2];
+        int length = encode(bytes, digits, 0);
+        return new String(digits, 0, length);
+    }
+
+    /**
+     * @return the number of written characters, which is twice the number of bytes
+     */
+    public static int encode(byte[] bytes, char[] target, int offset) {
+        if (target.length - offset < bytes.length * 2) {
+            throw new IllegalArgumentException("The target cannot hold " + bytes.length * 2 + " characters");
+        }
+        int position = offset;
+        for (byte b : bytes) {
+            int index = (b & 0xFF) * 2;
+            target[position++] = BYTE_TO_HEX_DIGITS[index];
+            target[position++] = BYTE_TO_HEX_DIGITS[index + 1];
+        }
+        return position - offset;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.sap.cloud.lm.sl.cf.persistence.dialects;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * The H2 version used in the tests neither supports comparisons with {@code ANY} of an array nor the creation of arrays through the
+ * connection.
+ */
+public class H2DataSourceDialect extends DefaultDataSourceDialect {
+
+    @Override
+    public String getArrayContainsSyntax(String columnName) {
+        return "ARRAY_CONTAINS(?, " + columnName + ")";
+    }
+
+    @Override
+    public void setStringArray(PreparedStatement ps, int index, String[] values) throws SQLException {
+        ps.setObject(index, values);
+    }
+
+}
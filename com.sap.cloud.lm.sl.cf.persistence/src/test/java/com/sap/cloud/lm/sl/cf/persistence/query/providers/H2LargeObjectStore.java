@@ -0,0 +1,123 @@
+package com.sap.cloud.lm.sl.cf.persistence.query.providers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sap.cloud.lm.sl.cf.persistence.util.JdbcUtil;
+
+/**
+ * Stores large objects in an H2 table as the chunks, in which they were written. Only appending writes are supported.
+ */
+public class H2LargeObjectStore implements LargeObjectStore {
+
+    static final String CREATE_TABLE = "CREATE TABLE LARGE_OBJECT_CHUNK (ID BIGINT, CHUNK_OFFSET BIGINT, DATA BLOB)";
+    static final String DROP_TABLE = "DROP TABLE IF EXISTS LARGE_OBJECT_CHUNK";
+    private static final String INSERT_CHUNK = "INSERT INTO LARGE_OBJECT_CHUNK (ID, CHUNK_OFFSET, DATA) VALUES (?, ?, ?)";
+    private static final String SELECT_CHUNK_AT_POSITION = "SELECT CHUNK_OFFSET, DATA FROM LARGE_OBJECT_CHUNK WHERE ID=? AND CHUNK_OFFSET<=? ORDER BY CHUNK_OFFSET DESC LIMIT 1";
+    private static final String COUNT_CHUNKS = "SELECT COUNT(*) FROM LARGE_OBJECT_CHUNK WHERE ID=?";
+
+    private final AtomicLong lastId = new AtomicLong();
+    private final List<Long> readPositions = new ArrayList<>();
+
+    @Override
+    public long create(Connection connection) {
+        return lastId.incrementAndGet();
+    }
+
+    @Override
+    public LargeObjectChannel open(Connection connection, long id) {
+        return new H2LargeObjectChannel(connection, id);
+    }
+
+    public List<Long> getReadPositions() {
+        return readPositions;
+    }
+
+    public int countChunks(Connection connection, long id) throws SQLException {
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(COUNT_CHUNKS);
+            statement.setLong(1, id);
+            resultSet = statement.executeQuery();
+            resultSet.next();
+            return resultSet.getInt(1);
+        } finally {
+            JdbcUtil.closeQuietly(resultSet);
+            JdbcUtil.closeQuietly(statement);
+        }
+    }
+
+    private class H2LargeObjectChannel implements LargeObjectChannel {
+
+        private final Connection connection;
+        private final long id;
+        private long position;
+
+        H2LargeObjectChannel(Connection connection, long id) {
+            this.connection = connection;
+            this.id = id;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws SQLException {
+            readPositions.add(position);
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                statement = connection.prepareStatement(SELECT_CHUNK_AT_POSITION);
+                statement.setLong(1, id);
+                statement.setLong(2, position);
+                resultSet = statement.executeQuery();
+                if (!resultSet.next()) {
+                    return 0;
+                }
+                int start = (int) (position - resultSet.getLong(1));
+                byte[] chunk = resultSet.getBytes(2);
+                if (start >= chunk.length) {
+                    return 0;
+                }
+                int readBytes = Math.min(length, chunk.length - start);
+                System.arraycopy(chunk, start, buffer, offset, readBytes);
+                position += readBytes;
+                return readBytes;
+            } finally {
+                JdbcUtil.closeQuietly(resultSet);
+                JdbcUtil.closeQuietly(statement);
+            }
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws SQLException {
+            PreparedStatement statement = null;
+            try {
+                statement = connection.prepareStatement(INSERT_CHUNK);
+                statement.setLong(1, id);
+                statement.setLong(2, position);
+                statement.setBytes(3, Arrays.copyOfRange(buffer, offset, offset + length));
+                statement.executeUpdate();
+                position += length;
+            } finally {
+                JdbcUtil.closeQuietly(statement);
+            }
+        }
+
+        @Override
+        public void seek(long position) {
+            this.position = position;
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+
+    }
+
+}
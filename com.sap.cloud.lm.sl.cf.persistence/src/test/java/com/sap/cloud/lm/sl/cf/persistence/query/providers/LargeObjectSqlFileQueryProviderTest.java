@@ -0,0 +1,127 @@
+package com.sap.cloud.lm.sl.cf.persistence.query.providers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Random;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sap.cloud.lm.sl.cf.persistence.dialects.DefaultDataSourceDialect;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.util.JdbcUtil;
+import com.sap.cloud.lm.sl.cf.persistence.util.SqlQueryExecutor;
+import com.sap.cloud.lm.sl.common.util.TestDataSourceProvider;
+
+public class LargeObjectSqlFileQueryProviderTest {
+
+    private static final String LIQUIBASE_CHANGELOG_LOCATION = "com/sap/cloud/lm/sl/cf/persistence/db/changelog/db-changelog.xml";
+    private static final String TABLE_NAME = "LARGE_OBJECT_FILE";
+    private static final String CREATE_FILE_TABLE = "CREATE TABLE LARGE_OBJECT_FILE (FILE_ID VARCHAR(36), SPACE VARCHAR(255), FILE_NAME VARCHAR(255), NAMESPACE VARCHAR(255), FILE_SIZE BIGINT, DIGEST VARCHAR(255), DIGEST_ALGORITHM VARCHAR(255), MODIFIED TIMESTAMP, CONTENT BIGINT)";
+    private static final String DROP_FILE_TABLE = "DROP TABLE IF EXISTS LARGE_OBJECT_FILE";
+    private static final String SPACE = "space";
+    private static final int CONTENT_SIZE = 5 * LargeObjectSqlFileQueryProvider.CHUNK_SIZE / 2;
+
+    private final byte[] content = createContent();
+
+    private DataSource dataSource;
+    private SqlQueryExecutor sqlQueryExecutor;
+    private H2LargeObjectStore largeObjectStore;
+    private LargeObjectSqlFileQueryProvider sqlFileQueryProvider;
+
+    @Before
+    public void setUp() throws Exception {
+        dataSource = TestDataSourceProvider.getDataSource(LIQUIBASE_CHANGELOG_LOCATION);
+        sqlQueryExecutor = new SqlQueryExecutor(dataSource);
+        largeObjectStore = new H2LargeObjectStore();
+        sqlFileQueryProvider = new LargeObjectSqlFileQueryProvider(TABLE_NAME, new DefaultDataSourceDialect(), largeObjectStore);
+        executeStatements(CREATE_FILE_TABLE, H2LargeObjectStore.CREATE_TABLE);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executeStatements(DROP_FILE_TABLE, H2LargeObjectStore.DROP_TABLE);
+    }
+
+    @Test
+    public void storeAndProcessFileContent() throws Exception {
+        FileEntry fileEntry = createFileEntry("1");
+
+        sqlQueryExecutor.execute(sqlFileQueryProvider.getStoreFileQuery(fileEntry, new ByteArrayInputStream(content)));
+
+        assertEquals(3, (int) sqlQueryExecutor.execute(connection -> largeObjectStore.countChunks(connection, 1)));
+        assertArrayEquals(content, readContent(fileEntry));
+    }
+
+    @Test
+    public void processFileContentRange() throws Exception {
+        FileEntry fileEntry = createFileEntry("1");
+        sqlQueryExecutor.execute(sqlFileQueryProvider.getStoreFileQuery(fileEntry, new ByteArrayInputStream(content)));
+        long offset = LargeObjectSqlFileQueryProvider.CHUNK_SIZE + 100;
+
+        byte[] contentRange = sqlQueryExecutor.execute(sqlFileQueryProvider.getProcessFileContentRangeQuery(SPACE, fileEntry.getId(),
+                                                                                                             offset, 1000,
+                                                                                                             IOUtils::toByteArray));
+
+        assertArrayEquals(Arrays.copyOfRange(content, (int) offset, (int) offset + 1000), contentRange);
+        assertEquals(Long.valueOf(offset), largeObjectStore.getReadPositions()
+                                                           .get(0));
+    }
+
+    @Test(expected = SQLException.class)
+    public void processFileContentRangeOfMissingFile() throws Exception {
+        sqlQueryExecutor.execute(sqlFileQueryProvider.getProcessFileContentRangeQuery(SPACE, "1", 0, 1000, IOUtils::toByteArray));
+    }
+
+    private byte[] readContent(FileEntry fileEntry) throws SQLException {
+        return sqlQueryExecutor.execute(sqlFileQueryProvider.getProcessFileWithContentQuery(fileEntry.getSpace(), fileEntry.getId(),
+                                                                                            IOUtils::toByteArray));
+    }
+
+    private void executeStatements(String... sqlStatements) throws SQLException {
+        sqlQueryExecutor.executeWithAutoCommit((Connection connection) -> {
+            Statement statement = null;
+            try {
+                statement = connection.createStatement();
+                for (String sqlStatement : sqlStatements) {
+                    statement.execute(sqlStatement);
+                }
+                return null;
+            } finally {
+                JdbcUtil.closeQuietly(statement);
+            }
+        });
+    }
+
+    private FileEntry createFileEntry(String id) {
+        return ImmutableFileEntry.builder()
+                                 .id(id)
+                                 .space(SPACE)
+                                 .name("file-" + id)
+                                 .size(BigInteger.valueOf(CONTENT_SIZE))
+                                 .digest("digest")
+                                 .digestAlgorithm("MD5")
+                                 .modified(new Date())
+                                 .build();
+    }
+
+    private static byte[] createContent() {
+        byte[] content = new byte[CONTENT_SIZE];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+}
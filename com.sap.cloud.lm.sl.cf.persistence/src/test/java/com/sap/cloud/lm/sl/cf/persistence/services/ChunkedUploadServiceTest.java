@@ -0,0 +1,253 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sap.cloud.lm.sl.cf.persistence.DataSourceWithDialect;
+import com.sap.cloud.lm.sl.cf.persistence.model.ByteRange;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableByteRange;
+import com.sap.cloud.lm.sl.cf.persistence.model.UploadSession;
+import com.sap.cloud.lm.sl.cf.persistence.util.Configuration;
+import com.sap.cloud.lm.sl.common.ContentException;
+import com.sap.cloud.lm.sl.common.NotFoundException;
+import com.sap.cloud.lm.sl.common.util.DigestHelper;
+import com.sap.cloud.lm.sl.common.util.TestDataSourceProvider;
+
+public class ChunkedUploadServiceTest {
+
+    private static final String LIQUIBASE_CHANGELOG_LOCATION = "com/sap/cloud/lm/sl/cf/persistence/db/changelog/db-changelog.xml";
+    private static final long MAX_UPLOAD_SIZE = 1024 * 1024L;
+    private static final int CONTENT_SIZE = 1000;
+    private static final String SPACE = "space";
+    private static final String OTHER_SPACE = "otherSpace";
+    private static final String NAMESPACE = "namespace";
+    private static final String FILE_NAME = "file.mtar";
+
+    private final byte[] content = createContent();
+
+    private Path temporaryStorageLocation;
+    private DataSourceWithDialect testDataSource;
+    private FileService fileService;
+    private ChunkedUploadService chunkedUploadService;
+
+    @Before
+    public void setUp() throws Exception {
+        temporaryStorageLocation = Files.createTempDirectory("testChunkedUploads");
+        testDataSource = new DataSourceWithDialect(TestDataSourceProvider.getDataSource(LIQUIBASE_CHANGELOG_LOCATION));
+        Configuration configuration = new Configuration(MAX_UPLOAD_SIZE);
+        FileStorage fileStorage = new FileSystemFileStorage(temporaryStorageLocation.resolve("files")
+                                                                                    .toString());
+        fileService = new FileService(testDataSource, fileStorage, configuration);
+        chunkedUploadService = new ChunkedUploadService(temporaryStorageLocation.resolve("uploads")
+                                                                                .toString(),
+                                                        fileService, configuration);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        fileService.deleteBySpace(SPACE);
+        testDataSource.getDataSource()
+                      .getConnection()
+                      .close();
+        FileUtils.deleteDirectory(temporaryStorageLocation.toFile());
+    }
+
+    @Test
+    public void finalizeChunksUploadedOutOfOrder() throws Exception {
+        UploadSession session = chunkedUploadService.createSession(SPACE, NAMESPACE, FILE_NAME, CONTENT_SIZE);
+        addChunk(session, 600, 400);
+        addChunk(session, 0, 300);
+        addChunk(session, 300, 300);
+
+        FileEntry fileEntry = chunkedUploadService.finalizeSession(SPACE, session.getId(), getContentDigest());
+
+        assertEquals(NAMESPACE, fileEntry.getNamespace());
+        assertEquals(FILE_NAME, fileEntry.getName());
+        assertEquals(BigInteger.valueOf(CONTENT_SIZE), fileEntry.getSize());
+        assertArrayEquals(content, readFile(fileEntry));
+        assertSessionDoesNotExist(session);
+    }
+
+    @Test
+    public void finalizeOverlappingChunks() throws Exception {
+        UploadSession session = chunkedUploadService.createSession(SPACE, NAMESPACE, FILE_NAME, CONTENT_SIZE);
+        addChunk(session, 0, 500);
+        addChunk(session, 400, 200);
+        addChunk(session, 450, 550);
+
+        FileEntry fileEntry = chunkedUploadService.finalizeSession(SPACE, session.getId(), null);
+
+        assertArrayEquals(content, readFile(fileEntry));
+    }
+
+    @Test
+    public void getMissingRanges() throws Exception {
+        UploadSession session = chunkedUploadService.createSession(SPACE, NAMESPACE, FILE_NAME, CONTENT_SIZE);
+        assertEquals(Collections.singletonList(createByteRange(0, CONTENT_SIZE)), session.getMissingRanges());
+
+        addChunk(session, 100, 200);
+        addChunk(session, 500, 100);
+
+        assertEquals(Arrays.asList(createByteRange(0, 100), createByteRange(300, 200), createByteRange(600, 400)),
+                     chunkedUploadService.getSession(SPACE, session.getId())
+                                         .getMissingRanges());
+    }
+
+    @Test
+    public void addChunkAgainReplacesIt() throws Exception {
+        UploadSession session = chunkedUploadService.createSession(SPACE, NAMESPACE, FILE_NAME, CONTENT_SIZE);
+        chunkedUploadService.addChunk(SPACE, session.getId(), 0, new ByteArrayInputStream(new byte[CONTENT_SIZE]));
+        UploadSession updatedSession = addChunk(session, 0, CONTENT_SIZE);
+
+        assertTrue(updatedSession.getMissingRanges()
+                                 .isEmpty());
+        FileEntry fileEntry = chunkedUploadService.finalizeSession(SPACE, session.getId(), getContentDigest());
+        assertArrayEquals(content, readFile(fileEntry));
+    }
+
+    @Test
+    public void finalizeIncompleteSessionFails() throws Exception {
+        UploadSession session = chunkedUploadService.createSession(SPACE, NAMESPACE, FILE_NAME, CONTENT_SIZE);
+        addChunk(session, 0, 500);
+
+        try {
+            chunkedUploadService.finalizeSession(SPACE, session.getId(), null);
+            fail("finalizeSession should fail with an exception");
+        } catch (ContentException e) {
+            assertEquals(Collections.singletonList(createByteRange(500, 500)), chunkedUploadService.getSession(SPACE, session.getId())
+                                                                                                  .getMissingRanges());
+        }
+    }
+
+    @Test
+    public void finalizeWithWrongDigestKeepsTheSession() throws Exception {
+        UploadSession session = chunkedUploadService.createSession(SPACE, NAMESPACE, FILE_NAME, CONTENT_SIZE);
+        addChunk(session, 0, CONTENT_SIZE);
+
+        try {
+            chunkedUploadService.finalizeSession(SPACE, session.getId(), "0123456789ABCDEF0123456789ABCDEF");
+            fail("finalizeSession should fail with an exception");
+        } catch (ContentException e) {
+            assertTrue(fileService.listFiles(SPACE, NAMESPACE)
+                                  .isEmpty());
+        }
+        FileEntry fileEntry = chunkedUploadService.finalizeSession(SPACE, session.getId(), getContentDigest());
+        assertArrayEquals(content, readFile(fileEntry));
+    }
+
+    @Test
+    public void addChunkBeyondTheEndOfTheFileFails() throws Exception {
+        UploadSession session = chunkedUploadService.createSession(SPACE, NAMESPACE, FILE_NAME, CONTENT_SIZE);
+
+        try {
+            chunkedUploadService.addChunk(SPACE, session.getId(), 900, new ByteArrayInputStream(new byte[200]));
+            fail("addChunk should fail with an exception");
+        } catch (ContentException e) {
+            assertEquals(Collections.singletonList(createByteRange(0, CONTENT_SIZE)), chunkedUploadService.getSession(SPACE, session.getId())
+                                                                                                         .getMissingRanges());
+        }
+    }
+
+    @Test(expected = ContentException.class)
+    public void createSessionBiggerThanMaxUploadSizeFails() throws Exception {
+        chunkedUploadService.createSession(SPACE, NAMESPACE, FILE_NAME, MAX_UPLOAD_SIZE + 1);
+    }
+
+    @Test(expected = NotFoundException.class)
+    public void getSessionOfOtherSpaceFails() throws Exception {
+        UploadSession session = chunkedUploadService.createSession(SPACE, NAMESPACE, FILE_NAME, CONTENT_SIZE);
+
+        chunkedUploadService.getSession(OTHER_SPACE, session.getId());
+    }
+
+    @Test(expected = NotFoundException.class)
+    public void getSessionWithInvalidIdFails() throws Exception {
+        chunkedUploadService.getSession(SPACE, "../files");
+    }
+
+    @Test
+    public void deleteSession() throws Exception {
+        UploadSession session = chunkedUploadService.createSession(SPACE, NAMESPACE, FILE_NAME, CONTENT_SIZE);
+        addChunk(session, 0, 500);
+
+        chunkedUploadService.deleteSession(SPACE, session.getId());
+
+        assertSessionDoesNotExist(session);
+    }
+
+    @Test
+    public void deleteSessionsModifiedBefore() throws Exception {
+        UploadSession oldSession = chunkedUploadService.createSession(SPACE, NAMESPACE, FILE_NAME, CONTENT_SIZE);
+        Files.setLastModifiedTime(temporaryStorageLocation.resolve("uploads")
+                                                          .resolve(oldSession.getId()),
+                                  FileTime.fromMillis(0));
+        UploadSession newSession = chunkedUploadService.createSession(SPACE, NAMESPACE, FILE_NAME, CONTENT_SIZE);
+
+        assertEquals(1, chunkedUploadService.deleteSessionsModifiedBefore(new Date(System.currentTimeMillis() - 60_000)));
+
+        assertSessionDoesNotExist(oldSession);
+        assertFalse(chunkedUploadService.getSession(SPACE, newSession.getId())
+                                        .getMissingRanges()
+                                        .isEmpty());
+    }
+
+    private UploadSession addChunk(UploadSession session, int offset, int length) throws FileStorageException {
+        return chunkedUploadService.addChunk(SPACE, session.getId(), offset, new ByteArrayInputStream(content, offset, length));
+    }
+
+    private byte[] readFile(FileEntry fileEntry) throws FileStorageException {
+        ByteArrayOutputStream fileContent = new ByteArrayOutputStream();
+        fileService.consumeFileContent(fileEntry.getSpace(), fileEntry.getId(), fileStream -> IOUtils.copy(fileStream, fileContent));
+        return fileContent.toByteArray();
+    }
+
+    private String getContentDigest() throws Exception {
+        Path contentFile = temporaryStorageLocation.resolve("content");
+        Files.write(contentFile, content);
+        return DigestHelper.computeFileChecksum(contentFile, FileUploader.DIGEST_METHOD);
+    }
+
+    private void assertSessionDoesNotExist(UploadSession session) throws FileStorageException {
+        try {
+            chunkedUploadService.getSession(SPACE, session.getId());
+            fail("getSession should fail with an exception");
+        } catch (NotFoundException e) {
+            // expected
+        }
+    }
+
+    private ByteRange createByteRange(long offset, long length) {
+        return ImmutableByteRange.builder()
+                                 .offset(offset)
+                                 .length(length)
+                                 .build();
+    }
+
+    private static byte[] createContent() {
+        byte[] content = new byte[CONTENT_SIZE];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+}
@@ -0,0 +1,278 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.sap.cloud.lm.sl.cf.persistence.DataSourceWithDialect;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileSweepCursor;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileSweepResult;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.util.Configuration;
+import com.sap.cloud.lm.sl.common.util.TestDataSourceProvider;
+
+public class ContentAddressedFileServiceTest {
+
+    private static final String LIQUIBASE_CHANGELOG_LOCATION = "com/sap/cloud/lm/sl/cf/persistence/db/changelog/db-changelog.xml";
+    private static final String PIC_RESOURCE_LOCATION = "src/test/resources/pexels-photo-401794.jpeg";
+    private static final String SECOND_PIC_RESOURCE_LOCATION = "src/test/resources/pexels-photo-463467.jpeg";
+
+    private static final String SPACE_1 = "myspace";
+    private static final String SPACE_2 = "myspace2";
+    private static final String NAMESPACE = "system/deployables";
+
+    private Path temporaryStorageLocation;
+    private DataSourceWithDialect testDataSource;
+    private FileStorage fileStorage;
+    private FileService fileService;
+
+    @Before
+    public void setUp() throws Exception {
+        this.temporaryStorageLocation = Files.createTempDirectory("testContentStorage");
+        this.testDataSource = new DataSourceWithDialect(TestDataSourceProvider.getDataSource(LIQUIBASE_CHANGELOG_LOCATION));
+        this.fileStorage = Mockito.spy(new FileSystemFileStorage(temporaryStorageLocation.toString()));
+        this.fileService = new ContentAddressedFileService(testDataSource, fileStorage, new Configuration());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        fileService.deleteBySpace(SPACE_1);
+        fileService.deleteBySpace(SPACE_2);
+        testDataSource.getDataSource()
+                      .getConnection()
+                      .close();
+        FileUtils.deleteDirectory(temporaryStorageLocation.toFile());
+    }
+
+    @Test
+    public void addSameContentTwiceStoresItOnce() throws Exception {
+        FileEntry fileEntry1 = addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        FileEntry fileEntry2 = addFile(SPACE_2, PIC_RESOURCE_LOCATION);
+
+        assertEquals(1, countStoredContents());
+        assertEquals(fileEntry1.getDigest(), fileEntry2.getDigest());
+        assertContentEquals(PIC_RESOURCE_LOCATION, fileEntry1);
+        assertContentEquals(PIC_RESOURCE_LOCATION, fileEntry2);
+    }
+
+    @Test
+    public void addSameContentFromStreamTwiceUploadsItOnce() throws Exception {
+        addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        addFile(SPACE_2, PIC_RESOURCE_LOCATION);
+
+        Mockito.verify(fileStorage)
+               .addFile(Mockito.any(), Mockito.any(File.class));
+        Mockito.verify(fileStorage, Mockito.never())
+               .addFile(Mockito.any(), Mockito.any(InputStream.class));
+        Mockito.verify(fileStorage, Mockito.never())
+               .deleteFile(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void addSameContentFromFileAndStreamStoresItOnce() throws Exception {
+        addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        FileEntry fileEntry = fileService.addFile(SPACE_2, NAMESPACE, "pic.jpeg", Paths.get(PIC_RESOURCE_LOCATION)
+                                                                                        .toFile());
+
+        assertEquals(1, countStoredContents());
+        assertContentEquals(PIC_RESOURCE_LOCATION, fileEntry);
+    }
+
+    @Test
+    public void addDifferentContentStoresBoth() throws Exception {
+        addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        addFile(SPACE_1, SECOND_PIC_RESOURCE_LOCATION);
+
+        assertEquals(2, countStoredContents());
+    }
+
+    @Test
+    public void deleteFileKeepsContentUntilLastReference() throws Exception {
+        FileEntry fileEntry1 = addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        FileEntry fileEntry2 = addFile(SPACE_2, PIC_RESOURCE_LOCATION);
+
+        assertTrue(fileService.deleteFile(SPACE_1, fileEntry1.getId()));
+        assertNull(fileService.getFile(SPACE_1, fileEntry1.getId()));
+        assertEquals(1, countStoredContents());
+        assertContentEquals(PIC_RESOURCE_LOCATION, fileEntry2);
+
+        assertTrue(fileService.deleteFile(SPACE_2, fileEntry2.getId()));
+        assertEquals(0, countStoredContents());
+        assertFalse(fileService.deleteFile(SPACE_2, fileEntry2.getId()));
+    }
+
+    @Test
+    public void deleteBySpaceKeepsContentReferencedFromOtherSpace() throws Exception {
+        addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        FileEntry fileEntry = addFile(SPACE_2, PIC_RESOURCE_LOCATION);
+
+        assertEquals(2, fileService.deleteBySpace(SPACE_1));
+        assertEquals(1, countStoredContents());
+        assertContentEquals(PIC_RESOURCE_LOCATION, fileEntry);
+    }
+
+    @Test
+    public void deleteFilesReleasesTheirContents() throws Exception {
+        FileEntry fileEntry1 = addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        FileEntry fileEntry2 = addFile(SPACE_1, SECOND_PIC_RESOURCE_LOCATION);
+        FileEntry fileEntry3 = addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+
+        assertEquals(2, fileService.deleteFiles(SPACE_1, Arrays.asList(fileEntry1.getId(), fileEntry2.getId(), "missing")));
+        assertEquals(1, countStoredContents());
+        assertContentEquals(PIC_RESOURCE_LOCATION, fileEntry3);
+    }
+
+    @Test
+    public void deleteModifiedBeforeDeletesUnreferencedContent() throws Exception {
+        addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        addFile(SPACE_2, PIC_RESOURCE_LOCATION);
+        addFile(SPACE_2, SECOND_PIC_RESOURCE_LOCATION);
+
+        assertEquals(3, fileService.deleteModifiedBefore(new Date(System.currentTimeMillis() + 1000)));
+        assertEquals(0, countStoredContents());
+    }
+
+    @Test
+    public void deleteModifiedBeforeDeletesOrphanedContentOnly() throws Exception {
+        FileEntry fileEntry = addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        fileStorage.addFile(createFileEntry(ContentAddressedFileService.CONTENT_SPACE, "orphaned-content"),
+                            new ByteArrayInputStream(new byte[] { 1 }));
+        fileStorage.addFile(createFileEntry(SPACE_2, "orphaned-file"), new ByteArrayInputStream(new byte[] { 2 }));
+        for (Path storedFile : listStoredFiles(temporaryStorageLocation)) {
+            Files.setLastModifiedTime(storedFile, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2)));
+        }
+
+        assertEquals(2, fileService.deleteModifiedBefore(new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1))));
+        assertEquals(1, countStoredContents());
+        assertEquals(1, listStoredFiles(temporaryStorageLocation).size());
+        assertContentEquals(PIC_RESOURCE_LOCATION, fileEntry);
+    }
+
+    @Test
+    public void addContentAgainAfterItWasDeleted() throws Exception {
+        FileEntry fileEntry = addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        fileService.deleteFile(SPACE_1, fileEntry.getId());
+
+        FileEntry newFileEntry = addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+
+        assertEquals(1, countStoredContents());
+        assertContentEquals(PIC_RESOURCE_LOCATION, newFileEntry);
+    }
+
+    @Test
+    public void addSameContentBeforeUnreferencedContentIsDeleted() throws Exception {
+        FileEntry fileEntry = addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        Mockito.doThrow(new FileStorageException("expected exception"))
+               .when(fileStorage)
+               .deleteFiles(Mockito.argThat(fileEntries -> !fileEntries.isEmpty()));
+        try {
+            fileService.deleteFile(SPACE_1, fileEntry.getId());
+            fail("deleteFile should fail with exception");
+        } catch (FileStorageException e) {
+            assertEquals(1, countStoredContents());
+        }
+        Mockito.reset(fileStorage);
+
+        FileEntry newFileEntry = addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        assertEquals(2, countStoredContents());
+        assertContentEquals(PIC_RESOURCE_LOCATION, newFileEntry);
+
+        // The content, whose deletion failed, is deleted together with the next unreferenced content:
+        assertTrue(fileService.deleteFile(SPACE_1, newFileEntry.getId()));
+        assertEquals(0, countStoredContents());
+    }
+
+    @Test
+    public void sweepFilesWithoutContentInPages() throws Exception {
+        addFile(SPACE_1, PIC_RESOURCE_LOCATION);
+        Path missingContent = listStoredContents().get(0);
+        addFile(SPACE_2, PIC_RESOURCE_LOCATION);
+        FileEntry fileEntryWithContent = addFile(SPACE_2, SECOND_PIC_RESOURCE_LOCATION);
+        Files.delete(missingContent);
+
+        int passes = 0;
+        int checkedFiles = 0;
+        int deletedFiles = 0;
+        FileSweepCursor cursor = null;
+        do {
+            FileSweepResult sweepResult = fileService.sweepFilesWithoutContent(cursor, Duration.ZERO, 1);
+            passes++;
+            checkedFiles += sweepResult.getCheckedFiles();
+            deletedFiles += sweepResult.getDeletedFiles();
+            cursor = sweepResult.getCursor();
+        } while (cursor != null);
+
+        assertEquals(4, passes);
+        assertEquals(3, checkedFiles);
+        assertEquals(2, deletedFiles);
+        assertEquals(1, countStoredContents());
+        assertContentEquals(SECOND_PIC_RESOURCE_LOCATION, fileEntryWithContent);
+    }
+
+    private FileEntry addFile(String space, String resourceLocation) throws Exception {
+        byte[] content = Files.readAllBytes(Paths.get(resourceLocation));
+        return fileService.addFile(space, NAMESPACE, "pic.jpeg", new ByteArrayInputStream(content));
+    }
+
+    private FileEntry createFileEntry(String space, String id) {
+        return ImmutableFileEntry.builder()
+                                 .space(space)
+                                 .id(id)
+                                 .name(id)
+                                 .build();
+    }
+
+    private void assertContentEquals(String resourceLocation, FileEntry fileEntry) throws Exception {
+        byte[] expectedContent = Files.readAllBytes(Paths.get(resourceLocation));
+        byte[] content = fileService.processFileContent(fileEntry.getSpace(), fileEntry.getId(), IOUtils::toByteArray);
+        assertArrayEquals(expectedContent, content);
+    }
+
+    private long countStoredContents() throws IOException {
+        return listStoredContents().size();
+    }
+
+    private List<Path> listStoredContents() throws IOException {
+        return listStoredFiles(temporaryStorageLocation.resolve(ContentAddressedFileService.CONTENT_SPACE));
+    }
+
+    private List<Path> listStoredFiles(Path location) throws IOException {
+        if (!Files.exists(location)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> paths = Files.walk(location)) {
+            return paths.filter(Files::isRegularFile)
+                        .collect(Collectors.toList());
+        }
+    }
+
+}
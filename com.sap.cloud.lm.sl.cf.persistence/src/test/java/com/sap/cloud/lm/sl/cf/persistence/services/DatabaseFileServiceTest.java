@@ -1,14 +1,17 @@
 package com.sap.cloud.lm.sl.cf.persistence.services;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.MessageDigest;
@@ -17,18 +20,24 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
 import javax.xml.bind.DatatypeConverter;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.MockitoAnnotations;
 
+import com.google.common.base.Throwables;
 import com.sap.cloud.lm.sl.cf.persistence.DataSourceWithDialect;
+import com.sap.cloud.lm.sl.cf.persistence.Messages;
+import com.sap.cloud.lm.sl.cf.persistence.dialects.H2DataSourceDialect;
 import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.util.Configuration;
 import com.sap.cloud.lm.sl.cf.persistence.util.JdbcUtil;
 import com.sap.cloud.lm.sl.common.util.DigestHelper;
 import com.sap.cloud.lm.sl.common.util.TestDataSourceProvider;
@@ -60,7 +69,7 @@ public class DatabaseFileServiceTest {
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
         this.testDataSource = createDataSource();
-        this.fileService = createFileService(testDataSource);
+        this.fileService = createFileService(testDataSource, new Configuration());
     }
 
     @After
@@ -96,6 +105,21 @@ public class DatabaseFileServiceTest {
         verifyFileEntry(getFileEntry, space, namespace);
     }
 
+    @Test
+    public void addFileBiggerThanMaxUploadSizeTest() throws Exception {
+        long maxUploadSize = PIC_SIZE - 1;
+        fileService = createFileService(testDataSource, new Configuration(maxUploadSize));
+        try {
+            addTestFile(SPACE_1, NAMESPACE_1);
+            fail("addFile should fail with an exception");
+        } catch (FileStorageException e) {
+            assertEquals(MessageFormat.format(Messages.MAX_UPLOAD_SIZE_EXCEEDED, maxUploadSize), Throwables.getRootCause(e)
+                                                                                                     .getMessage());
+            assertEquals(0, fileService.listFiles(SPACE_1, NAMESPACE_1)
+                                       .size());
+        }
+    }
+
     @Test
     public void processFileContentTest() throws Exception {
         Path expectedFile = Paths.get("src/test/resources/", PIC_RESOURCE_NAME);
@@ -105,6 +129,17 @@ public class DatabaseFileServiceTest {
         validateFileContent(fileEntry, expectedFileDigest);
     }
 
+    @Test
+    public void processFileContentRangeTest() throws Exception {
+        DatabaseFileService databaseFileService = new DatabaseFileService(testDataSource, new Configuration());
+        FileEntry fileEntry = databaseFileService.addFile(SPACE_1, NAMESPACE_1, PIC_STORAGE_NAME, getResource(PIC_RESOURCE_NAME));
+        byte[] expectedContent = Files.readAllBytes(Paths.get("src/test/resources/", PIC_RESOURCE_NAME));
+
+        byte[] contentRange = databaseFileService.processFileContent(SPACE_1, fileEntry.getId(), 1000, 500, IOUtils::toByteArray);
+
+        assertArrayEquals(Arrays.copyOfRange(expectedContent, 1000, 1500), contentRange);
+    }
+
     @Test
     public void deleteBySpaceAndNamespaceTest() throws Exception {
         addTestFile(SPACE_1, NAMESPACE_1);
@@ -179,8 +214,8 @@ public class DatabaseFileServiceTest {
         assertNull(fileService.getFile(SPACE_2, fileEntryToDelete2.getId()));
     }
 
-    protected FileService createFileService(DataSourceWithDialect dataSource) {
-        return new DatabaseFileService(dataSource);
+    protected FileService createFileService(DataSourceWithDialect dataSource, Configuration configuration) {
+        return new DatabaseFileService(dataSource, configuration);
     }
 
     protected FileEntry addTestFile(String space, String namespace) throws Exception {
@@ -215,7 +250,7 @@ public class DatabaseFileServiceTest {
     }
 
     private DataSourceWithDialect createDataSource() throws Exception {
-        return new DataSourceWithDialect(TestDataSourceProvider.getDataSource(LIQUIBASE_CHANGELOG_LOCATION));
+        return new DataSourceWithDialect(TestDataSourceProvider.getDataSource(LIQUIBASE_CHANGELOG_LOCATION), new H2DataSourceDialect());
     }
 
     private void sweepFiles() throws Exception {
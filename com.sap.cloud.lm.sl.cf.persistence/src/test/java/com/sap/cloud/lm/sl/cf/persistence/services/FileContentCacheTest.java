@@ -0,0 +1,230 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
+
+public class FileContentCacheTest {
+
+    private static final String SPACE = "space";
+    private static final int CONTENT_SIZE = 100;
+
+    private final byte[] content = createContent();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Path cacheDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        cacheDirectory = Files.createTempDirectory("testFileContentCache");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(cacheDirectory.toFile());
+    }
+
+    @Test
+    public void secondReadIsServedFromCache() throws Exception {
+        FileContentCache cache = createCache(1000);
+        FileEntry fileEntry = createFileEntry("1");
+
+        assertArrayEquals(content, read(cache, fileEntry));
+        assertArrayEquals(content, read(cache, fileEntry));
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getMetrics()
+                             .getHits());
+        assertEquals(1, cache.getMetrics()
+                             .getMisses());
+        assertEquals(CONTENT_SIZE, cache.getCachedSize());
+    }
+
+    @Test
+    public void changedFileIsLoadedAgain() throws Exception {
+        FileContentCache cache = createCache(1000);
+
+        read(cache, createFileEntry("1", "digest"));
+        read(cache, createFileEntry("1", "otherDigest"));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void leastRecentlyUsedFileIsEvicted() throws Exception {
+        FileContentCache cache = createCache(250);
+        FileEntry first = createFileEntry("1");
+        FileEntry second = createFileEntry("2");
+
+        read(cache, first);
+        read(cache, second);
+        read(cache, first);
+        read(cache, createFileEntry("3"));
+
+        assertEquals(2 * CONTENT_SIZE, cache.getCachedSize());
+        assertEquals(CONTENT_SIZE, cache.getMetrics()
+                                        .getEvictedBytes());
+        read(cache, first);
+        assertEquals(3, loads.get());
+        read(cache, second);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    public void fileIsNotEvictedWhileItIsRead() throws Exception {
+        FileContentCache cache = createCache(150);
+
+        try (FileContentCache.CachedFileContent first = cache.get(createFileEntry("1"), this::loadContent)) {
+            try (FileContentCache.CachedFileContent second = cache.get(createFileEntry("2"), this::loadContent)) {
+                assertEquals(2 * CONTENT_SIZE, cache.getCachedSize());
+                assertEquals(0, cache.getMetrics()
+                                     .getEvictedBytes());
+                assertArrayEquals(content, first.process(IOUtils::toByteArray));
+            }
+        }
+
+        assertEquals(CONTENT_SIZE, cache.getCachedSize());
+        assertEquals(CONTENT_SIZE, cache.getMetrics()
+                                        .getEvictedBytes());
+    }
+
+    @Test
+    public void cachedContentIsReadFromLocalFile() throws Exception {
+        FileContentCache cache = createCache(1000);
+
+        try (FileContentCache.CachedFileContent cachedContent = cache.get(createFileEntry("1"), this::loadContent)) {
+            Path localFile = cachedContent.process(contentStream -> ((LocalFileInputStream) contentStream).getPath());
+            assertArrayEquals(content, Files.readAllBytes(localFile));
+        }
+    }
+
+    @Test
+    public void fileLargerThanCacheIsNotCached() throws Exception {
+        FileContentCache cache = createCache(CONTENT_SIZE - 1);
+
+        assertNull(cache.get(createFileEntry("1"), this::loadContent));
+        assertEquals(0, loads.get());
+        assertEquals(1, cache.getMetrics()
+                             .getMisses());
+    }
+
+    @Test
+    public void failedLoadIsRetried() throws Exception {
+        FileContentCache cache = createCache(1000);
+        FileEntry fileEntry = createFileEntry("1");
+
+        try {
+            cache.get(fileEntry, fileContentConsumer -> {
+                throw new FileStorageException("expected exception");
+            });
+            fail("get should fail with an exception");
+        } catch (FileStorageException e) {
+            assertEquals(0, cache.getCachedSize());
+        }
+
+        assertArrayEquals(content, read(cache, fileEntry));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void concurrentReadersLoadFileOnce() throws Exception {
+        FileContentCache cache = createCache(1000);
+        FileEntry fileEntry = createFileEntry("1");
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch loadAllowed = new CountDownLatch(1);
+        FileContentCache.FileContentSource blockingSource = fileContentConsumer -> {
+            loadStarted.countDown();
+            try {
+                loadAllowed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+            }
+            loadContent(fileContentConsumer);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<byte[]> firstRead = executor.submit(() -> read(cache, fileEntry, blockingSource));
+            loadStarted.await();
+            Future<byte[]> secondRead = executor.submit(() -> read(cache, fileEntry, blockingSource));
+            loadAllowed.countDown();
+
+            assertArrayEquals(content, firstRead.get());
+            assertArrayEquals(content, secondRead.get());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    private FileContentCache createCache(long maxSize) {
+        return new FileContentCache(cacheDirectory.resolve("cache"), maxSize, Runnable::run);
+    }
+
+    private byte[] read(FileContentCache cache, FileEntry fileEntry) throws FileStorageException {
+        return read(cache, fileEntry, this::loadContent);
+    }
+
+    private byte[] read(FileContentCache cache, FileEntry fileEntry, FileContentCache.FileContentSource fileContentSource)
+        throws FileStorageException {
+        try (FileContentCache.CachedFileContent cachedContent = cache.get(fileEntry, fileContentSource)) {
+            assertNotNull(cachedContent);
+            return cachedContent.process(IOUtils::toByteArray);
+        }
+    }
+
+    private void loadContent(FileContentConsumer fileContentConsumer) throws FileStorageException {
+        loads.incrementAndGet();
+        try {
+            fileContentConsumer.consume(new ByteArrayInputStream(content));
+        } catch (Exception e) {
+            throw new FileStorageException(e);
+        }
+    }
+
+    private FileEntry createFileEntry(String id) {
+        return createFileEntry(id, "digest");
+    }
+
+    private FileEntry createFileEntry(String id, String digest) {
+        return ImmutableFileEntry.builder()
+                                 .id(id)
+                                 .space(SPACE)
+                                 .name("file-" + id)
+                                 .size(BigInteger.valueOf(CONTENT_SIZE))
+                                 .digest(digest)
+                                 .digestAlgorithm("MD5")
+                                 .modified(new Date())
+                                 .build();
+    }
+
+    private static byte[] createContent() {
+        byte[] content = new byte[CONTENT_SIZE];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+}
@@ -2,9 +2,12 @@ package com.sap.cloud.lm.sl.cf.persistence.services;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -12,6 +15,7 @@ import java.nio.file.attribute.FileTime;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.UUID;
@@ -61,6 +65,34 @@ public class FileServiceFileStorageTest {
         assertFileExists(true, fileEntry);
     }
 
+    @Test
+    public void addFileFromStreamTest() throws Exception {
+        FileEntry fileEntry = createFileEntry();
+        try (InputStream content = Files.newInputStream(Paths.get(TEST_FILE_LOCATION))) {
+            fileStorage.addFile(fileEntry, content);
+        }
+        String testFileDigest = DigestHelper.computeFileChecksum(Paths.get(TEST_FILE_LOCATION), DIGEST_METHOD)
+                                            .toLowerCase();
+        validateFileContent(fileEntry, testFileDigest);
+    }
+
+    @Test
+    public void addFileFromFailingStreamTest() throws Exception {
+        FileEntry fileEntry = createFileEntry();
+        InputStream failingContent = new SequenceInputStream(Files.newInputStream(Paths.get(TEST_FILE_LOCATION)), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+        try {
+            fileStorage.addFile(fileEntry, failingContent);
+            fail("addFile should fail with an exception");
+        } catch (FileStorageException e) {
+            assertFileExists(false, fileEntry);
+        }
+    }
+
     @Test
     public void getFileEntriesWithoutContent() throws Exception {
         List<FileEntry> fileEntries = new ArrayList<>();
@@ -101,9 +133,18 @@ public class FileServiceFileStorageTest {
 
     }
 
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void deleteFilesBySpaceAndNamespace() throws Exception {
-        fileStorage.deleteFilesBySpaceAndNamespace(spaceId, namespace);
+        FileEntry firstFile = addFile(TEST_FILE_LOCATION);
+        FileEntry secondFile = addFile(SECOND_FILE_TEST_LOCATION);
+        FileEntry fileInOtherSpace = addFile(TEST_FILE_LOCATION, "otherspace", namespace);
+        FileEntry fileInOtherNamespace = addFile(TEST_FILE_LOCATION, spaceId, "othernamespace");
+
+        fileStorage.deleteFilesBySpaceAndNamespace(spaceId, namespace, Arrays.asList(firstFile, secondFile));
+        assertFileExists(true, fileInOtherNamespace);
+        assertFileExists(true, fileInOtherSpace);
+        assertFileExists(false, firstFile);
+        assertFileExists(false, secondFile);
 
     }
 
@@ -124,10 +165,17 @@ public class FileServiceFileStorageTest {
         Path oldNonDeployerFile = Files.createFile(Paths.get(temporaryStorageLocation.toString(), "random"));
         Files.setLastModifiedTime(oldNonDeployerFile, FileTime.fromMillis(pastMoment));
 
+        Path oldUploadSessionFile = Files.createDirectories(temporaryStorageLocation.resolve(".uploads")
+                                                                                    .resolve("session"))
+                                         .resolve("chunk");
+        Files.createFile(oldUploadSessionFile);
+        Files.setLastModifiedTime(oldUploadSessionFile, FileTime.fromMillis(pastMoment));
+
         int deletedFiles = fileStorage.deleteFilesModifiedBefore(new Date(currentMillis - oldFilesTtl));
 
         assertEquals(3, deletedFiles);
         assertFalse(Files.exists(oldNonDeployerFile));
+        assertTrue(Files.exists(oldUploadSessionFile));
         assertFileExists(true, fileEntryToRemain1);
         assertFileExists(true, fileEntryToRemain2);
         assertFileExists(false, fileEntryToDelete1);
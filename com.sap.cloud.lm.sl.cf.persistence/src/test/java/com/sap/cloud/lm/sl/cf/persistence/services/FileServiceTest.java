@@ -7,10 +7,20 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -19,6 +29,8 @@ import org.mockito.MockitoAnnotations;
 
 import com.sap.cloud.lm.sl.cf.persistence.DataSourceWithDialect;
 import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileSweepResult;
+import com.sap.cloud.lm.sl.cf.persistence.util.Configuration;
 
 public class FileServiceTest extends DatabaseFileServiceTest {
 
@@ -29,13 +41,27 @@ public class FileServiceTest extends DatabaseFileServiceTest {
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
         super.setUp();
+        Mockito.doAnswer(invocation -> {
+            consume(invocation.getArgument(1));
+            return null;
+        })
+               .when(fileStorage)
+               .addFile(Mockito.any(), Mockito.any(InputStream.class));
+    }
+
+    private void consume(InputStream content) throws FileStorageException {
+        try {
+            IOUtils.copy(content, NullOutputStream.NULL_OUTPUT_STREAM);
+        } catch (IOException e) {
+            throw new FileStorageException(e.getMessage(), e);
+        }
     }
 
     @Test
     public void addFileUploadFileErrorTest() throws Exception {
         Mockito.doThrow(new FileStorageException("expected exception"))
                .when(fileStorage)
-               .addFile(Mockito.any(), Mockito.any());
+               .addFile(Mockito.any(), Mockito.any(InputStream.class));
 
         InputStream resourceStream = getResource(PIC_RESOURCE_NAME);
         String space = SPACE_1;
@@ -45,7 +71,7 @@ public class FileServiceTest extends DatabaseFileServiceTest {
             fail("addFile should fail with exception");
         } catch (FileStorageException e) {
             Mockito.verify(fileStorage)
-                   .addFile(Mockito.any(), Mockito.any());
+                   .addFile(Mockito.any(), Mockito.any(InputStream.class));
             List<FileEntry> listFiles = fileService.listFiles(space, namespace);
             assertEquals(0, listFiles.size());
         }
@@ -58,18 +84,42 @@ public class FileServiceTest extends DatabaseFileServiceTest {
                .processFileContent(Mockito.eq(SPACE_1), Mockito.eq("1111-2222-3333-4444"), Mockito.any());
     }
 
+    @Test
+    public void processFileContentThroughCacheTest() throws Exception {
+        FileEntry fileEntry = addTestFile(SPACE_1, NAMESPACE_1);
+        long fileSize = fileEntry.getSize()
+                                 .longValue();
+        Mockito.when(fileStorage.processFileContent(Mockito.eq(SPACE_1), Mockito.eq(fileEntry.getId()), Mockito.any()))
+               .thenAnswer(invocation -> {
+                   FileContentProcessor<?> fileContentProcessor = invocation.getArgument(2);
+                   return fileContentProcessor.process(new ByteArrayInputStream(new byte[(int) fileSize]));
+               });
+        Path cacheDirectory = Files.createTempDirectory("testFileContentCache");
+        try {
+            fileService.setFileContentCache(new FileContentCache(cacheDirectory, fileSize, Runnable::run));
+
+            fileService.consumeFileContent(SPACE_1, fileEntry.getId(), Mockito.mock(FileContentConsumer.class));
+            fileService.consumeFileContent(SPACE_1, fileEntry.getId(), Mockito.mock(FileContentConsumer.class));
+
+            Mockito.verify(fileStorage)
+                   .processFileContent(Mockito.eq(SPACE_1), Mockito.eq(fileEntry.getId()), Mockito.any());
+        } finally {
+            FileUtils.deleteDirectory(cacheDirectory.toFile());
+        }
+    }
+
     @Test
     public void deleteBySpaceAndNamespaceTest() throws Exception {
         super.deleteBySpaceAndNamespaceTest();
         Mockito.verify(fileStorage)
-               .deleteFilesBySpaceAndNamespace(Mockito.eq(SPACE_1), Mockito.eq(NAMESPACE_1));
+               .deleteFilesBySpaceAndNamespace(Mockito.eq(SPACE_1), Mockito.eq(NAMESPACE_1), Mockito.anyList());
     }
 
     @Test
     public void deleteBySpaceAndNamespaceWithTwoNamespacesTest() throws Exception {
         super.deleteBySpaceAndNamespaceWithTwoNamespacesTest();
         Mockito.verify(fileStorage)
-               .deleteFilesBySpaceAndNamespace(Mockito.eq(SPACE_1), Mockito.eq(NAMESPACE_1));
+               .deleteFilesBySpaceAndNamespace(Mockito.eq(SPACE_1), Mockito.eq(NAMESPACE_1), Mockito.anyList());
     }
 
     @Test
@@ -134,22 +184,75 @@ public class FileServiceTest extends DatabaseFileServiceTest {
         assertNull(fileService.getFile(SPACE_2, noContent2.getId()));
     }
 
+    @Test
+    public void sweepFilesWithoutContentInPassesTest() throws Exception {
+        List<String> idsWithoutContent = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            FileEntry fileEntry = addTestFile(SPACE_1, NAMESPACE_1);
+            if (i % 2 == 0) {
+                idsWithoutContent.add(fileEntry.getId());
+            }
+        }
+        Mockito.when(fileStorage.getFileEntriesWithoutContent(Mockito.anyList()))
+               .thenAnswer(invocation -> ((List<FileEntry>) invocation.getArgument(0)).stream()
+                                                                                       .filter(fileEntry -> idsWithoutContent.contains(fileEntry.getId()))
+                                                                                       .collect(Collectors.toList()));
+
+        FileSweepResult firstPass = fileService.sweepFilesWithoutContent(null, Duration.ZERO, 2);
+        FileSweepResult secondPass = fileService.sweepFilesWithoutContent(firstPass.getCursor(), Duration.ZERO, 2);
+        FileSweepResult lastPass = fileService.sweepFilesWithoutContent(secondPass.getCursor(), Duration.ZERO, 2);
+
+        assertEquals(2, firstPass.getCheckedFiles());
+        assertNotNull(firstPass.getCursor());
+        assertEquals(2, secondPass.getCheckedFiles());
+        assertEquals(1, lastPass.getCheckedFiles());
+        assertNull(lastPass.getCursor());
+        assertEquals(3, firstPass.getDeletedFiles() + secondPass.getDeletedFiles() + lastPass.getDeletedFiles());
+        assertEquals(2, fileService.listFiles(SPACE_1, NAMESPACE_1)
+                                   .size());
+    }
+
+    @Test
+    public void deleteFilesTest() throws Exception {
+        FileEntry first = addTestFile(SPACE_1, NAMESPACE_1);
+        FileEntry second = addTestFile(SPACE_1, NAMESPACE_1);
+        FileEntry third = addTestFile(SPACE_1, NAMESPACE_1);
+
+        assertEquals(2, fileService.deleteFiles(SPACE_1, Arrays.asList(first.getId(), third.getId())));
+
+        Mockito.verify(fileStorage)
+               .deleteFiles(Mockito.argThat(fileEntries -> fileEntries.stream()
+                                                                      .map(FileEntry::getId)
+                                                                      .collect(Collectors.toList())
+                                                                      .equals(Arrays.asList(first.getId(), third.getId()))));
+        Mockito.verify(fileStorage, Mockito.never())
+               .deleteFile(Mockito.any(), Mockito.any());
+        assertEquals(Arrays.asList(second.getId()), fileService.listFiles(SPACE_1, NAMESPACE_1)
+                                                               .stream()
+                                                               .map(FileEntry::getId)
+                                                               .collect(Collectors.toList()));
+    }
+
     @Override
     protected FileEntry addFile(String space, String namespace, String fileName, String resourceName) throws Exception {
         FileEntry fileEntry = super.addFile(space, namespace, fileName, resourceName);
         Mockito.verify(fileStorage)
-               .addFile(Mockito.eq(fileEntry), Mockito.any());
+               .addFile(Mockito.argThat(storedFileEntry -> storedFileEntry.getId()
+                                                                          .equals(fileEntry.getId())),
+                        Mockito.any(InputStream.class));
         return fileEntry;
     }
 
     @Override
-    protected FileService createFileService(DataSourceWithDialect dataSource) {
-        return new FileService(dataSource, fileStorage);
+    protected FileService createFileService(DataSourceWithDialect dataSource, Configuration configuration) {
+        return new FileService(dataSource, fileStorage, configuration);
     }
 
     @Override
     protected void verifyFileIsStored(FileEntry fileEntry) throws Exception {
         Mockito.verify(fileStorage)
-               .addFile(Mockito.eq(fileEntry), Mockito.any());
+               .addFile(Mockito.argThat(storedFileEntry -> storedFileEntry.getId()
+                                                                          .equals(fileEntry.getId())),
+                        Mockito.any(InputStream.class));
     }
 }
@@ -0,0 +1,217 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
+
+public class IndexedFileSystemFileStorageTest {
+
+    private static final byte[] CONTENT = "content".getBytes(StandardCharsets.UTF_8);
+    private static final String SPACE_1 = "space1";
+    private static final String SPACE_2 = "space2";
+    private static final String NAMESPACE_1 = "namespace1";
+    private static final String NAMESPACE_2 = "namespace2";
+
+    private Path temporaryStorageLocation;
+    private FileStorage fileStorage;
+    private long now;
+
+    @Before
+    public void setUp() throws Exception {
+        this.now = System.currentTimeMillis();
+        this.temporaryStorageLocation = Files.createTempDirectory("testIndexedFileStorage");
+        this.fileStorage = new FileSystemFileStorage(temporaryStorageLocation.toString(), true);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(temporaryStorageLocation.toFile());
+    }
+
+    @Test
+    public void deleteFilesBySpaceAndNamespace() throws Exception {
+        FileEntry fileToDelete1 = addFile(SPACE_1, NAMESPACE_1, new Date());
+        FileEntry fileToDelete2 = addFile(SPACE_1, NAMESPACE_1, hoursAgo(5));
+        FileEntry fileInOtherNamespace = addFile(SPACE_1, NAMESPACE_2, new Date());
+        FileEntry fileInOtherSpace = addFile(SPACE_2, NAMESPACE_1, new Date());
+
+        fileStorage.deleteFilesBySpaceAndNamespace(SPACE_1, NAMESPACE_1, Collections.emptyList());
+
+        assertFileExists(false, fileToDelete1);
+        assertFileExists(false, fileToDelete2);
+        assertFileExists(true, fileInOtherNamespace);
+        assertFileExists(true, fileInOtherSpace);
+    }
+
+    @Test
+    public void deleteFilesModifiedBefore() throws Exception {
+        FileEntry fileToRemain1 = addFile(SPACE_1, NAMESPACE_1, new Date());
+        FileEntry fileToRemain2 = addFile(SPACE_2, NAMESPACE_2, hoursAgo(1));
+        FileEntry fileToDelete1 = addFile(SPACE_1, NAMESPACE_1, hoursAgo(3));
+        FileEntry fileToDelete2 = addFile(SPACE_2, NAMESPACE_1, hoursAgo(48));
+
+        int deletedFiles = fileStorage.deleteFilesModifiedBefore(hoursAgo(2));
+
+        assertEquals(2, deletedFiles);
+        assertFileExists(true, fileToRemain1);
+        assertFileExists(true, fileToRemain2);
+        assertFileExists(false, fileToDelete1);
+        assertFileExists(false, fileToDelete2);
+    }
+
+    @Test
+    public void deleteFilesModifiedBeforeDoesNotCountFilesDeletedBefore() throws Exception {
+        FileEntry deletedFile = addFile(SPACE_1, NAMESPACE_1, hoursAgo(3));
+        addFile(SPACE_1, NAMESPACE_1, hoursAgo(3));
+        fileStorage.deleteFile(deletedFile.getId(), deletedFile.getSpace());
+
+        assertEquals(1, fileStorage.deleteFilesModifiedBefore(hoursAgo(2)));
+        assertEquals(0, fileStorage.deleteFilesModifiedBefore(hoursAgo(2)));
+    }
+
+    @Test
+    public void deleteFilesBySpaceRemovesTheirIndexEntries() throws Exception {
+        addFile(SPACE_1, NAMESPACE_1, hoursAgo(3));
+        FileEntry fileInOtherSpace = addFile(SPACE_2, NAMESPACE_1, hoursAgo(3));
+
+        fileStorage.deleteFilesBySpace(SPACE_1);
+
+        assertEquals(1, fileStorage.deleteFilesModifiedBefore(new Date()));
+        assertFileExists(false, fileInOtherSpace);
+    }
+
+    @Test
+    public void indexFilesStoredBeforeIndexWasEnabled() throws Exception {
+        FileStorage notIndexedFileStorage = new FileSystemFileStorage(temporaryStorageLocation.toString());
+        FileEntry oldFile = createFileEntry(SPACE_1, NAMESPACE_1, null);
+        notIndexedFileStorage.addFile(oldFile, new ByteArrayInputStream(CONTENT));
+        Files.setLastModifiedTime(getFileLocation(oldFile), FileTime.fromMillis(hoursAgo(5).getTime()));
+        FileEntry newFile = addFile(SPACE_1, NAMESPACE_1, new Date());
+
+        assertEquals(1, fileStorage.deleteFilesModifiedBefore(hoursAgo(2)));
+        assertFileExists(false, oldFile);
+        assertFileExists(true, newFile);
+    }
+
+    @Test
+    public void deleteFilesBySpaceAndNamespaceStoredBeforeIndexWasEnabled() throws Exception {
+        FileStorage notIndexedFileStorage = new FileSystemFileStorage(temporaryStorageLocation.toString());
+        FileEntry oldFile = createFileEntry(SPACE_1, NAMESPACE_1, new Date());
+        notIndexedFileStorage.addFile(oldFile, new ByteArrayInputStream(CONTENT));
+        FileEntry oldFileInOtherNamespace = createFileEntry(SPACE_1, NAMESPACE_2, new Date());
+        notIndexedFileStorage.addFile(oldFileInOtherNamespace, new ByteArrayInputStream(CONTENT));
+        FileEntry newFile = addFile(SPACE_1, NAMESPACE_1, new Date());
+
+        fileStorage.deleteFilesBySpaceAndNamespace(SPACE_1, NAMESPACE_1, Arrays.asList(oldFile, newFile));
+
+        assertFileExists(false, oldFile);
+        assertFileExists(false, newFile);
+        assertFileExists(true, oldFileInOtherNamespace);
+    }
+
+    @Test
+    public void shareIndexBetweenStorages() throws Exception {
+        FileStorage otherFileStorage = new FileSystemFileStorage(temporaryStorageLocation.toString(), true);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<FileEntry>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                FileStorage storage = i % 2 == 0 ? fileStorage : otherFileStorage;
+                FileEntry fileEntry = createFileEntry(SPACE_1, NAMESPACE_1, hoursAgo(3));
+                futures.add(executor.submit(() -> {
+                    storage.addFile(fileEntry, new ByteArrayInputStream(CONTENT));
+                    return fileEntry;
+                }));
+            }
+            for (Future<FileEntry> future : futures) {
+                assertFileExists(true, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(100, otherFileStorage.deleteFilesModifiedBefore(hoursAgo(2)));
+    }
+
+    @Test
+    public void deleteFilesModifiedBeforeWithManyFiles() throws Exception {
+        List<FileEntry> oldFiles = new ArrayList<>();
+        List<FileEntry> newFiles = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Date modified = hoursAgo(i % 100);
+            FileEntry fileEntry = createFileEntry("space" + i % 7, "namespace" + i % 3, modified);
+            fileStorage.addFile(fileEntry, new ByteArrayInputStream(CONTENT));
+            if (i % 100 >= 50) {
+                oldFiles.add(fileEntry);
+            } else {
+                newFiles.add(fileEntry);
+            }
+        }
+
+        int deletedFiles = fileStorage.deleteFilesModifiedBefore(new Date(hoursAgo(49).getTime() - TimeUnit.MINUTES.toMillis(30)));
+
+        assertEquals(oldFiles.size(), deletedFiles);
+        oldFiles.forEach(fileEntry -> assertFileExists(false, fileEntry));
+        newFiles.forEach(fileEntry -> assertFileExists(true, fileEntry));
+    }
+
+    private FileEntry addFile(String space, String namespace, Date modified) throws Exception {
+        FileEntry fileEntry = createFileEntry(space, namespace, modified);
+        fileStorage.addFile(fileEntry, new ByteArrayInputStream(CONTENT));
+        assertFileExists(true, fileEntry);
+        return fileEntry;
+    }
+
+    private FileEntry createFileEntry(String space, String namespace, Date modified) {
+        return ImmutableFileEntry.builder()
+                                 .id(UUID.randomUUID()
+                                         .toString())
+                                 .name("file")
+                                 .space(space)
+                                 .namespace(namespace)
+                                 .modified(modified)
+                                 .build();
+    }
+
+    private Date hoursAgo(int hours) {
+        return new Date(now - TimeUnit.HOURS.toMillis(hours));
+    }
+
+    private void assertFileExists(boolean expectedFileExists, FileEntry fileEntry) {
+        if (expectedFileExists) {
+            assertTrue(Files.exists(getFileLocation(fileEntry)));
+        } else {
+            assertFalse(Files.exists(getFileLocation(fileEntry)));
+        }
+    }
+
+    private Path getFileLocation(FileEntry fileEntry) {
+        return Paths.get(temporaryStorageLocation.toString(), fileEntry.getSpace(), "files", fileEntry.getId());
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+
+import org.jclouds.ContextBuilder;
+import org.jclouds.blobstore.BlobStore;
+import org.jclouds.blobstore.BlobStoreContext;
+import org.jclouds.blobstore.domain.Blob;
+import org.jclouds.blobstore.options.ListContainerOptions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+
+import com.sap.cloud.lm.sl.cf.persistence.DataSourceWithDialect;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.util.Configuration;
+import com.sap.cloud.lm.sl.common.util.TestDataSourceProvider;
+
+public class IndexedObjectStoreFileServiceTest {
+
+    private static final String LIQUIBASE_CHANGELOG_LOCATION = "com/sap/cloud/lm/sl/cf/persistence/db/changelog/db-changelog.xml";
+    private static final String CONTAINER = "container4e";
+    private static final long MAX_UPLOAD_SIZE = 1024 * 1024L;
+    private static final int PARALLEL_DELETES = 4;
+    private static final byte[] CONTENT = "content".getBytes(StandardCharsets.UTF_8);
+
+    private static final String SPACE_1 = "myspace";
+    private static final String SPACE_2 = "myspace2";
+    private static final String NAMESPACE_1 = "namespace1";
+    private static final String NAMESPACE_2 = "namespace2";
+
+    private BlobStoreContext blobStoreContext;
+    private BlobStore blobStore;
+    private DataSourceWithDialect testDataSource;
+    private FileService fileService;
+
+    @Before
+    public void setUp() throws Exception {
+        blobStoreContext = ContextBuilder.newBuilder("transient")
+                                         .buildView(BlobStoreContext.class);
+        blobStoreContext.getBlobStore()
+                        .createContainerInLocation(null, CONTAINER);
+        blobStore = Mockito.mock(BlobStore.class, AdditionalAnswers.delegatesTo(blobStoreContext.getBlobStore()));
+        testDataSource = new DataSourceWithDialect(TestDataSourceProvider.getDataSource(LIQUIBASE_CHANGELOG_LOCATION));
+        fileService = createFileService(false);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        fileService.deleteBySpace(SPACE_1);
+        fileService.deleteBySpace(SPACE_2);
+        testDataSource.getDataSource()
+                      .getConnection()
+                      .close();
+        blobStoreContext.close();
+    }
+
+    @Test
+    public void deleteBySpace() throws Exception {
+        FileEntry fileToDelete1 = addFile(SPACE_1, NAMESPACE_1);
+        FileEntry fileToDelete2 = addFile(SPACE_1, NAMESPACE_2);
+        FileEntry fileInOtherSpace = addFile(SPACE_2, NAMESPACE_1);
+
+        assertEquals(2, fileService.deleteBySpace(SPACE_1));
+
+        assertFileExists(false, fileToDelete1);
+        assertFileExists(false, fileToDelete2);
+        assertFileExists(true, fileInOtherSpace);
+        verifyContainerWasNotListed();
+    }
+
+    @Test
+    public void deleteBySpaceAndNamespace() throws Exception {
+        FileEntry fileToDelete = addFile(SPACE_1, NAMESPACE_1);
+        FileEntry fileInOtherNamespace = addFile(SPACE_1, NAMESPACE_2);
+        FileEntry fileInOtherSpace = addFile(SPACE_2, NAMESPACE_1);
+
+        assertEquals(1, fileService.deleteBySpaceAndNamespace(SPACE_1, NAMESPACE_1));
+
+        assertFileExists(false, fileToDelete);
+        assertFileExists(true, fileInOtherNamespace);
+        assertFileExists(true, fileInOtherSpace);
+        verifyContainerWasNotListed();
+    }
+
+    @Test
+    public void deleteModifiedBefore() throws Exception {
+        FileEntry fileToDelete1 = addFile(SPACE_1, NAMESPACE_1);
+        FileEntry fileToDelete2 = addFile(SPACE_2, NAMESPACE_2);
+        String blobWithoutAttributes = addBlobWithoutAttributes();
+
+        assertEquals(4, fileService.deleteModifiedBefore(new Date(System.currentTimeMillis() + 1000)));
+
+        assertFileExists(false, fileToDelete1);
+        assertFileExists(false, fileToDelete2);
+        assertNotNull(blobStore.getBlob(CONTAINER, blobWithoutAttributes));
+        verifyContainerWasNotListed();
+    }
+
+    @Test
+    public void deleteModifiedBeforeWithReconciliation() throws Exception {
+        fileService = createFileService(true);
+        FileEntry fileToDelete = addFile(SPACE_1, NAMESPACE_1);
+        String blobWithoutAttributes = addBlobWithoutAttributes();
+
+        fileService.deleteModifiedBefore(new Date(System.currentTimeMillis() + 1000));
+
+        assertFileExists(false, fileToDelete);
+        assertNull(blobStore.getBlob(CONTAINER, blobWithoutAttributes));
+    }
+
+    private FileService createFileService(boolean reconciliationEnabled) {
+        FileStorage fileStorage = new ObjectStoreFileStorage(blobStore, CONTAINER, ImmutableObjectStoreFileStorageConfiguration.builder()
+                                                                                                                              .parallelDeletes(PARALLEL_DELETES)
+                                                                                                                              .build());
+        return new FileService(testDataSource, fileStorage, new Configuration(MAX_UPLOAD_SIZE, true, reconciliationEnabled));
+    }
+
+    private FileEntry addFile(String space, String namespace) throws Exception {
+        FileEntry fileEntry = fileService.addFile(space, namespace, "file", new ByteArrayInputStream(CONTENT));
+        assertFileExists(true, fileEntry);
+        return fileEntry;
+    }
+
+    private String addBlobWithoutAttributes() {
+        String id = UUID.randomUUID()
+                        .toString();
+        Blob blob = blobStore.blobBuilder(id)
+                             .payload(CONTENT)
+                             .build();
+        blobStore.putBlob(CONTAINER, blob);
+        return id;
+    }
+
+    private void assertFileExists(boolean expectedFileExists, FileEntry fileEntry) {
+        assertEquals(expectedFileExists, blobStore.getBlob(CONTAINER, fileEntry.getId()) != null);
+    }
+
+    private void verifyContainerWasNotListed() {
+        Mockito.verify(blobStore, Mockito.never())
+               .list(Mockito.anyString());
+        Mockito.verify(blobStore, Mockito.never())
+               .list(Mockito.anyString(), Mockito.any(ListContainerOptions.class));
+    }
+
+}
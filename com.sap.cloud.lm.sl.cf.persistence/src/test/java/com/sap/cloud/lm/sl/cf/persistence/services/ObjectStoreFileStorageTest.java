@@ -2,7 +2,11 @@ package com.sap.cloud.lm.sl.cf.persistence.services;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -12,9 +16,20 @@ import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.bind.DatatypeConverter;
 
@@ -23,11 +38,18 @@ import org.jclouds.ContextBuilder;
 import org.jclouds.blobstore.BlobStore;
 import org.jclouds.blobstore.BlobStoreContext;
 import org.jclouds.blobstore.domain.Blob;
+import org.jclouds.blobstore.domain.MultipartPart;
+import org.jclouds.blobstore.options.GetOptions;
+import org.jclouds.blobstore.options.ListContainerOptions;
+import org.jclouds.http.HttpResponseException;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
 
 import com.google.common.net.MediaType;
+import com.sap.cloud.lm.sl.cf.persistence.Constants;
 import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
 import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
 import com.sap.cloud.lm.sl.common.util.DigestHelper;
@@ -38,6 +60,13 @@ public class ObjectStoreFileStorageTest {
     private static final String SECOND_FILE_TEST_LOCATION = "src/test/resources/pexels-photo-463467.jpeg";
     private static final String DIGEST_METHOD = "MD5";
     private static final String CONTAINER = "container4e";
+    private static final long RANGED_DOWNLOAD_THRESHOLD = 1024;
+    private static final long RANGE_SIZE = 64 * 1024;
+    private static final int PARALLEL_RANGES = 3;
+    private static final int CONCURRENT_RANGED_DOWNLOADS = 8;
+    private static final int PARALLEL_DELETES = 4;
+    private static final int PARALLEL_UPLOAD_PARTS = 3;
+    private static final int MULTIPART_FILE_SIZE = 12 * 1024 * 1024;
 
     private String spaceId;
     private String namespace;
@@ -79,6 +108,171 @@ public class ObjectStoreFileStorageTest {
         assertFileExists(true, fileEntry);
     }
 
+    @Test
+    public void addFileFromStreamTest() throws Exception {
+        FileEntry fileEntry = enrichFileEntry(createFileEntry(), Paths.get(TEST_FILE_LOCATION), null);
+        try (InputStream content = new FileInputStream(TEST_FILE_LOCATION)) {
+            fileStorage.addFile(fileEntry, content);
+        }
+        String testFileDigest = DigestHelper.computeFileChecksum(Paths.get(TEST_FILE_LOCATION), DIGEST_METHOD)
+                                            .toLowerCase();
+        validateFileContent(fileEntry, testFileDigest);
+        Blob blob = blobStoreContext.getBlobStore()
+                                    .getBlob(CONTAINER, fileEntry.getId());
+        assertEquals(spaceId, blob.getMetadata()
+                                  .getUserMetadata()
+                                  .get(Constants.FILE_ENTRY_SPACE.toLowerCase()));
+    }
+
+    @Test
+    public void addFileFromStreamInMultipleParts() throws Exception {
+        byte[] content = new byte[MULTIPART_FILE_SIZE];
+        new Random().nextBytes(content);
+        FileEntry fileEntry = enrichFileEntry(createFileEntry(), Paths.get(TEST_FILE_LOCATION), null);
+        fileStorage.addFile(fileEntry, new ByteArrayInputStream(content));
+
+        String expectedDigest = DatatypeConverter.printHexBinary(MessageDigest.getInstance(DIGEST_METHOD)
+                                                                              .digest(content))
+                                                 .toLowerCase();
+        validateFileContent(fileEntry, expectedDigest);
+        assertFileExists(true, fileEntry);
+    }
+
+    @Test
+    public void addFileInMultipleParts() throws Exception {
+        BlobStore blobStore = Mockito.mock(BlobStore.class, AdditionalAnswers.delegatesTo(blobStoreContext.getBlobStore()));
+        ObjectStoreFileStorage objectStoreFileStorage = createParallelUploadFileStorage(blobStore);
+        fileStorage = objectStoreFileStorage;
+        byte[] content = new byte[MULTIPART_FILE_SIZE];
+        new Random().nextBytes(content);
+        File file = File.createTempFile("multipartFile", null);
+        try {
+            FileUtils.writeByteArrayToFile(file, content);
+            FileEntry fileEntry = enrichFileEntry(createFileEntry(), file.toPath(), null);
+            fileStorage.addFile(fileEntry, file);
+
+            String expectedDigest = DatatypeConverter.printHexBinary(MessageDigest.getInstance(DIGEST_METHOD)
+                                                                                  .digest(content))
+                                                     .toLowerCase();
+            validateFileContent(fileEntry, expectedDigest);
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+        Mockito.verify(blobStore, Mockito.times(3))
+               .uploadMultipartPart(Mockito.any(), Mockito.anyInt(), Mockito.any());
+        assertEquals(3, objectStoreFileStorage.getUploadMetrics()
+                                              .getUploadedParts());
+        assertEquals(MULTIPART_FILE_SIZE, objectStoreFileStorage.getUploadMetrics()
+                                                                .getUploadedBytes());
+    }
+
+    @Test
+    public void uploadThroughputDoesNotOverflow() {
+        ObjectStoreUploadMetrics uploadMetrics = new ObjectStoreUploadMetrics();
+        long uploadedBytes = 100L * 1024 * 1024 * 1024; // 100GB
+
+        uploadMetrics.recordUpload(uploadedBytes, TimeUnit.SECONDS.toNanos(100));
+
+        assertEquals(uploadedBytes / 100, uploadMetrics.getUploadThroughput());
+    }
+
+    @Test
+    public void addFileFromStreamInMultiplePartsRetriesFailedParts() throws Exception {
+        BlobStore realBlobStore = blobStoreContext.getBlobStore();
+        BlobStore blobStore = Mockito.mock(BlobStore.class, AdditionalAnswers.delegatesTo(realBlobStore));
+        AtomicInteger failedPartUploads = new AtomicInteger();
+        Mockito.doAnswer(invocation -> {
+            if ((int) invocation.getArgument(1) == 2 && failedPartUploads.getAndIncrement() == 0) {
+                throw new HttpResponseException("Connection reset", null, null);
+            }
+            return realBlobStore.uploadMultipartPart(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+        })
+               .when(blobStore)
+               .uploadMultipartPart(Mockito.any(), Mockito.anyInt(), Mockito.any());
+        ObjectStoreFileStorage objectStoreFileStorage = createParallelUploadFileStorage(blobStore);
+        fileStorage = objectStoreFileStorage;
+        byte[] content = new byte[MULTIPART_FILE_SIZE];
+        new Random().nextBytes(content);
+        FileEntry fileEntry = enrichFileEntry(createFileEntry(), Paths.get(TEST_FILE_LOCATION), null);
+        fileStorage.addFile(fileEntry, new ByteArrayInputStream(content));
+
+        String expectedDigest = DatatypeConverter.printHexBinary(MessageDigest.getInstance(DIGEST_METHOD)
+                                                                              .digest(content))
+                                                 .toLowerCase();
+        validateFileContent(fileEntry, expectedDigest);
+        assertEquals(1, objectStoreFileStorage.getUploadMetrics()
+                                              .getRetriedParts());
+        assertEquals(3, objectStoreFileStorage.getUploadMetrics()
+                                              .getUploadedParts());
+    }
+
+    @Test
+    public void addFileInMultiplePartsAbortsUploadIfPartFails() throws Exception {
+        BlobStore blobStore = Mockito.mock(BlobStore.class, AdditionalAnswers.delegatesTo(blobStoreContext.getBlobStore()));
+        Mockito.doThrow(new HttpResponseException("Connection reset", null, null))
+               .when(blobStore)
+               .uploadMultipartPart(Mockito.any(), Mockito.eq(3), Mockito.any());
+        fileStorage = createParallelUploadFileStorage(blobStore);
+        byte[] content = new byte[MULTIPART_FILE_SIZE];
+        FileEntry fileEntry = enrichFileEntry(createFileEntry(), Paths.get(TEST_FILE_LOCATION), null);
+
+        try {
+            fileStorage.addFile(fileEntry, new ByteArrayInputStream(content));
+            fail();
+        } catch (HttpResponseException e) {
+            Mockito.verify(blobStore)
+                   .abortMultipartUpload(Mockito.any());
+            assertFileExists(false, fileEntry);
+        }
+    }
+
+    @Test
+    public void addFileInMultiplePartsAbortsUploadAfterPendingParts() throws Exception {
+        BlobStore realBlobStore = blobStoreContext.getBlobStore();
+        BlobStore blobStore = Mockito.mock(BlobStore.class, AdditionalAnswers.delegatesTo(realBlobStore));
+        AtomicBoolean secondPartUploaded = new AtomicBoolean();
+        Mockito.doAnswer(invocation -> {
+            if ((int) invocation.getArgument(1) == 1) {
+                throw new HttpResponseException("Connection reset", null, null);
+            }
+            Thread.sleep(500);
+            MultipartPart part = realBlobStore.uploadMultipartPart(invocation.getArgument(0), invocation.getArgument(1),
+                                                                   invocation.getArgument(2));
+            secondPartUploaded.set(true);
+            return part;
+        })
+               .when(blobStore)
+               .uploadMultipartPart(Mockito.any(), Mockito.anyInt(), Mockito.any());
+        AtomicBoolean abortedAfterSecondPart = new AtomicBoolean();
+        Mockito.doAnswer(invocation -> {
+            abortedAfterSecondPart.set(secondPartUploaded.get());
+            realBlobStore.abortMultipartUpload(invocation.getArgument(0));
+            return null;
+        })
+               .when(blobStore)
+               .abortMultipartUpload(Mockito.any());
+        fileStorage = createParallelUploadFileStorage(blobStore);
+        FileEntry fileEntry = enrichFileEntry(createFileEntry(), Paths.get(TEST_FILE_LOCATION), null);
+
+        try {
+            fileStorage.addFile(fileEntry, new ByteArrayInputStream(new byte[MULTIPART_FILE_SIZE]));
+            fail();
+        } catch (HttpResponseException e) {
+            assertTrue(abortedAfterSecondPart.get());
+        }
+    }
+
+    private ObjectStoreFileStorage createParallelUploadFileStorage(BlobStore blobStore) {
+        return new ObjectStoreFileStorage(blobStore, CONTAINER, ImmutableObjectStoreFileStorageConfiguration.builder()
+                                                                                                          .parallelUploadParts(PARALLEL_UPLOAD_PARTS)
+                                                                                                          .build()) {
+            @Override
+            protected long getRetryWaitTime() {
+                return 1;
+            }
+        };
+    }
+
     @Test
     public void getFileEntriesWithoutContent() throws Exception {
         List<FileEntry> fileEntries = new ArrayList<>();
@@ -106,6 +300,53 @@ public class ObjectStoreFileStorageTest {
 
     }
 
+    @Test
+    public void deleteFiles() throws Exception {
+        BlobStore realBlobStore = blobStoreContext.getBlobStore();
+        BlobStore blobStore = Mockito.mock(BlobStore.class, AdditionalAnswers.delegatesTo(realBlobStore));
+        fileStorage = createParallelDeleteFileStorage(blobStore);
+        List<FileEntry> filesToDelete = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            filesToDelete.add(addFile(SECOND_FILE_TEST_LOCATION));
+        }
+        FileEntry fileThatStays = addFile(TEST_FILE_LOCATION);
+
+        fileStorage.deleteFiles(filesToDelete);
+
+        filesToDelete.forEach(fileEntry -> assertFileExists(false, fileEntry));
+        assertFileExists(true, fileThatStays);
+        Mockito.verify(blobStore, Mockito.never())
+               .list(Mockito.anyString());
+        Mockito.verify(blobStore, Mockito.never())
+               .list(Mockito.anyString(), Mockito.any(ListContainerOptions.class));
+    }
+
+    private ObjectStoreFileStorage createParallelDeleteFileStorage(BlobStore blobStore) {
+        return new ObjectStoreFileStorage(blobStore, CONTAINER, ImmutableObjectStoreFileStorageConfiguration.builder()
+                                                                                                          .parallelDeletes(PARALLEL_DELETES)
+                                                                                                          .build());
+    }
+
+    @Test
+    public void deleteFilesRemovesAllBlobsEvenIfSomeFail() throws Exception {
+        BlobStore realBlobStore = blobStoreContext.getBlobStore();
+        BlobStore blobStore = Mockito.mock(BlobStore.class, AdditionalAnswers.delegatesTo(realBlobStore));
+        FileEntry failingFile = addFile(TEST_FILE_LOCATION);
+        FileEntry otherFile = addFile(SECOND_FILE_TEST_LOCATION);
+        Mockito.doThrow(new IllegalStateException("Connection reset"))
+               .when(blobStore)
+               .removeBlob(CONTAINER, failingFile.getId());
+        fileStorage = createParallelDeleteFileStorage(blobStore);
+
+        try {
+            fileStorage.deleteFiles(Arrays.asList(failingFile, otherFile));
+            fail();
+        } catch (FileStorageException e) {
+            assertFileExists(true, failingFile);
+            assertFileExists(false, otherFile);
+        }
+    }
+
     @Test
     public void deleteFilesBySpace() throws Exception {
         FileEntry firstFile = addFile(TEST_FILE_LOCATION);
@@ -126,7 +367,7 @@ public class ObjectStoreFileStorageTest {
         FileEntry fileInOtherSpace = addFile(TEST_FILE_LOCATION, "otherspace", namespace);
         FileEntry fileInOtherNamespace = addFile(TEST_FILE_LOCATION, spaceId, "othernamespace");
 
-        fileStorage.deleteFilesBySpaceAndNamespace(spaceId, namespace);
+        fileStorage.deleteFilesBySpaceAndNamespace(spaceId, namespace, Collections.emptyList());
         assertFileExists(true, fileInOtherNamespace);
         assertFileExists(true, fileInOtherSpace);
         assertFileExists(false, firstFile);
@@ -183,6 +424,97 @@ public class ObjectStoreFileStorageTest {
         validateFileContent(fileEntry, testFileDigest);
     }
 
+    @Test
+    public void processFileContentInRanges() throws Exception {
+        fileStorage = createRangedDownloadFileStorage(blobStoreContext.getBlobStore());
+        FileEntry fileEntry = addFile(TEST_FILE_LOCATION);
+        String testFileDigest = DigestHelper.computeFileChecksum(Paths.get(TEST_FILE_LOCATION), DIGEST_METHOD)
+                                            .toLowerCase();
+        validateFileContent(fileEntry, testFileDigest);
+    }
+
+    @Test
+    public void processFileContentInRangesRetriesFailedRanges() throws Exception {
+        BlobStore realBlobStore = blobStoreContext.getBlobStore();
+        BlobStore blobStore = Mockito.mock(BlobStore.class, AdditionalAnswers.delegatesTo(realBlobStore));
+        AtomicInteger failedRangeDownloads = new AtomicInteger();
+        Mockito.doAnswer(invocation -> {
+            GetOptions options = invocation.getArgument(2);
+            if (options.getRanges()
+                       .contains("0-" + (RANGE_SIZE - 1))
+                && failedRangeDownloads.getAndIncrement() == 0) {
+                throw new IllegalStateException("Connection reset");
+            }
+            return realBlobStore.getBlob(CONTAINER, invocation.getArgument(1), options);
+        })
+               .when(blobStore)
+               .getBlob(Mockito.eq(CONTAINER), Mockito.anyString(), Mockito.any(GetOptions.class));
+        fileStorage = createRangedDownloadFileStorage(blobStore);
+        FileEntry fileEntry = addFile(TEST_FILE_LOCATION);
+        String testFileDigest = DigestHelper.computeFileChecksum(Paths.get(TEST_FILE_LOCATION), DIGEST_METHOD)
+                                            .toLowerCase();
+        validateFileContent(fileEntry, testFileDigest);
+        assertEquals(2, failedRangeDownloads.get());
+    }
+
+    @Test
+    public void processFileContentInRangesConcurrentlyWithBoundedThreads() throws Exception {
+        BlobStore realBlobStore = blobStoreContext.getBlobStore();
+        BlobStore blobStore = Mockito.mock(BlobStore.class, AdditionalAnswers.delegatesTo(realBlobStore));
+        Set<String> rangeDownloadThreads = ConcurrentHashMap.newKeySet();
+        Mockito.doAnswer(invocation -> {
+            rangeDownloadThreads.add(Thread.currentThread()
+                                           .getName());
+            return realBlobStore.getBlob(CONTAINER, invocation.getArgument(1), invocation.getArgument(2));
+        })
+               .when(blobStore)
+               .getBlob(Mockito.eq(CONTAINER), Mockito.anyString(), Mockito.any(GetOptions.class));
+        fileStorage = createRangedDownloadFileStorage(blobStore);
+        FileEntry fileEntry = addFile(TEST_FILE_LOCATION);
+        String testFileDigest = DigestHelper.computeFileChecksum(Paths.get(TEST_FILE_LOCATION), DIGEST_METHOD)
+                                            .toLowerCase();
+
+        ExecutorService downloadExecutor = Executors.newFixedThreadPool(CONCURRENT_RANGED_DOWNLOADS);
+        try {
+            List<Future<?>> downloads = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_RANGED_DOWNLOADS; i++) {
+                downloads.add(downloadExecutor.submit(() -> {
+                    validateFileContent(fileEntry, testFileDigest);
+                    return null;
+                }));
+            }
+            for (Future<?> download : downloads) {
+                download.get();
+            }
+        } finally {
+            downloadExecutor.shutdownNow();
+        }
+        assertTrue(rangeDownloadThreads.size() <= PARALLEL_RANGES * ObjectStoreFileStorage.MAX_CONCURRENT_RANGED_DOWNLOADS);
+    }
+
+    @Test(expected = FileStorageException.class)
+    public void testFileContentNotExistingWithRangedDownload() throws Exception {
+        fileStorage = createRangedDownloadFileStorage(blobStoreContext.getBlobStore());
+        FileEntry dummyFileEntry = ImmutableFileEntry.builder()
+                                                     .id("not-existing-file-id")
+                                                     .space("not-existing-space-id")
+                                                     .build();
+        validateFileContent(dummyFileEntry, "");
+    }
+
+    private FileStorage createRangedDownloadFileStorage(BlobStore blobStore) {
+        return new ObjectStoreFileStorage(blobStore, CONTAINER, ImmutableObjectStoreFileStorageConfiguration.builder()
+                                                                                                          .rangedDownloadThreshold(RANGED_DOWNLOAD_THRESHOLD)
+                                                                                                          .rangeSize(RANGE_SIZE)
+                                                                                                          .parallelRanges(PARALLEL_RANGES)
+                                                                                                          .build()) {
+            @Override
+            protected long getRetryWaitTime() {
+                return 1;
+            }
+        };
+    }
+
     @Test(expected = FileStorageException.class)
     public void testFileContentNotExisting() throws Exception {
         String fileId = "not-existing-file-id";
@@ -0,0 +1,107 @@
+package com.sap.cloud.lm.sl.cf.persistence.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mockito;
+
+import com.sap.cloud.lm.sl.cf.persistence.DataSourceWithDialect;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
+
+public class ProcessLogsPersistenceServiceTest {
+
+    private static final String SPACE = "space";
+    private static final List<String> LOG_CHUNKS_CONTENT = Arrays.asList("first chunk\n", "second chunk\n", "third chunk\n");
+    private static final String LOG_CONTENT = String.join("", LOG_CHUNKS_CONTENT);
+
+    private final Map<String, String> contentOfChunks = new HashMap<>();
+    private final List<String> readChunks = new ArrayList<>();
+    private final List<FileEntry> logChunks = new ArrayList<>();
+    private ProcessLogsPersistenceService processLogsPersistenceService;
+
+    @BeforeEach
+    public void setUp() {
+        for (String chunkContent : LOG_CHUNKS_CONTENT) {
+            FileEntry logChunk = createLogChunk(chunkContent);
+            logChunks.add(logChunk);
+            contentOfChunks.put(logChunk.getId(), chunkContent);
+        }
+        processLogsPersistenceService = new ProcessLogsPersistenceService(new DataSourceWithDialect(Mockito.mock(DataSource.class))) {
+
+            @Override
+            public <T> T processFileContent(String space, String id, long offset, long length,
+                                            FileContentProcessor<T> fileContentProcessor)
+                throws FileStorageException {
+                readChunks.add(id);
+                try {
+                    byte[] content = contentOfChunks.get(id)
+                                                    .getBytes(StandardCharsets.UTF_8);
+                    return fileContentProcessor.process(new ByteArrayInputStream(content, (int) offset, (int) length));
+                } catch (Exception e) {
+                    throw new FileStorageException(e);
+                }
+            }
+
+        };
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+    // @formatter:off
+        // (0) The whole log:
+        "0, 37, 3",
+        // (1) A range within the first chunk:
+        "2, 5, 1",
+        // (2) A range spanning the end of the first and the beginning of the second chunk:
+        "8, 10, 2",
+        // (3) A range within the last chunk:
+        "30, 6, 1",
+        // (4) An empty range:
+        "10, 0, 0",
+    // @formatter:on
+    })
+    public void testWriteLogContent(long offset, long length, int expectedReadChunksCount) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        processLogsPersistenceService.writeLogContent(SPACE, logChunks, offset, length, outputStream);
+
+        String expectedContent = LOG_CONTENT.substring((int) offset, (int) (offset + length));
+        assertEquals(expectedContent, new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(expectedReadChunksCount, readChunks.size());
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "0", "3" })
+    public void testGetLogSize(int chunksCount) {
+        long expectedSize = String.join("", LOG_CHUNKS_CONTENT.subList(0, chunksCount))
+                                  .length();
+
+        assertEquals(expectedSize, ProcessLogsPersistenceService.getLogSize(logChunks.subList(0, chunksCount)));
+    }
+
+    private FileEntry createLogChunk(String content) {
+        return ImmutableFileEntry.builder()
+                                 .id(UUID.randomUUID()
+                                         .toString())
+                                 .space(SPACE)
+                                 .size(BigInteger.valueOf(content.length()))
+                                 .build();
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.sap.cloud.lm.sl.cf.persistence.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.google.common.hash.Hashing;
+
+public class DigestCalculatorTest {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final byte[] content = createContent(10 * 1024);
+
+    @ParameterizedTest
+    @EnumSource(value = DigestAlgorithm.class, names = { "MD5", "SHA_1", "SHA_256" })
+    public void testCalculateDigest(DigestAlgorithm algorithm) throws NoSuchAlgorithmException {
+        DigestCalculator digestCalculator = DigestCalculator.create(algorithm);
+
+        update(digestCalculator, content);
+
+        assertEquals(DatatypeConverter.printHexBinary(MessageDigest.getInstance(algorithm.getName())
+                                                                   .digest(content)),
+                     digestCalculator.getDigest());
+    }
+
+    @Test
+    public void testCalculateNonCryptographicDigest() {
+        DigestCalculator digestCalculator = DigestCalculator.create(DigestAlgorithm.MURMUR3_128);
+
+        update(digestCalculator, content);
+
+        assertEquals(DatatypeConverter.printHexBinary(Hashing.murmur3_128()
+                                                             .hashBytes(content)
+                                                             .asBytes()),
+                     digestCalculator.getDigest());
+    }
+
+    @ParameterizedTest
+    @EnumSource(DigestAlgorithm.class)
+    public void testCalculateDigestFromBuffers(DigestAlgorithm algorithm) {
+        DigestCalculator heapDigestCalculator = DigestCalculator.create(algorithm);
+        DigestCalculator directDigestCalculator = DigestCalculator.create(algorithm);
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(content.length);
+        directBuffer.put(content);
+        directBuffer.flip();
+
+        heapDigestCalculator.updateDigest(ByteBuffer.wrap(content));
+        directDigestCalculator.updateDigest(directBuffer);
+
+        String expectedDigest = calculateDigest(algorithm, content);
+        assertEquals(expectedDigest, heapDigestCalculator.getDigest());
+        assertEquals(expectedDigest, directDigestCalculator.getDigest());
+        assertEquals(0, directBuffer.remaining());
+    }
+
+    @ParameterizedTest
+    @EnumSource(DigestAlgorithm.class)
+    public void testCalculateInterleavedDigestsOnTheSameThread(DigestAlgorithm algorithm) {
+        byte[] otherContent = createContent(3 * 1024);
+        DigestCalculator digestCalculator = DigestCalculator.create(algorithm);
+        DigestCalculator otherDigestCalculator = DigestCalculator.create(algorithm);
+
+        for (int offset = 0; offset < content.length; offset += CHUNK_SIZE) {
+            digestCalculator.updateDigest(content, offset, Math.min(CHUNK_SIZE, content.length - offset));
+            if (offset < otherContent.length) {
+                otherDigestCalculator.updateDigest(otherContent, offset, Math.min(CHUNK_SIZE, otherContent.length - offset));
+            }
+        }
+
+        assertEquals(calculateDigest(algorithm, otherContent), otherDigestCalculator.getDigest());
+        assertEquals(calculateDigest(algorithm, content), digestCalculator.getDigest());
+    }
+
+    @ParameterizedTest
+    @EnumSource(DigestAlgorithm.class)
+    public void testCalculateDigestAgain(DigestAlgorithm algorithm) {
+        DigestCalculator digestCalculator = DigestCalculator.create(algorithm);
+        update(digestCalculator, content);
+        String digest = digestCalculator.getDigest();
+
+        update(digestCalculator, content);
+
+        assertEquals(digest, digestCalculator.getDigest());
+    }
+
+    @ParameterizedTest
+    @EnumSource(DigestAlgorithm.class)
+    public void testDigestChangesWithContent(DigestAlgorithm algorithm) {
+        byte[] changedContent = content.clone();
+        changedContent[content.length / 2]++;
+
+        assertNotEquals(calculateDigest(algorithm, content), calculateDigest(algorithm, changedContent));
+    }
+
+    @Test
+    public void testCreateWithName() throws NoSuchAlgorithmException {
+        DigestCalculator digestCalculator = DigestCalculator.create("SHA-512");
+
+        update(digestCalculator, content);
+
+        assertEquals(DatatypeConverter.printHexBinary(MessageDigest.getInstance("SHA-512")
+                                                                   .digest(content)),
+                     digestCalculator.getDigest());
+        assertEquals(calculateDigest(DigestAlgorithm.MD5, content), calculateDigest(DigestCalculator.create("md5"), content));
+    }
+
+    @Test
+    public void testCreateWithUnknownName() {
+        Assertions.assertThrows(NoSuchAlgorithmException.class, () -> DigestCalculator.create("unknown"));
+    }
+
+    private static String calculateDigest(DigestAlgorithm algorithm, byte[] content) {
+        return calculateDigest(DigestCalculator.create(algorithm), content);
+    }
+
+    private static String calculateDigest(DigestCalculator digestCalculator, byte[] content) {
+        update(digestCalculator, content);
+        return digestCalculator.getDigest();
+    }
+
+    private static void update(DigestCalculator digestCalculator, byte[] content) {
+        for (int offset = 0; offset < content.length; offset += CHUNK_SIZE) {
+            digestCalculator.updateDigest(content, offset, Math.min(CHUNK_SIZE, content.length - offset));
+        }
+    }
+
+    private static byte[] createContent(int size) {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        return content;
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.sap.cloud.lm.sl.cf.persistence.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class HexEncoderTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 16, 64, 256 })
+    public void testEncode(int size) {
+        byte[] bytes = createBytes(size);
+
+        assertEquals(DatatypeConverter.printHexBinary(bytes), HexEncoder.encode(bytes));
+    }
+
+    @Test
+    public void testEncodeIntoTarget() {
+        byte[] bytes = createBytes(16);
+        char[] target = new char[40];
+
+        int length = HexEncoder.encode(bytes, target, 4);
+
+        assertEquals(32, length);
+        assertEquals(DatatypeConverter.printHexBinary(bytes), new String(target, 4, length));
+    }
+
+    @Test
+    public void testEncodeIntoTooSmallTarget() {
+        byte[] bytes = createBytes(16);
+        char[] target = new char[32];
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HexEncoder.encode(bytes, target, 1));
+    }
+
+    private static byte[] createBytes(int size) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+}
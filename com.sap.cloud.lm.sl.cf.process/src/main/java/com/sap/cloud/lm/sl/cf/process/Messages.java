@@ -27,6 +27,9 @@ public class Messages {
     public static final String MISSING_SERVICE_BROKER_URL = "Missing service broker url for application \"{0}\"";
     public static final String COULD_NOT_CONFIGURE_GIT_TO_SKIP_SSL = "Could not configure Git to skip SSL";
     public static final String ERROR_MERGING_ARCHIVE_PARTS = "Error merging archive parts: {0}";
+    public static final String DIGEST_0_OF_ARCHIVE_PART_1_DOES_NOT_MATCH_EXPECTED_DIGEST_2 = "Digest {0} of archive part \"{1}\" does not match the expected digest {2}";
+    public static final String FILE_PART_AT_POSITION_0_ENDED_AFTER_1_OF_2_BYTES = "File part at position {0} ended after {1} of {2} bytes";
+    public static final String ARCHIVE_ENTRY_0_ENDED_AFTER_1_OF_2_BYTES = "Archive entry \"{0}\" ended after {1} of {2} bytes";
     public static final String BUILDING_ARCHIVE_FROM_PARTS = "Building archive from parts...";
     public static final String ERROR_DELETING_ARCHIVE_PARTS_CONTENT = "Error deleting archive parts content";
     public static final String UNSUPPORTED_PROCESS_TYPE = "Process type \"{0}\" is not supported";
@@ -41,6 +44,8 @@ public class Messages {
     public static final String VERSION_RULE_DOES_NOT_ALLOW_DEPLOYMENT_TYPE = "Version rule \"{0}\" does not allow deployment type \"{1}\".";
     public static final String UNKNOWN_UPLOAD_STATUS = "Unknown upload status: {0}";
     public static final String COULD_NOT_DELETE_FILES_MODIFIED_BEFORE_0 = "Could not delete files modified before {0}";
+    public static final String COULD_NOT_DELETE_UPLOAD_SESSIONS_MODIFIED_BEFORE_0 = "Could not delete upload sessions modified before {0}";
+    public static final String COULD_NOT_DELETE_FILES_WITHOUT_CONTENT = "Could not delete files without content";
     public static final String COULD_NOT_DELETE_PROCESS_LOGS_MODIFIED_BEFORE_0 = "Could not delete process logs modified before {0}";
     public static final String MODULES_0_SPECIFIED_FOR_DEPLOYMENT_ARE_NOT_PART_OF_DEPLOYMENT_DESCRIPTOR_MODULES = "Modules {0}, specified for deployment, are not part of deployment descriptor modules";
     public static final String SERVICE_BROKER_0_DOES_NOT_EXIST = "Service broker \"{0}\" does not exist";
@@ -66,6 +71,7 @@ public class Messages {
     // ERROR log messages
     public static final String COULD_NOT_COMPUTE_ORG_AND_SPACE = "Could not find org and space for space ID \"{0}\"";
     public static final String NO_BUILDS_FOUND_FOR_PACKAGE = "No builds found for package \"{0}\"";
+    public static final String FLUSHING_PROGRESS_MESSAGES_FAILED = "Flushing progress messages failed";
 
     // Process step errors
     public static final String ERROR_VALIDATING_PARAMS = "Error validating parameters";
@@ -173,6 +179,8 @@ public class Messages {
     public static final String SERVICE_0_IS_IN_STATE_1_AND_MAY_NOT_BE_OPERATIONAL = "Service \"{0}\" is in state \"{1}\" and may not be operational. Actions like update of credentials and binding may fail! Consider recreating it by specifying the --delete-services option.";
     public static final String SERVICE_NOT_BE_DELETED_DUE_TO_SERVICE_BINDINGS_AND_SERVICE_KEYS = "Service \"{0}\" won't be deleted due to existing service bindings and/or service keys";
     public static final String RETRYING_PROCESS_ABORT = "Abort of process \"{0}\" failed due to an optimistic locking exception. Retrying abort...";
+    public static final String PERSISTING_PROGRESS_MESSAGES_IN_BATCH_FAILED = "Persisting {0} progress messages in a batch failed. Persisting them one by one...";
+    public static final String INCREMENTAL_UPLOAD_OF_APP_0_FAILED = "Incremental upload of application \"{0}\" failed. Uploading all of its files...";
 
     // INFO log messages
     public static final String ACQUIRING_LOCK = "Process \"{0}\" attempting to acquire lock for operation on MTA \"{1}\"";
@@ -189,6 +197,8 @@ public class Messages {
     public static final String WILL_CLEAN_UP_DATA_STORED_BEFORE_0 = "Will clean-up data stored before: {0}";
     public static final String DELETED_HISTORIC_PROCESSES_0 = "Deleted historic processes: {0}";
     public static final String DELETED_FILES_0 = "Deleted files: {0}";
+    public static final String DELETED_UPLOAD_SESSIONS_0 = "Deleted upload sessions: {0}";
+    public static final String CHECKED_0_FILES_AND_DELETED_1_FILES_WITHOUT_CONTENT_NEXT_FILE_2 = "Checked {0} files and deleted {1} files without content, next file to check: {2}";
     public static final String ABORTED_OPERATIONS_0 = "Aborted operations: {0}";
     public static final String DELETED_OPERATIONS_0 = "Deleted operations: {0}";
     public static final String DELETED_PROCESS_LOGS_0 = "Deleted process logs: {0}";
@@ -397,11 +407,14 @@ public class Messages {
     public static final String SAVING_ERROR_MESSAGE_FAILED = "Saving error message failed";
     public static final String STEP_FINISHED = "Step \"{0}\" finished";
     public static final String COMPUTING_STATE_OF_OPERATION = "Computing state of operation {0} with ID: {1}";
+    public static final String COMPUTING_STATES_OF_OPERATIONS = "Computing states of {0} operations";
     public static final String ROUTES_FOR_APPLICATION = "Routes for application {0}: {1}";
     public static final String UPLOADING_FILE_0_FOR_APP_1 = "Uploading file \"{0}\" for application \"{1}\"";
     public static final String STARTED_ASYNC_UPLOAD_OF_APP_0 = "Started async upload of application \"{0}\"";
     public static final String DELETING_HISTORIC_PROCESS_0 = "Deleting historic process \"{0}\"...";
     public static final String DELETING_FILES_MODIFIED_BEFORE_0 = "Deleting files modified before: {0}";
+    public static final String DELETING_FILES_WITHOUT_CONTENT_AFTER_0 = "Deleting files without content after: {0}";
+    public static final String DELETING_UPLOAD_SESSIONS_MODIFIED_BEFORE_0 = "Deleting upload sessions modified before: {0}";
     public static final String DELETING_OPERATIONS_STARTED_BEFORE_0 = "Deleting operations started before: {0}";
     public static final String ABORTING_OPERATION_0 = "Aborting operation \"{0}\"...";
     public static final String DELETING_PROCESS_LOGS_MODIFIED_BEFORE_0 = "Deleting process logs modified before \"{0}\"...";
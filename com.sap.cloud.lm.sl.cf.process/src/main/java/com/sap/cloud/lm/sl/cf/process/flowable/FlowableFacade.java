@@ -3,11 +3,15 @@ package com.sap.cloud.lm.sl.cf.process.flowable;
 import static java.text.MessageFormat.format;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -17,26 +21,34 @@ import org.flowable.common.engine.api.FlowableOptimisticLockingException;
 import org.flowable.engine.ProcessEngine;
 import org.flowable.engine.history.HistoricActivityInstance;
 import org.flowable.engine.history.HistoricProcessInstance;
+import org.flowable.engine.impl.persistence.entity.ExecutionEntity;
+import org.flowable.engine.impl.persistence.entity.HistoricActivityInstanceEntity;
 import org.flowable.engine.runtime.Execution;
+import org.flowable.engine.runtime.NativeExecutionQuery;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.flowable.job.api.Job;
 import org.flowable.job.service.impl.asyncexecutor.AsyncExecutor;
+import org.flowable.job.service.impl.persistence.entity.DeadLetterJobEntity;
 import org.flowable.variable.api.history.HistoricVariableInstance;
 import org.flowable.variable.api.persistence.entity.VariableInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Lists;
 import com.sap.cloud.lm.sl.cf.persistence.Constants;
 import com.sap.cloud.lm.sl.cf.process.Messages;
 
 @Named
 public class FlowableFacade {
 
+    public static final int MAX_PROCESS_INSTANCE_IDS_PER_QUERY = 500;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(FlowableFacade.class);
 
     private static final int DEFAULT_JOB_RETRIES = 0;
     private static final int DEFAULT_ABORT_TIMEOUT_MS = 30 * 1000;
     private static final int DEFAULT_ABORT_WAIT_TIMEOUT_MS = 60 * 1000;
+    private static final String RECEIVE_TASK_ACTIVITY_TYPE = "receiveTask";
 
     private final ProcessEngine processEngine;
 
@@ -266,10 +278,74 @@ public class FlowableFacade {
                             .createHistoricActivityInstanceQuery()
                             .activityId(execution.getActivityId())
                             .executionId(execution.getId())
-                            .activityType("receiveTask")
+                            .activityType(RECEIVE_TASK_ACTIVITY_TYPE)
                             .list();
     }
 
+    /**
+     * Returns those of the specified process instances, which have at least one dead letter job in their process instance hierarchy. The
+     * process instances are checked with a single query per {@value #MAX_PROCESS_INSTANCE_IDS_PER_QUERY} ids.
+     */
+    public Set<String> findProcessInstanceIdsWithDeadLetterJobs(Collection<String> processInstanceIds) {
+        String deadLetterJobCondition = format("EXISTS (SELECT 1 FROM {0} J WHERE J.PROCESS_INSTANCE_ID_ = E.PROC_INST_ID_)",
+                                               getTableName(DeadLetterJobEntity.class));
+        return findRootProcessInstanceIdsOfExecutions(processInstanceIds, deadLetterJobCondition, Collections.emptyMap());
+    }
+
+    /**
+     * Returns those of the specified process instances, which have at least one execution waiting at a receive task in their process
+     * instance hierarchy. The process instances are checked with a single query per {@value #MAX_PROCESS_INSTANCE_IDS_PER_QUERY} ids.
+     */
+    public Set<String> findProcessInstanceIdsAtReceiveTask(Collection<String> processInstanceIds) {
+        String receiveTaskCondition = format("E.ACT_ID_ IS NOT NULL AND EXISTS (SELECT 1 FROM {0} A "
+            + "WHERE A.EXECUTION_ID_ = E.ID_ AND A.ACT_ID_ = E.ACT_ID_ AND A.ACT_TYPE_ = {1})",
+                                             getTableName(HistoricActivityInstanceEntity.class), "#{activityType}");
+        return findRootProcessInstanceIdsOfExecutions(processInstanceIds, receiveTaskCondition,
+                                                      Collections.singletonMap("activityType", RECEIVE_TASK_ACTIVITY_TYPE));
+    }
+
+    public Set<String> findRunningProcessInstanceIds(Collection<String> processInstanceIds) {
+        Set<String> runningProcessInstanceIds = new HashSet<>();
+        for (List<String> batch : partition(processInstanceIds)) {
+            processEngine.getRuntimeService()
+                         .createProcessInstanceQuery()
+                         .processInstanceIds(new HashSet<>(batch))
+                         .list()
+                         .forEach(processInstance -> runningProcessInstanceIds.add(processInstance.getId()));
+        }
+        return runningProcessInstanceIds;
+    }
+
+    private Set<String> findRootProcessInstanceIdsOfExecutions(Collection<String> rootProcessInstanceIds, String condition,
+                                                               Map<String, Object> parameters) {
+        Set<String> result = new HashSet<>();
+        for (List<String> batch : partition(rootProcessInstanceIds)) {
+            NativeExecutionQuery query = processEngine.getRuntimeService()
+                                                      .createNativeExecutionQuery();
+            StringJoiner idPlaceholders = new StringJoiner(", ");
+            for (int i = 0; i < batch.size(); i++) {
+                String parameterName = "id" + i;
+                query.parameter(parameterName, batch.get(i));
+                idPlaceholders.add("#{" + parameterName + "}");
+            }
+            parameters.forEach(query::parameter);
+            query.sql(format("SELECT E.* FROM {0} E WHERE E.ROOT_PROC_INST_ID_ IN ({1}) AND {2}", getTableName(ExecutionEntity.class),
+                             idPlaceholders, condition))
+                 .list()
+                 .forEach(execution -> result.add(execution.getRootProcessInstanceId()));
+        }
+        return result;
+    }
+
+    private List<List<String>> partition(Collection<String> processInstanceIds) {
+        return Lists.partition(new ArrayList<>(processInstanceIds), MAX_PROCESS_INSTANCE_IDS_PER_QUERY);
+    }
+
+    private String getTableName(Class<?> entityClass) {
+        return processEngine.getManagementService()
+                            .getTableName(entityClass);
+    }
+
     public void activateProcessInstance(String processInstanceId) {
         processEngine.getRuntimeService()
                      .activateProcessInstanceById(processInstanceId);
@@ -0,0 +1,60 @@
+package com.sap.cloud.lm.sl.cf.process.jobs;
+
+import static java.text.MessageFormat.format;
+
+import java.time.Duration;
+import java.util.Date;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileSweepCursor;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileSweepResult;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileService;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
+import com.sap.cloud.lm.sl.cf.process.Messages;
+import com.sap.cloud.lm.sl.common.SLException;
+
+/**
+ * Deletes the entries of files, whose content is missing in the file storage. Each execution checks only as many files as it can in the
+ * configured time budget, and the next execution continues where it stopped.
+ */
+@Named
+@Order(20)
+public class FilesWithoutContentCleaner implements Cleaner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FilesWithoutContentCleaner.class);
+
+    private final ApplicationConfiguration configuration;
+    private final FileService fileService;
+    private FileSweepCursor cursor;
+
+    @Inject
+    public FilesWithoutContentCleaner(ApplicationConfiguration configuration, FileService fileService) {
+        this.configuration = configuration;
+        this.fileService = fileService;
+    }
+
+    @Override
+    public void execute(Date expirationTime) {
+        if (!fileService.isFileStorageReconciled()) {
+            return;
+        }
+        LOGGER.debug(CleanUpJob.LOG_MARKER, format(Messages.DELETING_FILES_WITHOUT_CONTENT_AFTER_0, cursor));
+        try {
+            Duration timeBudget = Duration.ofSeconds(configuration.getFilesSweepTimeBudgetInSeconds());
+            FileSweepResult sweepResult = fileService.sweepFilesWithoutContent(cursor, timeBudget);
+            cursor = sweepResult.getCursor();
+            LOGGER.info(CleanUpJob.LOG_MARKER, format(Messages.CHECKED_0_FILES_AND_DELETED_1_FILES_WITHOUT_CONTENT_NEXT_FILE_2,
+                                                      sweepResult.getCheckedFiles(), sweepResult.getDeletedFiles(), cursor));
+        } catch (FileStorageException e) {
+            throw new SLException(e, Messages.COULD_NOT_DELETE_FILES_WITHOUT_CONTENT);
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.sap.cloud.lm.sl.cf.process.jobs;
+
+import static java.text.MessageFormat.format;
+
+import java.util.Date;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+
+import com.sap.cloud.lm.sl.cf.persistence.services.ChunkedUploadService;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
+import com.sap.cloud.lm.sl.cf.process.Messages;
+import com.sap.cloud.lm.sl.common.SLException;
+
+@Named
+@Order(20)
+public class UploadSessionsCleaner implements Cleaner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UploadSessionsCleaner.class);
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    @Inject
+    public UploadSessionsCleaner(ChunkedUploadService chunkedUploadService) {
+        this.chunkedUploadService = chunkedUploadService;
+    }
+
+    @Override
+    public void execute(Date expirationTime) {
+        LOGGER.debug(CleanUpJob.LOG_MARKER, format(Messages.DELETING_UPLOAD_SESSIONS_MODIFIED_BEFORE_0, expirationTime));
+        try {
+            int removedSessionsCount = chunkedUploadService.deleteSessionsModifiedBefore(expirationTime);
+            LOGGER.info(CleanUpJob.LOG_MARKER, format(Messages.DELETED_UPLOAD_SESSIONS_0, removedSessionsCount));
+        } catch (FileStorageException e) {
+            throw new SLException(e, Messages.COULD_NOT_DELETE_UPLOAD_SESSIONS_MODIFIED_BEFORE_0, expirationTime);
+        }
+    }
+
+}
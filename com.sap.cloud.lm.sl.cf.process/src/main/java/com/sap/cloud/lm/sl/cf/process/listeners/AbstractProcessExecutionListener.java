@@ -51,6 +51,9 @@ public abstract class AbstractProcessExecutionListener implements ExecutionListe
             logException(e, Messages.EXECUTION_OF_PROCESS_LISTENER_HAS_FAILED);
             throw new SLException(e, Messages.EXECUTION_OF_PROCESS_LISTENER_HAS_FAILED);
         } finally {
+            if (stepLogger != null) {
+                stepLogger.flushProgressMessages();
+            }
             finalizeLogs(execution);
         }
     }
@@ -2,20 +2,46 @@ package com.sap.cloud.lm.sl.cf.process.steps;
 
 import java.util.List;
 
+import com.sap.cloud.lm.sl.cf.process.util.PollingIntervalCalculator;
 import com.sap.cloud.lm.sl.cf.process.variables.Variables;
 
+import io.micrometer.core.instrument.Metrics;
+
 public abstract class AsyncFlowableStep extends SyncFlowableStep {
 
+    public static final String METRICS_PREFIX = "flowable-step.";
+    static final String POLLS_METRIC = METRICS_PREFIX + "polls";
+    static final String POLLS_PER_EXECUTION_METRIC = METRICS_PREFIX + "polls-per-execution";
+    static final String STEP_TAG = "step";
+
     private static final Integer DEFAULT_STEP_EXECUTION_INDEX = 0;
+    private static final Integer DEFAULT_POLLS_COUNT = 0;
 
     @Override
     protected StepPhase executeStep(ProcessContext context) throws Exception {
         StepPhase stepPhase = context.getVariable(Variables.STEP_PHASE);
         if (stepPhase == StepPhase.POLL) {
-            return executeStepExecution(context);
+            return schedulePollIfNecessary(context, executeStepExecution(context));
         }
         context.setVariable(Variables.ASYNC_STEP_EXECUTION_INDEX, DEFAULT_STEP_EXECUTION_INDEX);
-        return executeAsyncStep(context);
+        context.setVariable(Variables.ASYNC_STEP_POLLS_COUNT, DEFAULT_POLLS_COUNT);
+        return schedulePollIfNecessary(context, executeAsyncStep(context));
+    }
+
+    private StepPhase schedulePollIfNecessary(ProcessContext context, StepPhase stepPhase) {
+        if (stepPhase == StepPhase.POLL) {
+            // The timer, which delays the next poll, reads its duration from this variable:
+            context.setVariable(Variables.STEP_POLLING_INTERVAL_IN_SECONDS, calculatePollingInterval(context));
+            Metrics.counter(POLLS_METRIC, STEP_TAG, getStepName())
+                   .increment();
+        }
+        return stepPhase;
+    }
+
+    private int calculatePollingInterval(ProcessContext context) {
+        PollingIntervalCalculator calculator = new PollingIntervalCalculator(configuration.getStepPollingInitialIntervalInSeconds(),
+                                                                             configuration.getStepPollingIntervalInSeconds());
+        return calculator.calculateIntervalInSeconds(context.getVariable(Variables.ASYNC_STEP_POLLS_COUNT));
     }
 
     private StepPhase executeStepExecution(ProcessContext context) throws Exception {
@@ -43,6 +69,11 @@ public abstract class AsyncFlowableStep extends SyncFlowableStep {
                                                 List<AsyncExecution> stepExecutions) {
         if (stepExecutionState == AsyncExecutionState.FINISHED) {
             StepsUtil.incrementVariable(context.getExecution(), Variables.ASYNC_STEP_EXECUTION_INDEX.getName());
+            recordPollsPerExecution(context);
+        }
+
+        if (stepExecutionState == AsyncExecutionState.RUNNING) {
+            context.setVariable(Variables.ASYNC_STEP_POLLS_COUNT, context.getVariable(Variables.ASYNC_STEP_POLLS_COUNT) + 1);
         }
 
         if (stepExecutionState == AsyncExecutionState.ERROR) {
@@ -55,6 +86,16 @@ public abstract class AsyncFlowableStep extends SyncFlowableStep {
         return determineStepPhase(context, stepExecutions);
     }
 
+    private void recordPollsPerExecution(ProcessContext context) {
+        Metrics.summary(POLLS_PER_EXECUTION_METRIC, STEP_TAG, getStepName())
+               .record(context.getVariable(Variables.ASYNC_STEP_POLLS_COUNT));
+        context.setVariable(Variables.ASYNC_STEP_POLLS_COUNT, DEFAULT_POLLS_COUNT);
+    }
+
+    private String getStepName() {
+        return getClass().getSimpleName();
+    }
+
     private StepPhase determineStepPhase(ProcessContext context, List<AsyncExecution> stepExecutions) {
         Integer stepExecutionIndex = getStepExecutionIndex(context);
         if (stepExecutionIndex >= stepExecutions.size()) {
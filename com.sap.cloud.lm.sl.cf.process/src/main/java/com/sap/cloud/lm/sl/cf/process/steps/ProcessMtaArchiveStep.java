@@ -1,6 +1,5 @@
 package com.sap.cloud.lm.sl.cf.process.steps;
 
-import java.io.InputStream;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.jar.Manifest;
@@ -10,12 +9,13 @@ import javax.inject.Inject;
 import com.sap.cloud.lm.sl.cf.core.helpers.MtaArchiveElements;
 import com.sap.cloud.lm.sl.cf.core.helpers.MtaArchiveHelper;
 import com.sap.cloud.lm.sl.cf.core.persistence.service.OperationService;
-import com.sap.cloud.lm.sl.cf.persistence.services.FileContentConsumer;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileContentProcessor;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
 import com.sap.cloud.lm.sl.cf.process.Messages;
+import com.sap.cloud.lm.sl.cf.process.util.MtaArchiveIndex;
+import com.sap.cloud.lm.sl.cf.process.util.MtaArchiveIndex.ArchiveContents;
 import com.sap.cloud.lm.sl.cf.process.util.ProcessConflictPreventer;
 import com.sap.cloud.lm.sl.cf.process.variables.Variables;
-import com.sap.cloud.lm.sl.mta.handlers.ArchiveHandler;
 import com.sap.cloud.lm.sl.mta.handlers.DescriptorParserFacade;
 import com.sap.cloud.lm.sl.mta.model.DeploymentDescriptor;
 
@@ -24,6 +24,8 @@ public class ProcessMtaArchiveStep extends SyncFlowableStep {
     protected Function<OperationService, ProcessConflictPreventer> conflictPreventerSupplier = ProcessConflictPreventer::new;
     @Inject
     private OperationService operationService;
+    @Inject
+    protected MtaArchiveIndex mtaArchiveIndex;
 
     @Override
     protected StepPhase executeStep(ProcessContext context) throws FileStorageException {
@@ -42,38 +44,34 @@ public class ProcessMtaArchiveStep extends SyncFlowableStep {
     }
 
     private void processApplicationArchive(ProcessContext context, String appArchiveId) throws FileStorageException {
-        fileService.consumeFileContent(context.getVariable(Variables.SPACE_GUID), appArchiveId,
-                                       createDeploymentDescriptorFileContentConsumer(context));
-        fileService.consumeFileContent(context.getVariable(Variables.SPACE_GUID), appArchiveId,
-                                       createManifestFileContentConsumer(context, appArchiveId));
+        ArchiveContents archiveContents = fileService.processFileContent(context.getVariable(Variables.SPACE_GUID), appArchiveId,
+                                                                         createArchiveIndexingFileContentProcessor(appArchiveId));
+        processDeploymentDescriptor(context, archiveContents.getDescriptor());
+        processManifest(context, appArchiveId, archiveContents.getManifest());
     }
 
-    private FileContentConsumer createDeploymentDescriptorFileContentConsumer(ProcessContext context) {
-        return appArchiveStream -> {
-            String descriptorString = ArchiveHandler.getDescriptor(appArchiveStream, configuration.getMaxMtaDescriptorSize());
-            DescriptorParserFacade descriptorParserFacade = new DescriptorParserFacade();
-            DeploymentDescriptor deploymentDescriptor = descriptorParserFacade.parseDeploymentDescriptor(descriptorString);
-            context.setVariable(Variables.DEPLOYMENT_DESCRIPTOR, deploymentDescriptor);
-        };
+    private FileContentProcessor<ArchiveContents> createArchiveIndexingFileContentProcessor(String appArchiveId) {
+        return appArchiveStream -> mtaArchiveIndex.indexArchive(appArchiveId, appArchiveStream, configuration.getMaxMtaDescriptorSize(),
+                                                                configuration.getMaxManifestSize());
     }
 
-    private FileContentConsumer createManifestFileContentConsumer(ProcessContext context, String appArchiveId) {
-        return appArchiveStream -> {
-            MtaArchiveHelper helper = createInitializedMtaArchiveHelper(appArchiveStream);
-            getStepLogger().debug("MTA Archive ID: {0}", appArchiveId);
-            MtaArchiveElements mtaArchiveElements = new MtaArchiveElements();
-            addMtaArchiveModulesInMtaArchiveElements(context, helper, mtaArchiveElements);
-            addMtaRequiredDependenciesInMtaArchiveElements(helper, mtaArchiveElements);
-            addMtaArchiveResourcesInMtaArchiveElements(helper, mtaArchiveElements);
-            context.setVariable(Variables.MTA_ARCHIVE_ELEMENTS, mtaArchiveElements);
-        };
+    private void processDeploymentDescriptor(ProcessContext context, String descriptorString) {
+        DescriptorParserFacade descriptorParserFacade = new DescriptorParserFacade();
+        DeploymentDescriptor deploymentDescriptor = descriptorParserFacade.parseDeploymentDescriptor(descriptorString);
+        context.setVariable(Variables.DEPLOYMENT_DESCRIPTOR, deploymentDescriptor);
     }
 
-    private MtaArchiveHelper createInitializedMtaArchiveHelper(InputStream appArchiveStream) {
-        Manifest manifest = ArchiveHandler.getManifest(appArchiveStream, configuration.getMaxManifestSize());
+    private void processManifest(ProcessContext context, String appArchiveId, Manifest manifest) {
         MtaArchiveHelper helper = getHelper(manifest);
         helper.init();
-        return helper;
+        getStepLogger().debug("MTA Archive ID: {0}", appArchiveId);
+        MtaArchiveElements mtaArchiveElements = new MtaArchiveElements();
+        addMtaArchiveModulesInMtaArchiveElements(context, helper, mtaArchiveElements);
+        addMtaRequiredDependenciesInMtaArchiveElements(helper, mtaArchiveElements);
+        addMtaArchiveResourcesInMtaArchiveElements(helper, mtaArchiveElements);
+        context.setVariable(Variables.MTA_ARCHIVE_ELEMENTS, mtaArchiveElements);
+        mtaArchiveIndex.setModuleFileNames(appArchiveId, helper.getMtaArchiveModules()
+                                                               .values());
     }
 
     protected MtaArchiveHelper getHelper(Manifest manifest) {
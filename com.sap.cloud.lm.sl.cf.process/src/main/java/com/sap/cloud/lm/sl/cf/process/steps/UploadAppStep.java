@@ -14,6 +14,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.cloudfoundry.client.lib.CloudControllerClient;
+import org.cloudfoundry.client.lib.CloudOperationException;
 import org.cloudfoundry.client.lib.domain.CloudApplication;
 import org.cloudfoundry.client.lib.domain.Status;
 import org.cloudfoundry.client.lib.domain.UploadToken;
@@ -21,6 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
+import org.springframework.web.client.RestClientException;
 
 import com.sap.cloud.lm.sl.cf.client.lib.domain.CloudApplicationExtended;
 import com.sap.cloud.lm.sl.cf.client.lib.domain.UploadStatusCallbackExtended;
@@ -32,11 +34,15 @@ import com.sap.cloud.lm.sl.cf.core.model.SupportedParameters;
 import com.sap.cloud.lm.sl.cf.core.util.FileUtils;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileContentProcessor;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
+import com.sap.cloud.lm.sl.cf.persistence.services.LocalFileInputStream;
 import com.sap.cloud.lm.sl.cf.process.Messages;
 import com.sap.cloud.lm.sl.cf.process.util.ApplicationArchiveContext;
 import com.sap.cloud.lm.sl.cf.process.util.ApplicationArchiveReader;
 import com.sap.cloud.lm.sl.cf.process.util.ApplicationStager;
 import com.sap.cloud.lm.sl.cf.process.util.ApplicationZipBuilder;
+import com.sap.cloud.lm.sl.cf.process.util.IncrementalApplicationUploader;
+import com.sap.cloud.lm.sl.cf.process.util.MtaArchiveIndex;
+import com.sap.cloud.lm.sl.cf.process.util.ParallelApplicationDigestCalculator;
 import com.sap.cloud.lm.sl.cf.process.variables.Variables;
 import com.sap.cloud.lm.sl.common.SLException;
 
@@ -52,6 +58,12 @@ public class UploadAppStep extends TimeoutAsyncFlowableStep {
     protected ApplicationArchiveReader applicationArchiveReader;
     @Inject
     protected ApplicationZipBuilder applicationZipBuilder;
+    @Inject
+    protected MtaArchiveIndex mtaArchiveIndex;
+    @Inject
+    protected ParallelApplicationDigestCalculator parallelApplicationDigestCalculator;
+    @Inject
+    protected IncrementalApplicationUploader incrementalApplicationUploader;
 
     @Override
     public StepPhase executeAsyncStep(ProcessContext context) throws FileStorageException {
@@ -80,7 +92,7 @@ public class UploadAppStep extends TimeoutAsyncFlowableStep {
         }
 
         getStepLogger().debug(Messages.UPLOADING_FILE_0_FOR_APP_1, fileName, appName);
-        UploadToken uploadToken = asyncUploadFiles(context, client, app, appArchiveId, fileName);
+        UploadToken uploadToken = asyncUploadFiles(context, client, cloudApp, appArchiveId, fileName, newApplicationDigest);
 
         getStepLogger().debug(Messages.STARTED_ASYNC_UPLOAD_OF_APP_0, appName);
         context.setVariable(Variables.UPLOAD_TOKEN, uploadToken);
@@ -99,13 +111,29 @@ public class UploadAppStep extends TimeoutAsyncFlowableStep {
     }
 
     private String getNewApplicationDigest(ProcessContext context, String appArchiveId, String fileName) throws FileStorageException {
+        String indexedApplicationDigest = getIndexedApplicationDigest(context, appArchiveId, fileName);
+        if (indexedApplicationDigest != null) {
+            return indexedApplicationDigest;
+        }
         return fileService.processFileContent(context.getVariable(Variables.SPACE_GUID), appArchiveId,
                                               createDigestCalculatorFileContentProcessor(fileName));
     }
 
+    private String getIndexedApplicationDigest(ProcessContext context, String appArchiveId, String fileName) throws FileStorageException {
+        if (mtaArchiveIndex.shouldIndexModuleDigests(appArchiveId)) {
+            long maxSize = configuration.getMaxResourceFileSize();
+            fileService.consumeFileContent(context.getVariable(Variables.SPACE_GUID), appArchiveId,
+                                           appArchiveStream -> mtaArchiveIndex.indexModuleDigests(appArchiveId, appArchiveStream, maxSize));
+        }
+        return mtaArchiveIndex.getModuleDigest(appArchiveId, fileName);
+    }
+
     private FileContentProcessor<String> createDigestCalculatorFileContentProcessor(String fileName) {
         return appArchiveStream -> {
             long maxSize = configuration.getMaxResourceFileSize();
+            if (parallelApplicationDigestCalculator.isEnabled()) {
+                return parallelApplicationDigestCalculator.calculateApplicationDigest(appArchiveStream, fileName, maxSize);
+            }
             ApplicationArchiveContext applicationArchiveContext = createApplicationArchiveContext(appArchiveStream, fileName, maxSize);
             return applicationArchiveReader.calculateApplicationDigest(applicationArchiveContext);
         };
@@ -116,16 +144,21 @@ public class UploadAppStep extends TimeoutAsyncFlowableStep {
     }
 
     private UploadToken asyncUploadFiles(ProcessContext context, CloudControllerClient client, CloudApplication app, String appArchiveId,
-                                         String fileName)
+                                         String fileName, String applicationDigest)
         throws FileStorageException {
 
         return fileService.processFileContent(context.getVariable(Variables.SPACE_GUID), appArchiveId, appArchiveStream -> {
             Path filePath = null;
             long maxSize = configuration.getMaxResourceFileSize();
             try {
-                ApplicationArchiveContext applicationArchiveContext = createApplicationArchiveContext(appArchiveStream, fileName, maxSize);
-                filePath = extractFromMtar(applicationArchiveContext);
-                return upload(context, client, app, filePath);
+                filePath = extractFromLocalMtar(appArchiveStream, fileName, maxSize);
+                if (filePath == null) {
+                    ApplicationArchiveContext applicationArchiveContext = createApplicationArchiveContext(appArchiveStream, fileName,
+                                                                                                          maxSize);
+                    applicationArchiveContext.setLastModuleEntryName(mtaArchiveIndex.getLastModuleEntryName(appArchiveId, fileName));
+                    filePath = extractFromMtar(applicationArchiveContext);
+                }
+                return upload(context, client, app, filePath, applicationDigest);
             } catch (IOException e) {
                 FileUtils.cleanUp(filePath, LOGGER);
                 throw new SLException(e, Messages.ERROR_RETRIEVING_MTA_MODULE_CONTENT, fileName);
@@ -136,14 +169,43 @@ public class UploadAppStep extends TimeoutAsyncFlowableStep {
         });
     }
 
+    private Path extractFromLocalMtar(InputStream appArchiveStream, String fileName, long maxSize) {
+        if (!(appArchiveStream instanceof LocalFileInputStream)) {
+            return null;
+        }
+        Path appArchivePath = ((LocalFileInputStream) appArchiveStream).getPath();
+        return applicationZipBuilder.extractApplicationFromLocalArchive(appArchivePath, fileName, maxSize);
+    }
+
     protected Path extractFromMtar(ApplicationArchiveContext applicationArchiveContext) {
         return applicationZipBuilder.extractApplicationInNewArchive(applicationArchiveContext);
     }
 
-    private UploadToken upload(ProcessContext context, CloudControllerClient client, CloudApplication app, Path filePath)
+    private UploadToken upload(ProcessContext context, CloudControllerClient client, CloudApplication app, Path filePath,
+                               String applicationDigest)
         throws IOException {
-        return client.asyncUploadApplication(app.getName(), filePath.toFile(),
-                                             getMonitorUploadStatusCallback(context, app, filePath.toFile()));
+        MonitorUploadStatusCallback callback = getMonitorUploadStatusCallback(context, app, filePath.toFile());
+        if (configuration.shouldUploadApplicationsIncrementally()) {
+            UploadToken uploadToken = uploadIncrementally(client, app, filePath, applicationDigest, callback);
+            if (uploadToken != null) {
+                return uploadToken;
+            }
+        }
+        return client.asyncUploadApplication(app.getName(), filePath.toFile(), callback);
+    }
+
+    private UploadToken uploadIncrementally(CloudControllerClient client, CloudApplication app, Path filePath, String applicationDigest,
+                                            MonitorUploadStatusCallback callback) {
+        try {
+            UploadToken uploadToken = incrementalApplicationUploader.upload(client, app.getMetadata()
+                                                                                       .getGuid(),
+                                                                            filePath, applicationDigest, callback);
+            FileUtils.cleanUp(filePath, LOGGER);
+            return uploadToken;
+        } catch (IOException | CloudOperationException | RestClientException e) {
+            getStepLogger().warn(e, Messages.INCREMENTAL_UPLOAD_OF_APP_0_FAILED, app.getName());
+            return null;
+        }
     }
 
     private boolean detectApplicationFileDigestChanges(ProcessContext context, CloudApplication appWithUpdatedEnvironment,
@@ -138,7 +138,8 @@ public class ValidateDeployParametersStep extends SyncFlowableStep {
     }
 
     private Supplier<Path> createArchiveFromParts(DelegateExecution execution, List<FileEntry> archivePartEntries) {
-        return () -> new ArchiveMerger(fileService, getStepLogger(), execution).createArchiveFromParts(archivePartEntries);
+        return () -> new ArchiveMerger(fileService, getStepLogger(), execution,
+                                       configuration.getArchiveMergeParallelParts()).createArchiveFromParts(archivePartEntries);
     }
 
     private void verifyArchiveSignature(ProcessContext context, Path archiveFilePath) {
@@ -1,13 +1,13 @@
 package com.sap.cloud.lm.sl.cf.process.util;
 
 import java.io.InputStream;
-import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.zip.ZipInputStream;
 
 import com.sap.cloud.lm.sl.cf.persistence.services.FileUploader;
+import com.sap.cloud.lm.sl.cf.persistence.util.DigestCalculator;
 
 public class ApplicationArchiveContext {
     private final ZipInputStream zipInputStream;
@@ -16,6 +16,8 @@ public class ApplicationArchiveContext {
     private long currentSizeInBytes;
     private DigestCalculator applicationDigestCalculator;
     private Set<String> alreadyUploadedFiles;
+    private String lastModuleEntryName;
+    private boolean lastModuleEntryReached;
 
     public ApplicationArchiveContext(InputStream inputStream, String moduleFileName, long maxSizeInBytes) {
         this.zipInputStream = new ZipInputStream(inputStream);
@@ -26,7 +28,7 @@ public class ApplicationArchiveContext {
 
     private void createDigestCalculator(String algorithm) {
         try {
-            this.applicationDigestCalculator = new DigestCalculator(MessageDigest.getInstance(algorithm));
+            this.applicationDigestCalculator = DigestCalculator.create(algorithm);
         } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException(e);
         }
@@ -67,4 +69,20 @@ public class ApplicationArchiveContext {
         this.alreadyUploadedFiles = alreadyUploadedFiles;
     }
 
+    public String getLastModuleEntryName() {
+        return lastModuleEntryName;
+    }
+
+    public void setLastModuleEntryName(String lastModuleEntryName) {
+        this.lastModuleEntryName = lastModuleEntryName;
+    }
+
+    public boolean isLastModuleEntryReached() {
+        return lastModuleEntryReached;
+    }
+
+    public void setLastModuleEntryReached(boolean lastModuleEntryReached) {
+        this.lastModuleEntryReached = lastModuleEntryReached;
+    }
+
 }
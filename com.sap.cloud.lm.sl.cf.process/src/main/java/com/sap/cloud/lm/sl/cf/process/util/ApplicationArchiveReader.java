@@ -7,6 +7,7 @@ import java.util.zip.ZipInputStream;
 import javax.inject.Named;
 
 import com.sap.cloud.lm.sl.cf.core.util.FileUtils;
+import com.sap.cloud.lm.sl.cf.persistence.util.DigestCalculator;
 import com.sap.cloud.lm.sl.cf.process.Messages;
 import com.sap.cloud.lm.sl.common.ContentException;
 import com.sap.cloud.lm.sl.common.SLException;
@@ -62,11 +63,19 @@ public class ApplicationArchiveReader {
     }
 
     public ZipEntry getNextEntryByName(String name, ApplicationArchiveContext applicationArchiveContext) throws IOException {
+        if (applicationArchiveContext.isLastModuleEntryReached()) {
+            // The archive index shows that no more entries of the module follow, so there is no need to scan the rest of the archive
+            return null;
+        }
         ZipInputStream zipInputStream = applicationArchiveContext.getZipInputStream();
         for (ZipEntry zipEntry; (zipEntry = zipInputStream.getNextEntry()) != null;) {
             if (zipEntry.getName()
                         .startsWith(name)) {
                 validateEntry(zipEntry);
+                if (zipEntry.getName()
+                            .equals(applicationArchiveContext.getLastModuleEntryName())) {
+                    applicationArchiveContext.setLastModuleEntryReached(true);
+                }
                 return zipEntry;
             }
         }
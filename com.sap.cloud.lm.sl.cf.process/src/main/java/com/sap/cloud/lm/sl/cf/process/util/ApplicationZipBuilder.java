@@ -44,6 +44,27 @@ public class ApplicationZipBuilder {
         }
     }
 
+    /**
+     * Extracts a module, which is a single file entry of an archive stored on the local disk, directly from its position in the archive.
+     *
+     * @return the extracted module or null if the module is not a single file entry and has to be extracted with
+     *         {@link #extractApplicationInNewArchive(ApplicationArchiveContext)}
+     */
+    public Path extractApplicationFromLocalArchive(Path archivePath, String moduleFileName, long maxSizeInBytes) {
+        Path appPath = null;
+        try (ArchiveEntryExtractor archiveEntryExtractor = new ArchiveEntryExtractor(archivePath)) {
+            if (!archiveEntryExtractor.containsFileEntry(moduleFileName)) {
+                return null;
+            }
+            appPath = createTempFile();
+            archiveEntryExtractor.extractEntry(moduleFileName, appPath, maxSizeInBytes);
+            return appPath;
+        } catch (Exception e) {
+            FileUtils.cleanUp(appPath, LOGGER);
+            throw new SLException(e, Messages.ERROR_RETRIEVING_MTA_MODULE_CONTENT, moduleFileName);
+        }
+    }
+
     private void saveAllEntries(Path dirPath, ApplicationArchiveContext applicationArchiveContext) throws IOException {
         try (OutputStream fileOutputStream = Files.newOutputStream(dirPath)) {
             ZipEntry zipEntry = applicationArchiveReader.getFirstZipEntry(applicationArchiveContext);
@@ -0,0 +1,126 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.io.input.CountingInputStream;
+
+import com.sap.cloud.lm.sl.cf.core.util.FileUtils;
+import com.sap.cloud.lm.sl.cf.process.Messages;
+import com.sap.cloud.lm.sl.common.ContentException;
+
+/**
+ * Reads single file entries of an archive, which is stored on the local disk, without scanning the entries before them. The content of a
+ * STORED entry is a byte range of the archive, so it is served as a bounded stream over that range or transferred from the archive with
+ * {@link FileChannel#transferTo}, without being copied through the heap. The content of a DEFLATED entry is inflated directly from its
+ * position in the archive.
+ */
+public class ArchiveEntryExtractor implements Closeable {
+
+    private final Path archivePath;
+    private final ZipFile zipFile;
+
+    public ArchiveEntryExtractor(Path archivePath) throws IOException {
+        this.archivePath = archivePath;
+        this.zipFile = new ZipFile(archivePath.toFile());
+    }
+
+    public boolean containsFileEntry(String entryName) {
+        ZipArchiveEntry entry = zipFile.getEntry(entryName);
+        return entry != null && !entry.isDirectory();
+    }
+
+    /**
+     * Opens the content of a file entry. The content of a STORED entry is read from the archive as it is.
+     */
+    public InputStream openEntry(String entryName, long maxSizeInBytes) throws IOException {
+        ZipArchiveEntry entry = getFileEntry(entryName, maxSizeInBytes);
+        if (isStored(entry)) {
+            return zipFile.getRawInputStream(entry);
+        }
+        // The size in the central directory is not verified while the entry is inflated:
+        return new SizeLimitingInputStream(zipFile.getInputStream(entry), maxSizeInBytes);
+    }
+
+    /**
+     * Writes the content of a file entry into the target file. The content of a STORED entry is transferred between the files by the
+     * operating system.
+     */
+    public void extractEntry(String entryName, Path target, long maxSizeInBytes) throws IOException {
+        ZipArchiveEntry entry = getFileEntry(entryName, maxSizeInBytes);
+        if (!isStored(entry)) {
+            try (InputStream entryStream = openEntry(entryName, maxSizeInBytes)) {
+                Files.copy(entryStream, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return;
+        }
+        try (FileChannel archiveChannel = FileChannel.open(archivePath, StandardOpenOption.READ);
+            FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                                                         StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = entry.getDataOffset();
+            long remainingBytes = entry.getSize();
+            while (remainingBytes > 0) {
+                long transferredBytes = archiveChannel.transferTo(position, remainingBytes, targetChannel);
+                if (transferredBytes == 0) {
+                    // The central directory of a truncated or corrupt archive may claim more bytes than are left in it:
+                    throw new EOFException(MessageFormat.format(Messages.ARCHIVE_ENTRY_0_ENDED_AFTER_1_OF_2_BYTES, entryName,
+                                                                entry.getSize() - remainingBytes, entry.getSize()));
+                }
+                position += transferredBytes;
+                remainingBytes -= transferredBytes;
+            }
+        }
+    }
+
+    private ZipArchiveEntry getFileEntry(String entryName, long maxSizeInBytes) {
+        FileUtils.validatePath(entryName);
+        ZipArchiveEntry entry = zipFile.getEntry(entryName);
+        if (entry == null || entry.isDirectory()) {
+            throw new ContentException(com.sap.cloud.lm.sl.mta.Messages.CANNOT_FIND_ARCHIVE_ENTRY, entryName);
+        }
+        if (entry.getSize() > maxSizeInBytes) {
+            throw new ContentException(Messages.SIZE_OF_APP_EXCEEDS_MAX_SIZE_LIMIT, maxSizeInBytes);
+        }
+        return entry;
+    }
+
+    private boolean isStored(ZipArchiveEntry entry) {
+        return entry.getMethod() == ZipEntry.STORED;
+    }
+
+    @Override
+    public void close() throws IOException {
+        zipFile.close();
+    }
+
+    private static class SizeLimitingInputStream extends CountingInputStream {
+
+        private final long maxSizeInBytes;
+
+        SizeLimitingInputStream(InputStream inputStream, long maxSizeInBytes) {
+            super(inputStream);
+            this.maxSizeInBytes = maxSizeInBytes;
+        }
+
+        @Override
+        protected synchronized void afterRead(int numberOfReadBytes) {
+            super.afterRead(numberOfReadBytes);
+            if (getByteCount() > maxSizeInBytes) {
+                throw new ContentException(Messages.SIZE_OF_APP_EXCEEDS_MAX_SIZE_LIMIT, maxSizeInBytes);
+            }
+        }
+
+    }
+
+}
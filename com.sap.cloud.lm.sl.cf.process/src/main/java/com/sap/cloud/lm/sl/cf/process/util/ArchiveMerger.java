@@ -1,16 +1,28 @@
 package com.sap.cloud.lm.sl.cf.process.util;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.flowable.engine.delegate.DelegateExecution;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileContentConsumer;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileService;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
+import com.sap.cloud.lm.sl.cf.persistence.util.HexEncoder;
 import com.sap.cloud.lm.sl.cf.process.Messages;
 import com.sap.cloud.lm.sl.cf.process.variables.VariableHandling;
 import com.sap.cloud.lm.sl.cf.process.variables.Variables;
@@ -19,15 +31,26 @@ import com.sap.cloud.lm.sl.common.SLException;
 public class ArchiveMerger {
 
     private static final String PART_POSTFIX = ".part.";
+    private static final int DEFAULT_PARALLEL_PARTS = 1;
 
     private final FileService fileService;
     private final StepLogger stepLogger;
     private final DelegateExecution execution;
+    private final int parallelParts;
 
     public ArchiveMerger(FileService fileService, StepLogger stepLogger, DelegateExecution execution) {
+        this(fileService, stepLogger, execution, DEFAULT_PARALLEL_PARTS);
+    }
+
+    /**
+     * @param parallelParts the number of parts, which are fetched from the file service at the same time. Parts are merged concurrently
+     *        only if the sizes of all parts are known.
+     */
+    public ArchiveMerger(FileService fileService, StepLogger stepLogger, DelegateExecution execution, int parallelParts) {
         this.fileService = fileService;
         this.stepLogger = stepLogger;
         this.execution = execution;
+        this.parallelParts = parallelParts;
     }
 
     public Path createArchiveFromParts(List<FileEntry> archiveParts) {
@@ -64,8 +87,13 @@ public class ArchiveMerger {
     }
 
     private void mergeArchiveParts(List<FileEntry> sortedArchiveParts, FilePartsMerger filePartsMerger) {
+        String space = VariableHandling.get(execution, Variables.SPACE_GUID);
         try {
-            mergeFileParts(sortedArchiveParts, filePartsMerger);
+            if (shouldMergeConcurrently(sortedArchiveParts)) {
+                mergeFilePartsConcurrently(space, sortedArchiveParts, filePartsMerger);
+            } else {
+                mergeFileParts(space, sortedArchiveParts, filePartsMerger);
+            }
         } catch (Exception e) {
             stepLogger.info(Messages.ERROR_MERGING_ARCHIVE);
             filePartsMerger.cleanUp();
@@ -73,12 +101,110 @@ public class ArchiveMerger {
         }
     }
 
-    private void mergeFileParts(List<FileEntry> sortedArchiveParts, FilePartsMerger filePartsMerger) throws FileStorageException {
-        FileContentConsumer archivePartConsumer = filePartsMerger::merge;
+    private boolean shouldMergeConcurrently(List<FileEntry> sortedArchiveParts) {
+        return parallelParts > 1 && sortedArchiveParts.size() > 1 && sortedArchiveParts.stream()
+                                                                                       .allMatch(archivePart -> archivePart.getSize() != null);
+    }
+
+    private void mergeFileParts(String space, List<FileEntry> sortedArchiveParts, FilePartsMerger filePartsMerger)
+        throws FileStorageException {
         for (FileEntry archivePart : sortedArchiveParts) {
             stepLogger.debug(Messages.MERGING_ARCHIVE_PART, archivePart.getId(), archivePart.getName());
-            fileService.consumeFileContent(VariableHandling.get(execution, Variables.SPACE_GUID), archivePart.getId(), archivePartConsumer);
+            mergeFilePart(space, archivePart, filePartsMerger::merge);
+        }
+    }
+
+    /**
+     * Reserves the space for the whole archive and lets each part be fetched and written into its own region of the archive on a separate
+     * thread.
+     */
+    private void mergeFilePartsConcurrently(String space, List<FileEntry> sortedArchiveParts, FilePartsMerger filePartsMerger)
+        throws Exception {
+        filePartsMerger.allocate(getArchiveSize(sortedArchiveParts));
+        ExecutorService executor = createExecutor(Math.min(parallelParts, sortedArchiveParts.size()));
+        try {
+            List<Future<Void>> mergedParts = new ArrayList<>();
+            long position = 0;
+            for (FileEntry archivePart : sortedArchiveParts) {
+                stepLogger.debug(Messages.MERGING_ARCHIVE_PART, archivePart.getId(), archivePart.getName());
+                long partPosition = position;
+                long partSize = archivePart.getSize()
+                                           .longValue();
+                mergedParts.add(executor.submit(() -> {
+                    mergeFilePart(space, archivePart,
+                                  archivePartStream -> filePartsMerger.merge(archivePartStream, partPosition, partSize));
+                    return null;
+                }));
+                position += partSize;
+            }
+            for (Future<Void> mergedPart : mergedParts) {
+                waitFor(mergedPart);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long getArchiveSize(List<FileEntry> archiveParts) {
+        return archiveParts.stream()
+                           .mapToLong(archivePart -> archivePart.getSize()
+                                                                .longValue())
+                           .sum();
+    }
+
+    private ExecutorService createExecutor(int threads) {
+        return Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder().setNameFormat("archive-merge-%d")
+                                                                               .setDaemon(true)
+                                                                               .build());
+    }
+
+    private void waitFor(Future<Void> mergedPart) throws Exception {
+        try {
+            mergedPart.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Verifies the digest of the part while it is merged, if the file service knows it.
+     */
+    private void mergeFilePart(String space, FileEntry archivePart, FileContentConsumer archivePartConsumer) throws FileStorageException {
+        fileService.consumeFileContent(space, archivePart.getId(), archivePartStream -> {
+            MessageDigest digest = createDigest(archivePart);
+            if (digest == null) {
+                archivePartConsumer.consume(archivePartStream);
+                return;
+            }
+            archivePartConsumer.consume(new DigestInputStream(archivePartStream, digest));
+            verifyDigest(archivePart, digest);
+        });
+    }
+
+    private MessageDigest createDigest(FileEntry archivePart) throws IOException {
+        if (archivePart.getDigest() == null || archivePart.getDigestAlgorithm() == null) {
+            return null;
+        }
+        try {
+            return MessageDigest.getInstance(archivePart.getDigestAlgorithm());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private void verifyDigest(FileEntry archivePart, MessageDigest digest) throws IOException {
+        String actualDigest = HexEncoder.encode(digest.digest());
+        if (!actualDigest.equalsIgnoreCase(archivePart.getDigest())) {
+            throw new IOException(MessageFormat.format(Messages.DIGEST_0_OF_ARCHIVE_PART_1_DOES_NOT_MATCH_EXPECTED_DIGEST_2, actualDigest,
+                                                       archivePart.getName(), archivePart.getDigest()));
         }
     }
 
-}
\ No newline at end of file
+}
@@ -1,37 +1,86 @@
 package com.sap.cloud.lm.sl.cf.process.util;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
 
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 
+import com.sap.cloud.lm.sl.cf.process.Messages;
 import com.sap.cloud.lm.sl.common.SLException;
 
+/**
+ * Merges file parts into a single file. Parts can either be appended one after another or, if their sizes are known in advance, written
+ * concurrently into their own regions of the file. The content of a part is transferred through {@link FileChannel#transferFrom}, which
+ * copies it without an intermediate buffer, if the part is read from a file.
+ */
 public class FilePartsMerger implements Closeable {
 
+    private static final long TRANSFER_SIZE = 8 * 1024 * 1024L;
+
     private Path mergedFilePath;
-    private OutputStream fileOutputStream;
+    private FileChannel fileChannel;
 
     public FilePartsMerger(String fileName) {
         try {
             Path tempDir = Files.createTempDirectory("merge");
             mergedFilePath = Paths.get(tempDir.toString(), fileName);
-            fileOutputStream = Files.newOutputStream(mergedFilePath);
+            fileChannel = FileChannel.open(mergedFilePath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                           StandardOpenOption.WRITE);
         } catch (IOException e) {
             cleanUp();
             throw new SLException(e, e.getMessage());
         }
     }
 
+    /**
+     * Appends a part to the end of the merged file.
+     */
     public void merge(InputStream filePartInputStream) throws IOException {
-        IOUtils.copy(filePartInputStream, fileOutputStream);
+        ReadableByteChannel filePartChannel = Channels.newChannel(filePartInputStream);
+        long position = fileChannel.size();
+        long transferredBytes;
+        while ((transferredBytes = fileChannel.transferFrom(filePartChannel, position, TRANSFER_SIZE)) > 0) {
+            position += transferredBytes;
+        }
+    }
+
+    /**
+     * Writes a part into the region of the merged file, which starts at the given position. Parts, which are written into different regions,
+     * can be merged concurrently. The region must be {@link #allocate allocated} in advance.
+     */
+    public void merge(InputStream filePartInputStream, long position, long size) throws IOException {
+        ReadableByteChannel filePartChannel = Channels.newChannel(filePartInputStream);
+        long transferredBytes = 0;
+        while (transferredBytes < size) {
+            long transferredChunk = fileChannel.transferFrom(filePartChannel, position + transferredBytes,
+                                                             Math.min(TRANSFER_SIZE, size - transferredBytes));
+            if (transferredChunk == 0) {
+                throw new EOFException(MessageFormat.format(Messages.FILE_PART_AT_POSITION_0_ENDED_AFTER_1_OF_2_BYTES, position,
+                                                            transferredBytes, size));
+            }
+            transferredBytes += transferredChunk;
+        }
+    }
+
+    /**
+     * Reserves the space for all parts, so that parts, which are merged concurrently, do not extend the file one after another.
+     */
+    public void allocate(long size) throws IOException {
+        if (size > fileChannel.size()) {
+            fileChannel.write(ByteBuffer.allocate(1), size - 1);
+        }
     }
 
     public Path getMergedFilePath() {
@@ -41,8 +90,8 @@ public class FilePartsMerger implements Closeable {
     @Override
     public void close() {
         try {
-            if (fileOutputStream != null) {
-                fileOutputStream.close();
+            if (fileChannel != null) {
+                fileChannel.close();
             }
         } catch (IOException ioe) {
             // ignore
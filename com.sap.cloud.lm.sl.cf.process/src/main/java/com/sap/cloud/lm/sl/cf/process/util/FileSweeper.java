@@ -1,5 +1,7 @@
 package com.sap.cloud.lm.sl.cf.process.util;
 
+import java.util.Arrays;
+
 import org.flowable.variable.api.history.HistoricVariableInstance;
 
 import com.sap.cloud.lm.sl.cf.persistence.services.FileService;
@@ -21,15 +23,9 @@ public class FileSweeper {
         }
     }
 
-    private void sweepSingle(String fileId) throws FileStorageException {
-        fileService.deleteFile(this.spaceId, fileId);
-    }
-
     public void sweep(String fileIds) throws FileStorageException {
         if (fileIds != null) {
-            for (String fileId : fileIds.split(",")) {
-                sweepSingle(fileId);
-            }
+            fileService.deleteFiles(this.spaceId, Arrays.asList(fileIds.split(",")));
         }
     }
 
@@ -0,0 +1,175 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.cloudfoundry.client.lib.CloudControllerClient;
+import org.cloudfoundry.client.lib.UploadStatusCallback;
+import org.cloudfoundry.client.lib.domain.UploadToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.sap.cloud.lm.sl.cf.core.cf.clients.ApplicationPackageUploader;
+import com.sap.cloud.lm.sl.cf.core.model.ApplicationResource;
+import com.sap.cloud.lm.sl.cf.core.model.ImmutableApplicationResource;
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
+import com.sap.cloud.lm.sl.cf.core.util.FileUtils;
+import com.sap.cloud.lm.sl.cf.persistence.util.DigestAlgorithm;
+import com.sap.cloud.lm.sl.cf.persistence.util.DigestCalculator;
+
+/**
+ * Uploads only those files of an application package, which are not in the resource pool of the Cloud Controller. The files of the package
+ * are fingerprinted by their SHA-1 and size in a single pass over the package, the fingerprints are matched against the resource pool in
+ * batches and the unmatched entries are copied into a new package without being inflated. The fingerprints are cached by the digest of the
+ * module and the names, sizes and CRCs of the entries in the central directory of the package, so a module, which is deployed again, is
+ * not read for fingerprinting.
+ */
+@Named
+public class IncrementalApplicationUploader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementalApplicationUploader.class);
+
+    private static final long MAX_CACHED_RESOURCES = 100_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ApplicationPackageUploader applicationPackageUploader;
+    private final int resourceMatchBatchSize;
+    private final Cache<String, List<ApplicationResource>> resourcesCache;
+
+    @Inject
+    public IncrementalApplicationUploader(ApplicationConfiguration configuration, ApplicationPackageUploader applicationPackageUploader) {
+        this(applicationPackageUploader, configuration.getResourceMatchBatchSize(), createResourcesCache());
+    }
+
+    IncrementalApplicationUploader(ApplicationPackageUploader applicationPackageUploader, int resourceMatchBatchSize,
+                                   Cache<String, List<ApplicationResource>> resourcesCache) {
+        this.applicationPackageUploader = applicationPackageUploader;
+        this.resourceMatchBatchSize = resourceMatchBatchSize;
+        this.resourcesCache = resourcesCache;
+    }
+
+    private static Cache<String, List<ApplicationResource>> createResourcesCache() {
+        return CacheBuilder.newBuilder()
+                           .maximumWeight(MAX_CACHED_RESOURCES)
+                           .weigher((String cacheKey, List<ApplicationResource> resources) -> resources.size())
+                           .build();
+    }
+
+    public UploadToken upload(CloudControllerClient client, UUID applicationGuid, Path applicationPackage, String applicationDigest,
+                              UploadStatusCallback callback)
+        throws IOException {
+        List<ApplicationResource> resources = getResources(applicationPackage, applicationDigest);
+        callback.onCheckResources();
+        List<ApplicationResource> matchedResources = applicationPackageUploader.matchResources(client, resources, resourceMatchBatchSize);
+        Set<String> matchedPaths = matchedResources.stream()
+                                                   .map(ApplicationResource::getPath)
+                                                   .collect(Collectors.toSet());
+        callback.onMatchedFileNames(matchedPaths);
+        Path bits = null;
+        try {
+            if (matchedResources.size() < resources.size()) {
+                bits = copyUnmatchedEntries(applicationPackage, matchedPaths);
+                callback.onProcessMatchedResources((int) Math.min(Files.size(bits), Integer.MAX_VALUE));
+            }
+            return applicationPackageUploader.uploadPackage(client, applicationGuid, matchedResources, bits);
+        } finally {
+            FileUtils.cleanUp(bits, LOGGER);
+        }
+    }
+
+    private List<ApplicationResource> getResources(Path applicationPackage, String applicationDigest) throws IOException {
+        try (ZipFile zipFile = new ZipFile(applicationPackage.toFile())) {
+            List<ZipArchiveEntry> entries = getFileEntries(zipFile);
+            String cacheKey = applicationDigest + ":" + computeEntriesDigest(entries);
+            List<ApplicationResource> resources = resourcesCache.getIfPresent(cacheKey);
+            if (resources == null) {
+                resources = computeResources(zipFile, entries);
+                resourcesCache.put(cacheKey, resources);
+            }
+            return resources;
+        }
+    }
+
+    private List<ZipArchiveEntry> getFileEntries(ZipFile zipFile) {
+        return Collections.list(zipFile.getEntriesInPhysicalOrder())
+                          .stream()
+                          .filter(entry -> !entry.isDirectory())
+                          .collect(Collectors.toList());
+    }
+
+    /**
+     * The digest of the module alone does not identify the content of the package, so the names, sizes and CRCs of its entries are part of
+     * the cache key as well. They are read from the central directory, without inflating the content of the package.
+     */
+    private String computeEntriesDigest(List<ZipArchiveEntry> entries) {
+        DigestCalculator digestCalculator = DigestCalculator.create(DigestAlgorithm.SHA_1);
+        for (ZipArchiveEntry entry : entries) {
+            String entryFingerprint = entry.getName() + "\0" + entry.getSize() + "\0" + entry.getCrc() + "\0";
+            byte[] entryFingerprintBytes = entryFingerprint.getBytes(StandardCharsets.UTF_8);
+            digestCalculator.updateDigest(entryFingerprintBytes, 0, entryFingerprintBytes.length);
+        }
+        return digestCalculator.getDigest();
+    }
+
+    private List<ApplicationResource> computeResources(ZipFile zipFile, List<ZipArchiveEntry> entries) throws IOException {
+        List<ApplicationResource> resources = new ArrayList<>();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (ZipArchiveEntry entry : entries) {
+            resources.add(computeResource(zipFile, entry, buffer));
+        }
+        return Collections.unmodifiableList(resources);
+    }
+
+    private ApplicationResource computeResource(ZipFile zipFile, ZipArchiveEntry entry, byte[] buffer) throws IOException {
+        DigestCalculator digestCalculator = DigestCalculator.create(DigestAlgorithm.SHA_1);
+        long size = 0;
+        try (InputStream entryStream = zipFile.getInputStream(entry)) {
+            int numberOfReadBytes;
+            while ((numberOfReadBytes = entryStream.read(buffer)) != -1) {
+                digestCalculator.updateDigest(buffer, 0, numberOfReadBytes);
+                size += numberOfReadBytes;
+            }
+        }
+        ImmutableApplicationResource.Builder resourceBuilder = ImmutableApplicationResource.builder()
+                                                                                           .path(entry.getName())
+                                                                                           .sha1(digestCalculator.getDigest()
+                                                                                                                 .toLowerCase(Locale.ROOT))
+                                                                                           .size(size);
+        int permissions = entry.getUnixMode() & 0777;
+        if (permissions != 0) {
+            resourceBuilder.mode(Integer.toOctalString(permissions));
+        }
+        return resourceBuilder.build();
+    }
+
+    private Path copyUnmatchedEntries(Path applicationPackage, Set<String> matchedPaths) throws IOException {
+        Path bits = Files.createTempFile("bits", ".zip");
+        try (ZipFile zipFile = new ZipFile(applicationPackage.toFile());
+            ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(bits.toFile())) {
+            zipFile.copyRawEntries(zipOutputStream, entry -> !matchedPaths.contains(entry.getName()));
+        } catch (IOException | RuntimeException e) {
+            FileUtils.cleanUp(bits, LOGGER);
+            throw e;
+        }
+        return bits;
+    }
+
+}
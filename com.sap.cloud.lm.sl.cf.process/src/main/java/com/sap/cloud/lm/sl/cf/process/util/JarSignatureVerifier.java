@@ -1,49 +1,113 @@
 package com.sap.cloud.lm.sl.cf.process.util;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.net.JarURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateExpiredException;
 import java.security.cert.CertificateNotYetValidException;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
+import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.apache.commons.lang3.ArrayUtils;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
 import com.sap.cloud.lm.sl.cf.core.util.FileUtils;
 import com.sap.cloud.lm.sl.cf.process.Messages;
 import com.sap.cloud.lm.sl.common.SLException;
 
+/**
+ * Verifies that all entries of an archive are signed and that they are signed by one of the trusted certificates. Every entry has to be
+ * read completely for its digest to be checked, which dominates the verification of large archives. When the parallelism is greater than
+ * one and the archive is a local file, the entries are distributed among a bounded pool of threads, each of which reads them through its
+ * own {@link JarFile}, and the verification stops as soon as one of the entries turns out to be invalid. The validation of a certificate
+ * chain is remembered until the earliest expiration of its certificates, so that archives signed with the same certificates skip it.
+ */
 @Named
 public class JarSignatureVerifier {
 
     private static final String META_INF = "META-INF";
     private static final int BUFFER_SIZE = 8 * 1024;
     private static final Pattern X509_CERT_SUBJECT_NAME = Pattern.compile("CN=(.+), OU=(.+), O=(.+), C=(.+)");
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+    private static final int MAX_VALIDATED_CERTIFICATE_CHAINS = 100;
+
+    private final int parallelism;
+    private final Cache<String, Date> validatedCertificateChains;
+    private volatile ExecutorService executor;
+
+    public JarSignatureVerifier() {
+        this(1);
+    }
+
+    @Inject
+    public JarSignatureVerifier(ApplicationConfiguration configuration) {
+        this(configuration.getArchiveSignatureVerificationParallelism());
+    }
+
+    public JarSignatureVerifier(int parallelism) {
+        this(parallelism, CacheBuilder.newBuilder()
+                                      .maximumSize(MAX_VALIDATED_CERTIFICATE_CHAINS)
+                                      .build());
+    }
+
+    JarSignatureVerifier(int parallelism, Cache<String, Date> validatedCertificateChains) {
+        this.parallelism = parallelism;
+        this.validatedCertificateChains = validatedCertificateChains;
+    }
 
     public void verify(URL jarFileUrl, List<X509Certificate> targetCertificates, String certificateCN) {
         try {
-            JarFile jarFile = openJarFile(jarFileUrl);
-            List<JarEntry> jarEntries = getJarEntries(jarFile);
-            verifyJarEntries(jarEntries, targetCertificates, certificateCN);
+            List<VerifiedEntry> verifiedEntries = getVerifiedEntries(jarFileUrl);
+            verifyJarEntries(verifiedEntries, targetCertificates, certificateCN);
         } catch (IOException | SecurityException | SLException e) {
             throw new SLException(e, Messages.COULD_NOT_VERIFY_ARCHIVE_SIGNATURE, e.getMessage());
         }
     }
 
+    private List<VerifiedEntry> getVerifiedEntries(URL jarFileUrl) throws IOException {
+        File file = org.apache.commons.io.FileUtils.toFile(jarFileUrl);
+        if (parallelism > 1 && file != null) {
+            return new ConcurrentVerification(file).verifyEntries();
+        }
+        return getJarEntries(openJarFile(jarFileUrl));
+    }
+
     private JarFile openJarFile(URL jarFileUrl) throws IOException {
         JarURLConnection connection = (JarURLConnection) toJarUrl(jarFileUrl).openConnection();
         return connection.getJarFile();
@@ -53,21 +117,21 @@ public class JarSignatureVerifier {
         return new URL("jar:" + jarUrl.toString() + "!/");
     }
 
-    private List<JarEntry> getJarEntries(JarFile jarFile) {
+    private List<VerifiedEntry> getJarEntries(JarFile jarFile) {
         return jarFile.stream()
                       .map(jarEntry -> verifyJarEntry(jarFile, jarEntry))
-                      .filter(jarEntry -> !jarEntry.isDirectory())
+                      .filter(verifiedEntry -> !verifiedEntry.isDirectory)
                       .collect(Collectors.toList());
     }
 
-    private JarEntry verifyJarEntry(JarFile jarFile, JarEntry jarEntry) {
+    private VerifiedEntry verifyJarEntry(JarFile jarFile, JarEntry jarEntry) {
         FileUtils.validatePath(jarEntry.getName());
         try {
             verifySignature(jarFile, jarEntry);
         } catch (IOException e) {
             throw new SLException(e, e.getMessage());
         }
-        return jarEntry;
+        return new VerifiedEntry(jarEntry);
     }
 
     private void verifySignature(JarFile jarFile, JarEntry jarEntry) throws IOException {
@@ -80,55 +144,56 @@ public class JarSignatureVerifier {
         }
     }
 
-    private void verifyJarEntries(List<JarEntry> jarEntries, List<X509Certificate> targetCertificates, String certificateCN) {
-        verifyArchiveFilesAreSigned(jarEntries);
-        for (JarEntry jarEntry : getSignedJarEntries(jarEntries)) {
-            validateCertificateChain(targetCertificates, toX509Certificates(jarEntry.getCertificates()), certificateCN);
+    private void verifyJarEntries(List<VerifiedEntry> verifiedEntries, List<X509Certificate> targetCertificates, String certificateCN) {
+        verifyArchiveFilesAreSigned(verifiedEntries);
+        String trustFingerprint = getFingerprint(targetCertificates) + certificateCN;
+        for (List<X509Certificate> certificateChain : getDistinctCertificateChains(verifiedEntries)) {
+            validateCertificateChain(targetCertificates, certificateChain, certificateCN, trustFingerprint);
         }
     }
 
-    private void verifyArchiveFilesAreSigned(List<JarEntry> jarEntries) {
-        List<JarEntry> nonMetaInformationJarEntries = getNonMetaInformationJarEntries(jarEntries);
-        List<JarEntry> nonSignedJarEntries = getNonSignedJarEntries(nonMetaInformationJarEntries);
-        if (!nonSignedJarEntries.isEmpty()) {
-            if (nonMetaInformationJarEntries.size() == nonSignedJarEntries.size()) {
+    private void verifyArchiveFilesAreSigned(List<VerifiedEntry> verifiedEntries) {
+        List<VerifiedEntry> nonMetaInformationEntries = getNonMetaInformationEntries(verifiedEntries);
+        List<VerifiedEntry> nonSignedEntries = getNonSignedEntries(nonMetaInformationEntries);
+        if (!nonSignedEntries.isEmpty()) {
+            if (nonMetaInformationEntries.size() == nonSignedEntries.size()) {
                 throw new SLException(Messages.THE_ARCHIVE_IS_NOT_SIGNED);
             }
-            throw new SLException(Messages.THE_ARCHIVE_CONTAINS_UNSIGNED_FILES, getJarEntriesNames(nonSignedJarEntries));
+            throw new SLException(Messages.THE_ARCHIVE_CONTAINS_UNSIGNED_FILES, getEntriesNames(nonSignedEntries));
         }
     }
 
-    private List<JarEntry> getNonMetaInformationJarEntries(List<JarEntry> jarEntries) {
-        return jarEntries.stream()
-                         .filter(jarEntry -> !isMetaInformation(jarEntry))
-                         .collect(Collectors.toList());
-    }
-
-    private boolean isMetaInformation(JarEntry jarEntry) {
-        return jarEntry.getName()
-                       .startsWith(META_INF);
+    private List<VerifiedEntry> getNonMetaInformationEntries(List<VerifiedEntry> verifiedEntries) {
+        return verifiedEntries.stream()
+                              .filter(verifiedEntry -> !isMetaInformation(verifiedEntry))
+                              .collect(Collectors.toList());
     }
 
-    private List<JarEntry> getNonSignedJarEntries(List<JarEntry> jarEntries) {
-        return jarEntries.stream()
-                         .filter(jarEntry -> !isSigned(jarEntry))
-                         .collect(Collectors.toList());
+    private boolean isMetaInformation(VerifiedEntry verifiedEntry) {
+        return verifiedEntry.name.startsWith(META_INF);
     }
 
-    private boolean isSigned(JarEntry jarEntry) {
-        return ArrayUtils.isNotEmpty(jarEntry.getCertificates());
+    private List<VerifiedEntry> getNonSignedEntries(List<VerifiedEntry> verifiedEntries) {
+        return verifiedEntries.stream()
+                              .filter(verifiedEntry -> !verifiedEntry.isSigned())
+                              .collect(Collectors.toList());
     }
 
-    private String getJarEntriesNames(List<JarEntry> jarEntries) {
-        return jarEntries.stream()
-                         .map(ZipEntry::getName)
-                         .collect(Collectors.joining(System.lineSeparator()));
+    private String getEntriesNames(List<VerifiedEntry> verifiedEntries) {
+        return verifiedEntries.stream()
+                              .map(verifiedEntry -> verifiedEntry.name)
+                              .collect(Collectors.joining(System.lineSeparator()));
     }
 
-    private List<JarEntry> getSignedJarEntries(List<JarEntry> jarEntries) {
-        return jarEntries.stream()
-                         .filter(this::isSigned)
-                         .collect(Collectors.toList());
+    /**
+     * Returns the certificate chains of the signed entries in archive order. All entries of an archive are usually signed by the same
+     * chain, so it has to be validated only once.
+     */
+    private Set<List<X509Certificate>> getDistinctCertificateChains(List<VerifiedEntry> verifiedEntries) {
+        return verifiedEntries.stream()
+                              .filter(VerifiedEntry::isSigned)
+                              .map(verifiedEntry -> toX509Certificates(verifiedEntry.certificates))
+                              .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
     private List<X509Certificate> toX509Certificates(Certificate[] certificates) {
@@ -137,6 +202,17 @@ public class JarSignatureVerifier {
                      .collect(Collectors.toList());
     }
 
+    private void validateCertificateChain(List<X509Certificate> targetCertificates, List<X509Certificate> candidateCertificateChain,
+                                          String certificateCN, String trustFingerprint) {
+        String key = getFingerprint(candidateCertificateChain) + trustFingerprint;
+        Date validUntil = validatedCertificateChains.getIfPresent(key);
+        if (validUntil != null && !new Date().after(validUntil)) {
+            return;
+        }
+        validateCertificateChain(targetCertificates, candidateCertificateChain, certificateCN);
+        validatedCertificateChains.put(key, getEarliestExpiration(candidateCertificateChain));
+    }
+
     private void validateCertificateChain(List<X509Certificate> targetCertificates, List<X509Certificate> candidateCertificateChain,
                                           String certificateCN) {
         candidateCertificateChain.forEach(this::checkValidityOfCertificate);
@@ -159,6 +235,28 @@ public class JarSignatureVerifier {
         }
     }
 
+    private Date getEarliestExpiration(List<X509Certificate> certificateChain) {
+        return certificateChain.stream()
+                               .map(X509Certificate::getNotAfter)
+                               .min(Date::compareTo)
+                               .orElseGet(Date::new);
+    }
+
+    private String getFingerprint(List<X509Certificate> certificates) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+            for (X509Certificate certificate : certificates) {
+                messageDigest.update(certificate.getEncoded());
+            }
+            return Base64.getEncoder()
+                         .encodeToString(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (CertificateEncodingException e) {
+            throw new SLException(e, e.getMessage());
+        }
+    }
+
     private List<String> getCertificatesNames(List<X509Certificate> targetCertificates) {
         return targetCertificates.stream()
                                  .map(this::getCertificateCN)
@@ -171,6 +269,119 @@ public class JarSignatureVerifier {
         return certSubject.commonName;
     }
 
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(parallelism,
+                                                            new ThreadFactoryBuilder().setNameFormat("jar-signature-verifier-%d")
+                                                                                      .setDaemon(true)
+                                                                                      .build());
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * The entries of the archive are handed out one at a time to the threads, so that a thread, which reads a large entry, does not delay
+     * the reading of the remaining ones. Each thread opens its own {@link JarFile}, as the verification state of a {@link JarFile} is not
+     * meant to be shared between threads. The first failure stops the other threads before they read their next entry.
+     */
+    private class ConcurrentVerification {
+
+        private final File file;
+        private final AtomicInteger nextEntryIndex = new AtomicInteger();
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private List<String> entryNames;
+        private VerifiedEntry[] verifiedEntries;
+
+        ConcurrentVerification(File file) {
+            this.file = file;
+        }
+
+        List<VerifiedEntry> verifyEntries() throws IOException {
+            entryNames = getEntryNames();
+            verifiedEntries = new VerifiedEntry[entryNames.size()];
+            int threads = Math.min(parallelism, entryNames.size());
+            CompletionService<Void> completionService = new ExecutorCompletionService<>(getExecutor());
+            List<Future<Void>> verifications = new ArrayList<>();
+            try {
+                for (int i = 0; i < threads; i++) {
+                    verifications.add(completionService.submit(this::verifyNextEntries, null));
+                }
+                for (int i = 0; i < threads; i++) {
+                    waitFor(completionService.take());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                      .interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            } finally {
+                // Stops the remaining threads, if one of them has failed:
+                stopped.set(true);
+                verifications.forEach(verification -> verification.cancel(false));
+            }
+            return Arrays.stream(verifiedEntries)
+                         .filter(verifiedEntry -> !verifiedEntry.isDirectory)
+                         .collect(Collectors.toList());
+        }
+
+        private List<String> getEntryNames() throws IOException {
+            try (ZipFile zipFile = new ZipFile(file)) {
+                return zipFile.stream()
+                              .map(ZipEntry::getName)
+                              .collect(Collectors.toList());
+            }
+        }
+
+        private void verifyNextEntries() {
+            try (JarFile jarFile = new JarFile(file, true)) {
+                int entryIndex;
+                while (!stopped.get() && (entryIndex = nextEntryIndex.getAndIncrement()) < entryNames.size()) {
+                    verifiedEntries[entryIndex] = verifyJarEntry(jarFile, jarFile.getJarEntry(entryNames.get(entryIndex)));
+                }
+            } catch (IOException e) {
+                stopped.set(true);
+                throw new SLException(e, e.getMessage());
+            } catch (RuntimeException e) {
+                stopped.set(true);
+                throw e;
+            }
+        }
+
+        private void waitFor(Future<Void> verification) throws InterruptedException, IOException {
+            try {
+                verification.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IOException(e.getCause());
+            }
+        }
+
+    }
+
+    private static class VerifiedEntry {
+
+        private final String name;
+        private final boolean isDirectory;
+        private final Certificate[] certificates;
+
+        VerifiedEntry(JarEntry jarEntry) {
+            this.name = jarEntry.getName();
+            this.isDirectory = jarEntry.isDirectory();
+            // Available only after the entry has been read:
+            this.certificates = jarEntry.getCertificates();
+        }
+
+        boolean isSigned() {
+            return ArrayUtils.isNotEmpty(certificates);
+        }
+
+    }
+
     private static class CertificateSubject {
         private String commonName;
         private String organizationalUnit;
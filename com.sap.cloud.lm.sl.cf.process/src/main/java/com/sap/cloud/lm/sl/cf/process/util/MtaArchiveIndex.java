@@ -0,0 +1,382 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.inject.Named;
+
+import org.apache.commons.collections4.map.AbstractReferenceMap.ReferenceStrength;
+import org.apache.commons.collections4.map.ReferenceMap;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.immutables.value.Value.Immutable;
+
+import com.sap.cloud.lm.sl.cf.core.util.FileUtils;
+import com.sap.cloud.lm.sl.cf.persistence.services.LocalFileInputStream;
+import com.sap.cloud.lm.sl.cf.persistence.util.DigestAlgorithm;
+import com.sap.cloud.lm.sl.cf.persistence.util.DigestCalculator;
+import com.sap.cloud.lm.sl.common.ContentException;
+import com.sap.cloud.lm.sl.mta.handlers.ArchiveHandler;
+
+/**
+ * Keeps an index of the entries of every processed MTA archive, keyed by the archive's file id. The entry names of archives stored on the
+ * local disk are read from the central directory and let the archive consuming steps avoid streaming the whole archive again for every
+ * deployed module.
+ */
+@Named
+public class MtaArchiveIndex {
+
+    private static final long INDEX_EXPIRATION_TIME_IN_SECONDS = TimeUnit.HOURS.toSeconds(3);
+    private static final int BUFFER_SIZE = 4 * 1024; // 4KB
+
+    private final LongSupplier currentTimeSupplier;
+    // Stored in a memory-sensitive cache, as the index can always be rebuilt from the archive itself.
+    private final Map<String, IndexedArchive> indexedArchives = Collections.synchronizedMap(new ReferenceMap<>(ReferenceStrength.HARD,
+                                                                                                               ReferenceStrength.SOFT));
+
+    public MtaArchiveIndex() {
+        this(System::currentTimeMillis);
+    }
+
+    MtaArchiveIndex(LongSupplier currentTimeSupplier) {
+        this.currentTimeSupplier = currentTimeSupplier;
+    }
+
+    /**
+     * Extracts the deployment descriptor and the manifest of the archive and indexes it. Only the descriptor and the manifest are
+     * inflated. The entries of an archive stored on the local disk are read from its central directory. Any other archive is streamed
+     * only until the descriptor and the manifest are found, so its entries are not recorded.
+     *
+     * @param appArchiveId the file id of the archive
+     * @param archiveStream the content of the archive
+     * @param maxDescriptorSize the max allowed size of the deployment descriptor
+     * @param maxManifestSize the max allowed size of the manifest
+     * @return the contents of the indexed archive
+     */
+    public ArchiveContents indexArchive(String appArchiveId, InputStream archiveStream, long maxDescriptorSize, long maxManifestSize)
+        throws IOException {
+        if (archiveStream instanceof LocalFileInputStream) {
+            return indexLocalArchive(appArchiveId, ((LocalFileInputStream) archiveStream).getPath(), maxDescriptorSize, maxManifestSize);
+        }
+        ZipInputStream zipInputStream = new ZipInputStream(archiveStream);
+        byte[] descriptor = null;
+        byte[] manifest = null;
+        for (ZipEntry zipEntry; (descriptor == null || manifest == null) && (zipEntry = zipInputStream.getNextEntry()) != null;) {
+            if (ArchiveHandler.MTA_DEPLOYMENT_DESCRIPTOR_NAME.equals(zipEntry.getName())) {
+                descriptor = readEntryContent(zipInputStream, zipEntry, maxDescriptorSize);
+            } else if (JarFile.MANIFEST_NAME.equals(zipEntry.getName())) {
+                manifest = readEntryContent(zipInputStream, zipEntry, maxManifestSize);
+            }
+        }
+        return index(appArchiveId, null, descriptor, manifest);
+    }
+
+    private ArchiveContents indexLocalArchive(String appArchiveId, Path archivePath, long maxDescriptorSize, long maxManifestSize)
+        throws IOException {
+        try (ZipFile zipFile = new ZipFile(archivePath.toFile())) {
+            List<String> entryNames = Collections.list(zipFile.getEntriesInPhysicalOrder())
+                                                 .stream()
+                                                 .map(ZipEntry::getName)
+                                                 .collect(Collectors.toList());
+            byte[] descriptor = readEntryContent(zipFile, ArchiveHandler.MTA_DEPLOYMENT_DESCRIPTOR_NAME, maxDescriptorSize);
+            byte[] manifest = readEntryContent(zipFile, JarFile.MANIFEST_NAME, maxManifestSize);
+            return index(appArchiveId, entryNames, descriptor, manifest);
+        }
+    }
+
+    private ArchiveContents index(String appArchiveId, List<String> entryNames, byte[] descriptor, byte[] manifest) throws IOException {
+        validateEntryIsPresent(descriptor, ArchiveHandler.MTA_DEPLOYMENT_DESCRIPTOR_NAME);
+        validateEntryIsPresent(manifest, JarFile.MANIFEST_NAME);
+        indexedArchives.put(appArchiveId, new IndexedArchive(entryNames, currentTimeSupplier.getAsLong()));
+        return ImmutableArchiveContents.builder()
+                                       .descriptor(new String(descriptor, StandardCharsets.UTF_8))
+                                       .manifest(new Manifest(new ByteArrayInputStream(manifest)))
+                                       .build();
+    }
+
+    private byte[] readEntryContent(ZipFile zipFile, String entryName, long maxSize) throws IOException {
+        ZipArchiveEntry zipEntry = zipFile.getEntry(entryName);
+        if (zipEntry == null) {
+            return null;
+        }
+        try (InputStream entryStream = zipFile.getInputStream(zipEntry)) {
+            return readEntryContent(entryStream, zipEntry, maxSize);
+        }
+    }
+
+    private byte[] readEntryContent(InputStream entryStream, ZipEntry zipEntry, long maxSize) throws IOException {
+        validateEntrySize(zipEntry.getSize(), zipEntry, maxSize);
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int numberOfReadBytes;
+        while ((numberOfReadBytes = entryStream.read(buffer)) != -1) {
+            content.write(buffer, 0, numberOfReadBytes);
+            validateEntrySize(content.size(), zipEntry, maxSize);
+        }
+        return content.toByteArray();
+    }
+
+    private void validateEntrySize(long size, ZipEntry zipEntry, long maxSize) {
+        if (size > maxSize) {
+            throw new ContentException(com.sap.cloud.lm.sl.mta.Messages.ERROR_SIZE_OF_FILE_EXCEEDS_CONFIGURED_MAX_SIZE_LIMIT,
+                                       size,
+                                       zipEntry.getName(),
+                                       maxSize);
+        }
+    }
+
+    private void validateEntryIsPresent(byte[] content, String entryName) {
+        if (content == null) {
+            throw new ContentException(com.sap.cloud.lm.sl.mta.Messages.CANNOT_FIND_ARCHIVE_ENTRY, entryName);
+        }
+    }
+
+    /**
+     * Registers the file names of the modules contained in an already indexed archive, so that their digests can be computed together.
+     */
+    public void setModuleFileNames(String appArchiveId, Collection<String> moduleFileNames) {
+        IndexedArchive indexedArchive = getIndexedArchive(appArchiveId);
+        if (indexedArchive != null) {
+            indexedArchive.setModuleFileNames(moduleFileNames);
+        }
+    }
+
+    /**
+     * Returns whether the digests of the modules of an archive should be computed with {@link #indexModuleDigests}.
+     */
+    public boolean shouldIndexModuleDigests(String appArchiveId) {
+        IndexedArchive indexedArchive = getIndexedArchive(appArchiveId);
+        return indexedArchive != null && indexedArchive.shouldComputeModuleDigests();
+    }
+
+    /**
+     * Computes the digests of all registered modules of an archive with a single pass over its content. Modules whose digest cannot be
+     * computed here (e.g. because they exceed the size limit) are left out of the index, so that the regular digest calculation can
+     * report the problem.
+     */
+    public void indexModuleDigests(String appArchiveId, InputStream archiveStream, long maxSizeInBytes) throws IOException {
+        IndexedArchive indexedArchive = getIndexedArchive(appArchiveId);
+        if (indexedArchive == null) {
+            return;
+        }
+        synchronized (indexedArchive) {
+            if (!indexedArchive.shouldComputeModuleDigests()) {
+                return;
+            }
+            indexedArchive.setModuleDigests(computeModuleDigests(archiveStream, indexedArchive.getModuleFileNames(), maxSizeInBytes));
+        }
+    }
+
+    private Map<String, String> computeModuleDigests(InputStream archiveStream, Set<String> moduleFileNames, long maxSizeInBytes)
+        throws IOException {
+        List<ModuleDigest> moduleDigests = moduleFileNames.stream()
+                                                          .map(moduleFileName -> new ModuleDigest(moduleFileName, maxSizeInBytes))
+                                                          .collect(Collectors.toList());
+        ZipInputStream zipInputStream = new ZipInputStream(archiveStream);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (ZipEntry zipEntry; (zipEntry = zipInputStream.getNextEntry()) != null;) {
+            List<ModuleDigest> matchingModuleDigests = getMatchingModuleDigests(moduleDigests, zipEntry);
+            if (matchingModuleDigests.isEmpty() || zipEntry.isDirectory()) {
+                continue;
+            }
+            int numberOfReadBytes;
+            while ((numberOfReadBytes = zipInputStream.read(buffer)) != -1) {
+                for (ModuleDigest moduleDigest : matchingModuleDigests) {
+                    moduleDigest.update(buffer, numberOfReadBytes);
+                }
+            }
+        }
+        return moduleDigests.stream()
+                            .filter(ModuleDigest::isValid)
+                            .collect(Collectors.toMap(ModuleDigest::getModuleFileName, ModuleDigest::getDigest));
+    }
+
+    private List<ModuleDigest> getMatchingModuleDigests(List<ModuleDigest> moduleDigests, ZipEntry zipEntry) {
+        List<ModuleDigest> matchingModuleDigests = moduleDigests.stream()
+                                                                .filter(moduleDigest -> moduleDigest.matches(zipEntry))
+                                                                .collect(Collectors.toList());
+        if (!matchingModuleDigests.isEmpty() && !isValidPath(zipEntry.getName())) {
+            matchingModuleDigests.forEach(ModuleDigest::invalidate);
+            return Collections.emptyList();
+        }
+        return matchingModuleDigests;
+    }
+
+    private boolean isValidPath(String path) {
+        try {
+            FileUtils.validatePath(path);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return the digest of the module or null if it is not present in the index
+     */
+    public String getModuleDigest(String appArchiveId, String moduleFileName) {
+        IndexedArchive indexedArchive = getIndexedArchive(appArchiveId);
+        return indexedArchive == null ? null : indexedArchive.getModuleDigest(moduleFileName);
+    }
+
+    /**
+     * @return the name of the last archive entry that belongs to the module or null if the entries of the archive are not indexed
+     */
+    public String getLastModuleEntryName(String appArchiveId, String moduleFileName) {
+        IndexedArchive indexedArchive = getIndexedArchive(appArchiveId);
+        if (indexedArchive == null || !indexedArchive.hasEntryNames()) {
+            return null;
+        }
+        String lastModuleEntryName = null;
+        for (String entryName : indexedArchive.getEntryNames()) {
+            if (entryName.startsWith(moduleFileName)) {
+                lastModuleEntryName = entryName;
+            }
+        }
+        return lastModuleEntryName;
+    }
+
+    public void removeIndex(String appArchiveId) {
+        indexedArchives.remove(appArchiveId);
+    }
+
+    private IndexedArchive getIndexedArchive(String appArchiveId) {
+        IndexedArchive indexedArchive = indexedArchives.get(appArchiveId);
+        if (indexedArchive == null || isExpired(indexedArchive)) {
+            return null;
+        }
+        return indexedArchive;
+    }
+
+    private boolean isExpired(IndexedArchive indexedArchive) {
+        long millisecondsSinceCreation = currentTimeSupplier.getAsLong() - indexedArchive.getCreationTime();
+        return TimeUnit.MILLISECONDS.toSeconds(millisecondsSinceCreation) > INDEX_EXPIRATION_TIME_IN_SECONDS;
+    }
+
+    private static class IndexedArchive {
+
+        private final List<String> entryNames;
+        private final long creationTime;
+        private volatile Set<String> moduleFileNames = Collections.emptySet();
+        private volatile Map<String, String> moduleDigests;
+
+        IndexedArchive(List<String> entryNames, long creationTime) {
+            this.entryNames = entryNames == null ? null : Collections.unmodifiableList(entryNames);
+            this.creationTime = creationTime;
+        }
+
+        boolean hasEntryNames() {
+            return entryNames != null;
+        }
+
+        List<String> getEntryNames() {
+            return entryNames;
+        }
+
+        long getCreationTime() {
+            return creationTime;
+        }
+
+        Set<String> getModuleFileNames() {
+            return moduleFileNames;
+        }
+
+        void setModuleFileNames(Collection<String> moduleFileNames) {
+            this.moduleFileNames = Collections.unmodifiableSet(new LinkedHashSet<>(moduleFileNames));
+        }
+
+        boolean shouldComputeModuleDigests() {
+            return moduleDigests == null && !moduleFileNames.isEmpty();
+        }
+
+        String getModuleDigest(String moduleFileName) {
+            Map<String, String> digests = moduleDigests;
+            return digests == null ? null : digests.get(moduleFileName);
+        }
+
+        void setModuleDigests(Map<String, String> moduleDigests) {
+            this.moduleDigests = new HashMap<>(moduleDigests);
+        }
+
+    }
+
+    private static class ModuleDigest {
+
+        private final String moduleFileName;
+        private final long maxSizeInBytes;
+        private final DigestCalculator digestCalculator;
+        private long currentSizeInBytes;
+        private boolean hasEntries;
+        private boolean isValid = true;
+
+        ModuleDigest(String moduleFileName, long maxSizeInBytes) {
+            this.moduleFileName = moduleFileName;
+            this.maxSizeInBytes = maxSizeInBytes;
+            this.digestCalculator = DigestCalculator.create(DigestAlgorithm.MD5);
+        }
+
+        boolean matches(ZipEntry zipEntry) {
+            boolean matches = isValid && zipEntry.getName()
+                                                 .startsWith(moduleFileName);
+            hasEntries |= matches;
+            return matches;
+        }
+
+        void update(byte[] buffer, int length) {
+            if (!isValid) {
+                return;
+            }
+            if (currentSizeInBytes + length > maxSizeInBytes) {
+                invalidate();
+                return;
+            }
+            currentSizeInBytes += length;
+            digestCalculator.updateDigest(buffer, 0, length);
+        }
+
+        void invalidate() {
+            isValid = false;
+        }
+
+        boolean isValid() {
+            return isValid && hasEntries;
+        }
+
+        String getModuleFileName() {
+            return moduleFileName;
+        }
+
+        String getDigest() {
+            return digestCalculator.getDigest();
+        }
+
+    }
+
+    @Immutable
+    public interface ArchiveContents {
+
+        String getDescriptor();
+
+        Manifest getManifest();
+
+    }
+
+}
@@ -44,6 +44,8 @@ public class OperationInFinalStateHandler {
     private HistoricOperationEventPersister historicOperationEventPersister;
     @Inject
     private OperationTimeAggregator operationTimeAggregator;
+    @Inject
+    private MtaArchiveIndex mtaArchiveIndex;
     private final SafeExecutor safeExecutor = new SafeExecutor();
 
     public void handle(DelegateExecution execution, Operation.State state) {
@@ -53,6 +55,7 @@ public class OperationInFinalStateHandler {
     private void handleInternal(DelegateExecution execution, Operation.State state) {
         String correlationId = VariableHandling.get(execution, Variables.CORRELATION_ID);
         safeExecutor.execute(() -> deleteDeploymentFiles(execution));
+        safeExecutor.execute(() -> removeArchiveIndex(execution));
         safeExecutor.execute(() -> deleteCloudControllerClientForProcess(execution));
         safeExecutor.execute(() -> setOperationState(correlationId, state));
         safeExecutor.execute(() -> operationTimeAggregator.aggregateOperationTime(correlationId));
@@ -71,6 +74,13 @@ public class OperationInFinalStateHandler {
         fileSweeper.sweep(appArchiveFileIds);
     }
 
+    protected void removeArchiveIndex(DelegateExecution execution) {
+        String appArchiveId = VariableHandling.get(execution, Variables.APP_ARCHIVE_ID);
+        if (appArchiveId != null) {
+            mtaArchiveIndex.removeIndex(appArchiveId);
+        }
+    }
+
     private void deleteCloudControllerClientForProcess(DelegateExecution execution) {
         String user = StepsUtil.determineCurrentUser(execution);
         String organizationName = VariableHandling.get(execution, Variables.ORGANIZATION_NAME);
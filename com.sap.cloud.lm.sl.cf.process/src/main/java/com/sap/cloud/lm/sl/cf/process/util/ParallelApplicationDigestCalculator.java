@@ -0,0 +1,292 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
+import com.sap.cloud.lm.sl.cf.core.util.FileUtils;
+import com.sap.cloud.lm.sl.cf.persistence.services.LocalFileInputStream;
+import com.sap.cloud.lm.sl.cf.persistence.util.DigestAlgorithm;
+import com.sap.cloud.lm.sl.cf.persistence.util.DigestCalculator;
+import com.sap.cloud.lm.sl.cf.process.Messages;
+import com.sap.cloud.lm.sl.common.ContentException;
+import com.sap.cloud.lm.sl.common.SLException;
+
+/**
+ * Computes the same digest as {@link ApplicationArchiveReader#calculateApplicationDigest}, but reads the archive with random access and
+ * inflates the entries of a module concurrently. The digest is a single MD5 over the content of all entries of the module in archive order,
+ * which cannot be combined from digests of the separate entries, so the entries are inflated ahead by a {@link ForkJoinPool} and fed to the
+ * digest in archive order by the calling thread. Entries, which fit into a pooled buffer, are inflated concurrently, while larger entries
+ * are streamed by the calling thread through a thread-local buffer. The number of entries inflated ahead is bounded by the size of the
+ * buffer pool.
+ */
+@Named
+public class ParallelApplicationDigestCalculator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelApplicationDigestCalculator.class);
+
+    private static final int BUFFERS_PER_THREAD = 2;
+
+    private final int parallelism;
+    private final int bufferSize;
+    private final BufferPool bufferPool;
+    private final ThreadLocal<byte[]> streamingBuffers;
+    private volatile ForkJoinPool forkJoinPool;
+
+    @Inject
+    public ParallelApplicationDigestCalculator(ApplicationConfiguration configuration) {
+        this(configuration.getApplicationDigestParallelism(), configuration.getApplicationDigestBufferSize());
+    }
+
+    ParallelApplicationDigestCalculator(int parallelism, int bufferSize) {
+        this.parallelism = parallelism;
+        this.bufferSize = bufferSize;
+        this.bufferPool = new BufferPool(parallelism * BUFFERS_PER_THREAD, bufferSize);
+        this.streamingBuffers = ThreadLocal.withInitial(() -> new byte[bufferSize]);
+    }
+
+    public boolean isEnabled() {
+        return parallelism > 1;
+    }
+
+    /**
+     * Reads the archive from its local file, if the stream is backed by one. Otherwise, the archive is copied to a temporary file first, as
+     * random access is not possible on a stream.
+     */
+    public String calculateApplicationDigest(InputStream archiveStream, String moduleFileName, long maxSizeInBytes) {
+        if (archiveStream instanceof LocalFileInputStream) {
+            return calculateApplicationDigest(((LocalFileInputStream) archiveStream).getPath(), moduleFileName, maxSizeInBytes);
+        }
+        Path archivePath = null;
+        try {
+            archivePath = Files.createTempFile("digest", ".mtar");
+            Files.copy(archiveStream, archivePath, StandardCopyOption.REPLACE_EXISTING);
+            return calculateApplicationDigest(archivePath, moduleFileName, maxSizeInBytes);
+        } catch (IOException e) {
+            throw new SLException(e, Messages.ERROR_RETRIEVING_MTA_MODULE_CONTENT, moduleFileName);
+        } finally {
+            FileUtils.cleanUp(archivePath, LOGGER);
+        }
+    }
+
+    public String calculateApplicationDigest(Path archivePath, String moduleFileName, long maxSizeInBytes) {
+        try (ZipFile zipFile = new ZipFile(archivePath.toFile())) {
+            List<ZipEntry> moduleEntries = getModuleEntries(zipFile, moduleFileName);
+            ModuleDigest moduleDigest = new ModuleDigest(maxSizeInBytes);
+            digestEntries(zipFile, moduleEntries, moduleDigest);
+            return moduleDigest.getDigest();
+        } catch (IOException e) {
+            throw new SLException(e, Messages.ERROR_RETRIEVING_MTA_MODULE_CONTENT, moduleFileName);
+        }
+    }
+
+    private List<ZipEntry> getModuleEntries(ZipFile zipFile, String moduleFileName) {
+        List<ZipEntry> moduleEntries = Collections.list(zipFile.entries())
+                                                  .stream()
+                                                  .filter(zipEntry -> zipEntry.getName()
+                                                                              .startsWith(moduleFileName))
+                                                  .collect(Collectors.toList());
+        if (moduleEntries.isEmpty()) {
+            throw new ContentException(com.sap.cloud.lm.sl.mta.Messages.CANNOT_FIND_ARCHIVE_ENTRY, moduleFileName);
+        }
+        moduleEntries.forEach(zipEntry -> FileUtils.validatePath(zipEntry.getName()));
+        return moduleEntries.stream()
+                            .filter(zipEntry -> !zipEntry.isDirectory())
+                            .collect(Collectors.toList());
+    }
+
+    private void digestEntries(ZipFile zipFile, List<ZipEntry> moduleEntries, ModuleDigest moduleDigest) throws IOException {
+        Deque<PendingEntry> pendingEntries = new ArrayDeque<>();
+        int nextEntryIndex = 0;
+        try {
+            while (nextEntryIndex < moduleEntries.size() || !pendingEntries.isEmpty()) {
+                while (nextEntryIndex < moduleEntries.size() && pendingEntries.size() < bufferPool.getCapacity()) {
+                    pendingEntries.add(inflateAhead(zipFile, moduleEntries.get(nextEntryIndex++)));
+                }
+                digestEntry(zipFile, pendingEntries.remove(), moduleDigest);
+            }
+        } finally {
+            pendingEntries.forEach(PendingEntry::release);
+        }
+    }
+
+    private PendingEntry inflateAhead(ZipFile zipFile, ZipEntry zipEntry) {
+        if (zipEntry.getSize() < 0 || zipEntry.getSize() > bufferSize) {
+            return new PendingEntry(zipEntry, null, null);
+        }
+        byte[] buffer = bufferPool.acquire();
+        if (buffer == null) {
+            return new PendingEntry(zipEntry, null, null);
+        }
+        return new PendingEntry(zipEntry, buffer, getForkJoinPool().submit(() -> inflate(zipFile, zipEntry, buffer)));
+    }
+
+    private int inflate(ZipFile zipFile, ZipEntry zipEntry, byte[] buffer) throws IOException {
+        try (InputStream entryStream = zipFile.getInputStream(zipEntry)) {
+            return IOUtils.read(entryStream, buffer, 0, (int) zipEntry.getSize());
+        }
+    }
+
+    private void digestEntry(ZipFile zipFile, PendingEntry pendingEntry, ModuleDigest moduleDigest) throws IOException {
+        if (pendingEntry.inflation == null) {
+            streamEntry(zipFile, pendingEntry.zipEntry, moduleDigest);
+            return;
+        }
+        try {
+            moduleDigest.update(pendingEntry.buffer, joinInflation(pendingEntry.inflation));
+        } finally {
+            pendingEntry.release();
+        }
+    }
+
+    private int joinInflation(ForkJoinTask<Integer> inflation) throws IOException {
+        try {
+            return inflation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new SLException(e.getCause(), e.getCause()
+                                                 .getMessage());
+        }
+    }
+
+    private void streamEntry(ZipFile zipFile, ZipEntry zipEntry, ModuleDigest moduleDigest) throws IOException {
+        byte[] buffer = streamingBuffers.get();
+        try (InputStream entryStream = zipFile.getInputStream(zipEntry)) {
+            int numberOfReadBytes;
+            while ((numberOfReadBytes = entryStream.read(buffer)) != -1) {
+                moduleDigest.update(buffer, numberOfReadBytes);
+            }
+        }
+    }
+
+    private ForkJoinPool getForkJoinPool() {
+        if (forkJoinPool == null) {
+            synchronized (this) {
+                if (forkJoinPool == null) {
+                    forkJoinPool = new ForkJoinPool(parallelism);
+                }
+            }
+        }
+        return forkJoinPool;
+    }
+
+    private class PendingEntry {
+
+        private final ZipEntry zipEntry;
+        private final byte[] buffer;
+        private final ForkJoinTask<Integer> inflation;
+        private boolean released;
+
+        PendingEntry(ZipEntry zipEntry, byte[] buffer, ForkJoinTask<Integer> inflation) {
+            this.zipEntry = zipEntry;
+            this.buffer = buffer;
+            this.inflation = inflation;
+        }
+
+        void release() {
+            if (buffer == null || released) {
+                return;
+            }
+            released = true;
+            // The buffer may still be written to by the inflating thread:
+            inflation.quietlyJoin();
+            bufferPool.release(buffer);
+        }
+
+    }
+
+    /**
+     * Keeps at most a fixed number of buffers, which are allocated on demand and shared by all digest calculations. A calculation, which
+     * finds no free buffer, streams its next entry instead of waiting, so calculations never block each other.
+     */
+    private static class BufferPool {
+
+        private final int capacity;
+        private final int bufferSize;
+        private final BlockingQueue<byte[]> freeBuffers;
+        private final AtomicInteger allocatedBuffers = new AtomicInteger();
+
+        BufferPool(int capacity, int bufferSize) {
+            this.capacity = capacity;
+            this.bufferSize = bufferSize;
+            this.freeBuffers = new ArrayBlockingQueue<>(capacity);
+        }
+
+        int getCapacity() {
+            return capacity;
+        }
+
+        byte[] acquire() {
+            byte[] buffer = freeBuffers.poll();
+            if (buffer != null) {
+                return buffer;
+            }
+            if (allocatedBuffers.incrementAndGet() > capacity) {
+                allocatedBuffers.decrementAndGet();
+                return null;
+            }
+            return new byte[bufferSize];
+        }
+
+        void release(byte[] buffer) {
+            freeBuffers.offer(buffer);
+        }
+
+    }
+
+    private static class ModuleDigest {
+
+        private final long maxSizeInBytes;
+        private final DigestCalculator digestCalculator;
+        private long currentSizeInBytes;
+
+        ModuleDigest(long maxSizeInBytes) {
+            this.maxSizeInBytes = maxSizeInBytes;
+            this.digestCalculator = DigestCalculator.create(DigestAlgorithm.MD5);
+        }
+
+        void update(byte[] buffer, int length) {
+            if (currentSizeInBytes + length > maxSizeInBytes) {
+                throw new ContentException(Messages.SIZE_OF_APP_EXCEEDS_MAX_SIZE_LIMIT, maxSizeInBytes);
+            }
+            currentSizeInBytes += length;
+            digestCalculator.updateDigest(buffer, 0, length);
+        }
+
+        String getDigest() {
+            return digestCalculator.getDigest();
+        }
+
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Calculates how long an asynchronous step should wait before polling the status of its operation again. The interval starts short, so
+ * that quick operations are not delayed, and grows exponentially with the number of polls, so that long operations do not create a timer
+ * job every few seconds. A random jitter keeps steps that started together from polling together.
+ */
+public class PollingIntervalCalculator {
+
+    static final double MULTIPLIER = 2;
+    static final double JITTER_FACTOR = 0.2;
+
+    private final int initialIntervalInSeconds;
+    private final int maxIntervalInSeconds;
+    private final DoubleSupplier randomSupplier;
+
+    public PollingIntervalCalculator(int initialIntervalInSeconds, int maxIntervalInSeconds) {
+        this(initialIntervalInSeconds, maxIntervalInSeconds, () -> ThreadLocalRandom.current()
+                                                                                    .nextDouble());
+    }
+
+    PollingIntervalCalculator(int initialIntervalInSeconds, int maxIntervalInSeconds, DoubleSupplier randomSupplier) {
+        this.initialIntervalInSeconds = initialIntervalInSeconds;
+        this.maxIntervalInSeconds = Math.max(initialIntervalInSeconds, maxIntervalInSeconds);
+        this.randomSupplier = randomSupplier;
+    }
+
+    /**
+     * @param pollsCount the number of polls of the operation done so far
+     * @return the interval before the next poll in whole seconds, since timer durations are not more precise than that
+     */
+    public int calculateIntervalInSeconds(int pollsCount) {
+        double interval = Math.min(initialIntervalInSeconds * Math.pow(MULTIPLIER, pollsCount), maxIntervalInSeconds);
+        double jitter = interval * JITTER_FACTOR * (2 * randomSupplier.getAsDouble() - 1);
+        long intervalWithJitter = Math.round(interval + jitter);
+        return (int) Math.max(initialIntervalInSeconds, Math.min(intervalWithJitter, maxIntervalInSeconds));
+    }
+
+}
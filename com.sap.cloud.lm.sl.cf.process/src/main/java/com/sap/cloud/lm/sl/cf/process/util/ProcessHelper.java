@@ -1,13 +1,20 @@
 package com.sap.cloud.lm.sl.cf.process.util;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.flowable.engine.runtime.ProcessInstance;
 
+import com.google.common.collect.Lists;
 import com.sap.cloud.lm.sl.cf.core.model.HistoricOperationEvent;
 import com.sap.cloud.lm.sl.cf.core.model.HistoricOperationEvent.EventType;
 import com.sap.cloud.lm.sl.cf.core.persistence.service.HistoricOperationEventService;
@@ -46,6 +53,58 @@ public class ProcessHelper {
         return State.FINISHED;
     }
 
+    /**
+     * Computes the states of all specified processes with a constant number of queries, instead of querying the state of each process
+     * separately.
+     *
+     * @param processIds the ids of the processes
+     * @return the state of each of the specified processes, mapped by process id
+     */
+    public Map<String, Operation.State> computeProcessStates(List<String> processIds) {
+        if (processIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Set<String> abortedProcessIds = getAbortedProcessIds(processIds);
+        Set<String> processIdsWithDeadLetterJobs = flowableFacade.findProcessInstanceIdsWithDeadLetterJobs(processIds);
+        Set<String> processIdsAtReceiveTask = flowableFacade.findProcessInstanceIdsAtReceiveTask(processIds);
+        Set<String> runningProcessIds = flowableFacade.findRunningProcessInstanceIds(processIds);
+        return processIds.stream()
+                         .distinct()
+                         .collect(Collectors.toMap(Function.identity(),
+                                                   processId -> computeProcessState(processId, abortedProcessIds,
+                                                                                    processIdsWithDeadLetterJobs, processIdsAtReceiveTask,
+                                                                                    runningProcessIds)));
+    }
+
+    private Set<String> getAbortedProcessIds(List<String> processIds) {
+        Set<String> abortedProcessIds = new HashSet<>();
+        for (List<String> batch : Lists.partition(processIds, FlowableFacade.MAX_PROCESS_INSTANCE_IDS_PER_QUERY)) {
+            historicOperationEventService.createQuery()
+                                         .processIdAnyOf(batch)
+                                         .type(EventType.ABORTED)
+                                         .list()
+                                         .forEach(event -> abortedProcessIds.add(event.getProcessId()));
+        }
+        return abortedProcessIds;
+    }
+
+    private Operation.State computeProcessState(String processId, Set<String> abortedProcessIds, Set<String> processIdsWithDeadLetterJobs,
+                                                Set<String> processIdsAtReceiveTask, Set<String> runningProcessIds) {
+        if (abortedProcessIds.contains(processId)) {
+            return State.ABORTED;
+        }
+        if (processIdsWithDeadLetterJobs.contains(processId)) {
+            return State.ERROR;
+        }
+        if (processIdsAtReceiveTask.contains(processId)) {
+            return State.ACTION_REQUIRED;
+        }
+        if (runningProcessIds.contains(processId)) {
+            return State.RUNNING;
+        }
+        return State.FINISHED;
+    }
+
     private boolean isInReceiveTask(String processId) {
         return flowableFacade.isProcessInstanceAtReceiveTask(processId);
     }
@@ -0,0 +1,162 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sap.cloud.lm.sl.cf.core.persistence.service.ProgressMessageService;
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
+import com.sap.cloud.lm.sl.cf.core.util.SafeExecutor;
+import com.sap.cloud.lm.sl.cf.persistence.model.ProgressMessage;
+import com.sap.cloud.lm.sl.cf.process.Messages;
+import com.sap.cloud.lm.sl.common.SLException;
+
+/**
+ * Buffers progress messages and persists them in batches, so that chatty steps do not open a separate transaction for each message. Each
+ * process has its own buffer, which is flushed when it reaches the configured batch size, periodically in the background, and
+ * synchronously whenever {@link #flush(String)} is called for the process. Since the messages of a process are persisted in the order in
+ * which they were added, flushing at the end of each step guarantees that all of its messages are visible before the step completes or
+ * fails, without waiting for the messages of other processes.
+ */
+@Named
+public class ProgressMessageBatchWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProgressMessageBatchWriter.class);
+
+    static final int QUEUE_CAPACITY = 1000;
+
+    private final ProgressMessageService progressMessageService;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final ConcurrentMap<String, BlockingQueue<ProgressMessage>> queues = new ConcurrentHashMap<>();
+    private final Set<String> processesWithScheduledFlush = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flushExecutor;
+    private final SafeExecutor safeExecutor = new SafeExecutor(e -> LOGGER.error(Messages.FLUSHING_PROGRESS_MESSAGES_FAILED, e));
+
+    @Inject
+    public ProgressMessageBatchWriter(ProgressMessageService progressMessageService, ApplicationConfiguration configuration) {
+        this(progressMessageService, configuration.getProgressMessagesBatchSize(), configuration.getProgressMessagesFlushIntervalInMillis(),
+             QUEUE_CAPACITY);
+    }
+
+    ProgressMessageBatchWriter(ProgressMessageService progressMessageService, int batchSize, long flushIntervalInMillis,
+                               int queueCapacity) {
+        this.progressMessageService = progressMessageService;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.flushExecutor = createFlushExecutor();
+        this.flushExecutor.scheduleWithFixedDelay(this::flushAllSafely, flushIntervalInMillis, flushIntervalInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static ScheduledExecutorService createFlushExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, ProgressMessageBatchWriter.class.getSimpleName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
+    }
+
+    public void add(ProgressMessage progressMessage) {
+        String processId = progressMessage.getProcessId();
+        while (!offer(progressMessage)) {
+            // The queue of the process is full, so the producer has to wait for its contents to be persisted:
+            flush(processId);
+        }
+        BlockingQueue<ProgressMessage> queue = queues.get(processId);
+        if (queue != null && queue.size() >= batchSize && processesWithScheduledFlush.add(processId)) {
+            flushExecutor.execute(() -> {
+                processesWithScheduledFlush.remove(processId);
+                flushSafely(processId);
+            });
+        }
+    }
+
+    private boolean offer(ProgressMessage progressMessage) {
+        AtomicBoolean isOffered = new AtomicBoolean();
+        queues.compute(progressMessage.getProcessId(), (processId, queue) -> {
+            BlockingQueue<ProgressMessage> processQueue = queue != null ? queue : new LinkedBlockingQueue<>(queueCapacity);
+            isOffered.set(processQueue.offer(progressMessage));
+            return processQueue;
+        });
+        return isOffered.get();
+    }
+
+    /**
+     * Persists all buffered messages of the specified process before returning.
+     */
+    public void flush(String processId) {
+        BlockingQueue<ProgressMessage> queue = queues.get(processId);
+        if (queue == null) {
+            return;
+        }
+        synchronized (queue) {
+            List<ProgressMessage> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                persist(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+            // The queue is removed while its last batch is still guarded, so that a new queue for the same process cannot be flushed
+            // before it:
+            queues.computeIfPresent(processId, (id, processQueue) -> processQueue == queue && queue.isEmpty() ? null : processQueue);
+        }
+    }
+
+    /**
+     * Persists all buffered messages of all processes before returning.
+     */
+    public void flushAll() {
+        for (String processId : queues.keySet()) {
+            flush(processId);
+        }
+    }
+
+    private void flushSafely(String processId) {
+        safeExecutor.execute(() -> flush(processId));
+    }
+
+    private void flushAllSafely() {
+        safeExecutor.execute(this::flushAll);
+    }
+
+    private void persist(List<ProgressMessage> batch) {
+        try {
+            progressMessageService.addAll(batch);
+        } catch (SLException e) {
+            LOGGER.warn(MessageFormat.format(Messages.PERSISTING_PROGRESS_MESSAGES_IN_BATCH_FAILED, batch.size()), e);
+            batch.forEach(this::persist);
+        }
+    }
+
+    private void persist(ProgressMessage progressMessage) {
+        try {
+            progressMessageService.add(progressMessage);
+        } catch (SLException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        flushAll();
+    }
+
+}
@@ -2,6 +2,7 @@ package com.sap.cloud.lm.sl.cf.process.util;
 
 import java.text.MessageFormat;
 
+import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.flowable.engine.delegate.DelegateExecution;
@@ -10,6 +11,7 @@ import org.slf4j.Logger;
 import com.sap.cloud.lm.sl.cf.core.persistence.service.ProgressMessageService;
 import com.sap.cloud.lm.sl.cf.core.util.UserMessageLogger;
 import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableProgressMessage;
+import com.sap.cloud.lm.sl.cf.persistence.model.ProgressMessage;
 import com.sap.cloud.lm.sl.cf.persistence.model.ProgressMessage.ProgressMessageType;
 import com.sap.cloud.lm.sl.cf.persistence.services.ProcessLogger;
 import com.sap.cloud.lm.sl.cf.persistence.services.ProcessLoggerProvider;
@@ -28,13 +30,24 @@ public class StepLogger implements UserMessageLogger {
     protected final ProgressMessageService progressMessageService;
     protected final ProcessLoggerProvider processLoggerProvider;
     protected final Logger simpleStepLogger;
+    protected final ProgressMessageBatchWriter progressMessageBatchWriter;
 
     public StepLogger(DelegateExecution execution, ProgressMessageService progressMessageService,
                       ProcessLoggerProvider processLoggerProvider, Logger simpleStepLogger) {
+        this(execution, progressMessageService, processLoggerProvider, simpleStepLogger, null);
+    }
+
+    /**
+     * @param progressMessageBatchWriter if not null, progress messages are buffered by it instead of being persisted one by one
+     */
+    public StepLogger(DelegateExecution execution, ProgressMessageService progressMessageService,
+                      ProcessLoggerProvider processLoggerProvider, Logger simpleStepLogger,
+                      ProgressMessageBatchWriter progressMessageBatchWriter) {
         this.execution = execution;
         this.progressMessageService = progressMessageService;
         this.processLoggerProvider = processLoggerProvider;
         this.simpleStepLogger = simpleStepLogger;
+        this.progressMessageBatchWriter = progressMessageBatchWriter;
     }
 
     public void logFlowableTask() {
@@ -163,18 +176,32 @@ public class StepLogger implements UserMessageLogger {
     private void sendProgressMessage(String message, ProgressMessageType type) {
         try {
             String taskId = VariableHandling.get(execution, Variables.TASK_ID);
-            progressMessageService.add(ImmutableProgressMessage.builder()
-                                                               .processId(VariableHandling.get(execution, Variables.CORRELATION_ID))
-                                                               .taskId(taskId)
-                                                               .type(type)
-                                                               .text(message)
-                                                               .build());
-
+            ProgressMessage progressMessage = ImmutableProgressMessage.builder()
+                                                                      .processId(VariableHandling.get(execution, Variables.CORRELATION_ID))
+                                                                      .taskId(taskId)
+                                                                      .type(type)
+                                                                      .text(message)
+                                                                      .build();
+            if (progressMessageBatchWriter != null) {
+                progressMessageBatchWriter.add(progressMessage);
+                return;
+            }
+            progressMessageService.add(progressMessage);
         } catch (SLException e) {
             getProcessLogger().error(e);
         }
     }
 
+    /**
+     * Persists all progress messages of the process that are still buffered. Should be called before the step completes or fails, so that
+     * its messages are visible to the clients of the process.
+     */
+    public void flushProgressMessages() {
+        if (progressMessageBatchWriter != null) {
+            progressMessageBatchWriter.flush(VariableHandling.get(execution, Variables.CORRELATION_ID));
+        }
+    }
+
     public ProcessLogger getProcessLogger() {
         return processLoggerProvider.getLogger(execution);
     }
@@ -191,9 +218,12 @@ public class StepLogger implements UserMessageLogger {
     @Named
     public static class Factory {
 
+        @Inject
+        private ProgressMessageBatchWriter progressMessageBatchWriter;
+
         public StepLogger create(DelegateExecution execution, ProgressMessageService progressMessageService,
                                  ProcessLoggerProvider processLoggerProvider, Logger logger) {
-            return new StepLogger(execution, progressMessageService, processLoggerProvider, logger);
+            return new StepLogger(execution, progressMessageService, processLoggerProvider, logger, progressMessageBatchWriter);
         }
 
     }
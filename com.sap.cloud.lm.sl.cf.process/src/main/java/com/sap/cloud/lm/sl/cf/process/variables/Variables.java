@@ -156,6 +156,13 @@ public interface Variables {
     Variable<Integer> ASYNC_STEP_EXECUTION_INDEX = ImmutableSimpleVariable.<Integer> builder()
                                                                           .name("asyncStepExecutionIndex")
                                                                           .build();
+    Variable<Integer> ASYNC_STEP_POLLS_COUNT = ImmutableSimpleVariable.<Integer> builder()
+                                                                      .name("asyncStepPollsCount")
+                                                                      .defaultValue(0)
+                                                                      .build();
+    Variable<Integer> STEP_POLLING_INTERVAL_IN_SECONDS = ImmutableSimpleVariable.<Integer> builder()
+                                                                                .name("stepPollingIntervalInSeconds")
+                                                                                .build();
     Variable<Long> START_TIME = ImmutableSimpleVariable.<Long> builder()
                                                        .name("startTime")
                                                        .build();
@@ -0,0 +1,78 @@
+package com.sap.cloud.lm.sl.cf.process.jobs;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileSweepCursor;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileSweepCursor;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileSweepResult;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileService;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
+
+public class FilesWithoutContentCleanerTest {
+
+    private static final Date EXPIRATION_TIME = new Date(5000);
+    private static final Duration TIME_BUDGET = Duration.ofSeconds(10);
+    private static final FileSweepCursor CURSOR = ImmutableFileSweepCursor.builder()
+                                                                          .modified(new Date(1000))
+                                                                          .id("1111-2222-3333-4444")
+                                                                          .build();
+
+    @Mock
+    private ApplicationConfiguration configuration;
+    @Mock
+    private FileService fileService;
+    @InjectMocks
+    private FilesWithoutContentCleaner cleaner;
+
+    @BeforeEach
+    public void initMocks() {
+        MockitoAnnotations.initMocks(this);
+        when(fileService.isFileStorageReconciled()).thenReturn(true);
+        when(configuration.getFilesSweepTimeBudgetInSeconds()).thenReturn((int) TIME_BUDGET.getSeconds());
+    }
+
+    @Test
+    public void testExecuteResumesFromCursor() throws FileStorageException {
+        when(fileService.sweepFilesWithoutContent(isNull(), any())).thenReturn(ImmutableFileSweepResult.builder()
+                                                                                                        .checkedFiles(1000)
+                                                                                                        .deletedFiles(1)
+                                                                                                        .cursor(CURSOR)
+                                                                                                        .build());
+        when(fileService.sweepFilesWithoutContent(CURSOR, TIME_BUDGET)).thenReturn(ImmutableFileSweepResult.builder()
+                                                                                                            .checkedFiles(10)
+                                                                                                            .deletedFiles(0)
+                                                                                                            .build());
+
+        cleaner.execute(EXPIRATION_TIME);
+        cleaner.execute(EXPIRATION_TIME);
+        cleaner.execute(EXPIRATION_TIME);
+
+        verify(fileService).sweepFilesWithoutContent(CURSOR, TIME_BUDGET);
+        verify(fileService, times(2)).sweepFilesWithoutContent(null, TIME_BUDGET);
+    }
+
+    @Test
+    public void testExecuteWithoutReconciliation() throws FileStorageException {
+        when(fileService.isFileStorageReconciled()).thenReturn(false);
+
+        cleaner.execute(EXPIRATION_TIME);
+
+        verify(fileService, never()).sweepFilesWithoutContent(any(), any());
+    }
+
+}
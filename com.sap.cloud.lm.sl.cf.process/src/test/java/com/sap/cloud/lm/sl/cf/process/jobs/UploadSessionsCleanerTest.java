@@ -0,0 +1,36 @@
+package com.sap.cloud.lm.sl.cf.process.jobs;
+
+import static org.mockito.Mockito.verify;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sap.cloud.lm.sl.cf.persistence.services.ChunkedUploadService;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
+
+public class UploadSessionsCleanerTest {
+
+    private static final Date EXPIRATION_TIME = new Date(5000);
+
+    @Mock
+    private ChunkedUploadService chunkedUploadService;
+    @InjectMocks
+    private UploadSessionsCleaner cleaner;
+
+    @BeforeEach
+    public void initMocks() {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void testExecute() throws FileStorageException {
+        cleaner.execute(EXPIRATION_TIME);
+        verify(chunkedUploadService).deleteSessionsModifiedBefore(EXPIRATION_TIME);
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.sap.cloud.lm.sl.cf.process.steps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.sap.cloud.lm.sl.cf.process.variables.Variables;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class AsyncFlowableStepTest extends SyncFlowableStepTest<AsyncFlowableStep> {
+
+    private static final int INITIAL_INTERVAL_IN_SECONDS = 1;
+    private static final int MAX_INTERVAL_IN_SECONDS = 30;
+
+    private final Deque<AsyncExecutionState> executionStates = new ArrayDeque<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(configuration.getStepPollingInitialIntervalInSeconds())
+               .thenReturn(INITIAL_INTERVAL_IN_SECONDS);
+        Mockito.when(configuration.getStepPollingIntervalInSeconds())
+               .thenReturn(MAX_INTERVAL_IN_SECONDS);
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    public void testFirstPollIsScheduledAfterInitialInterval() {
+        step.execute(execution);
+
+        assertEquals(StepPhase.POLL.toString(), getExecutionStatus());
+        assertEquals(INITIAL_INTERVAL_IN_SECONDS, (int) context.getVariable(Variables.STEP_POLLING_INTERVAL_IN_SECONDS));
+        assertEquals(0, (int) context.getVariable(Variables.ASYNC_STEP_POLLS_COUNT));
+    }
+
+    @Test
+    public void testPollingIntervalGrowsUntilItReachesTheMaximum() {
+        int pollsCount = 10;
+        executionStates.addAll(Collections.nCopies(pollsCount, AsyncExecutionState.RUNNING));
+        step.execute(execution);
+
+        for (int i = 1; i <= pollsCount; i++) {
+            step.execute(execution);
+
+            int interval = context.getVariable(Variables.STEP_POLLING_INTERVAL_IN_SECONDS);
+            double expectedInterval = Math.min(INITIAL_INTERVAL_IN_SECONDS * Math.pow(2, i), MAX_INTERVAL_IN_SECONDS);
+            assertTrue(interval >= Math.round(expectedInterval * 0.8), "Interval " + interval + " is too short");
+            assertTrue(interval <= Math.min(Math.round(expectedInterval * 1.2), MAX_INTERVAL_IN_SECONDS), "Interval " + interval
+                + " is too long");
+        }
+        assertEquals(pollsCount, (int) context.getVariable(Variables.ASYNC_STEP_POLLS_COUNT));
+    }
+
+    @Test
+    public void testPollsCountIsResetWhenAnExecutionFinishes() {
+        executionStates.addAll(Arrays.asList(AsyncExecutionState.RUNNING, AsyncExecutionState.RUNNING, AsyncExecutionState.FINISHED));
+        step.execute(execution);
+        step.execute(execution);
+        step.execute(execution);
+
+        step.execute(execution);
+
+        assertEquals(StepPhase.POLL.toString(), getExecutionStatus());
+        assertEquals(0, (int) context.getVariable(Variables.ASYNC_STEP_POLLS_COUNT));
+        assertEquals(INITIAL_INTERVAL_IN_SECONDS, (int) context.getVariable(Variables.STEP_POLLING_INTERVAL_IN_SECONDS));
+    }
+
+    @Test
+    public void testPollsAreCounted() {
+        executionStates.addAll(Arrays.asList(AsyncExecutionState.RUNNING, AsyncExecutionState.FINISHED, AsyncExecutionState.FINISHED));
+        for (int i = 0; i < 4; i++) {
+            step.execute(execution);
+        }
+
+        assertStepFinishedSuccessfully();
+        String stepName = MockAsyncFlowableStep.class.getSimpleName();
+        assertEquals(3, meterRegistry.get(AsyncFlowableStep.POLLS_METRIC)
+                                     .tag(AsyncFlowableStep.STEP_TAG, stepName)
+                                     .counter()
+                                     .count());
+        assertEquals(2, meterRegistry.get(AsyncFlowableStep.POLLS_PER_EXECUTION_METRIC)
+                                     .tag(AsyncFlowableStep.STEP_TAG, stepName)
+                                     .summary()
+                                     .count());
+        assertEquals(1, meterRegistry.get(AsyncFlowableStep.POLLS_PER_EXECUTION_METRIC)
+                                     .tag(AsyncFlowableStep.STEP_TAG, stepName)
+                                     .summary()
+                                     .totalAmount());
+    }
+
+    @Override
+    protected AsyncFlowableStep createStep() {
+        return new MockAsyncFlowableStep();
+    }
+
+    private class MockAsyncFlowableStep extends AsyncFlowableStep {
+
+        @Override
+        protected StepPhase executeAsyncStep(ProcessContext context) {
+            return StepPhase.POLL;
+        }
+
+        @Override
+        protected List<AsyncExecution> getAsyncStepExecutions(ProcessContext context) {
+            return Arrays.asList(new MockAsyncExecution(), new MockAsyncExecution());
+        }
+
+        @Override
+        protected String getStepErrorMessage(ProcessContext context) {
+            return "error";
+        }
+
+    }
+
+    private class MockAsyncExecution implements AsyncExecution {
+
+        @Override
+        public AsyncExecutionState execute(ProcessContext context) {
+            return executionStates.poll();
+        }
+
+        @Override
+        public String getPollingErrorMessage(ProcessContext context) {
+            return "error";
+        }
+
+    }
+
+}
@@ -20,7 +20,8 @@ import org.mockito.stubbing.Answer;
 
 import com.sap.cloud.lm.sl.cf.core.helpers.MtaArchiveHelper;
 import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
-import com.sap.cloud.lm.sl.cf.persistence.services.FileContentConsumer;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileContentProcessor;
+import com.sap.cloud.lm.sl.cf.process.util.MtaArchiveIndex;
 import com.sap.cloud.lm.sl.cf.process.util.ProcessConflictPreventer;
 import com.sap.cloud.lm.sl.cf.process.variables.Variables;
 import com.sap.cloud.lm.sl.common.ParsingException;
@@ -52,22 +53,22 @@ public class ProcessMtaArchiveStepTest extends SyncFlowableStepTest<ProcessMtaAr
         context.setVariable(Variables.APP_ARCHIVE_ID, FILE_ID);
         context.setVariable(Variables.SPACE_GUID, SPACE_ID);
         step.conflictPreventerSupplier = service -> mock(ProcessConflictPreventer.class);
+        step.mtaArchiveIndex = new MtaArchiveIndex();
     }
 
     private void prepareFileService() throws Exception {
-        doAnswer(new Answer<Void>() {
+        doAnswer(new Answer<Object>() {
 
             @Override
-            public Void answer(InvocationOnMock invocation) throws Exception {
+            public Object answer(InvocationOnMock invocation) throws Exception {
                 String fileId = (String) invocation.getArguments()[1];
-                FileContentConsumer fileContentConsumer = invocation.getArgument(2);
+                FileContentProcessor<?> fileContentProcessor = invocation.getArgument(2);
 
-                fileContentConsumer.consume(getClass().getResourceAsStream(input.archiveFileLocations.get(Integer.parseInt(fileId))));
-                return null;
+                return fileContentProcessor.process(getClass().getResourceAsStream(input.archiveFileLocations.get(Integer.parseInt(fileId))));
             }
 
         }).when(fileService)
-          .consumeFileContent(any(), any(), any());
+          .processFileContent(any(), any(), any());
     }
 
     @Test
@@ -42,6 +42,7 @@ import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
+import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
 import org.springframework.http.HttpStatus;
@@ -55,6 +56,8 @@ import com.sap.cloud.lm.sl.cf.process.Messages;
 import com.sap.cloud.lm.sl.cf.process.util.ApplicationArchiveContext;
 import com.sap.cloud.lm.sl.cf.process.util.ApplicationArchiveReader;
 import com.sap.cloud.lm.sl.cf.process.util.ApplicationZipBuilder;
+import com.sap.cloud.lm.sl.cf.process.util.MtaArchiveIndex;
+import com.sap.cloud.lm.sl.cf.process.util.ParallelApplicationDigestCalculator;
 import com.sap.cloud.lm.sl.cf.process.variables.Variables;
 import com.sap.cloud.lm.sl.common.SLException;
 import com.sap.cloud.lm.sl.common.util.JsonUtil;
@@ -80,6 +83,8 @@ public class UploadAppStepTest {
         private static final String DATE_PATTERN = "dd-MM-yyyy";
 
         public final TemporaryFolder tempDir = new TemporaryFolder();
+        @Mock
+        private MtaArchiveIndex mtaArchiveIndex;
         @Rule
         public final ExpectedException expectedException = ExpectedException.none();
 
@@ -254,6 +259,7 @@ public class UploadAppStepTest {
             public UploadAppStepMock() {
                 applicationArchiveReader = getApplicationArchiveReader();
                 applicationZipBuilder = getApplicationZipBuilder(applicationArchiveReader);
+                parallelApplicationDigestCalculator = Mockito.mock(ParallelApplicationDigestCalculator.class);
             }
 
             @Override
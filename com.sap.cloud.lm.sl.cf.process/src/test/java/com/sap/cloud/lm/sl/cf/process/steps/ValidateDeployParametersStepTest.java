@@ -155,6 +155,8 @@ public class ValidateDeployParametersStepTest extends SyncFlowableStepTest<Valid
                .thenReturn(ApplicationConfiguration.DEFAULT_MAX_MTA_DESCRIPTOR_SIZE);
         Mockito.when(configuration.getFileConfiguration())
                .thenReturn(new Configuration(ApplicationConfiguration.DEFAULT_MAX_UPLOAD_SIZE));
+        Mockito.when(configuration.getArchiveMergeParallelParts())
+               .thenReturn(ApplicationConfiguration.DEFAULT_ARCHIVE_MERGE_PARALLEL_PARTS);
     }
 
     private void validate() {
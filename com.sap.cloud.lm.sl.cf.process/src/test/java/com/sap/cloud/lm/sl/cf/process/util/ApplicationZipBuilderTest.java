@@ -1,6 +1,8 @@
 package com.sap.cloud.lm.sl.cf.process.util;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
@@ -8,6 +10,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.MessageFormat;
 import java.util.Collections;
 import java.util.HashSet;
@@ -120,6 +123,29 @@ public class ApplicationZipBuilderTest {
         return zipEntriesName;
     }
 
+    @Test
+    public void testExtractApplicationFromLocalArchive() throws Exception {
+        String fileName = "web/web-server.zip";
+        ApplicationZipBuilder zipBuilder = new ApplicationZipBuilder(new ApplicationArchiveReader());
+        Path mtarPath = Paths.get(getClass().getResource(SAMPLE_MTAR)
+                                            .toURI());
+        appPath = zipBuilder.extractApplicationFromLocalArchive(mtarPath, fileName, MAX_UPLOAD_FILE_SIZE);
+        Path streamedAppPath = zipBuilder.extractApplicationInNewArchive(getApplicationArchiveContext(SAMPLE_MTAR, fileName));
+        try {
+            assertArrayEquals(Files.readAllBytes(streamedAppPath), Files.readAllBytes(appPath));
+        } finally {
+            Files.delete(streamedAppPath);
+        }
+    }
+
+    @Test
+    public void testExtractDirectoryFromLocalArchive() throws Exception {
+        ApplicationZipBuilder zipBuilder = new ApplicationZipBuilder(new ApplicationArchiveReader());
+        Path mtarPath = Paths.get(getClass().getResource(SAMPLE_MTAR)
+                                            .toURI());
+        assertNull(zipBuilder.extractApplicationFromLocalArchive(mtarPath, "db/", MAX_UPLOAD_FILE_SIZE));
+    }
+
     @Test
     public void testFailToCreateZip() {
         String fileName = "db/";
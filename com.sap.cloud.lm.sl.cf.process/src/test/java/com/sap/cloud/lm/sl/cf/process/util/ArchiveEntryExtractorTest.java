@@ -0,0 +1,192 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.sap.cloud.lm.sl.common.ContentException;
+
+public class ArchiveEntryExtractorTest {
+
+    private static final String STORED_ENTRY = "stored/app.jar";
+    private static final String DEFLATED_ENTRY = "deflated/app.jar";
+    private static final String DIRECTORY_ENTRY = "directory/";
+    private static final int CONTENT_SIZE = 100 * 1024;
+    private static final long MAX_SIZE = 1024 * 1024L;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+
+    private final byte[] content = createContent();
+
+    private Path directory;
+    private Path archive;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory(getClass().getSimpleName());
+        archive = createArchive(directory.resolve("archive.mtar"));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { STORED_ENTRY, DEFLATED_ENTRY })
+    public void testOpenEntry(String entryName) throws IOException {
+        try (ArchiveEntryExtractor archiveEntryExtractor = new ArchiveEntryExtractor(archive);
+            InputStream entryStream = archiveEntryExtractor.openEntry(entryName, MAX_SIZE)) {
+            assertArrayEquals(content, IOUtils.toByteArray(entryStream));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { STORED_ENTRY, DEFLATED_ENTRY })
+    public void testExtractEntry(String entryName) throws IOException {
+        Path target = directory.resolve("app.jar");
+        try (ArchiveEntryExtractor archiveEntryExtractor = new ArchiveEntryExtractor(archive)) {
+            archiveEntryExtractor.extractEntry(entryName, target, MAX_SIZE);
+        }
+        assertArrayEquals(content, Files.readAllBytes(target));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { STORED_ENTRY, DEFLATED_ENTRY })
+    public void testExtractEntryExceedingMaxSize(String entryName) throws IOException {
+        Path target = directory.resolve("app.jar");
+        try (ArchiveEntryExtractor archiveEntryExtractor = new ArchiveEntryExtractor(archive)) {
+            ContentException exception = Assertions.assertThrows(ContentException.class,
+                                                                 () -> archiveEntryExtractor.extractEntry(entryName, target,
+                                                                                                          CONTENT_SIZE - 1));
+            assertEquals(MessageFormat.format(com.sap.cloud.lm.sl.cf.process.Messages.SIZE_OF_APP_EXCEEDS_MAX_SIZE_LIMIT, CONTENT_SIZE - 1),
+                         exception.getMessage());
+        }
+    }
+
+    @Test
+    public void testContainsFileEntry() throws IOException {
+        try (ArchiveEntryExtractor archiveEntryExtractor = new ArchiveEntryExtractor(archive)) {
+            assertTrue(archiveEntryExtractor.containsFileEntry(STORED_ENTRY));
+            assertFalse(archiveEntryExtractor.containsFileEntry(DIRECTORY_ENTRY));
+            assertFalse(archiveEntryExtractor.containsFileEntry("missing/app.jar"));
+        }
+    }
+
+    @Test
+    public void testOpenMissingEntry() throws IOException {
+        try (ArchiveEntryExtractor archiveEntryExtractor = new ArchiveEntryExtractor(archive)) {
+            Assertions.assertThrows(ContentException.class, () -> archiveEntryExtractor.openEntry(DIRECTORY_ENTRY, MAX_SIZE));
+        }
+    }
+
+    @Test
+    public void testExtractStoredEntryOfTruncatedArchive() throws IOException {
+        Path truncatedArchive = createArchiveWithPatchedStoredEntrySize(directory.resolve("truncated.mtar"), 100, 1_000_000);
+        Path target = directory.resolve("app.jar");
+        try (ArchiveEntryExtractor archiveEntryExtractor = new ArchiveEntryExtractor(truncatedArchive)) {
+            Executable extraction = () -> archiveEntryExtractor.extractEntry(STORED_ENTRY, target, MAX_SIZE);
+            EOFException exception = Assertions.assertThrows(EOFException.class,
+                                                             () -> Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10), extraction));
+            assertTrue(exception.getMessage()
+                                .startsWith(MessageFormat.format("Archive entry \"{0}\" ended after", STORED_ENTRY)));
+        }
+    }
+
+    /**
+     * Creates an archive with a single STORED entry, whose size in the central directory is bigger than its content.
+     */
+    private Path createArchiveWithPatchedStoredEntrySize(Path path, int contentSize, int patchedSize) throws IOException {
+        byte[] entryContent = new byte[contentSize];
+        CRC32 crc = new CRC32();
+        crc.update(entryContent);
+        ZipEntry entry = new ZipEntry(STORED_ENTRY);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(contentSize);
+        entry.setCompressedSize(contentSize);
+        entry.setCrc(crc.getValue());
+        ByteArrayOutputStream archiveBytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(archiveBytes)) {
+            zipOutputStream.putNextEntry(entry);
+            zipOutputStream.write(entryContent);
+            zipOutputStream.closeEntry();
+        }
+        ByteBuffer archive = ByteBuffer.wrap(archiveBytes.toByteArray())
+                                       .order(ByteOrder.LITTLE_ENDIAN);
+        int centralDirectoryHeader = findCentralDirectoryHeader(archive);
+        archive.putInt(centralDirectoryHeader + 20, patchedSize);
+        archive.putInt(centralDirectoryHeader + 24, patchedSize);
+        return Files.write(path, archive.array());
+    }
+
+    private int findCentralDirectoryHeader(ByteBuffer archive) {
+        for (int i = 0; i <= archive.limit() - 4; i++) {
+            if (archive.getInt(i) == CENTRAL_DIRECTORY_HEADER_SIGNATURE) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No central directory header");
+    }
+
+    private Path createArchive(Path path) throws IOException {
+        try (OutputStream fileOutputStream = Files.newOutputStream(path);
+            ZipOutputStream zipOutputStream = new ZipOutputStream(fileOutputStream)) {
+            zipOutputStream.putNextEntry(new ZipEntry(DIRECTORY_ENTRY));
+            zipOutputStream.closeEntry();
+            zipOutputStream.putNextEntry(new ZipEntry(DEFLATED_ENTRY));
+            zipOutputStream.write(content);
+            zipOutputStream.closeEntry();
+            zipOutputStream.putNextEntry(createStoredEntry(STORED_ENTRY));
+            zipOutputStream.write(content);
+            zipOutputStream.closeEntry();
+        }
+        return path;
+    }
+
+    private ZipEntry createStoredEntry(String name) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCompressedSize(content.length);
+        entry.setCrc(crc.getValue());
+        return entry;
+    }
+
+    private static byte[] createContent() {
+        byte[] content = new byte[CONTENT_SIZE];
+        Random random = new Random(42);
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + random.nextInt(26));
+        }
+        return content;
+    }
+
+}
@@ -2,11 +2,22 @@ package com.sap.cloud.lm.sl.cf.process.util;
 
 import static org.mockito.ArgumentMatchers.any;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.stream.Collectors;
 
+import javax.xml.bind.DatatypeConverter;
+
 import org.flowable.engine.delegate.DelegateExecution;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +27,8 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
 import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileContentConsumer;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileService;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
 import com.sap.cloud.lm.sl.common.SLException;
@@ -30,6 +43,7 @@ public class ArchiveMergerTest {
     private static final String FILE_ENTRIES_WITH_INVALID_NAMES = "file-entries-with-invalid-names.json";
     private static final String FILE_ENTRIES_WITHOUT_INDEXES = "file-entries-with-invalid-names-no-indexes.json";
     private static final String FILE_ENTRY_WITHOUT_PARTS = "file-entry-without-parts.json";
+    private static final int PARALLEL_PARTS = 4;
 
     private ArchiveMerger archiveMerger;
 
@@ -93,6 +107,73 @@ public class ArchiveMergerTest {
                .consumeFileContent(any(), any(), any());
     }
 
+    @Test
+    public void testCreateArchiveFromPartsConcurrently() throws Exception {
+        Map<String, byte[]> partContents = new HashMap<>();
+        List<FileEntry> archiveParts = createArchiveParts(partContents, 10);
+        mockPartContents(partContents);
+
+        Path archive = new ArchiveMerger(fileService, stepLogger, execution, PARALLEL_PARTS).createArchiveFromParts(archiveParts);
+
+        try {
+            Assertions.assertArrayEquals(getArchiveContent(archiveParts, partContents), Files.readAllBytes(archive));
+        } finally {
+            Files.deleteIfExists(archive);
+        }
+    }
+
+    @Test
+    public void testCreateArchiveFromPartsWithWrongDigest() throws Exception {
+        Map<String, byte[]> partContents = new HashMap<>();
+        List<FileEntry> archiveParts = createArchiveParts(partContents, 3);
+        partContents.put(archiveParts.get(1)
+                                     .getId(),
+                         new byte[partContents.get(archiveParts.get(1)
+                                                           .getId()).length]);
+        mockPartContents(partContents);
+
+        ArchiveMerger concurrentArchiveMerger = new ArchiveMerger(fileService, stepLogger, execution, PARALLEL_PARTS);
+        Assertions.assertThrows(SLException.class, () -> concurrentArchiveMerger.createArchiveFromParts(archiveParts));
+    }
+
+    private List<FileEntry> createArchiveParts(Map<String, byte[]> partContents, int count) throws Exception {
+        Random random = new Random(count);
+        List<FileEntry> archiveParts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            byte[] content = new byte[1024 + random.nextInt(1024)];
+            random.nextBytes(content);
+            String id = "part-" + i;
+            partContents.put(id, content);
+            archiveParts.add(ImmutableFileEntry.builder()
+                                               .id(id)
+                                               .name("archive.mtar.part." + i)
+                                               .size(BigInteger.valueOf(content.length))
+                                               .digest(DatatypeConverter.printHexBinary(MessageDigest.getInstance("MD5")
+                                                                                                     .digest(content)))
+                                               .digestAlgorithm("MD5")
+                                               .build());
+        }
+        return archiveParts;
+    }
+
+    private void mockPartContents(Map<String, byte[]> partContents) throws FileStorageException {
+        Mockito.doAnswer(invocation -> {
+            byte[] content = partContents.get((String) invocation.getArgument(1));
+            ((FileContentConsumer) invocation.getArgument(2)).consume(new ByteArrayInputStream(content));
+            return null;
+        })
+               .when(fileService)
+               .consumeFileContent(any(), any(), any());
+    }
+
+    private byte[] getArchiveContent(List<FileEntry> archiveParts, Map<String, byte[]> partContents) throws Exception {
+        ByteArrayOutputStream archiveContent = new ByteArrayOutputStream();
+        for (FileEntry archivePart : archiveParts) {
+            archiveContent.write(partContents.get(archivePart.getId()));
+        }
+        return archiveContent.toByteArray();
+    }
+
     private List<String> getFileEntriesNames(List<FileEntry> fileEntries) {
         return fileEntries.stream()
                           .map(FileEntry::getName)
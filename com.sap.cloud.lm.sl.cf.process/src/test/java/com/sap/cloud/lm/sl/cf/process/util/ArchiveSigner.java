@@ -0,0 +1,77 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Signs archives with a self-signed certificate, which is generated by the keytool of the running JDK. Used by the tests and the benchmarks
+ * of {@link JarSignatureVerifier}.
+ */
+public final class ArchiveSigner {
+
+    private static final String KEYTOOL = "keytool";
+    private static final String JARSIGNER = "jarsigner";
+    private static final String SIGNER_ALIAS = "signer";
+    private static final String SIGNER_PASSWORD = "password";
+
+    private ArchiveSigner() {
+    }
+
+    public static boolean isAvailable() {
+        return findTool(KEYTOOL).isPresent() && findTool(JARSIGNER).isPresent();
+    }
+
+    /**
+     * Signs the archive in place and returns the file with the certificate of the signer in PEM format. The key store and the certificate
+     * are created in the given directory.
+     */
+    public static Path sign(Path archive, Path directory, String signerDname) throws IOException, InterruptedException {
+        Path keystore = directory.resolve("signer.jks");
+        Path certificate = directory.resolve("signer.crt");
+        Files.deleteIfExists(keystore);
+        Files.deleteIfExists(certificate);
+        run(getTool(KEYTOOL), "-genkeypair", "-keyalg", "RSA", "-keysize", "2048", "-validity", "365", "-alias", SIGNER_ALIAS, "-dname",
+            signerDname, "-keystore", keystore.toString(), "-storetype", "JKS", "-storepass", SIGNER_PASSWORD, "-keypass", SIGNER_PASSWORD);
+        run(getTool(KEYTOOL), "-exportcert", "-rfc", "-alias", SIGNER_ALIAS, "-keystore", keystore.toString(), "-storepass",
+            SIGNER_PASSWORD, "-file", certificate.toString());
+        run(getTool(JARSIGNER), "-keystore", keystore.toString(), "-storepass", SIGNER_PASSWORD, "-keypass", SIGNER_PASSWORD, "-digestalg",
+            "SHA-256", archive.toString(), SIGNER_ALIAS);
+        return certificate;
+    }
+
+    private static String getTool(String name) {
+        return findTool(name).orElseThrow(() -> new IllegalStateException("Could not find " + name + " in " + getJavaHome()))
+                             .toString();
+    }
+
+    private static Optional<Path> findTool(String name) {
+        Path javaHome = getJavaHome();
+        // On Java 8 the JDK tools are in the parent directory of the JRE:
+        return Arrays.asList(javaHome.resolve("bin"), javaHome.resolveSibling("bin"))
+                     .stream()
+                     .map(directory -> directory.resolve(name))
+                     .filter(Files::isExecutable)
+                     .findFirst();
+    }
+
+    private static Path getJavaHome() {
+        return Paths.get(System.getProperty("java.home"));
+    }
+
+    private static void run(String... command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                                                     .start();
+        String output = IOUtils.toString(process.getInputStream(), StandardCharsets.UTF_8);
+        if (process.waitFor() != 0) {
+            throw new IOException(command[0] + " " + command[1] + " failed: " + output);
+        }
+    }
+
+}
@@ -1,7 +1,11 @@
 package com.sap.cloud.lm.sl.cf.process.util;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -41,6 +45,27 @@ public class FilePartsMergerTest {
         }
     }
 
+    @Test
+    public void mergeFilePartsAtTheirPositions() throws IOException {
+        try (FilePartsMerger filePartsMerger = new FilePartsMerger("file")) {
+            filePartsMerger.allocate(10);
+            filePartsMerger.merge(new ByteArrayInputStream("6789".getBytes(StandardCharsets.UTF_8)), 6, 4);
+            filePartsMerger.merge(new ByteArrayInputStream("012345".getBytes(StandardCharsets.UTF_8)), 0, 6);
+            Assertions.assertEquals("0123456789", new String(Files.readAllBytes(filePartsMerger.getMergedFilePath()), StandardCharsets.UTF_8));
+            filePartsMerger.cleanUp();
+        }
+    }
+
+    @Test
+    public void mergeFilePartShorterThanItsSize() throws IOException {
+        try (FilePartsMerger filePartsMerger = new FilePartsMerger("file")) {
+            filePartsMerger.allocate(10);
+            Assertions.assertThrows(EOFException.class,
+                                    () -> filePartsMerger.merge(new ByteArrayInputStream("0123".getBytes(StandardCharsets.UTF_8)), 0, 6));
+            filePartsMerger.cleanUp();
+        }
+    }
+
     @Test
     public void testWithInvalidFile() {
         Exception exception = Assertions.assertThrows(SLException.class, () -> new FilePartsMerger("/some/invalid/file"));
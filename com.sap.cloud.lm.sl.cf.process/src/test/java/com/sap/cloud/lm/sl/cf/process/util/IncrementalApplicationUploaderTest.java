@@ -0,0 +1,370 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.fileupload.MultipartStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.cloudfoundry.client.lib.CloudControllerClient;
+import org.cloudfoundry.client.lib.CloudOperationException;
+import org.cloudfoundry.client.lib.UploadStatusCallback;
+import org.cloudfoundry.client.lib.domain.UploadToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.sap.cloud.lm.sl.cf.core.cf.clients.ApplicationPackageUploader;
+import com.sap.cloud.lm.sl.cf.core.cf.clients.RestTemplateFactory;
+import com.sap.cloud.lm.sl.cf.core.model.ApplicationResource;
+import com.sap.cloud.lm.sl.common.util.JsonUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class IncrementalApplicationUploaderTest {
+
+    private static final UUID APPLICATION_GUID = UUID.fromString("3c9d6a3e-8e1b-4c6f-9a43-0d36f1e1a8b5");
+    private static final UUID PACKAGE_GUID = UUID.fromString("6b2f8f0e-1d3a-4b8c-a6c1-5f0f6b7e2d94");
+    private static final String APPLICATION_DIGEST = "439B99DFFD0583200D5D21F4CD1BF035";
+    private static final int RESOURCE_MATCH_BATCH_SIZE = 2;
+
+    private static final Map<String, byte[]> FILES = createFiles();
+    private static final Set<String> UNCHANGED_FILES = new HashSet<>(Arrays.asList("static/index.html", "lib/library.jar",
+                                                                                   "lib/copy-of-library.jar"));
+
+    private final Set<String> resourcePool = new HashSet<>();
+    private final List<List<Map<String, Object>>> resourceMatchRequests = new ArrayList<>();
+    private final List<Map<String, Object>> createPackageRequests = new ArrayList<>();
+    private final Map<String, byte[]> uploadedParts = new HashMap<>();
+    private final List<String> uploadTransferEncodings = new ArrayList<>();
+    private final List<String> deletedPackages = new ArrayList<>();
+    private boolean failUploads;
+    private final Cache<String, List<ApplicationResource>> resourcesCache = CacheBuilder.newBuilder()
+                                                                                        .build();
+    private final UploadStatusCallback callback = Mockito.mock(UploadStatusCallback.class);
+    private final CloudControllerClient client = Mockito.mock(CloudControllerClient.class);
+
+    private HttpServer server;
+    private Path directory;
+    private Path applicationPackage;
+    private IncrementalApplicationUploader incrementalApplicationUploader;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v2/resource_match", this::handleResourceMatch);
+        server.createContext("/v3/packages", this::handlePackages);
+        server.start();
+        Mockito.when(client.getCloudControllerUrl())
+               .thenReturn(new URL("http", "localhost", server.getAddress()
+                                                              .getPort(),
+                                   ""));
+        Mockito.when(client.login())
+               .thenReturn(Mockito.mock(OAuth2AccessToken.class));
+        directory = Files.createTempDirectory(getClass().getSimpleName());
+        applicationPackage = createApplicationPackage(directory.resolve("app.zip"), FILES);
+        for (String unchangedFile : UNCHANGED_FILES) {
+            resourcePool.add(sha1(FILES.get(unchangedFile)));
+        }
+        incrementalApplicationUploader = new IncrementalApplicationUploader(new ApplicationPackageUploader(new RestTemplateFactory()),
+                                                                            RESOURCE_MATCH_BATCH_SIZE,
+                                                                            resourcesCache);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.stop(0);
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Test
+    public void testUploadOnlyUnmatchedFiles() throws IOException {
+        UploadToken uploadToken = upload();
+
+        assertEquals(PACKAGE_GUID, uploadToken.getPackageGuid());
+        assertEquals(Collections.singletonList(createPackageRequest()), createPackageRequests);
+        assertEquals(getUnmatchedFiles(), readZip(uploadedParts.get("bits")));
+        assertEquals(UNCHANGED_FILES, getPaths(parseJsonList(uploadedParts.get("resources"))));
+        Mockito.verify(callback)
+               .onMatchedFileNames(UNCHANGED_FILES);
+    }
+
+    @Test
+    public void testUploadIsStreamed() throws IOException {
+        upload();
+
+        // A request body, which is buffered in memory, is sent with its content length instead:
+        assertEquals(Collections.singletonList("chunked"), uploadTransferEncodings);
+    }
+
+    @Test
+    public void testFailedUploadDeletesPackage() {
+        failUploads = true;
+
+        assertThrows(CloudOperationException.class, this::upload);
+
+        assertEquals(Collections.singletonList(PACKAGE_GUID.toString()), deletedPackages);
+    }
+
+    @Test
+    public void testMatchResourcesInBatches() throws IOException {
+        upload();
+
+        // The copy of the library has the same fingerprint as the library and is matched only once:
+        assertEquals(Arrays.asList(2, 2), resourceMatchRequests.stream()
+                                                                  .map(List::size)
+                                                                  .collect(Collectors.toList()));
+        Set<Object> matchedSha1s = resourceMatchRequests.stream()
+                                                        .flatMap(List::stream)
+                                                        .map(fingerprint -> fingerprint.get("sha1"))
+                                                        .collect(Collectors.toSet());
+        assertEquals(FILES.values()
+                          .stream()
+                          .map(this::sha1)
+                          .collect(Collectors.toSet()),
+                     matchedSha1s);
+    }
+
+    @Test
+    public void testResourcesManifest() throws IOException {
+        upload();
+
+        Map<String, Object> libraryResource = parseJsonList(uploadedParts.get("resources")).stream()
+                                                                                           .filter(resource -> resource.get("path")
+                                                                                                                       .equals("lib/library.jar"))
+                                                                                           .findFirst()
+                                                                                           .get();
+        assertEquals(FILES.get("lib/library.jar").length, ((Number) libraryResource.get("size_in_bytes")).intValue());
+        assertEquals(Collections.singletonMap("value", sha1(FILES.get("lib/library.jar"))), libraryResource.get("checksum"));
+        assertEquals(ApplicationResource.DEFAULT_MODE, libraryResource.get("mode"));
+    }
+
+    @Test
+    public void testUploadWithoutBitsWhenAllFilesAreMatched() throws IOException {
+        for (byte[] content : FILES.values()) {
+            resourcePool.add(sha1(content));
+        }
+
+        upload();
+
+        assertNull(uploadedParts.get("bits"));
+        assertEquals(FILES.keySet(), getPaths(parseJsonList(uploadedParts.get("resources"))));
+    }
+
+    @Test
+    public void testFingerprintsAreCachedByPackageEntries() throws IOException {
+        upload();
+        List<ApplicationResource> cachedResources = getCachedResources();
+        assertEquals(FILES.keySet(), cachedResources.stream()
+                                                    .map(ApplicationResource::getPath)
+                                                    .collect(Collectors.toSet()));
+
+        // The same package is not fingerprinted again:
+        upload();
+        assertSame(cachedResources, getCachedResources());
+
+        // A changed package with the same digest is fingerprinted again, so the changed file is matched by its new fingerprint:
+        Map<String, byte[]> changedFiles = new LinkedHashMap<>(FILES);
+        changedFiles.put("app.js", "console.log('changed');".getBytes(StandardCharsets.UTF_8));
+        createApplicationPackage(applicationPackage, changedFiles);
+        resourceMatchRequests.clear();
+        upload();
+
+        assertEquals(2, resourcesCache.size());
+        Set<Object> matchedSha1s = resourceMatchRequests.stream()
+                                                        .flatMap(List::stream)
+                                                        .map(fingerprint -> fingerprint.get("sha1"))
+                                                        .collect(Collectors.toSet());
+        assertTrue(matchedSha1s.contains(sha1(changedFiles.get("app.js"))));
+        assertFalse(matchedSha1s.contains(sha1(FILES.get("app.js"))));
+    }
+
+    private List<ApplicationResource> getCachedResources() {
+        Map<String, List<ApplicationResource>> cachedResources = resourcesCache.asMap();
+        assertEquals(1, cachedResources.size());
+        Map.Entry<String, List<ApplicationResource>> cachedEntry = cachedResources.entrySet()
+                                                                                  .iterator()
+                                                                                  .next();
+        assertTrue(cachedEntry.getKey()
+                              .startsWith(APPLICATION_DIGEST));
+        return cachedEntry.getValue();
+    }
+
+    private UploadToken upload() throws IOException {
+        return incrementalApplicationUploader.upload(client, APPLICATION_GUID, applicationPackage, APPLICATION_DIGEST, callback);
+    }
+
+    private Map<String, String> getUnmatchedFiles() {
+        return FILES.entrySet()
+                    .stream()
+                    .filter(file -> !UNCHANGED_FILES.contains(file.getKey()))
+                    .collect(Collectors.toMap(Map.Entry::getKey, file -> new String(file.getValue(), StandardCharsets.UTF_8)));
+    }
+
+    private Set<String> getPaths(List<Map<String, Object>> resources) {
+        return resources.stream()
+                        .map(resource -> (String) resource.get("path"))
+                        .collect(Collectors.toSet());
+    }
+
+    private Map<String, Object> createPackageRequest() {
+        Map<String, Object> application = Collections.singletonMap("data", Collections.singletonMap("guid", APPLICATION_GUID.toString()));
+        Map<String, Object> packageRequest = new HashMap<>();
+        packageRequest.put("type", "bits");
+        packageRequest.put("relationships", Collections.singletonMap("app", application));
+        return packageRequest;
+    }
+
+    private void handleResourceMatch(HttpExchange exchange) throws IOException {
+        List<Map<String, Object>> fingerprints = parseJsonList(IOUtils.toByteArray(exchange.getRequestBody()));
+        resourceMatchRequests.add(fingerprints);
+        List<Map<String, Object>> matchedFingerprints = fingerprints.stream()
+                                                                    .filter(fingerprint -> resourcePool.contains(fingerprint.get("sha1")))
+                                                                    .collect(Collectors.toList());
+        respond(exchange, JsonUtil.toJson(matchedFingerprints));
+    }
+
+    private void handlePackages(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI()
+                              .getPath();
+        if (exchange.getRequestMethod()
+                    .equals("DELETE")) {
+            deletedPackages.add(path.substring("/v3/packages/".length()));
+            exchange.sendResponseHeaders(202, -1);
+            return;
+        }
+        if (path.equals("/v3/packages")) {
+            createPackageRequests.add(JsonUtil.convertJsonToMap(new String(IOUtils.toByteArray(exchange.getRequestBody()),
+                                                                           StandardCharsets.UTF_8)));
+        } else if (path.equals("/v3/packages/" + PACKAGE_GUID + "/upload")) {
+            uploadTransferEncodings.add(exchange.getRequestHeaders()
+                                                .getFirst("Transfer-Encoding"));
+            readParts(exchange);
+            if (failUploads) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        respond(exchange, JsonUtil.toJson(Collections.singletonMap("guid", PACKAGE_GUID.toString())));
+    }
+
+    private void readParts(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders()
+                                     .getFirst("Content-Type");
+        byte[] boundary = contentType.substring(contentType.indexOf("boundary=") + "boundary=".length())
+                                     .getBytes(StandardCharsets.US_ASCII);
+        MultipartStream multipartStream = new MultipartStream(exchange.getRequestBody(), boundary, 4096, null);
+        boolean hasNextPart = multipartStream.skipPreamble();
+        while (hasNextPart) {
+            String headers = multipartStream.readHeaders();
+            String name = headers.replaceAll("(?s).*; name=\"([^\"]*)\".*", "$1");
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            multipartStream.readBodyData(content);
+            uploadedParts.put(name, content.toByteArray());
+            hasNextPart = multipartStream.readBoundary();
+        }
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] response = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders()
+                .add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(response);
+        }
+    }
+
+    private List<Map<String, Object>> parseJsonList(byte[] json) {
+        return JsonUtil.convertJsonToList(new String(json, StandardCharsets.UTF_8), new TypeReference<List<Map<String, Object>>>() {
+        });
+    }
+
+    private String sha1(byte[] content) {
+        return Hashing.sha1()
+                      .hashBytes(content)
+                      .toString();
+    }
+
+    private static Path createApplicationPackage(Path path, Map<String, byte[]> files) throws IOException {
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(path))) {
+            zipOutputStream.putNextEntry(new ZipEntry("static/"));
+            zipOutputStream.closeEntry();
+            for (Map.Entry<String, byte[]> file : files.entrySet()) {
+                zipOutputStream.putNextEntry(new ZipEntry(file.getKey()));
+                zipOutputStream.write(file.getValue());
+                zipOutputStream.closeEntry();
+            }
+        }
+        return path;
+    }
+
+    private static Map<String, String> readZip(byte[] zip) throws IOException {
+        Map<String, String> files = new HashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                if (!entry.isDirectory()) {
+                    files.put(entry.getName(), IOUtils.toString(zipInputStream, StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return files;
+    }
+
+    private static Map<String, byte[]> createFiles() {
+        byte[] library = createContent(200 * 1024);
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        files.put("static/index.html", "<html><body>index</body></html>".getBytes(StandardCharsets.UTF_8));
+        files.put("lib/library.jar", library);
+        files.put("lib/copy-of-library.jar", library);
+        files.put("app.js", "console.log('app');".getBytes(StandardCharsets.UTF_8));
+        files.put("package.json", "{\"name\":\"app\"}".getBytes(StandardCharsets.UTF_8));
+        return files;
+    }
+
+    private static byte[] createContent(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) ('a' + i % 26);
+        }
+        return content;
+    }
+
+}
@@ -2,18 +2,37 @@ package com.sap.cloud.lm.sl.cf.process.util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
 import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 import com.sap.cloud.lm.sl.cf.process.Constants;
 import com.sap.cloud.lm.sl.cf.process.Messages;
@@ -27,8 +46,41 @@ public class JarSignatureVerifierTest {
     private static final String ALTERED_MTAR = "altered.mtar";
     private static final String CONTAINS_UNSIGNED_FILES = "contains-unsigned-files.mtar";
     private static final String CUSTOM_CERTIFICATE = "custom-certificate.crt";
+    private static final String SIGNER_DNAME = "CN=Synthetic Signer, OU=Test, O=Test, C=TS";
+    private static final String ALTERED_ENTRY = "module-7/file-3.txt";
+    private static final int SYNTHETIC_MODULES_COUNT = 16;
+    private static final int SYNTHETIC_FILES_PER_MODULE = 8;
+    private static final int SYNTHETIC_FILE_SIZE = 32 * 1024;
+    private static final int PARALLELISM = 4;
+
+    private static Path syntheticDirectory;
+    private static Path signedMtar;
+    private static Path alteredMtar;
+    private static List<X509Certificate> signerCertificates;
 
     private final JarSignatureVerifier verifier = new JarSignatureVerifier();
+    private final JarSignatureVerifier concurrentVerifier = new JarSignatureVerifier(PARALLELISM);
+
+    @BeforeAll
+    public static void createSyntheticSignedMtar() throws Exception {
+        if (!ArchiveSigner.isAvailable()) {
+            return;
+        }
+        syntheticDirectory = Files.createTempDirectory(JarSignatureVerifierTest.class.getSimpleName());
+        signedMtar = createSyntheticMtar(syntheticDirectory.resolve("signed.mtar"));
+        Path certificate = ArchiveSigner.sign(signedMtar, syntheticDirectory, SIGNER_DNAME);
+        alteredMtar = alterEntry(signedMtar, syntheticDirectory.resolve("altered.mtar"));
+        try (InputStream certificateInputStream = Files.newInputStream(certificate)) {
+            signerCertificates = readCertificates(certificateInputStream);
+        }
+    }
+
+    @AfterAll
+    public static void deleteSyntheticSignedMtar() throws IOException {
+        if (syntheticDirectory != null) {
+            FileUtils.deleteDirectory(syntheticDirectory.toFile());
+        }
+    }
 
     @Test
     public void verifyMtarWithNonSymantecCertificate() {
@@ -102,15 +154,153 @@ public class JarSignatureVerifierTest {
                                 exception.getMessage());
     }
 
+    @Test
+    public void testWithValidSignatureMtarVerifiedConcurrently() {
+        URL resource = getClass().getResource(CUSTOM_CERTIFICATE_MTAR);
+        Assertions.assertDoesNotThrow(verifierVerify(concurrentVerifier, resource, CUSTOM_CERTIFICATE, null));
+    }
+
+    @Test
+    public void verifyMtarWhichIsNotSignedConcurrently() {
+        URL resource = getClass().getResource(UNSIGNED_MTAR);
+        SLException exception = Assertions.assertThrows(SLException.class, verifierVerify(concurrentVerifier, resource,
+                                                                                          Constants.SYMANTEC_CERTIFICATE_FILE, null));
+        Assertions.assertEquals(MessageFormat.format(Messages.COULD_NOT_VERIFY_ARCHIVE_SIGNATURE, Messages.THE_ARCHIVE_IS_NOT_SIGNED),
+                                exception.getMessage());
+    }
+
+    @Test
+    public void testWithAlteredMtarVerifiedConcurrently() {
+        URL resource = getClass().getResource(ALTERED_MTAR);
+        SLException exception = Assertions.assertThrows(SLException.class, verifierVerify(concurrentVerifier, resource,
+                                                                                          Constants.SYMANTEC_CERTIFICATE_FILE, null));
+        Assertions.assertEquals(MessageFormat.format(Messages.COULD_NOT_VERIFY_ARCHIVE_SIGNATURE,
+                                                     "SHA-256 digest error for META-INF/mtad.yaml"),
+                                exception.getMessage());
+    }
+
+    @Test
+    public void testWhenFileIsNotFoundConcurrently() throws IOException {
+        URL resource = new URL("file:invalid");
+        Assertions.assertThrows(SLException.class, verifierVerify(concurrentVerifier, resource, Constants.SYMANTEC_CERTIFICATE_FILE, null));
+    }
+
+    @Test
+    public void testValidatedCertificateChainIsCached() throws Exception {
+        Cache<String, Date> validatedCertificateChains = CacheBuilder.newBuilder()
+                                                                     .recordStats()
+                                                                     .build();
+        JarSignatureVerifier cachingVerifier = new JarSignatureVerifier(PARALLELISM, validatedCertificateChains);
+        URL resource = getClass().getResource(CUSTOM_CERTIFICATE_MTAR);
+
+        cachingVerifier.verify(resource, readTargetCertificatesFromFile(CUSTOM_CERTIFICATE), null);
+        cachingVerifier.verify(resource, readTargetCertificatesFromFile(CUSTOM_CERTIFICATE), null);
+
+        Assertions.assertEquals(1, validatedCertificateChains.size());
+        Assertions.assertEquals(1, validatedCertificateChains.stats()
+                                                             .hitCount());
+    }
+
+    @Test
+    public void testFailedCertificateChainValidationIsNotCached() {
+        Cache<String, Date> validatedCertificateChains = CacheBuilder.newBuilder()
+                                                                     .build();
+        JarSignatureVerifier cachingVerifier = new JarSignatureVerifier(PARALLELISM, validatedCertificateChains);
+        URL resource = getClass().getResource(CUSTOM_CERTIFICATE_MTAR);
+
+        Assertions.assertThrows(SLException.class, verifierVerify(cachingVerifier, resource, CUSTOM_CERTIFICATE, "Not valid"));
+        Assertions.assertThrows(SLException.class, verifierVerify(cachingVerifier, resource, CUSTOM_CERTIFICATE, "Not valid"));
+
+        Assertions.assertEquals(0, validatedCertificateChains.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, PARALLELISM })
+    public void testWithSyntheticSignedMtar(int parallelism) throws IOException {
+        Assumptions.assumeTrue(signedMtar != null, "The JDK tools for signing archives are not available");
+        JarSignatureVerifier syntheticVerifier = new JarSignatureVerifier(parallelism);
+        URL resource = signedMtar.toUri()
+                                 .toURL();
+
+        Assertions.assertDoesNotThrow(() -> syntheticVerifier.verify(resource, signerCertificates, "Synthetic Signer"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, PARALLELISM })
+    public void testWithAlteredSyntheticSignedMtar(int parallelism) throws IOException {
+        Assumptions.assumeTrue(alteredMtar != null, "The JDK tools for signing archives are not available");
+        JarSignatureVerifier syntheticVerifier = new JarSignatureVerifier(parallelism);
+        URL resource = alteredMtar.toUri()
+                                  .toURL();
+
+        SLException exception = Assertions.assertThrows(SLException.class,
+                                                        () -> syntheticVerifier.verify(resource, signerCertificates, null));
+        Assertions.assertEquals(MessageFormat.format(Messages.COULD_NOT_VERIFY_ARCHIVE_SIGNATURE, "SHA-256 digest error for " + ALTERED_ENTRY),
+                                exception.getMessage());
+    }
+
     private Executable verifierVerify(URL resource, String filename, String certificateCN) {
+        return verifierVerify(verifier, resource, filename, certificateCN);
+    }
+
+    private Executable verifierVerify(JarSignatureVerifier verifier, URL resource, String filename, String certificateCN) {
         return () -> verifier.verify(resource, readTargetCertificatesFromFile(filename), certificateCN);
     }
 
     private List<X509Certificate> readTargetCertificatesFromFile(String filename) throws CertificateException, IOException {
-        InputStream symantecInputStream = getClass().getResourceAsStream(filename);
+        try (InputStream certificateInputStream = getClass().getResourceAsStream(filename)) {
+            return readCertificates(certificateInputStream);
+        }
+    }
+
+    private static List<X509Certificate> readCertificates(InputStream certificateInputStream) throws CertificateException {
         CertificateFactory certificateFactory = CertificateFactory.getInstance(Constants.CERTIFICATE_TYPE_X_509);
-        Collection<? extends Certificate> certificates = certificateFactory.generateCertificates(symantecInputStream);
-        symantecInputStream.close();
+        Collection<? extends Certificate> certificates = certificateFactory.generateCertificates(certificateInputStream);
         return (List<X509Certificate>) certificates;
     }
+
+    private static Path createSyntheticMtar(Path mtar) throws IOException {
+        Random random = new Random(42);
+        try (OutputStream fileOutputStream = Files.newOutputStream(mtar);
+            ZipOutputStream zipOutputStream = new ZipOutputStream(fileOutputStream)) {
+            zipOutputStream.putNextEntry(new ZipEntry("META-INF/mtad.yaml"));
+            zipOutputStream.write("_schema-version: 3\nID: synthetic-mta\nversion: 1.0.0\n".getBytes(StandardCharsets.UTF_8));
+            zipOutputStream.closeEntry();
+            for (int i = 0; i < SYNTHETIC_MODULES_COUNT; i++) {
+                zipOutputStream.putNextEntry(new ZipEntry("module-" + i + "/"));
+                zipOutputStream.closeEntry();
+                for (int j = 0; j < SYNTHETIC_FILES_PER_MODULE; j++) {
+                    zipOutputStream.putNextEntry(new ZipEntry("module-" + i + "/file-" + j + ".txt"));
+                    zipOutputStream.write(createContent(random));
+                    zipOutputStream.closeEntry();
+                }
+            }
+        }
+        return mtar;
+    }
+
+    private static byte[] createContent(Random random) {
+        byte[] content = new byte[SYNTHETIC_FILE_SIZE];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + random.nextInt(26));
+        }
+        return content;
+    }
+
+    private static Path alterEntry(Path mtar, Path alteredMtar) throws IOException {
+        try (ZipInputStream zipInputStream = new ZipInputStream(Files.newInputStream(mtar));
+            ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(alteredMtar))) {
+            for (ZipEntry entry = zipInputStream.getNextEntry(); entry != null; entry = zipInputStream.getNextEntry()) {
+                byte[] content = IOUtils.toByteArray(zipInputStream);
+                if (entry.getName()
+                         .equals(ALTERED_ENTRY)) {
+                    content[0]++;
+                }
+                zipOutputStream.putNextEntry(new ZipEntry(entry.getName()));
+                zipOutputStream.write(content);
+                zipOutputStream.closeEntry();
+            }
+        }
+        return alteredMtar;
+    }
 }
@@ -0,0 +1,170 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.sap.cloud.lm.sl.cf.persistence.services.LocalFileInputStream;
+import com.sap.cloud.lm.sl.cf.process.util.MtaArchiveIndex.ArchiveContents;
+import com.sap.cloud.lm.sl.common.ContentException;
+
+public class MtaArchiveIndexTest {
+
+    private static final String SAMPLE_MTAR = "com.sap.mta.sample-1.2.1-beta.mtar";
+    private static final String SAMPLE_MTAR_WITH_JAR_ENTRY_NOT_NORMALIZED_PATH = "archive-entry-with-not-normalized-path.mtar";
+    private static final String APP_ARCHIVE_ID = "archive-id";
+    private static final long MAX_DESCRIPTOR_SIZE = 1024 * 1024L; // 1mb
+    private static final long MAX_UPLOAD_FILE_SIZE = 1024 * 1024 * 1024L; // 1gb
+
+    private final AtomicLong currentTime = new AtomicLong();
+    private final MtaArchiveIndex mtaArchiveIndex = new MtaArchiveIndex(currentTime::get);
+
+    @Test
+    public void testIndexArchive() throws Exception {
+        ArchiveContents archiveContents = indexArchive(SAMPLE_MTAR);
+
+        assertArchiveContents(archiveContents);
+        assertEquals("web/web-server.zip", mtaArchiveIndex.getLastModuleEntryName(APP_ARCHIVE_ID, "web/"));
+    }
+
+    @Test
+    public void testIndexArchiveStream() throws IOException {
+        ArchiveContents archiveContents;
+        try (InputStream archiveStream = getResource(SAMPLE_MTAR)) {
+            archiveContents = mtaArchiveIndex.indexArchive(APP_ARCHIVE_ID, archiveStream, MAX_DESCRIPTOR_SIZE, MAX_DESCRIPTOR_SIZE);
+        }
+
+        assertArchiveContents(archiveContents);
+        assertNull(mtaArchiveIndex.getLastModuleEntryName(APP_ARCHIVE_ID, "web/"));
+    }
+
+    @Test
+    public void testRemoveIndex() throws Exception {
+        indexArchive(SAMPLE_MTAR);
+
+        mtaArchiveIndex.removeIndex(APP_ARCHIVE_ID);
+
+        assertNull(mtaArchiveIndex.getLastModuleEntryName(APP_ARCHIVE_ID, "web/"));
+    }
+
+    private void assertArchiveContents(ArchiveContents archiveContents) {
+        assertTrue(archiveContents.getDescriptor()
+                                  .contains("com.sap.mta.sample"));
+        assertEquals("pricing", archiveContents.getManifest()
+                                               .getAttributes("applogic/pricing.zip")
+                                               .getValue("MTA-Module"));
+    }
+
+    @Test
+    public void testIndexArchiveWithTooLargeDescriptor() {
+        Assertions.assertThrows(ContentException.class,
+                                () -> mtaArchiveIndex.indexArchive(APP_ARCHIVE_ID, getResource(SAMPLE_MTAR), 100, MAX_DESCRIPTOR_SIZE));
+    }
+
+    @Test
+    public void testModuleDigestsMatchApplicationArchiveReader() throws Exception {
+        indexArchive(SAMPLE_MTAR);
+        List<String> moduleFileNames = Arrays.asList("web/", "db/", "applogic/pricing.zip");
+        mtaArchiveIndex.setModuleFileNames(APP_ARCHIVE_ID, moduleFileNames);
+        assertTrue(mtaArchiveIndex.shouldIndexModuleDigests(APP_ARCHIVE_ID));
+
+        mtaArchiveIndex.indexModuleDigests(APP_ARCHIVE_ID, getResource(SAMPLE_MTAR), MAX_UPLOAD_FILE_SIZE);
+
+        assertFalse(mtaArchiveIndex.shouldIndexModuleDigests(APP_ARCHIVE_ID));
+        for (String moduleFileName : moduleFileNames) {
+            assertEquals(calculateDigest(SAMPLE_MTAR, moduleFileName), mtaArchiveIndex.getModuleDigest(APP_ARCHIVE_ID, moduleFileName));
+        }
+    }
+
+    @Test
+    public void testModuleDigestsAreNotIndexedWhenSizeLimitIsExceeded() throws Exception {
+        indexArchive(SAMPLE_MTAR);
+        mtaArchiveIndex.setModuleFileNames(APP_ARCHIVE_ID, Arrays.asList("web/", "applogic/readme.txt"));
+
+        mtaArchiveIndex.indexModuleDigests(APP_ARCHIVE_ID, getResource(SAMPLE_MTAR), 200);
+
+        assertNull(mtaArchiveIndex.getModuleDigest(APP_ARCHIVE_ID, "web/"));
+        assertEquals(calculateDigest(SAMPLE_MTAR, "applogic/readme.txt"),
+                     mtaArchiveIndex.getModuleDigest(APP_ARCHIVE_ID, "applogic/readme.txt"));
+    }
+
+    @Test
+    public void testModuleDigestsAreNotIndexedForInvalidEntries() throws Exception {
+        // The archive with the invalid entry has no deployment descriptor, so the index is built from another one:
+        indexArchive(SAMPLE_MTAR);
+        mtaArchiveIndex.setModuleFileNames(APP_ARCHIVE_ID, Arrays.asList("web/", "missing/"));
+
+        mtaArchiveIndex.indexModuleDigests(APP_ARCHIVE_ID, getResource(SAMPLE_MTAR_WITH_JAR_ENTRY_NOT_NORMALIZED_PATH),
+                                           MAX_UPLOAD_FILE_SIZE);
+
+        assertNull(mtaArchiveIndex.getModuleDigest(APP_ARCHIVE_ID, "web/"));
+        assertNull(mtaArchiveIndex.getModuleDigest(APP_ARCHIVE_ID, "missing/"));
+    }
+
+    @Test
+    public void testGetLastModuleEntryName() throws Exception {
+        indexArchive(SAMPLE_MTAR);
+
+        assertEquals("web/web-server.zip", mtaArchiveIndex.getLastModuleEntryName(APP_ARCHIVE_ID, "web/"));
+        assertNull(mtaArchiveIndex.getLastModuleEntryName(APP_ARCHIVE_ID, "missing/"));
+        assertNull(mtaArchiveIndex.getLastModuleEntryName("unknown-archive-id", "web/"));
+    }
+
+    @Test
+    public void testExtractionStopsAfterLastModuleEntry() throws Exception {
+        indexArchive(SAMPLE_MTAR);
+        ApplicationArchiveContext applicationArchiveContext = new ApplicationArchiveContext(getResource(SAMPLE_MTAR), "db/",
+                                                                                            MAX_UPLOAD_FILE_SIZE);
+        applicationArchiveContext.setLastModuleEntryName(mtaArchiveIndex.getLastModuleEntryName(APP_ARCHIVE_ID, "db/"));
+        ApplicationArchiveReader reader = new ApplicationArchiveReader();
+
+        assertEquals("db/", reader.getFirstZipEntry(applicationArchiveContext)
+                                  .getName());
+        assertEquals("db/pricing-db.zip", reader.getNextEntryByName("db/", applicationArchiveContext)
+                                                .getName());
+        assertEquals("db/readme.txt", reader.getNextEntryByName("db/", applicationArchiveContext)
+                                            .getName());
+        assertNull(reader.getNextEntryByName("db/", applicationArchiveContext));
+        assertEquals("web/", applicationArchiveContext.getZipInputStream()
+                                                      .getNextEntry()
+                                                      .getName());
+    }
+
+    @Test
+    public void testExpiredIndexIsIgnored() throws Exception {
+        indexArchive(SAMPLE_MTAR);
+        currentTime.addAndGet(TimeUnit.DAYS.toMillis(1));
+
+        assertNull(mtaArchiveIndex.getLastModuleEntryName(APP_ARCHIVE_ID, "web/"));
+    }
+
+    private ArchiveContents indexArchive(String mtar) throws Exception {
+        try (InputStream archiveStream = new LocalFileInputStream(Paths.get(getClass().getResource(mtar)
+                                                                                      .toURI()))) {
+            return mtaArchiveIndex.indexArchive(APP_ARCHIVE_ID, archiveStream, MAX_DESCRIPTOR_SIZE, MAX_DESCRIPTOR_SIZE);
+        }
+    }
+
+    private String calculateDigest(String mtar, String moduleFileName) {
+        ApplicationArchiveContext applicationArchiveContext = new ApplicationArchiveContext(getResource(mtar), moduleFileName,
+                                                                                            MAX_UPLOAD_FILE_SIZE);
+        return new ApplicationArchiveReader().calculateApplicationDigest(applicationArchiveContext);
+    }
+
+    private InputStream getResource(String mtar) {
+        return getClass().getResourceAsStream(mtar);
+    }
+
+}
@@ -1,6 +1,10 @@
 package com.sap.cloud.lm.sl.cf.process.util;
 
+import static org.junit.Assert.assertTrue;
+
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.flowable.engine.delegate.DelegateExecution;
 import org.junit.Before;
@@ -8,6 +12,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -36,6 +41,8 @@ public class OperationInFinalStateHandlerTest {
     private StepLogger.Factory stepLoggerFactory;
     @Mock
     private StepLogger stepLogger;
+    @Mock
+    private MtaArchiveIndex mtaArchiveIndex;
 
     @InjectMocks
     private OperationInFinalStateHandler eventHandler = new OperationInFinalStateHandler();
@@ -104,10 +111,23 @@ public class OperationInFinalStateHandlerTest {
     @Test
     public void testDeleteDeploymentFiles() throws Exception {
         eventHandler.deleteDeploymentFiles(execution);
+        ArgumentCaptor<List<String>> fileIdsCaptor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(fileService, Mockito.atLeast(0))
+               .deleteFiles(Mockito.eq(SPACE_ID), fileIdsCaptor.capture());
+        List<String> sweptFileIds = fileIdsCaptor.getAllValues()
+                                                 .stream()
+                                                 .flatMap(List::stream)
+                                                 .collect(Collectors.toList());
         for (String fileId : expectedFileIdsToSweep) {
-            Mockito.verify(fileService)
-                   .deleteFile(SPACE_ID, fileId);
+            assertTrue(sweptFileIds.contains(fileId));
         }
     }
 
+    @Test
+    public void testRemoveArchiveIndex() {
+        eventHandler.removeArchiveIndex(execution);
+        Mockito.verify(mtaArchiveIndex, Mockito.times(archiveIds == null ? 0 : 1))
+               .removeIndex(archiveIds);
+    }
+
 }
@@ -7,7 +7,9 @@ import static org.mockito.Mockito.never;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -209,6 +211,31 @@ public class OperationsHelperTest {
 
     }
 
+    @Test
+    public void testFindOperationsComputesStatesInBulk() {
+        List<Operation> operations = Arrays.asList(createMockedOperation("12af8e1e-4d96-11ea-b77f-2e728ce88178", ProcessType.DEPLOY, null),
+                                                   createMockedOperation("13af8e1e-4d96-11ea-b77f-2e728ce88178", ProcessType.DEPLOY, null),
+                                                   createMockedOperation("14af8e1e-4d96-11ea-b77f-2e728ce88178", ProcessType.DEPLOY,
+                                                                         Operation.State.FINISHED));
+        Map<String, Operation.State> processStates = new HashMap<>();
+        processStates.put("12af8e1e-4d96-11ea-b77f-2e728ce88178", Operation.State.RUNNING);
+        processStates.put("13af8e1e-4d96-11ea-b77f-2e728ce88178", Operation.State.ERROR);
+        Mockito.when(processHelper.computeProcessStates(Arrays.asList("12af8e1e-4d96-11ea-b77f-2e728ce88178",
+                                                                      "13af8e1e-4d96-11ea-b77f-2e728ce88178")))
+               .thenReturn(processStates);
+
+        List<Operation> foundOperations = operationsHelper.findOperations(operations, Collections.emptyList());
+
+        Assertions.assertEquals(Operation.State.RUNNING, foundOperations.get(0)
+                                                                        .getState());
+        Assertions.assertEquals(Operation.State.ERROR, foundOperations.get(1)
+                                                                      .getState());
+        Assertions.assertEquals(Operation.State.FINISHED, foundOperations.get(2)
+                                                                         .getState());
+        Mockito.verify(processHelper, never())
+               .computeProcessState(anyString());
+    }
+
     private Operation createMockedOperation(String processId, ProcessType processType, Operation.State state) {
         Operation operation = Mockito.mock(Operation.class);
         Mockito.when(operation.getProcessType())
@@ -0,0 +1,110 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.MessageFormat;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.sap.cloud.lm.sl.cf.core.util.FileUtils;
+import com.sap.cloud.lm.sl.cf.persistence.services.LocalFileInputStream;
+
+public class ParallelApplicationDigestCalculatorTest {
+
+    private static final String ERROR_SIZE_OF_APP_EXCEEDS_MAX_SIZE_LIMIT = "The size of the application exceeds max size limit \"{0}\"";
+    private static final String SAMPLE_MTAR = "com.sap.mta.sample-1.2.1-beta.mtar";
+    private static final String SAMPLE_FLAT_MTAR = "com.sap.mta.sample-1.2.1-beta-flat.mtar";
+    private static final String SAMPLE_MTAR_WITH_JAR_ENTRY_NOT_NORMALIZED_PATH = "archive-entry-with-not-normalized-path.mtar";
+    private static final long MAX_UPLOAD_FILE_SIZE = 1024 * 1024 * 1024L; // 1gb
+
+    public static Stream<Arguments> testCalculateDigest() {
+        // @formatter:off
+        return Stream.of(
+            // Entries small enough to be inflated concurrently:
+            Arguments.of(SAMPLE_MTAR, "db/", 4, 1024),
+            Arguments.of(SAMPLE_MTAR, "web/web-server.zip", 4, 1024),
+            // Entries larger than the buffers, which are streamed:
+            Arguments.of(SAMPLE_FLAT_MTAR, "web/", 2, 1024),
+            Arguments.of(SAMPLE_FLAT_MTAR, "web/", 4, 16),
+            Arguments.of(SAMPLE_FLAT_MTAR, "applogic/", 2, 16 * 1024));
+        // @formatter:on
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    public void testCalculateDigest(String mtar, String moduleFileName, int parallelism, int bufferSize) throws Exception {
+        ParallelApplicationDigestCalculator digestCalculator = new ParallelApplicationDigestCalculator(parallelism, bufferSize);
+
+        String digest = digestCalculator.calculateApplicationDigest(getPath(mtar), moduleFileName, MAX_UPLOAD_FILE_SIZE);
+
+        assertEquals(calculateDigestSequentially(mtar, moduleFileName), digest);
+    }
+
+    @Test
+    public void testCalculateDigestFromStream() throws Exception {
+        ParallelApplicationDigestCalculator digestCalculator = new ParallelApplicationDigestCalculator(4, 1024);
+
+        try (InputStream mtarInputStream = getClass().getResourceAsStream(SAMPLE_FLAT_MTAR)) {
+            String digest = digestCalculator.calculateApplicationDigest(mtarInputStream, "web/", MAX_UPLOAD_FILE_SIZE);
+            assertEquals(calculateDigestSequentially(SAMPLE_FLAT_MTAR, "web/"), digest);
+        }
+    }
+
+    @Test
+    public void testCalculateDigestFromLocalFileStream() throws Exception {
+        ParallelApplicationDigestCalculator digestCalculator = new ParallelApplicationDigestCalculator(4, 1024);
+
+        Path mtarPath = getPath(SAMPLE_FLAT_MTAR);
+        try (InputStream mtarInputStream = new LocalFileInputStream(mtarPath)) {
+            String digest = digestCalculator.calculateApplicationDigest(mtarInputStream, "web/", MAX_UPLOAD_FILE_SIZE);
+            assertEquals(calculateDigestSequentially(SAMPLE_FLAT_MTAR, "web/"), digest);
+            // The archive is read from its file instead of being copied from the stream:
+            assertEquals(Files.size(mtarPath), mtarInputStream.available());
+        }
+    }
+
+    public static Stream<Arguments> testFailingCalculateDigest() {
+        // @formatter:off
+        return Stream.of(
+            Arguments.of(SAMPLE_FLAT_MTAR, "xxx/", MessageFormat.format(com.sap.cloud.lm.sl.mta.Messages.CANNOT_FIND_ARCHIVE_ENTRY, "xxx/"), MAX_UPLOAD_FILE_SIZE),
+            Arguments.of(SAMPLE_MTAR_WITH_JAR_ENTRY_NOT_NORMALIZED_PATH, "web/", MessageFormat.format(FileUtils.PATH_SHOULD_BE_NORMALIZED, "web/../asd"), MAX_UPLOAD_FILE_SIZE),
+            Arguments.of(SAMPLE_MTAR, "db/", MessageFormat.format(ERROR_SIZE_OF_APP_EXCEEDS_MAX_SIZE_LIMIT, 200), 200L),
+            Arguments.of(SAMPLE_MTAR, "web/web-server.zip", MessageFormat.format(ERROR_SIZE_OF_APP_EXCEEDS_MAX_SIZE_LIMIT, 200), 200));
+        // @formatter:on
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    public void testFailingCalculateDigest(String mtar, String moduleFileName, String expectedException, long maxFileUploadSize)
+        throws Exception {
+        ParallelApplicationDigestCalculator digestCalculator = new ParallelApplicationDigestCalculator(4, 1024);
+        Path mtarPath = getPath(mtar);
+
+        Exception exception = Assertions.assertThrows(Exception.class,
+                                                      () -> digestCalculator.calculateApplicationDigest(mtarPath, moduleFileName,
+                                                                                                        maxFileUploadSize));
+        assertEquals(expectedException, exception.getMessage());
+    }
+
+    private Path getPath(String mtar) throws URISyntaxException {
+        return Paths.get(getClass().getResource(mtar)
+                                   .toURI());
+    }
+
+    private String calculateDigestSequentially(String mtar, String moduleFileName) {
+        ApplicationArchiveContext applicationArchiveContext = new ApplicationArchiveContext(getClass().getResourceAsStream(mtar),
+                                                                                            moduleFileName, MAX_UPLOAD_FILE_SIZE);
+        return new ApplicationArchiveReader().calculateApplicationDigest(applicationArchiveContext);
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+public class PollingIntervalCalculatorTest {
+
+    private static final int INITIAL_INTERVAL_IN_SECONDS = 2;
+    private static final int MAX_INTERVAL_IN_SECONDS = 60;
+
+    @ParameterizedTest
+    @CsvSource({
+    // @formatter:off
+        // (0) The first poll is done after the initial interval:
+        "0, 0.5, 2",
+        // (1) The interval grows exponentially:
+        "1, 0.5, 4",
+        "3, 0.5, 16",
+        // (2) The interval is capped:
+        "5, 0.5, 60",
+        "1000, 0.5, 60",
+        // (3) The jitter shortens or prolongs the interval by up to 20%:
+        "3, 0.0, 13",
+        "3, 1.0, 19",
+        // (4) The jitter does not make the interval shorter than the initial one or longer than the max one:
+        "0, 0.0, 2",
+        "5, 1.0, 60",
+        "5, 0.0, 48",
+    // @formatter:on
+    })
+    public void testCalculateIntervalInSeconds(int pollsCount, double random, int expectedInterval) {
+        PollingIntervalCalculator calculator = new PollingIntervalCalculator(INITIAL_INTERVAL_IN_SECONDS, MAX_INTERVAL_IN_SECONDS,
+                                                                             () -> random);
+
+        assertEquals(expectedInterval, calculator.calculateIntervalInSeconds(pollsCount));
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.flowable.engine.ManagementService;
+import org.flowable.engine.ProcessEngine;
+import org.flowable.engine.ProcessEngineConfiguration;
+import org.flowable.job.api.Job;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+
+import com.sap.cloud.lm.sl.cf.core.model.HistoricOperationEvent;
+import com.sap.cloud.lm.sl.cf.core.model.HistoricOperationEvent.EventType;
+import com.sap.cloud.lm.sl.cf.core.model.ImmutableHistoricOperationEvent;
+import com.sap.cloud.lm.sl.cf.core.persistence.query.HistoricOperationEventQuery;
+import com.sap.cloud.lm.sl.cf.core.persistence.service.HistoricOperationEventService;
+import com.sap.cloud.lm.sl.cf.process.flowable.FlowableFacade;
+import com.sap.cloud.lm.sl.cf.web.api.model.Operation.State;
+
+public class ProcessHelperQueryCountTest {
+
+    private static final String PROCESS_DEFINITIONS = "com/sap/cloud/lm/sl/cf/process/util/process-states.bpmn";
+    private static final String FINISHED_PROCESS = "finishedProcess";
+    private static final String RECEIVE_TASK_PROCESS = "receiveTaskProcess";
+    private static final String ASYNC_TASK_PROCESS = "asyncTaskProcess";
+
+    private static final AtomicInteger statementsCount = new AtomicInteger();
+    private static ProcessEngine processEngine;
+
+    private final List<HistoricOperationEvent> historicOperationEvents = new ArrayList<>();
+
+    @Mock
+    private HistoricOperationEventService historicOperationEventService;
+    @Mock
+    private HistoricOperationEventQuery historicOperationEventQuery;
+
+    private ProcessHelper processHelper;
+
+    @BeforeAll
+    public static void createProcessEngine() {
+        processEngine = ProcessEngineConfiguration.createStandaloneInMemProcessEngineConfiguration()
+                                                  .setDataSource(createStatementCountingDataSource())
+                                                  .buildProcessEngine();
+        processEngine.getRepositoryService()
+                     .createDeployment()
+                     .addClasspathResource(PROCESS_DEFINITIONS)
+                     .deploy();
+    }
+
+    @AfterAll
+    public static void closeProcessEngine() {
+        processEngine.close();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        Mockito.when(historicOperationEventService.createQuery())
+               .thenReturn(historicOperationEventQuery);
+        Mockito.when(historicOperationEventQuery.processIdAnyOf(any()))
+               .thenReturn(historicOperationEventQuery);
+        Mockito.when(historicOperationEventQuery.type(any()))
+               .thenReturn(historicOperationEventQuery);
+        Mockito.when(historicOperationEventQuery.list())
+               .thenReturn(historicOperationEvents);
+        processHelper = new ProcessHelper(new FlowableFacade(processEngine), historicOperationEventService);
+    }
+
+    @Test
+    public void testComputeProcessStates() {
+        String abortedProcessId = startProcess(RECEIVE_TASK_PROCESS);
+        historicOperationEvents.add(ImmutableHistoricOperationEvent.builder()
+                                                                   .processId(abortedProcessId)
+                                                                   .type(EventType.ABORTED)
+                                                                   .build());
+        String failedProcessId = startFailedProcess();
+        String processIdAtReceiveTask = startProcess(RECEIVE_TASK_PROCESS);
+        String runningProcessId = startProcess(ASYNC_TASK_PROCESS);
+        String finishedProcessId = startProcess(FINISHED_PROCESS);
+
+        Map<String, State> processStates = processHelper.computeProcessStates(Arrays.asList(abortedProcessId, failedProcessId,
+                                                                                            processIdAtReceiveTask, runningProcessId,
+                                                                                            finishedProcessId));
+
+        assertEquals(State.ABORTED, processStates.get(abortedProcessId));
+        assertEquals(State.ERROR, processStates.get(failedProcessId));
+        assertEquals(State.ACTION_REQUIRED, processStates.get(processIdAtReceiveTask));
+        assertEquals(State.RUNNING, processStates.get(runningProcessId));
+        assertEquals(State.FINISHED, processStates.get(finishedProcessId));
+    }
+
+    @Test
+    public void testQueriesCountDoesNotDependOnNumberOfProcesses() {
+        int queriesCountForOneProcessOfEachKind = countQueriesForComputingStates(startProcessesOfEachKind(1));
+        int queriesCountForManyProcessesOfEachKind = countQueriesForComputingStates(startProcessesOfEachKind(25));
+
+        assertEquals(queriesCountForOneProcessOfEachKind, queriesCountForManyProcessesOfEachKind);
+    }
+
+    @Test
+    public void testNoQueriesForEmptyListOfProcesses() {
+        assertEquals(0, countQueriesForComputingStates(Collections.emptyList()));
+    }
+
+    private int countQueriesForComputingStates(List<String> processIds) {
+        int statementsCountBefore = statementsCount.get();
+        processHelper.computeProcessStates(processIds);
+        return statementsCount.get() - statementsCountBefore;
+    }
+
+    private List<String> startProcessesOfEachKind(int count) {
+        List<String> processIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            processIds.add(startFailedProcess());
+            processIds.add(startProcess(RECEIVE_TASK_PROCESS));
+            processIds.add(startProcess(ASYNC_TASK_PROCESS));
+            processIds.add(startProcess(FINISHED_PROCESS));
+        }
+        return processIds;
+    }
+
+    private String startFailedProcess() {
+        String processId = startProcess(ASYNC_TASK_PROCESS);
+        ManagementService managementService = processEngine.getManagementService();
+        Job job = managementService.createJobQuery()
+                                   .processInstanceId(processId)
+                                   .singleResult();
+        managementService.moveJobToDeadLetterJob(job.getId());
+        return processId;
+    }
+
+    private String startProcess(String processDefinitionKey) {
+        return processEngine.getRuntimeService()
+                            .startProcessInstanceByKey(processDefinitionKey)
+                            .getId();
+    }
+
+    private static DataSource createStatementCountingDataSource() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        return createProxy(DataSource.class, dataSource, (proxy, method, args) -> {
+            Object result = invoke(dataSource, method, args);
+            if (result instanceof Connection) {
+                return createStatementCountingConnection((Connection) result);
+            }
+            return result;
+        });
+    }
+
+    private static Connection createStatementCountingConnection(Connection connection) {
+        return createProxy(Connection.class, connection, (proxy, method, args) -> {
+            if (method.getName()
+                      .startsWith("prepare")
+                || method.getName()
+                         .equals("createStatement")) {
+                statementsCount.incrementAndGet();
+            }
+            return invoke(connection, method, args);
+        });
+    }
+
+    private static <T> T createProxy(Class<T> type, T target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(target.getClass()
+                                                      .getClassLoader(),
+                                                new Class<?>[] { type }, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+}
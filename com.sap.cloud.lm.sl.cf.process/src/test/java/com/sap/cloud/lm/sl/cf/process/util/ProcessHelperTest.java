@@ -1,6 +1,13 @@
 package com.sap.cloud.lm.sl.cf.process.util;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -74,6 +81,57 @@ public class ProcessHelperTest {
         Assertions.assertEquals(State.FINISHED, processHelper.computeProcessState(PROCESS_ID));
     }
 
+    @Test
+    public void testComputeProcessStates() {
+        String abortedProcessId = "8a3c7c34-4d96-11ea-b77f-2e728ce88125";
+        String failedProcessId = "9b3c7c34-4d96-11ea-b77f-2e728ce88125";
+        List<String> processIds = Arrays.asList(PROCESS_ID, abortedProcessId, failedProcessId);
+        Mockito.when(historicOperationEventQuery.processIdAnyOf(processIds))
+               .thenReturn(historicOperationEventQuery);
+        Mockito.when(historicOperationEventQuery.type(EventType.ABORTED))
+               .thenReturn(historicOperationEventQuery);
+        Mockito.when(historicOperationEventQuery.list())
+               .thenReturn(Arrays.asList(ImmutableHistoricOperationEvent.builder()
+                                                                        .type(EventType.ABORTED)
+                                                                        .processId(abortedProcessId)
+                                                                        .build()));
+        Mockito.when(flowableFacade.findProcessInstanceIdsWithDeadLetterJobs(processIds))
+               .thenReturn(new HashSet<>(Arrays.asList(abortedProcessId, failedProcessId)));
+        Mockito.when(flowableFacade.findRunningProcessInstanceIds(processIds))
+               .thenReturn(new HashSet<>(processIds));
+
+        Map<String, State> processStates = processHelper.computeProcessStates(processIds);
+
+        Assertions.assertEquals(State.RUNNING, processStates.get(PROCESS_ID));
+        Assertions.assertEquals(State.ABORTED, processStates.get(abortedProcessId));
+        Assertions.assertEquals(State.ERROR, processStates.get(failedProcessId));
+    }
+
+    @Test
+    public void testComputeProcessStatesQueriesAbortedProcessesInBatches() {
+        List<String> processIds = IntStream.range(0, 1200)
+                                           .mapToObj(i -> UUID.randomUUID()
+                                                              .toString())
+                                           .collect(Collectors.toList());
+        String abortedProcessId = processIds.get(1100);
+        Mockito.when(historicOperationEventQuery.processIdAnyOf(Mockito.anyList()))
+               .thenReturn(historicOperationEventQuery);
+        Mockito.when(historicOperationEventQuery.type(EventType.ABORTED))
+               .thenReturn(historicOperationEventQuery);
+        Mockito.when(historicOperationEventQuery.list())
+               .thenReturn(Collections.emptyList(), Collections.emptyList(), Arrays.asList(ImmutableHistoricOperationEvent.builder()
+                                                                                                                          .type(EventType.ABORTED)
+                                                                                                                          .processId(abortedProcessId)
+                                                                                                                          .build()));
+
+        Map<String, State> processStates = processHelper.computeProcessStates(processIds);
+
+        Mockito.verify(historicOperationEventQuery, Mockito.times(3))
+               .processIdAnyOf(Mockito.anyList());
+        Assertions.assertEquals(State.ABORTED, processStates.get(abortedProcessId));
+        Assertions.assertEquals(State.FINISHED, processStates.get(processIds.get(0)));
+    }
+
     private void mockHistoricEventsWithTypes(EventType type) {
         Mockito.when(historicOperationEventQuery.list())
                .thenReturn(Arrays.asList(ImmutableHistoricOperationEvent.builder()
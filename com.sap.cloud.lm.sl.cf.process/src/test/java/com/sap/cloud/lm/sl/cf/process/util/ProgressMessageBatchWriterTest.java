@@ -0,0 +1,162 @@
+package com.sap.cloud.lm.sl.cf.process.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.collections4.ListUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sap.cloud.lm.sl.cf.core.persistence.service.ProgressMessageService;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableProgressMessage;
+import com.sap.cloud.lm.sl.cf.persistence.model.ProgressMessage;
+import com.sap.cloud.lm.sl.cf.persistence.model.ProgressMessage.ProgressMessageType;
+import com.sap.cloud.lm.sl.common.SLException;
+
+public class ProgressMessageBatchWriterTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final long LONG_FLUSH_INTERVAL_IN_MILLIS = 60 * 60 * 1000L;
+    private static final String PROCESS_ID = "process-id";
+    private static final String OTHER_PROCESS_ID = "other-process-id";
+
+    @Mock
+    private ProgressMessageService progressMessageService;
+
+    private final List<ProgressMessage> persistedMessages = new ArrayList<>();
+    private ProgressMessageBatchWriter writer;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        doAnswer(invocation -> persistedMessages.addAll(invocation.getArgument(0))).when(progressMessageService)
+                                                                                    .addAll(anyList());
+        doAnswer(invocation -> {
+            ProgressMessage progressMessage = invocation.getArgument(0);
+            persistedMessages.add(progressMessage);
+            return progressMessage;
+        }).when(progressMessageService)
+          .add(any());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    public void testFlushPersistsMessagesInBatchesAndInOrder() {
+        writer = new ProgressMessageBatchWriter(progressMessageService, BATCH_SIZE, LONG_FLUSH_INTERVAL_IN_MILLIS, 100);
+        List<ProgressMessage> messages = createProgressMessages(BATCH_SIZE * 2 - 1);
+        messages.forEach(writer::add);
+
+        writer.flush(PROCESS_ID);
+
+        assertEquals(messages, persistedMessages);
+        verify(progressMessageService, never()).add(any());
+    }
+
+    @Test
+    public void testFullBatchIsFlushedInBackground() {
+        writer = new ProgressMessageBatchWriter(progressMessageService, BATCH_SIZE, LONG_FLUSH_INTERVAL_IN_MILLIS, 100);
+        List<ProgressMessage> messages = createProgressMessages(BATCH_SIZE);
+
+        messages.forEach(writer::add);
+
+        verify(progressMessageService, timeout(5000)).addAll(messages);
+    }
+
+    @Test
+    public void testMessagesAreFlushedPeriodically() {
+        writer = new ProgressMessageBatchWriter(progressMessageService, BATCH_SIZE, 10, 100);
+        List<ProgressMessage> messages = createProgressMessages(1);
+
+        messages.forEach(writer::add);
+
+        verify(progressMessageService, timeout(5000)).addAll(messages);
+    }
+
+    @Test
+    public void testMessagesArePersistedOneByOneIfBatchFails() {
+        doThrow(SLException.class).when(progressMessageService)
+                                  .addAll(anyList());
+        writer = new ProgressMessageBatchWriter(progressMessageService, BATCH_SIZE, LONG_FLUSH_INTERVAL_IN_MILLIS, 100);
+        List<ProgressMessage> messages = createProgressMessages(BATCH_SIZE - 1);
+        messages.forEach(writer::add);
+
+        writer.flush(PROCESS_ID);
+
+        assertEquals(messages, persistedMessages);
+    }
+
+    @Test
+    public void testProducerFlushesWhenQueueIsFull() {
+        int queueCapacity = 2;
+        writer = new ProgressMessageBatchWriter(progressMessageService, BATCH_SIZE, LONG_FLUSH_INTERVAL_IN_MILLIS, queueCapacity);
+        List<ProgressMessage> messages = createProgressMessages(queueCapacity + 1);
+
+        messages.forEach(writer::add);
+
+        assertEquals(messages.subList(0, queueCapacity), persistedMessages);
+        writer.flush(PROCESS_ID);
+        assertEquals(messages, persistedMessages);
+    }
+
+    @Test
+    public void testFlushPersistsOnlyMessagesOfTheProcess() {
+        writer = new ProgressMessageBatchWriter(progressMessageService, BATCH_SIZE, LONG_FLUSH_INTERVAL_IN_MILLIS, 100);
+        List<ProgressMessage> messages = createProgressMessages(PROCESS_ID, BATCH_SIZE - 1);
+        List<ProgressMessage> otherMessages = createProgressMessages(OTHER_PROCESS_ID, BATCH_SIZE - 1);
+        messages.forEach(writer::add);
+        otherMessages.forEach(writer::add);
+
+        writer.flush(PROCESS_ID);
+
+        assertEquals(messages, persistedMessages);
+        writer.flush(OTHER_PROCESS_ID);
+        assertEquals(ListUtils.union(messages, otherMessages), persistedMessages);
+    }
+
+    @Test
+    public void testShutdownFlushesBufferedMessages() {
+        writer = new ProgressMessageBatchWriter(progressMessageService, BATCH_SIZE, LONG_FLUSH_INTERVAL_IN_MILLIS, 100);
+        List<ProgressMessage> messages = ListUtils.union(createProgressMessages(PROCESS_ID, BATCH_SIZE - 1),
+                                                         createProgressMessages(OTHER_PROCESS_ID, BATCH_SIZE - 1));
+        messages.forEach(writer::add);
+
+        writer.shutdown();
+
+        assertEquals(new HashSet<>(messages), new HashSet<>(persistedMessages));
+    }
+
+    private List<ProgressMessage> createProgressMessages(int count) {
+        return createProgressMessages(PROCESS_ID, count);
+    }
+
+    private List<ProgressMessage> createProgressMessages(String processId, int count) {
+        return IntStream.range(0, count)
+                        .mapToObj(i -> ImmutableProgressMessage.builder()
+                                                               .processId(processId)
+                                                               .taskId("task-id")
+                                                               .type(ProgressMessageType.INFO)
+                                                               .text("message " + i)
+                                                               .build())
+                        .collect(Collectors.toList());
+    }
+
+}
@@ -10,6 +10,8 @@ public final class Messages {
     public static final String MAX_UPLOAD_SIZE_EXCEEDED = "Cannot upload file, size is bigger than the configured maximum upload size \"{0}\" bytes";
     public static final String COULD_NOT_GET_FILES_0 = "Could not get files: {0}";
     public static final String COULD_NOT_UPLOAD_FILE_0 = "Could not upload file: {0}";
+    public static final String COULD_NOT_GET_UPLOAD_0_1 = "Could not get upload \"{0}\": {1}";
+    public static final String COULD_NOT_DELETE_UPLOAD_0_1 = "Could not delete upload \"{0}\": {1}";
     public static final String ACTION_0_CANNOT_BE_EXECUTED_OVER_OPERATION_1_IN_STATE_2 = "Action \"{0}\" cannot be executed over operation \"{1}\" in state \"{2}\".";
     public static final String OPERATION_0_NOT_FOUND = "Operation \"{0}\" was not found.";
     public static final String COULD_NOT_DECODE_STRING_0 = "Could not decode string \"{0}\".";
@@ -33,6 +35,7 @@ public final class Messages {
     public static final String STORING_TOKEN_FOR_USER_0_WITH_EXPIRATION_TIME_1 = "Storing token for user \"{0}\" with expiration time: {1} seconds";
     public static final String REGISTERED_0_AS_LIQUIBASE_LOCK_SERVICE = "Registered {0} as a Liquibase lock service.";
     public static final String FILE_SERVICE_DELETED_FILES = "FileService: Deleted {0} files without content.";
+    public static final String FILE_SERVICE_RECONCILIATION_SKIPPED = "FileService: Skipped the deletion of files without content, as the file storage is indexed by the database and its reconciliation is disabled.";
 
     // DEBUG log messages
     public static final String ERROR_STORING_TOKEN_DUE_TO_INTEGRITY_VIOLATION = "Cannot store access token due to data integrity violation. The exception is ignored as the token and authentication are persisted by another client";
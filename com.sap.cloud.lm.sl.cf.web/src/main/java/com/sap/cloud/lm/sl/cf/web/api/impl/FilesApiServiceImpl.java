@@ -23,14 +23,21 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import com.sap.cloud.lm.sl.cf.core.auditlogging.AuditLoggingProvider;
+import com.sap.cloud.lm.sl.cf.persistence.model.ByteRange;
 import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.UploadSession;
+import com.sap.cloud.lm.sl.cf.persistence.services.ChunkedUploadService;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileService;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
 import com.sap.cloud.lm.sl.cf.persistence.util.Configuration;
 import com.sap.cloud.lm.sl.cf.web.Messages;
 import com.sap.cloud.lm.sl.cf.web.api.FilesApiService;
+import com.sap.cloud.lm.sl.cf.web.api.model.ByteRangeMetadata;
 import com.sap.cloud.lm.sl.cf.web.api.model.FileMetadata;
+import com.sap.cloud.lm.sl.cf.web.api.model.ImmutableByteRangeMetadata;
 import com.sap.cloud.lm.sl.cf.web.api.model.ImmutableFileMetadata;
+import com.sap.cloud.lm.sl.cf.web.api.model.ImmutableUploadSessionMetadata;
+import com.sap.cloud.lm.sl.cf.web.api.model.UploadSessionMetadata;
 import com.sap.cloud.lm.sl.cf.web.util.ServletUtil;
 import com.sap.cloud.lm.sl.common.SLException;
 
@@ -43,6 +50,9 @@ public class FilesApiServiceImpl implements FilesApiService {
     @Named("fileService")
     private FileService fileService;
 
+    @Inject
+    private ChunkedUploadService chunkedUploadService;
+
     @Override
     public ResponseEntity<List<FileMetadata>> getFiles(String spaceGuid) {
         try {
@@ -76,6 +86,65 @@ public class FilesApiServiceImpl implements FilesApiService {
         }
     }
 
+    @Override
+    public ResponseEntity<UploadSessionMetadata> createUploadSession(String spaceGuid, String name, long size, String namespace) {
+        try {
+            UploadSession session = chunkedUploadService.createSession(spaceGuid, namespace, name, size);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                                 .body(parseUploadSession(session));
+        } catch (FileStorageException e) {
+            throw new SLException(e, Messages.COULD_NOT_UPLOAD_FILE_0, e.getMessage());
+        }
+    }
+
+    @Override
+    public ResponseEntity<UploadSessionMetadata> getUploadSession(String spaceGuid, String uploadId) {
+        try {
+            UploadSession session = chunkedUploadService.getSession(spaceGuid, uploadId);
+            return ResponseEntity.ok()
+                                 .body(parseUploadSession(session));
+        } catch (FileStorageException e) {
+            throw new SLException(e, Messages.COULD_NOT_GET_UPLOAD_0_1, uploadId, e.getMessage());
+        }
+    }
+
+    @Override
+    public ResponseEntity<UploadSessionMetadata> uploadChunk(HttpServletRequest request, String spaceGuid, String uploadId, long offset) {
+        try (InputStream in = request.getInputStream()) {
+            UploadSession session = chunkedUploadService.addChunk(spaceGuid, uploadId, offset, in);
+            return ResponseEntity.ok()
+                                 .body(parseUploadSession(session));
+        } catch (IOException | FileStorageException e) {
+            throw new SLException(e, Messages.COULD_NOT_UPLOAD_FILE_0, e.getMessage());
+        }
+    }
+
+    @Override
+    public ResponseEntity<FileMetadata> finalizeUploadSession(String spaceGuid, String uploadId, String digest) {
+        try {
+            FileMetadata file = parseFileEntry(chunkedUploadService.finalizeSession(spaceGuid, uploadId, digest));
+            AuditLoggingProvider.getFacade()
+                                .logConfigCreate(file);
+            LOGGER.trace("Assembled file \"{}\" with name {}, size {} and digest {} (algorithm {}) from upload {}.", file.getId(),
+                         file.getName(), file.getSize(), file.getDigest(), file.getDigestAlgorithm(), uploadId);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                                 .body(file);
+        } catch (FileStorageException e) {
+            throw new SLException(e, Messages.COULD_NOT_UPLOAD_FILE_0, e.getMessage());
+        }
+    }
+
+    @Override
+    public ResponseEntity<Void> deleteUploadSession(String spaceGuid, String uploadId) {
+        try {
+            chunkedUploadService.deleteSession(spaceGuid, uploadId);
+            return ResponseEntity.noContent()
+                                 .build();
+        } catch (FileStorageException e) {
+            throw new SLException(e, Messages.COULD_NOT_DELETE_UPLOAD_0_1, uploadId, e.getMessage());
+        }
+    }
+
     private List<FileEntry> uploadFiles(HttpServletRequest request, String spaceGuid)
         throws FileUploadException, IOException, FileStorageException {
         List<FileEntry> uploadedFiles = new ArrayList<>();
@@ -120,4 +189,24 @@ public class FilesApiServiceImpl implements FilesApiService {
                                     .space(fileEntry.getSpace())
                                     .build();
     }
+
+    private UploadSessionMetadata parseUploadSession(UploadSession session) {
+        return ImmutableUploadSessionMetadata.builder()
+                                             .id(session.getId())
+                                             .name(session.getName())
+                                             .namespace(session.getNamespace())
+                                             .size(session.getSize())
+                                             .missingRanges(session.getMissingRanges()
+                                                                   .stream()
+                                                                   .map(this::parseByteRange)
+                                                                   .collect(Collectors.toList()))
+                                             .build();
+    }
+
+    private ByteRangeMetadata parseByteRange(ByteRange range) {
+        return ImmutableByteRangeMetadata.builder()
+                                         .offset(range.getOffset())
+                                         .length(range.getLength())
+                                         .build();
+    }
 }
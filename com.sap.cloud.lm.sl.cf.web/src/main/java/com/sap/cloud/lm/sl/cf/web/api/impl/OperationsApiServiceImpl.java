@@ -1,5 +1,6 @@
 package com.sap.cloud.lm.sl.cf.web.api.impl;
 
+import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Collections;
@@ -14,6 +15,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.persistence.NoResultException;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.collections4.ListUtils;
 import org.cloudfoundry.client.lib.CloudControllerClient;
@@ -22,7 +24,10 @@ import org.cloudfoundry.client.lib.domain.CloudSpace;
 import org.flowable.engine.runtime.ProcessInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -34,6 +39,7 @@ import com.sap.cloud.lm.sl.cf.core.persistence.service.OperationService;
 import com.sap.cloud.lm.sl.cf.core.persistence.service.ProgressMessageService;
 import com.sap.cloud.lm.sl.cf.core.util.UserInfo;
 import com.sap.cloud.lm.sl.cf.persistence.Constants;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
 import com.sap.cloud.lm.sl.cf.persistence.model.ProgressMessage;
 import com.sap.cloud.lm.sl.cf.persistence.model.ProgressMessage.ProgressMessageType;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
@@ -61,6 +67,7 @@ import com.sap.cloud.lm.sl.cf.web.api.model.parameters.ParameterConversion;
 import com.sap.cloud.lm.sl.cf.web.util.SecurityContextUtil;
 import com.sap.cloud.lm.sl.common.ContentException;
 import com.sap.cloud.lm.sl.common.NotFoundException;
+import com.sap.cloud.lm.sl.common.SLException;
 
 @Named
 public class OperationsApiServiceImpl implements OperationsApiService {
@@ -83,6 +90,7 @@ public class OperationsApiServiceImpl implements OperationsApiService {
     private ProcessActionRegistry processActionRegistry;
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OperationsApiServiceImpl.class);
+    private static final String BYTES_RANGE_UNIT = "bytes";
 
     @Override
     public ResponseEntity<List<Operation>> getOperations(String spaceGuid, String mtaId, List<String> stateStrings, Integer last) {
@@ -137,6 +145,66 @@ public class OperationsApiServiceImpl implements OperationsApiService {
         }
     }
 
+    @Override
+    public void streamOperationLogContent(HttpServletResponse response, String spaceGuid, String operationId, String logId, String range,
+                                          Long offset) {
+        try {
+            List<FileEntry> logChunks = logsService.getLogChunks(spaceGuid, operationId, logId);
+            long logSize = ProcessLogsPersistenceService.getLogSize(logChunks);
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_RANGE_UNIT);
+            ContentRange contentRange = getContentRange(range, offset, logSize);
+            if (contentRange == null) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_RANGE_UNIT + " */" + logSize);
+                return;
+            }
+            if (contentRange.length != logSize) {
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, MessageFormat.format("{0} {1,number,#}-{2,number,#}/{3,number,#}",
+                                                                                  BYTES_RANGE_UNIT, contentRange.start,
+                                                                                  contentRange.start + contentRange.length - 1, logSize));
+            }
+            response.setContentLengthLong(contentRange.length);
+            logsService.writeLogContent(spaceGuid, logChunks, contentRange.start, contentRange.length, response.getOutputStream());
+        } catch (FileStorageException e) {
+            throw new ContentException(e, e.getMessage());
+        } catch (IOException e) {
+            throw new SLException(e, e.getMessage());
+        }
+    }
+
+    private ContentRange getContentRange(String range, Long offset, long logSize) {
+        if (range != null) {
+            return getContentRange(range, logSize);
+        }
+        long start = offset == null ? 0 : offset;
+        if (start < 0 || (start > 0 && start >= logSize)) {
+            return null;
+        }
+        return new ContentRange(start, logSize - start);
+    }
+
+    private ContentRange getContentRange(String range, long logSize) {
+        try {
+            List<HttpRange> httpRanges = HttpRange.parseRanges(range);
+            if (httpRanges.size() != 1) {
+                // Multipart responses are not supported, so the whole content is returned, which is allowed by RFC 7233:
+                return new ContentRange(0, logSize);
+            }
+            HttpRange httpRange = httpRanges.get(0);
+            long start = httpRange.getRangeStart(logSize);
+            long end = httpRange.getRangeEnd(logSize);
+            if (start >= logSize || start > end) {
+                return null;
+            }
+            return new ContentRange(start, end - start + 1);
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug(e.getMessage(), e);
+            return null;
+        }
+    }
+
     @Override
     public ResponseEntity<Operation> startOperation(HttpServletRequest request, String spaceGuid, Operation operation) {
         String user = getAuthenticatedUser(request);
@@ -337,4 +405,16 @@ public class OperationsApiServiceImpl implements OperationsApiService {
                         .anyMatch(message -> message.getType() == MessageType.ERROR);
     }
 
+    private static class ContentRange {
+
+        private final long start;
+        private final long length;
+
+        ContentRange(long start, long length) {
+            this.start = start;
+            this.length = length;
+        }
+
+    }
+
 }
@@ -81,6 +81,10 @@ public class BootstrapServlet extends HttpServlet {
     }
 
     protected void initializeFileService() {
+        if (!fileService.isFileStorageReconciled()) {
+            LOGGER.info(Messages.FILE_SERVICE_RECONCILIATION_SKIPPED);
+            return;
+        }
         try {
             int deletedFiles = fileService.deleteFilesEntriesWithoutContent();
             LOGGER.info(MessageFormat.format(Messages.FILE_SERVICE_DELETED_FILES, deletedFiles));
@@ -16,6 +16,7 @@ import com.sap.cloud.lm.sl.cf.core.changes.IndexProcessIdsOfHistoricOperationEve
 import com.sap.cloud.lm.sl.cf.core.changes.IndexSpaceIdOfOperationChange;
 import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
 import com.sap.cloud.lm.sl.cf.persistence.DataSourceWithDialect;
+import com.sap.cloud.lm.sl.cf.persistence.changes.IndexModifiedAndIdOfLmSlPersistenceFileChange;
 import com.sap.cloud.lm.sl.cf.persistence.changes.IndexProcessIdsOfProgressMessagesChange;
 import com.sap.cloud.lm.sl.cf.persistence.changes.IndexSpaceOfLmSlPersistenceFileChange;
 import com.sap.cloud.lm.sl.cf.persistence.dialects.DataSourceDialect;
@@ -116,6 +117,11 @@ public class DatabaseConfiguration {
         return new IndexSpaceOfLmSlPersistenceFileChange();
     }
 
+    @Bean
+    public IndexModifiedAndIdOfLmSlPersistenceFileChange indexModifiedAndIdOfLmSlPersistenceFileChange() {
+        return new IndexModifiedAndIdOfLmSlPersistenceFileChange();
+    }
+
     @Bean
     public IndexSpaceIdOfOperationChange indexSpaceIdOfOperationChange() {
         return new IndexSpaceIdOfOperationChange();
@@ -3,6 +3,7 @@ package com.sap.cloud.lm.sl.cf.web.configuration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
 import com.sap.cloud.lm.sl.cf.web.configuration.bean.factory.FileSystemFileStorageFactoryBean;
 import com.sap.cloud.lm.sl.cf.web.configuration.bean.factory.ObjectStoreFileStorageFactoryBean;
 
@@ -13,12 +14,12 @@ public class FileStorageConfiguration {
     private static final String OBJECT_STORE_SERVICE_NAME = "deploy-service-os";
 
     @Bean
-    public FileSystemFileStorageFactoryBean fileSystemFileStorage() {
-        return new FileSystemFileStorageFactoryBean(FS_STORAGE_SERVICE_NAME);
+    public FileSystemFileStorageFactoryBean fileSystemFileStorage(ApplicationConfiguration configuration) {
+        return new FileSystemFileStorageFactoryBean(FS_STORAGE_SERVICE_NAME, configuration);
     }
 
     @Bean
-    public ObjectStoreFileStorageFactoryBean objectStoreFileStorage() {
-        return new ObjectStoreFileStorageFactoryBean(OBJECT_STORE_SERVICE_NAME);
+    public ObjectStoreFileStorageFactoryBean objectStoreFileStorage(ApplicationConfiguration configuration) {
+        return new ObjectStoreFileStorageFactoryBean(OBJECT_STORE_SERVICE_NAME, configuration);
     }
 }
@@ -15,6 +15,7 @@ import org.springframework.cloud.service.ServiceInfo;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.sap.cloud.lm.sl.cf.core.cf.CloudControllerClientCache;
 import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
 import com.sap.cloud.lm.sl.cf.web.configuration.service.DynatraceServiceInfo;
 import com.sap.cloud.lm.sl.cf.web.configuration.service.DynatraceServiceInfoCreator;
@@ -94,6 +95,7 @@ public class MicrometerConfiguration {
         DynatraceMeterRegistry registry = new DynatraceMeterRegistry(dynatraceConfig, Clock.SYSTEM);
         registry.config()
                 .meterFilter(MeterFilter.acceptNameStartsWith(CLIENT_CONNECTIONS_METRICS_PREFIX))
+                .meterFilter(MeterFilter.acceptNameStartsWith(CloudControllerClientCache.METRICS_PREFIX))
                 .meterFilter(MeterFilter.deny());
         Metrics.globalRegistry.add(registry);
         return registry;
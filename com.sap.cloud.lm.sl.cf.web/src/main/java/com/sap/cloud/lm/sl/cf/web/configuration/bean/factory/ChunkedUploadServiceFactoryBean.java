@@ -0,0 +1,61 @@
+package com.sap.cloud.lm.sl.cf.web.configuration.bean.factory;
+
+import java.nio.file.Paths;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
+import com.sap.cloud.lm.sl.cf.persistence.services.ChunkedUploadService;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileService;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileSystemFileStorage;
+
+@Named("chunkedUploadService")
+public class ChunkedUploadServiceFactoryBean implements FactoryBean<ChunkedUploadService>, InitializingBean {
+
+    private static final String UPLOADS_DIRECTORY = ".uploads";
+
+    @Inject
+    @Named("fileService")
+    private FileService fileService;
+    @Inject
+    private ApplicationConfiguration configuration;
+    @Autowired(required = false)
+    private FileSystemFileStorage fileSystemFileStorage;
+    private ChunkedUploadService chunkedUploadService;
+
+    @Override
+    public void afterPropertiesSet() {
+        this.chunkedUploadService = new ChunkedUploadService(getUploadsPath(), fileService, configuration.getFileConfiguration());
+    }
+
+    /**
+     * The chunks are kept on the file system service, if one is bound, so that the chunks of an upload can be sent to different instances
+     * of the application. The directory is skipped by the clean up of the stored files, because its name starts with a dot.
+     */
+    private String getUploadsPath() {
+        String parentPath = fileSystemFileStorage != null ? fileSystemFileStorage.getStoragePath() : System.getProperty("java.io.tmpdir");
+        return Paths.get(parentPath, UPLOADS_DIRECTORY)
+                    .toString();
+    }
+
+    @Override
+    public ChunkedUploadService getObject() {
+        return chunkedUploadService;
+    }
+
+    @Override
+    public Class<?> getObjectType() {
+        return ChunkedUploadService.class;
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return true;
+    }
+
+}
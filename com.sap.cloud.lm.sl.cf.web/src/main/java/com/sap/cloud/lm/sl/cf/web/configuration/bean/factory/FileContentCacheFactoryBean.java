@@ -0,0 +1,49 @@
+package com.sap.cloud.lm.sl.cf.web.configuration.bean.factory;
+
+import java.nio.file.Paths;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileContentCache;
+
+@Named("fileContentCache")
+public class FileContentCacheFactoryBean implements FactoryBean<FileContentCache>, InitializingBean {
+
+    private static final String CACHE_DIRECTORY = "file-content-cache";
+
+    @Inject
+    private ApplicationConfiguration configuration;
+    private FileContentCache fileContentCache;
+
+    /**
+     * The cache is kept on the local disk of the instance and is disabled, unless a positive maximum size is configured.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        long maxSize = configuration.getFileContentCacheMaxSize();
+        if (maxSize > 0) {
+            this.fileContentCache = new FileContentCache(Paths.get(System.getProperty("java.io.tmpdir"), CACHE_DIRECTORY), maxSize);
+        }
+    }
+
+    @Override
+    public FileContentCache getObject() {
+        return fileContentCache;
+    }
+
+    @Override
+    public Class<?> getObjectType() {
+        return FileContentCache.class;
+    }
+
+    @Override
+    public boolean isSingleton() {
+        return true;
+    }
+
+}
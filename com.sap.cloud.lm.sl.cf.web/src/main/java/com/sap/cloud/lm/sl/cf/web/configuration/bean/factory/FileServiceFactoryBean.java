@@ -7,32 +7,52 @@ import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
 import com.sap.cloud.lm.sl.cf.persistence.DataSourceWithDialect;
+import com.sap.cloud.lm.sl.cf.persistence.query.providers.LargeObjectSqlFileQueryProvider;
+import com.sap.cloud.lm.sl.cf.persistence.services.ContentAddressedFileService;
 import com.sap.cloud.lm.sl.cf.persistence.services.DatabaseFileService;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileContentCache;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileService;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileStorage;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileSystemFileStorage;
 import com.sap.cloud.lm.sl.cf.persistence.services.ObjectStoreFileStorage;
+import com.sap.cloud.lm.sl.cf.persistence.util.Configuration;
 
 @Named("fileService")
 public class FileServiceFactoryBean implements FactoryBean<FileService>, InitializingBean {
 
     @Inject
     private DataSourceWithDialect dataSourceWithDialect;
+    @Inject
+    private ApplicationConfiguration configuration;
     @Autowired(required = false)
     private FileSystemFileStorage fileSystemFileStorage;
     @Autowired(required = false)
     private ObjectStoreFileStorage objectStoreFileStorage;
+    @Autowired(required = false)
+    private FileContentCache fileContentCache;
     private FileService fileService;
 
     @Override
     public void afterPropertiesSet() {
         FileStorage fileStorage = objectStoreFileStorage != null ? objectStoreFileStorage : fileSystemFileStorage;
-        if (fileStorage != null) {
-            this.fileService = new FileService(dataSourceWithDialect, fileStorage);
+        // The object store settings do not apply to the file system storage:
+        Configuration fileConfiguration = objectStoreFileStorage != null ? configuration.getFileConfiguration()
+            : new Configuration(configuration.getMaxUploadSize());
+        if (fileStorage != null && configuration.shouldDeduplicateFiles()) {
+            this.fileService = new ContentAddressedFileService(dataSourceWithDialect, fileStorage, fileConfiguration);
+        } else if (fileStorage != null) {
+            this.fileService = new FileService(dataSourceWithDialect, fileStorage, fileConfiguration);
+        } else if (configuration.shouldStoreFilesAsLargeObjects()) {
+            this.fileService = new DatabaseFileService(dataSourceWithDialect,
+                                                       new LargeObjectSqlFileQueryProvider(FileService.DEFAULT_TABLE_NAME,
+                                                                                           dataSourceWithDialect.getDataSourceDialect()),
+                                                       configuration.getFileConfiguration());
         } else {
-            this.fileService = new DatabaseFileService(dataSourceWithDialect);
+            this.fileService = new DatabaseFileService(dataSourceWithDialect, configuration.getFileConfiguration());
         }
+        fileService.setFileContentCache(fileContentCache);
     }
 
     @Override
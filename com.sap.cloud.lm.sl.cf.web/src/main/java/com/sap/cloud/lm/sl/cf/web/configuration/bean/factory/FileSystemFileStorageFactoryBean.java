@@ -11,6 +11,7 @@ import org.springframework.cloud.Cloud;
 import org.springframework.cloud.CloudException;
 import org.springframework.cloud.CloudFactory;
 
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileSystemFileStorage;
 import com.sap.cloud.lm.sl.cf.web.Messages;
 import com.sap.cloud.lm.sl.cf.web.configuration.service.FileSystemServiceInfo;
@@ -20,10 +21,12 @@ public class FileSystemFileStorageFactoryBean implements FactoryBean<FileSystemF
     private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemFileStorageFactoryBean.class);
 
     private final String serviceName;
+    private final ApplicationConfiguration configuration;
     private FileSystemFileStorage fileSystemFileStorage;
 
-    public FileSystemFileStorageFactoryBean(String serviceName) {
+    public FileSystemFileStorageFactoryBean(String serviceName, ApplicationConfiguration configuration) {
         this.serviceName = serviceName;
+        this.configuration = configuration;
     }
 
     @Override
@@ -33,7 +36,7 @@ public class FileSystemFileStorageFactoryBean implements FactoryBean<FileSystemF
     }
 
     private FileSystemFileStorage createFileSystemFileStorage(String storagePath) {
-        return storagePath == null ? null : new FileSystemFileStorage(storagePath);
+        return storagePath == null ? null : new FileSystemFileStorage(storagePath, configuration.shouldIndexFileSystemStorage());
     }
 
     @Override
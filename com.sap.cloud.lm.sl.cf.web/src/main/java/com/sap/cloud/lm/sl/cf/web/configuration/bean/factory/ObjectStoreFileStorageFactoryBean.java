@@ -14,7 +14,10 @@ import org.springframework.cloud.CloudException;
 import org.springframework.cloud.CloudFactory;
 import org.springframework.cloud.service.ServiceInfo;
 
+import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
+import com.sap.cloud.lm.sl.cf.persistence.services.ImmutableObjectStoreFileStorageConfiguration;
 import com.sap.cloud.lm.sl.cf.persistence.services.ObjectStoreFileStorage;
+import com.sap.cloud.lm.sl.cf.persistence.services.ObjectStoreFileStorageConfiguration;
 import com.sap.cloud.lm.sl.cf.web.configuration.service.ObjectStoreServiceInfo;
 
 public class ObjectStoreFileStorageFactoryBean implements FactoryBean<ObjectStoreFileStorage>, InitializingBean {
@@ -22,10 +25,12 @@ public class ObjectStoreFileStorageFactoryBean implements FactoryBean<ObjectStor
     private static final Logger LOGGER = LoggerFactory.getLogger(ObjectStoreFileStorageFactoryBean.class);
 
     private final String serviceName;
+    private final ApplicationConfiguration configuration;
     private ObjectStoreFileStorage objectStoreFileService;
 
-    public ObjectStoreFileStorageFactoryBean(String serviceName) {
+    public ObjectStoreFileStorageFactoryBean(String serviceName, ApplicationConfiguration configuration) {
         this.serviceName = serviceName;
+        this.configuration = configuration;
     }
 
     @Override
@@ -35,7 +40,22 @@ public class ObjectStoreFileStorageFactoryBean implements FactoryBean<ObjectStor
 
     private ObjectStoreFileStorage createObjectStoreFileStorage() {
         BlobStoreContext context = getBlobStoreContext();
-        return context == null ? null : new ObjectStoreFileStorage(context.getBlobStore(), getServiceInfo().getContainer());
+        if (context == null) {
+            return null;
+        }
+        return new ObjectStoreFileStorage(context.getBlobStore(),
+                                          getServiceInfo().getContainer(),
+                                          createObjectStoreFileStorageConfiguration());
+    }
+
+    private ObjectStoreFileStorageConfiguration createObjectStoreFileStorageConfiguration() {
+        return ImmutableObjectStoreFileStorageConfiguration.builder()
+                                                           .rangedDownloadThreshold(configuration.getObjectStoreRangedDownloadThreshold())
+                                                           .rangeSize(configuration.getObjectStoreDownloadRangeSize())
+                                                           .parallelRanges(configuration.getObjectStoreParallelRangeDownloads())
+                                                           .parallelDeletes(configuration.getObjectStoreParallelDeletes())
+                                                           .parallelUploadParts(configuration.getObjectStoreParallelUploadParts())
+                                                           .build();
     }
 
     private BlobStoreContext getBlobStoreContext() {
@@ -7,10 +7,15 @@ import javax.inject.Named;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import com.sap.cloud.lm.sl.cf.core.model.CachedObject;
 import com.sap.cloud.lm.sl.cf.core.util.ApplicationConfiguration;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileSystemFileStorage;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileContentCache;
+import com.sap.cloud.lm.sl.cf.persistence.services.FileContentCacheMetrics;
+import com.sap.cloud.lm.sl.cf.persistence.services.ObjectStoreFileStorage;
+import com.sap.cloud.lm.sl.cf.persistence.services.ObjectStoreUploadMetrics;
 
 @Named
 public class Metrics implements MetricsMBean {
@@ -22,6 +27,10 @@ public class Metrics implements MetricsMBean {
     private final FssMonitor fssMonitor;
     private final CachedObject<FlowableThreadInformation> cachedFlowableThreadMonitor;
     private final CachedObject<CloudFoundryClientThreadInformation> cachedCloudFoundryClientThreadMonitor;
+    @Autowired(required = false)
+    private ObjectStoreFileStorage objectStoreFileStorage;
+    @Autowired(required = false)
+    private FileContentCache fileContentCache;
 
     @Inject
     public Metrics(ApplicationConfiguration appConfigurations, FssMonitor fssMonitor, FileSystemFileStorage fss) {
@@ -95,6 +104,55 @@ public class Metrics implements MetricsMBean {
         return getCloudFoundryThreadInformation().getTotalThreads();
     }
 
+    @Override
+    public long getObjectStoreUploadedBytes() {
+        return getObjectStoreUploadMetrics().getUploadedBytes();
+    }
+
+    @Override
+    public long getObjectStoreUploadThroughput() {
+        return getObjectStoreUploadMetrics().getUploadThroughput();
+    }
+
+    @Override
+    public long getObjectStoreUploadedParts() {
+        return getObjectStoreUploadMetrics().getUploadedParts();
+    }
+
+    @Override
+    public long getObjectStoreRetriedParts() {
+        return getObjectStoreUploadMetrics().getRetriedParts();
+    }
+
+    private ObjectStoreUploadMetrics getObjectStoreUploadMetrics() {
+        if (objectStoreFileStorage == null) {
+            return new ObjectStoreUploadMetrics();
+        }
+        return objectStoreFileStorage.getUploadMetrics();
+    }
+
+    @Override
+    public long getFileContentCacheHits() {
+        return getFileContentCacheMetrics().getHits();
+    }
+
+    @Override
+    public long getFileContentCacheMisses() {
+        return getFileContentCacheMetrics().getMisses();
+    }
+
+    @Override
+    public long getFileContentCacheEvictedBytes() {
+        return getFileContentCacheMetrics().getEvictedBytes();
+    }
+
+    private FileContentCacheMetrics getFileContentCacheMetrics() {
+        if (fileContentCache == null) {
+            return new FileContentCacheMetrics();
+        }
+        return fileContentCache.getMetrics();
+    }
+
     private FlowableThreadInformation getFlowableThreadInformation() {
         return cachedFlowableThreadMonitor.get(FlowableThreadInformation::get);
     }
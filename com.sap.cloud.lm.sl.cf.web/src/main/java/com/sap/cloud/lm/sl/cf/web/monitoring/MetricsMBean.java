@@ -18,4 +18,18 @@ public interface MetricsMBean {
 
     int getTotalCloudFoundryClientThreads();
 
+    long getObjectStoreUploadedBytes();
+
+    long getObjectStoreUploadThroughput();
+
+    long getObjectStoreUploadedParts();
+
+    long getObjectStoreRetriedParts();
+
+    long getFileContentCacheHits();
+
+    long getFileContentCacheMisses();
+
+    long getFileContentCacheEvictedBytes();
+
 }
@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Random;
 import java.util.UUID;
 
+import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 
 import org.apache.commons.fileupload.FileItemIterator;
@@ -29,11 +30,17 @@ import org.springframework.http.ResponseEntity;
 import com.sap.cloud.lm.sl.cf.core.auditlogging.AuditLoggingFacade;
 import com.sap.cloud.lm.sl.cf.core.auditlogging.AuditLoggingProvider;
 import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableByteRange;
 import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableUploadSession;
+import com.sap.cloud.lm.sl.cf.persistence.model.UploadSession;
+import com.sap.cloud.lm.sl.cf.persistence.services.ChunkedUploadService;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileService;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
 import com.sap.cloud.lm.sl.cf.persistence.util.Configuration;
 import com.sap.cloud.lm.sl.cf.web.api.model.FileMetadata;
+import com.sap.cloud.lm.sl.cf.web.api.model.ImmutableByteRangeMetadata;
+import com.sap.cloud.lm.sl.cf.web.api.model.UploadSessionMetadata;
 import com.sap.cloud.lm.sl.common.SLException;
 
 public class FilesApiServiceImplTest {
@@ -41,6 +48,9 @@ public class FilesApiServiceImplTest {
     @Mock
     private FileService fileService;
 
+    @Mock
+    private ChunkedUploadService chunkedUploadService;
+
     @Mock
     private HttpServletRequest request;
 
@@ -141,6 +151,75 @@ public class FilesApiServiceImplTest {
         Assertions.assertThrows(SLException.class, () -> testedClass.uploadFile(request, SPACE_GUID));
     }
 
+    @Test
+    public void testCreateUploadSession() throws Exception {
+        UploadSession session = createUploadSession("test.mtar");
+        Mockito.when(chunkedUploadService.createSession(SPACE_GUID, NAMESPACE_GUID, "test.mtar", 1024))
+               .thenReturn(session);
+
+        ResponseEntity<UploadSessionMetadata> response = testedClass.createUploadSession(SPACE_GUID, "test.mtar", 1024, NAMESPACE_GUID);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        UploadSessionMetadata sessionMetadata = response.getBody();
+        assertEquals(session.getId(), sessionMetadata.getId());
+        assertEquals(session.getName(), sessionMetadata.getName());
+        assertEquals(session.getSize(), sessionMetadata.getSize());
+        assertEquals(Arrays.asList(ImmutableByteRangeMetadata.builder()
+                                                             .offset(0)
+                                                             .length(1024)
+                                                             .build()),
+                     sessionMetadata.getMissingRanges());
+    }
+
+    @Test
+    public void testUploadChunk() throws Exception {
+        UploadSession session = createUploadSession("test.mtar");
+        Mockito.when(request.getInputStream())
+               .thenReturn(Mockito.mock(ServletInputStream.class));
+        Mockito.when(chunkedUploadService.addChunk(Mockito.eq(SPACE_GUID), Mockito.eq(session.getId()), Mockito.eq(512L), Mockito.any()))
+               .thenReturn(session);
+
+        ResponseEntity<UploadSessionMetadata> response = testedClass.uploadChunk(request, SPACE_GUID, session.getId(), 512);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(session.getId(), response.getBody()
+                                              .getId());
+    }
+
+    @Test
+    public void testFinalizeUploadSession() throws Exception {
+        FileEntry fileEntry = createFileEntry("test.mtar");
+        Mockito.when(chunkedUploadService.finalizeSession(SPACE_GUID, "upload", fileEntry.getDigest()))
+               .thenReturn(fileEntry);
+
+        ResponseEntity<FileMetadata> response = testedClass.finalizeUploadSession(SPACE_GUID, "upload", fileEntry.getDigest());
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertMetadataMatches(fileEntry, response.getBody());
+    }
+
+    @Test
+    public void testFinalizeUploadSessionError() throws Exception {
+        Mockito.when(chunkedUploadService.finalizeSession(SPACE_GUID, "upload", null))
+               .thenThrow(new FileStorageException("error"));
+        Assertions.assertThrows(SLException.class, () -> testedClass.finalizeUploadSession(SPACE_GUID, "upload", null));
+    }
+
+    private UploadSession createUploadSession(String name) {
+        return ImmutableUploadSession.builder()
+                                     .id(UUID.randomUUID()
+                                             .toString())
+                                     .space(SPACE_GUID)
+                                     .namespace(NAMESPACE_GUID)
+                                     .name(name)
+                                     .size(1024)
+                                     .addMissingRanges(ImmutableByteRange.builder()
+                                                                         .offset(0)
+                                                                         .length(1024)
+                                                                         .build())
+                                     .build();
+    }
+
     private void assertMetadataMatches(FileEntry expected, FileMetadata actual) {
         assertEquals(expected.getId(), actual.getId());
         assertEquals(expected.getName(), actual.getName());
@@ -4,6 +4,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.Arrays;
 import java.util.Collections;
@@ -15,7 +19,10 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 import javax.persistence.NoResultException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.cloudfoundry.client.lib.CloudControllerClient;
 import org.cloudfoundry.client.lib.domain.ImmutableCloudMetadata;
@@ -32,6 +39,8 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.mockito.stubbing.Answer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -44,6 +53,8 @@ import com.sap.cloud.lm.sl.cf.core.persistence.query.OperationQuery;
 import com.sap.cloud.lm.sl.cf.core.persistence.service.OperationService;
 import com.sap.cloud.lm.sl.cf.core.persistence.service.ProgressMessageService;
 import com.sap.cloud.lm.sl.cf.core.util.MockBuilder;
+import com.sap.cloud.lm.sl.cf.persistence.model.FileEntry;
+import com.sap.cloud.lm.sl.cf.persistence.model.ImmutableFileEntry;
 import com.sap.cloud.lm.sl.cf.persistence.services.FileStorageException;
 import com.sap.cloud.lm.sl.cf.persistence.services.ProcessLogsPersistenceService;
 import com.sap.cloud.lm.sl.cf.process.flowable.AbortProcessAction;
@@ -102,7 +113,10 @@ public class OperationsApiServiceImplTest {
     private static final String ERROR_PROCESS = "3";
     private static final String ABORTED_PROCESS = "4";
 
+    private static final String LOG_CONTENT = "first log line\nsecond log line\nthird log line\n";
+
     private List<Operation> operations;
+    private final ByteArrayOutputStream writtenContent = new ByteArrayOutputStream();
     private String processId;
 
     @Before
@@ -245,6 +259,108 @@ public class OperationsApiServiceImplTest {
         Assertions.assertThrows(NoResultException.class, () -> testedClass.getOperationLogContent(SPACE_GUID, processId, logName));
     }
 
+    @Test
+    public void testStreamOperationLogContent() throws Exception {
+        HttpServletResponse response = streamLogContent(null, null);
+
+        Mockito.verify(response, Mockito.never())
+               .setStatus(Mockito.anyInt());
+        Mockito.verify(response)
+               .setContentLengthLong(LOG_CONTENT.length());
+        Mockito.verify(response)
+               .setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        assertEquals(LOG_CONTENT, getWrittenContent());
+    }
+
+    @Test
+    public void testStreamOperationLogContentWithRange() throws Exception {
+        HttpServletResponse response = streamLogContent("bytes=5-14", null);
+
+        Mockito.verify(response)
+               .setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        Mockito.verify(response)
+               .setHeader(HttpHeaders.CONTENT_RANGE, "bytes 5-14/" + LOG_CONTENT.length());
+        assertEquals(LOG_CONTENT.substring(5, 15), getWrittenContent());
+    }
+
+    @Test
+    public void testStreamOperationLogContentWithSuffixRange() throws Exception {
+        streamLogContent("bytes=-4", null);
+
+        assertEquals(LOG_CONTENT.substring(LOG_CONTENT.length() - 4), getWrittenContent());
+    }
+
+    @Test
+    public void testStreamOperationLogContentWithOffset() throws Exception {
+        HttpServletResponse response = streamLogContent(null, 12L);
+
+        Mockito.verify(response)
+               .setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        assertEquals(LOG_CONTENT.substring(12), getWrittenContent());
+    }
+
+    @Test
+    public void testStreamOperationLogContentWithUnsatisfiableRange() throws Exception {
+        HttpServletResponse response = streamLogContent("bytes=100-", null);
+
+        Mockito.verify(response)
+               .setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        Mockito.verify(response)
+               .setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + LOG_CONTENT.length());
+        Mockito.verify(logsService, Mockito.never())
+               .writeLogContent(Mockito.any(), Mockito.any(), Mockito.anyLong(), Mockito.anyLong(), Mockito.any());
+    }
+
+    private HttpServletResponse streamLogContent(String range, Long offset) throws Exception {
+        String logName = "OPERATION.log";
+        List<FileEntry> logChunks = Arrays.asList(createLogChunk(LOG_CONTENT.length() / 2),
+                                                  createLogChunk(LOG_CONTENT.length() - LOG_CONTENT.length() / 2));
+        Mockito.when(logsService.getLogChunks(SPACE_GUID, FINISHED_PROCESS, logName))
+               .thenReturn(logChunks);
+        Mockito.doAnswer(invocation -> {
+            long start = invocation.getArgument(2);
+            long length = invocation.getArgument(3);
+            OutputStream outputStream = invocation.getArgument(4);
+            outputStream.write(LOG_CONTENT.substring((int) start, (int) (start + length))
+                                          .getBytes(StandardCharsets.UTF_8));
+            return null;
+        })
+               .when(logsService)
+               .writeLogContent(Mockito.eq(SPACE_GUID), Mockito.eq(logChunks), Mockito.anyLong(), Mockito.anyLong(), Mockito.any());
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(response.getOutputStream())
+               .thenReturn(new ServletOutputStream() {
+                   @Override
+                   public void write(int b) {
+                       writtenContent.write(b);
+                   }
+
+                   @Override
+                   public boolean isReady() {
+                       return true;
+                   }
+
+                   @Override
+                   public void setWriteListener(WriteListener writeListener) {
+                   }
+               });
+        testedClass.streamOperationLogContent(response, SPACE_GUID, FINISHED_PROCESS, logName, range, offset);
+        return response;
+    }
+
+    private FileEntry createLogChunk(long size) {
+        return ImmutableFileEntry.builder()
+                                 .id(UUID.randomUUID()
+                                         .toString())
+                                 .space(SPACE_GUID)
+                                 .size(BigInteger.valueOf(size))
+                                 .build();
+    }
+
+    private String getWrittenContent() {
+        return new String(writtenContent.toByteArray(), StandardCharsets.UTF_8);
+    }
+
     @Test
     public void testGetOperationActionsForRunning() {
         ResponseEntity<List<String>> response = testedClass.getOperationActions(SPACE_GUID, RUNNING_PROCESS);